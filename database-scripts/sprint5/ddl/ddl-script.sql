@@ -0,0 +1,24 @@
+-- Transactional outbox for provider deposit calls.
+-- A row is inserted in the same DB transaction as the INITIATED status write and is
+-- marked DONE in the same transaction as the final PENDING/FAILED write. Rows left
+-- IN_PROGRESS past lockedUntil (dispatcher crashed) are claimed again by the poller.
+
+CREATE TABLE payments.`Transaction_Outbox` (
+ `id` bigint NOT NULL AUTO_INCREMENT,
+ `txnReference` varchar(50) NOT NULL,
+ `eventType` varchar(50) NOT NULL,
+ `payload` text NOT NULL,
+
+ `status` varchar(20) NOT NULL DEFAULT 'NEW',
+ `attempts` int NOT NULL DEFAULT 0,
+ `lockedBy` varchar(100) DEFAULT NULL,
+ `lockedUntil` timestamp(3) NULL DEFAULT NULL,
+ `lastError` varchar(1000) DEFAULT NULL,
+
+ `creationDate` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+ `processedDate` timestamp(3) NULL DEFAULT NULL,
+ PRIMARY KEY (`id`),
+ UNIQUE KEY `transaction_outbox_txnReference_eventType` (`txnReference`, `eventType`),
+ KEY `transaction_outbox_status_lockedUntil` (`status`, `lockedUntil`),
+ CONSTRAINT `transaction_outbox_txnReference` FOREIGN KEY (`txnReference`) REFERENCES `Transaction` (`txnReference`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
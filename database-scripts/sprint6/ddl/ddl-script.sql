@@ -0,0 +1,6 @@
+-- Redirect URL returned by the provider on initiate. Kept next to providerReference so a
+-- repeated initiate of a PENDING transaction is answered from the row instead of creating a
+-- second provider order.
+
+ALTER TABLE payments.`Transaction`
+ ADD COLUMN `redirectUrl` varchar(2048) DEFAULT NULL AFTER `providerReference`;
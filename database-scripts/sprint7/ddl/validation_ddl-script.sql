@@ -0,0 +1,6 @@
+-- Gzipped copy of the payment request JSON. payment-validation-service fills it instead of
+-- transactionRequest when payments.audit.compress-payload=true. A typical request of about 200
+-- bytes only shrinks by about 10%; it pays off once merchants send larger payloads.
+
+ALTER TABLE validations.`merchant_payment_request`
+ ADD COLUMN `transactionRequestGzip` blob DEFAULT NULL AFTER `transactionRequest`;
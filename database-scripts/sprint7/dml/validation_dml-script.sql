@@ -0,0 +1,4 @@
+-- Core rule 10: reject customers with no row in validations.users. Off until users are loaded,
+-- turn it on with: UPDATE validations.validation_rules SET isActive = TRUE WHERE validatorName = 'REGISTERED_USER_RULE';
+INSERT INTO validations.validation_rules (validatorName, isActive, priority)
+VALUES ('REGISTERED_USER_RULE', false, 10);
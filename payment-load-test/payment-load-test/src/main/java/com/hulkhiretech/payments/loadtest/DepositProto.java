@@ -0,0 +1,75 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Provider side of processing's binary deposit protocol (proto/trustly_provider.proto in
+ * payment-processing-service), mapped onto the same JSON field names the stand-in uses for JSON.
+ */
+final class DepositProto {
+
+	static final String CONTENT_TYPE = "application/x-protobuf";
+
+	private static final int AMOUNT_MINOR = 12;
+	private static final Map<Integer, String> REQUEST_FIELDS = Map.ofEntries(
+			Map.entry(1, "txnReference"), Map.entry(2, "endUserId"), Map.entry(4, "currency"),
+			Map.entry(5, "firstName"), Map.entry(6, "lastName"), Map.entry(7, "email"),
+			Map.entry(8, "country"), Map.entry(9, "locale"), Map.entry(10, "successUrl"),
+			Map.entry(11, "failUrl"));
+
+	private DepositProto() {
+	}
+
+	static JsonObject decodeRequest(byte[] bytes) throws IOException {
+		JsonObject deposit = new JsonObject();
+		CodedInputStream in = CodedInputStream.newInstance(bytes);
+		Long amountMinor = null;
+		int tag;
+		while ((tag = in.readTag()) != 0) {
+			int field = WireFormat.getTagFieldNumber(tag);
+			if (field == AMOUNT_MINOR) {
+				amountMinor = in.readInt64();
+			} else if (REQUEST_FIELDS.containsKey(field)) {
+				deposit.addProperty(REQUEST_FIELDS.get(field), in.readStringRequireUtf8());
+			} else {
+				in.skipField(tag);
+			}
+		}
+		if (amountMinor != null) {
+			// same decimal text the JSON body carries
+			int exponent = Currency.getInstance(deposit.get("currency").getAsString()).getDefaultFractionDigits();
+			deposit.addProperty("amount", BigDecimal.valueOf(amountMinor, exponent).toPlainString());
+		}
+		return deposit;
+	}
+
+	/** DepositResponse {orderId, uri} or ErrorResponse {errorCode, errorMessage}, both fields 1 and 2. */
+	static byte[] encodeReply(JsonObject reply) throws IOException {
+		String first = string(reply, reply.has("orderId") ? "orderId" : "errorCode");
+		String second = string(reply, reply.has("orderId") ? "uri" : "errorMessage");
+		byte[] bytes = new byte[(first == null ? 0 : CodedOutputStream.computeStringSize(1, first))
+				+ (second == null ? 0 : CodedOutputStream.computeStringSize(2, second))];
+		CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+		if (first != null) {
+			out.writeString(1, first);
+		}
+		if (second != null) {
+			out.writeString(2, second);
+		}
+		return bytes;
+	}
+
+	private static String string(JsonObject object, String name) {
+		JsonElement element = object.get(name);
+		return element == null || element.isJsonNull() ? null : element.getAsString();
+	}
+}
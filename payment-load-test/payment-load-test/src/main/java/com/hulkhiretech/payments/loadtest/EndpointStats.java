@@ -0,0 +1,99 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import lombok.Getter;
+
+/**
+ * Latency histogram plus ok/error counters for one endpoint (or for the whole flow).
+ * Latencies are recorded in microseconds.
+ */
+public class EndpointStats {
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+	@Getter
+	private final String name;
+
+	private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+	private final LongAdder ok = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+
+	private Histogram total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+
+	public EndpointStats(String name) {
+		this.name = name;
+	}
+
+	public void recordOk(long latencyNanos) {
+		recorder.recordValue(toMicros(latencyNanos));
+		ok.increment();
+	}
+
+	public void recordError(long latencyNanos) {
+		recorder.recordValue(toMicros(latencyNanos));
+		errors.increment();
+	}
+
+	/**
+	 * Drops everything recorded so far, used at the end of the warm-up phase.
+	 */
+	public synchronized void reset() {
+		recorder.reset();
+		ok.reset();
+		errors.reset();
+		total = new Histogram(MAX_TRACKABLE_MICROS, 3);
+	}
+
+	public synchronized Histogram snapshot() {
+		total.add(recorder.getIntervalHistogram());
+		return total.copy();
+	}
+
+	public void printRow(PrintStream out, double elapsedSeconds) {
+		Histogram histogram = snapshot();
+		long okCount = ok.sum();
+		long errorCount = errors.sum();
+		long count = okCount + errorCount;
+		out.printf("%-22s %9d %8d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+				name, count, errorCount,
+				count == 0 ? 0.0 : 100.0 * errorCount / count,
+				count / elapsedSeconds,
+				millis(histogram.getValueAtPercentile(50)),
+				millis(histogram.getValueAtPercentile(90)),
+				millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)),
+				millis(histogram.getMaxValue()));
+	}
+
+	public static void printHeader(PrintStream out) {
+		out.printf("%-22s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+				"endpoint", "count", "errors", "err%", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+	}
+
+	/**
+	 * Writes the full percentile distribution in HdrHistogram's .hgrm format, values in milliseconds.
+	 */
+	public void writeHgrm(Path dir) throws IOException {
+		Files.createDirectories(dir);
+		try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+			snapshot().outputPercentileDistribution(out, 1000.0);
+		}
+	}
+
+	private static long toMicros(long nanos) {
+		return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), MAX_TRACKABLE_MICROS);
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
@@ -0,0 +1,83 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Command line options, passed as --key=value. See the README for the full list.
+ */
+@Getter
+@ToString
+public class LoadTestConfig {
+
+	private final double ratePerSecond;
+	private final Duration duration;
+	private final Duration warmup;
+	private final boolean poissonArrivals;
+	private final int maxInFlight;
+	private final boolean spawnServices;
+
+	private final String validationUrl;
+	private final String processingUrl;
+	private final String mockUrl;
+	private final int standInPort;
+	private final long providerDelayMillis;
+
+	private final Path validationJar;
+	private final Path processingJar;
+	private final Path mockJar;
+	private final String serviceJvmArgs;
+	private final String processingProfiles;
+	private final String depositProtocol;
+	private final Path outputDir;
+
+	private final String clientId;
+	private final String hmacSecret;
+
+	public LoadTestConfig(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+			}
+			int eq = arg.indexOf('=');
+			options.put(arg.substring(2, eq), arg.substring(eq + 1));
+		}
+
+		ratePerSecond = Double.parseDouble(options.getOrDefault("rate", "20"));
+		duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+		warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+		poissonArrivals = !"constant".equalsIgnoreCase(options.getOrDefault("arrival", "poisson"));
+		maxInFlight = Integer.parseInt(options.getOrDefault("max-inflight", "2000"));
+		spawnServices = Boolean.parseBoolean(options.getOrDefault("spawn", "true"));
+
+		validationUrl = options.getOrDefault("validation-url", "http://localhost:8081");
+		processingUrl = options.getOrDefault("processing-url", "http://localhost:8082");
+		mockUrl = options.getOrDefault("mock-url", "http://localhost:8084");
+		standInPort = Integer.parseInt(options.getOrDefault("stand-in-port", "8083"));
+		providerDelayMillis = Long.parseLong(options.getOrDefault("provider-delay-ms", "0"));
+
+		validationJar = Path.of(options.getOrDefault("validation-jar",
+				"../../payment-validation-service/payment-validation-service/target/payment-validation-service.jar"));
+		processingJar = Path.of(options.getOrDefault("processing-jar",
+				"../../payment-processing-service/payments-processing-service/target/payment-processing-service.jar"));
+		mockJar = Path.of(options.getOrDefault("mock-jar",
+				"../../trustly-mock-service/trustly-mock-service/target/trustly-mock-service.jar"));
+		serviceJvmArgs = options.getOrDefault("service-jvm-args", "-Xms512m -Xmx512m");
+		processingProfiles = options.getOrDefault("processing-profiles", "");
+		depositProtocol = options.getOrDefault("deposit-protocol", "json");
+		outputDir = Path.of(options.getOrDefault("output-dir", "target/loadtest"));
+
+		clientId = options.getOrDefault("client-id", "merchant-id-123");
+		hmacSecret = options.getOrDefault("hmac-secret", "THIS_IS_MY_SECRET");
+
+		if (ratePerSecond <= 0) {
+			throw new IllegalArgumentException("rate must be positive");
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model load test: payments arrive at a fixed mean rate regardless of how fast the services
+ * answer, each one driving the full validate -> create -> initiate -> settle flow.
+ *
+ * <pre>
+ * java -jar target/payment-load-test.jar --rate=50 --duration=120 --warmup=20
+ * </pre>
+ */
+@Slf4j
+public class LoadTestRunner {
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = new LoadTestConfig(args);
+		log.info("Load test config: {}", config);
+
+		HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		EndpointStats notifications = new EndpointStats("mock.notification");
+
+		List<ServiceProcess> services = new ArrayList<>();
+		try (ProviderStandIn standIn = new ProviderStandIn(config.getStandInPort(), config.getMockUrl(),
+				config.getProviderDelayMillis(), client, notifications)) {
+			standIn.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> services.forEach(ServiceProcess::close)));
+			if (config.isSpawnServices()) {
+				startServices(config, client, services);
+			}
+
+			PaymentFlow flow = new PaymentFlow(config, client, standIn);
+			List<EndpointStats> stats = new ArrayList<>(List.of(flow.getStats()));
+			stats.add(notifications);
+
+			if (!config.getWarmup().isZero()) {
+				log.info("Warming up for {}", config.getWarmup());
+				drive(config, flow, config.getWarmup());
+				stats.forEach(EndpointStats::reset);
+			}
+
+			log.info("Measuring for {} at {} payments/s ({} arrivals)", config.getDuration(),
+					config.getRatePerSecond(), config.isPoissonArrivals() ? "poisson" : "constant");
+			long started = System.nanoTime();
+			long dropped = drive(config, flow, config.getDuration());
+			double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+			report(config, stats, elapsedSeconds, dropped, standIn.getUndeliveredNotifications());
+		} finally {
+			services.forEach(ServiceProcess::close);
+		}
+	}
+
+	private static void startServices(LoadTestConfig config, HttpClient client, List<ServiceProcess> services)
+			throws IOException, InterruptedException {
+		String standInUrl = "http://localhost:" + config.getStandInPort();
+		Path logDir = config.getOutputDir().resolve("logs");
+
+		services.add(ServiceProcess.start("trustly-mock-service", config.getMockJar(), config.getMockUrl(),
+				config.getServiceJvmArgs(), logDir,
+				"--cpt.notification.url=" + standInUrl + ProviderStandIn.NOTIFICATION_PATH,
+				"--management.tracing.sampling.probability=0",
+				"--trustlyprovider.deposit.protocol=" + config.getDepositProtocol()));
+		List<String> processingArgs = new ArrayList<>(List.of(
+				"--trustlyprovider.deposit.url=" + standInUrl + ProviderStandIn.DEPOSIT_PATH,
+				"--management.tracing.sampling.probability=0"));
+		if (!config.getProcessingProfiles().isBlank()) {
+			processingArgs.add("--spring.profiles.active=" + config.getProcessingProfiles());
+		}
+		services.add(ServiceProcess.start("payment-processing-service", config.getProcessingJar(),
+				config.getProcessingUrl(), config.getServiceJvmArgs(), logDir, processingArgs.toArray(String[]::new)));
+		services.add(ServiceProcess.start("payment-validation-service", config.getValidationJar(),
+				config.getValidationUrl(), config.getServiceJvmArgs(), logDir,
+				"--logging.level.org.springframework.security=WARN",
+				"--management.tracing.sampling.probability=0"));
+
+		for (ServiceProcess service : services) {
+			service.awaitReady(client);
+		}
+	}
+
+	/**
+	 * Schedules arrivals from a single thread and runs every flow on its own virtual thread. When
+	 * more than max-inflight flows are outstanding new arrivals are dropped and counted, rather
+	 * than slowing the arrival rate down.
+	 *
+	 * @return the number of dropped arrivals
+	 */
+	private static long drive(LoadTestConfig config, PaymentFlow flow, Duration duration)
+			throws InterruptedException {
+		Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+		LongAdder dropped = new LongAdder();
+		double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long end = System.nanoTime() + duration.toNanos();
+			long next = System.nanoTime();
+			while (next < end) {
+				long wait = next - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				long intendedStart = next;
+				if (inFlight.tryAcquire()) {
+					executor.execute(() -> {
+						try {
+							flow.run(intendedStart);
+						} finally {
+							inFlight.release();
+						}
+					});
+				} else {
+					dropped.increment();
+				}
+				next += config.isPoissonArrivals()
+						? (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos)
+						: (long) meanIntervalNanos;
+			}
+			log.info("Arrivals finished, waiting for {} in-flight flows",
+					config.getMaxInFlight() - inFlight.availablePermits());
+		}
+		return dropped.sum();
+	}
+
+	private static void report(LoadTestConfig config, List<EndpointStats> stats, double elapsedSeconds,
+			long dropped, int undeliveredNotifications) throws IOException {
+		System.out.println();
+		EndpointStats.printHeader(System.out);
+		for (EndpointStats endpoint : stats) {
+			endpoint.printRow(System.out, elapsedSeconds);
+			endpoint.writeHgrm(config.getOutputDir());
+		}
+		System.out.printf("%nelapsed %.1fs, dropped arrivals %d, notifications not received %d%n",
+				elapsedSeconds, dropped, undeliveredNotifications);
+		System.out.printf("percentile distributions written to %s%n", config.getOutputDir().toAbsolutePath());
+	}
+}
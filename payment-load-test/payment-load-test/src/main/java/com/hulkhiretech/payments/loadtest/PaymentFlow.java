@@ -0,0 +1,182 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One end-to-end payment: validate (HMAC signed) -> create -> initiate -> settle through the mock.
+ * Each step is timed into its own {@link EndpointStats}; a failing step ends the flow.
+ */
+@Slf4j
+public class PaymentFlow {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private final LoadTestConfig config;
+	private final HttpClient client;
+	private final ProviderStandIn standIn;
+	private final Gson gson = new Gson();
+
+	private final EndpointStats validate = new EndpointStats("validation.payments");
+	private final EndpointStats create = new EndpointStats("processing.create");
+	private final EndpointStats initiate = new EndpointStats("processing.initiate");
+	private final EndpointStats settle = new EndpointStats("mock.success");
+	private final EndpointStats flow = new EndpointStats("flow");
+
+	public PaymentFlow(LoadTestConfig config, HttpClient client, ProviderStandIn standIn) {
+		this.config = config;
+		this.client = client;
+		this.standIn = standIn;
+	}
+
+	public EndpointStats[] getStats() {
+		return new EndpointStats[] { validate, create, initiate, settle, flow };
+	}
+
+	/**
+	 * @param intendedStartNanos when the arrival was scheduled; the flow latency is measured from
+	 *                           here rather than from the actual start, so queueing delay in the
+	 *                           harness is not hidden (coordinated omission).
+	 */
+	public void run(long intendedStartNanos) {
+		boolean ok = false;
+		try {
+			ok = runSteps();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			log.debug("Flow failed: {}", e.toString());
+		}
+		long latency = System.nanoTime() - intendedStartNanos;
+		if (ok) {
+			flow.recordOk(latency);
+		} else {
+			flow.recordError(latency);
+		}
+	}
+
+	private boolean runSteps() throws InterruptedException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long amount = random.nextLong(100, 100_000);
+		int userId = random.nextInt(1, 1_000_000);
+		String merchantReference = "LT" + Long.toUnsignedString(random.nextLong(), 36);
+
+		// Validation checks the signature over the body bytes as sent
+		Map<String, Object> paymentRequest = new LinkedHashMap<>();
+		paymentRequest.put("amount", amount);
+		paymentRequest.put("currency", "EUR");
+		paymentRequest.put("paymentMethod", "APM");
+		paymentRequest.put("paymentType", "SALE");
+		paymentRequest.put("provider", "TRUSTLY");
+		paymentRequest.put("customerID", String.valueOf(userId));
+		paymentRequest.put("mobileNo", "9" + random.nextLong(100_000_000L, 999_999_999L));
+		paymentRequest.put("merchantTransactionReference", merchantReference);
+		String validationBody = gson.toJson(paymentRequest);
+
+		HttpResponse<String> response = send(validate, post(config.getValidationUrl() + "/payments", validationBody)
+				.header("client-id", config.getClientId())
+				.header("hmac-signature", sign(validationBody)).build());
+		if (response == null) {
+			return false;
+		}
+
+		Map<String, Object> createTransaction = new LinkedHashMap<>();
+		createTransaction.put("userId", userId);
+		createTransaction.put("paymentMethod", "APM");
+		createTransaction.put("provider", "TRUSTLY");
+		createTransaction.put("paymentType", "SALE");
+		createTransaction.put("amount", BigDecimal.valueOf(amount, 2));
+		createTransaction.put("currency", "EUR");
+		createTransaction.put("merchantTransactionReference", merchantReference);
+		response = send(create, post(config.getProcessingUrl() + "/payments", gson.toJson(createTransaction)).build());
+		if (response == null) {
+			return false;
+		}
+		String txnReference = json(response).get("txnReference").getAsString();
+
+		Map<String, Object> initiateRequest = new LinkedHashMap<>();
+		initiateRequest.put("firstName", "Load");
+		initiateRequest.put("lastName", "Test");
+		initiateRequest.put("email", "loadtest@example.com");
+		initiateRequest.put("country", "SE");
+		initiateRequest.put("locale", "sv_SE");
+		initiateRequest.put("successUrl", "https://example.com/success");
+		initiateRequest.put("failUrl", "https://example.com/fail");
+		response = send(initiate, post(config.getProcessingUrl() + "/payments/" + txnReference + "/initiate",
+				gson.toJson(initiateRequest)).build());
+		if (response == null) {
+			return false;
+		}
+		// In async outbox mode the redirect URL is not known yet, so the flow stops at INITIATED
+		JsonObject initiated = json(response);
+		if (!initiated.has("url") || initiated.get("url").isJsonNull()) {
+			return true;
+		}
+		String url = initiated.get("url").getAsString();
+		String paymentId = url.substring(url.lastIndexOf('/') + 1).replaceFirst(".*=", "");
+
+		standIn.expectNotification(paymentId);
+		response = send(settle, post(config.getMockUrl() + "/payment/success/" + paymentId, "").build());
+		return response != null;
+	}
+
+	private HttpResponse<String> send(EndpointStats stats, HttpRequest request) throws InterruptedException {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			long latency = System.nanoTime() - start;
+			if (response.statusCode() / 100 == 2) {
+				stats.recordOk(latency);
+				return response;
+			}
+			stats.recordError(latency);
+			log.debug("{} returned {}: {}", stats.getName(), response.statusCode(), response.body());
+		} catch (IOException e) {
+			stats.recordError(System.nanoTime() - start);
+			log.debug("{} failed: {}", stats.getName(), e.toString());
+		}
+		return null;
+	}
+
+	private static HttpRequest.Builder post(String url, String body) {
+		return HttpRequest.newBuilder(URI.create(url))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+	}
+
+	private static JsonObject json(HttpResponse<String> response) {
+		return JsonParser.parseString(response.body()).getAsJsonObject();
+	}
+
+	private String sign(String body) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(config.getHmacSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+			return Base64.getEncoder().encodeToString(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to sign request", e);
+		}
+	}
+}
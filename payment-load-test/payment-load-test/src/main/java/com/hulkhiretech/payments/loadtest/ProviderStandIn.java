@@ -0,0 +1,193 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plays the part of trustly-provider-service (still a stub) between processing and the mock:
+ * translates processing's deposit request, JSON or protobuf, into the mock's JSON-RPC Deposit
+ * call and maps the answer back in the same format. Also receives the mock's payment notifications, since processing has no
+ * notification endpoint yet.
+ */
+@Slf4j
+public class ProviderStandIn implements AutoCloseable {
+
+	public static final String DEPOSIT_PATH = "/v1/trustly/deposits";
+	public static final String NOTIFICATION_PATH = "/trustly/notification";
+
+	private final HttpServer server;
+	private final HttpClient client;
+	private final URI mockInitiateUri;
+	private final EndpointStats notificationStats;
+	private final long delayMillis;
+
+	/** paymentId -> System.nanoTime() at which the flow asked the mock to settle it */
+	private final Map<String, Long> pendingNotifications = new ConcurrentHashMap<>();
+
+	/**
+	 * @param delayMillis added to every deposit answer, to simulate a slow provider
+	 */
+	public ProviderStandIn(int port, String mockUrl, long delayMillis, HttpClient client,
+			EndpointStats notificationStats) throws IOException {
+		this.client = client;
+		this.delayMillis = delayMillis;
+		this.mockInitiateUri = URI.create(mockUrl + "/payment/initiate");
+		this.notificationStats = notificationStats;
+		this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext(DEPOSIT_PATH, this::handleDeposit);
+		server.createContext(NOTIFICATION_PATH, this::handleNotification);
+	}
+
+	public void start() {
+		server.start();
+		log.info("Provider stand-in listening on port {}", server.getAddress().getPort());
+	}
+
+	public void expectNotification(String paymentId) {
+		pendingNotifications.put(paymentId, System.nanoTime());
+	}
+
+	public int getUndeliveredNotifications() {
+		return pendingNotifications.size();
+	}
+
+	private void handleDeposit(HttpExchange exchange) throws IOException {
+		if (!"POST".equals(exchange.getRequestMethod())) {
+			// connection warm-up from processing (HEAD), like a real provider would answer it
+			try (exchange) {
+				exchange.sendResponseHeaders(405, -1);
+			}
+			return;
+		}
+		try (exchange) {
+			String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+			boolean protobuf = contentType != null && contentType.startsWith(DepositProto.CONTENT_TYPE);
+			JsonObject deposit = protobuf ? DepositProto.decodeRequest(exchange.getRequestBody().readAllBytes())
+					: readJson(exchange.getRequestBody());
+			if (delayMillis > 0) {
+				Thread.sleep(delayMillis);
+			}
+
+			HttpRequest request = HttpRequest.newBuilder(mockInitiateUri)
+					.timeout(Duration.ofSeconds(30))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(toMockDeposit(deposit).toString()))
+					.build();
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			JsonObject body = JsonParser.parseString(response.body()).getAsJsonObject();
+
+			JsonObject reply = new JsonObject();
+			if (response.statusCode() / 100 == 2 && body.has("result")) {
+				JsonObject data = body.getAsJsonObject("result").getAsJsonObject("data");
+				reply.addProperty("orderId", data.get("orderid").getAsString());
+				reply.addProperty("uri", data.get("url").getAsString());
+			} else {
+				JsonObject error = body.has("error") ? body.getAsJsonObject("error") : new JsonObject();
+				reply.addProperty("errorCode", error.has("code") ? error.get("code").getAsString() : "LT-500");
+				reply.addProperty("errorMessage", error.has("message") ? error.get("message").getAsString()
+						: "Unexpected response from trustly-mock-service");
+			}
+			if (protobuf) {
+				write(exchange, response.statusCode(), DepositProto.CONTENT_TYPE, DepositProto.encodeReply(reply));
+			} else {
+				write(exchange, response.statusCode(), reply.toString());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException | IOException e) {
+			log.warn("Deposit stand-in failed: {}", e.toString());
+			JsonObject reply = new JsonObject();
+			reply.addProperty("errorCode", "LT-502");
+			reply.addProperty("errorMessage", e.toString());
+			write(exchange, 502, reply.toString());
+		}
+	}
+
+	private void handleNotification(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			JsonObject notification = readJson(exchange.getRequestBody());
+			Long triggeredAt = pendingNotifications.remove(notification.get("paymentId").getAsString());
+			if (triggeredAt != null) {
+				notificationStats.recordOk(System.nanoTime() - triggeredAt);
+			}
+			write(exchange, 200, "");
+		}
+	}
+
+	/**
+	 * Same shape as trustly-mock-service's CoreTrustlyProvider. The mock does not verify the
+	 * signature yet, so a placeholder is sent.
+	 */
+	private static JsonObject toMockDeposit(JsonObject deposit) {
+		JsonObject attributes = new JsonObject();
+		attributes.add("Country", deposit.get("country"));
+		attributes.add("Locale", deposit.get("locale"));
+		attributes.add("Currency", deposit.get("currency"));
+		attributes.add("Amount", deposit.get("amount"));
+		attributes.add("Firstname", deposit.get("firstName"));
+		attributes.add("Lastname", deposit.get("lastName"));
+		attributes.add("Email", deposit.get("email"));
+		attributes.add("SuccessURL", deposit.get("successUrl"));
+		attributes.add("FailURL", deposit.get("failUrl"));
+
+		JsonObject data = new JsonObject();
+		data.addProperty("Username", "loadtest");
+		data.addProperty("Password", "loadtest");
+		data.addProperty("NotificationURL", "http://localhost" + NOTIFICATION_PATH);
+		data.add("EndUserID", deposit.get("endUserId"));
+		data.add("MessageID", deposit.get("txnReference"));
+		data.add("Attributes", attributes);
+
+		JsonObject params = new JsonObject();
+		params.addProperty("Signature", "loadtest");
+		params.addProperty("UUID", UUID.randomUUID().toString());
+		params.add("Data", data);
+
+		JsonObject request = new JsonObject();
+		request.addProperty("method", "Deposit");
+		request.add("params", params);
+		request.addProperty("version", "1.1");
+		return request;
+	}
+
+	private static JsonObject readJson(InputStream in) throws IOException {
+		return JsonParser.parseString(new String(in.readAllBytes(), StandardCharsets.UTF_8)).getAsJsonObject();
+	}
+
+	private static void write(HttpExchange exchange, int status, String body) throws IOException {
+		write(exchange, status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void write(HttpExchange exchange, int status, String contentType, byte[] bytes)
+			throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		if (bytes.length > 0) {
+			exchange.getResponseBody().write(bytes);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
@@ -0,0 +1,105 @@
+package com.hulkhiretech.payments.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One of the services under test, started as a child JVM with its output redirected to a log file.
+ */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+	private final String name;
+	private final String baseUrl;
+	private final Process process;
+
+	private ServiceProcess(String name, String baseUrl, Process process) {
+		this.name = name;
+		this.baseUrl = baseUrl;
+		this.process = process;
+	}
+
+	public static ServiceProcess start(String name, Path jar, String baseUrl, String jvmArgs,
+			Path logDir, String... appArgs) throws IOException {
+		if (!Files.isRegularFile(jar)) {
+			throw new IllegalStateException(name + " jar not found at " + jar.toAbsolutePath()
+					+ ", build it first (see README)");
+		}
+		Files.createDirectories(logDir);
+
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if (!jvmArgs.isBlank()) {
+			command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+		}
+		command.add("-jar");
+		command.add(jar.toAbsolutePath().toString());
+		command.addAll(Arrays.asList(appArgs));
+
+		Path logFile = logDir.resolve(name + ".log");
+		log.info("Starting {} -> {} (log: {})", name, command, logFile);
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(logFile.toFile())
+				.start();
+		return new ServiceProcess(name, baseUrl, process);
+	}
+
+	/**
+	 * Polls the readiness probe until it answers 200. 503 means the service is still warming up;
+	 * a service without probes (404, or 401/403 where everything is secured) counts as ready as
+	 * soon as it answers at all.
+	 */
+	public void awaitReady(HttpClient client) throws InterruptedException {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+				.timeout(Duration.ofSeconds(2)).GET().build();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException(name + " exited with code " + process.exitValue()
+						+ " during startup, check its log");
+			}
+			try {
+				if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() != 503) {
+					log.info("{} is up at {}", name, baseUrl);
+					return;
+				}
+				Thread.sleep(500);
+			} catch (IOException e) {
+				Thread.sleep(500);
+			}
+		}
+		throw new IllegalStateException(name + " did not start within " + STARTUP_TIMEOUT);
+	}
+
+	@Override
+	public void close() {
+		if (!process.isAlive()) {
+			return;
+		}
+		log.info("Stopping {}", name);
+		process.destroy();
+		try {
+			if (!process.waitFor(20, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			process.destroyForcibly();
+		}
+	}
+}
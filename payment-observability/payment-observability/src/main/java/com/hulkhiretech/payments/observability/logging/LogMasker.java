@@ -0,0 +1,41 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * Masks customer data and secrets in rendered log lines. Handles both the
+ * Lombok toString form (firstName=John) and JSON ("email":"a@b.com").
+ */
+public final class LogMasker {
+
+	private static final String MASK = "****";
+
+	private static final Pattern SENSITIVE_FIELD = Pattern.compile(
+			"(?i)((?:email|firstname|lastname|signature|password|secret|mobileNo|mobilePhone"
+					+ "|nationalIdentificationNumber)\"?\\s*[=:]\\s*\"?)([^,\"|\\r\\n)}\\]]+)");
+
+	private static final Pattern EMAIL = Pattern.compile(
+			"([A-Za-z0-9._%+-])[A-Za-z0-9._%+-]*@([A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)+)");
+
+	private LogMasker() {
+	}
+
+	public static String mask(String message) {
+		if (message == null || !mayContainSensitiveData(message)) {
+			return message;
+		}
+		String masked = SENSITIVE_FIELD.matcher(message).replaceAll("$1" + MASK);
+		return EMAIL.matcher(masked).replaceAll("$1***@$2");
+	}
+
+	// cheap scan so plain messages skip the regex work entirely
+	private static boolean mayContainSensitiveData(String message) {
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			if (c == '=' || c == ':' || c == '@') {
+				return true;
+			}
+		}
+		return false;
+	}
+}
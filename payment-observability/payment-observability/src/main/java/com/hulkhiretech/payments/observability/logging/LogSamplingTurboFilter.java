@@ -0,0 +1,109 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Caps how often the same message template may be logged by a logger within an
+ * interval. Only DEBUG and INFO are sampled, WARN and ERROR always pass.
+ * Runs before the message is formatted, so dropped events cost no allocation.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+	private static final int MAX_TRACKED_TEMPLATES = 1000;
+
+	private final Map<String, Map<String, Window>> windows = new ConcurrentHashMap<>();
+
+	private String[] loggerPrefixes = new String[0];
+	private int maxPerInterval = 100;
+	private long intervalMillis = 1000;
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+			Throwable t) {
+		// level checks (isInfoEnabled) arrive without a format
+		if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+				|| !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !isSampled(logger.getName())) {
+			return FilterReply.NEUTRAL;
+		}
+
+		Map<String, Window> loggerWindows = windows.computeIfAbsent(logger.getName(),
+				k -> new ConcurrentHashMap<>());
+		Window window = loggerWindows.get(format);
+		if (window == null) {
+			if (loggerWindows.size() >= MAX_TRACKED_TEMPLATES) {
+				return FilterReply.NEUTRAL;
+			}
+			window = loggerWindows.computeIfAbsent(format, k -> new Window());
+		}
+		return window.tryAcquire(System.currentTimeMillis()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+	}
+
+	private boolean isSampled(String loggerName) {
+		if (loggerPrefixes.length == 0) {
+			return true;
+		}
+		for (String prefix : loggerPrefixes) {
+			if (loggerName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void setLoggerPrefixes(String loggerPrefixes) {
+		this.loggerPrefixes = loggerPrefixes == null || loggerPrefixes.isBlank() ? new String[0]
+				: loggerPrefixes.trim().split("\\s*,\\s*");
+	}
+
+	public void setMaxPerInterval(int maxPerInterval) {
+		this.maxPerInterval = maxPerInterval;
+	}
+
+	public void setIntervalMillis(long intervalMillis) {
+		this.intervalMillis = intervalMillis;
+	}
+
+	/**
+	 * Fixed window of intervalMillis, aligned to the epoch. The window number (high 32 bits)
+	 * and the count in it (low 32 bits) share one long, so starting a new window and counting
+	 * in it is a single compare-and-set: no event can be counted against a window that
+	 * another thread has just reset.
+	 */
+	private final class Window {
+
+		private final AtomicLong state = new AtomicLong((long) windowOf(System.currentTimeMillis()) << 32);
+
+		boolean tryAcquire(long now) {
+			int window = windowOf(now);
+			while (true) {
+				long current = state.get();
+				// a thread that read the clock before another one moved the window on counts in the new
+				// window instead of moving it back
+				if (window - (int) (current >>> 32) > 0) {
+					if (state.compareAndSet(current, ((long) window << 32) | 1)) {
+						return maxPerInterval >= 1;
+					}
+				} else if ((int) current >= maxPerInterval) {
+					// stays at the limit instead of counting on, so it cannot overflow
+					return false;
+				} else if (state.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			}
+		}
+
+		// compared by difference, so the int wrapping around does not matter
+		private int windowOf(long millis) {
+			return (int) (millis / intervalMillis);
+		}
+	}
+}
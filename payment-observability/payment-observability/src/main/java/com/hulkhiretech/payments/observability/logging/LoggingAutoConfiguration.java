@@ -0,0 +1,23 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * The appenders, masking and sampling are set up by logback-base.xml, included from
+ * each service's logback-spring.xml. This only adds the servlet MDC filter.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class LoggingAutoConfiguration {
+
+	@Bean
+	MdcRequestFilter mdcRequestFilter(@Value("${logging.mdc.request-keys:}") List<String> requestKeys) {
+		return new MdcRequestFilter(requestKeys);
+	}
+}
@@ -0,0 +1,17 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import org.springframework.boot.json.JsonWriter.Members;
+import org.springframework.boot.json.JsonWriter.ValueProcessor;
+import org.springframework.boot.logging.structured.StructuredLoggingJsonMembersCustomizer;
+
+/**
+ * Registered through logging.structured.json.customizer so every string written
+ * by the JSON encoder (message, MDC values, stack traces) goes through the masker.
+ */
+public class MaskingJsonMembersCustomizer implements StructuredLoggingJsonMembersCustomizer<Object> {
+
+	@Override
+	public void customize(Members<Object> members) {
+		members.applyingValueProcessor(ValueProcessor.of(String.class, LogMasker::mask));
+	}
+}
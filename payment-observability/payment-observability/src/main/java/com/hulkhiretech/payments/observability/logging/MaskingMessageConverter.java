@@ -0,0 +1,15 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * %maskedMsg for the plain text pattern used on local runs.
+ */
+public class MaskingMessageConverter extends MessageConverter {
+
+	@Override
+	public String convert(ILoggingEvent event) {
+		return LogMasker.mask(event.getFormattedMessage());
+	}
+}
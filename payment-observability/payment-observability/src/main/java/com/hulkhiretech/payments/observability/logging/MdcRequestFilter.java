@@ -0,0 +1,48 @@
+package com.hulkhiretech.payments.observability.logging;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Holds the per-request logging context. Values added further down the call
+ * (logging.mdc.request-keys, e.g. txnReference) are cleared here as well so
+ * nothing leaks to the next request served by the same thread.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class MdcRequestFilter extends OncePerRequestFilter {
+
+	public static final String MDC_HTTP_METHOD = "httpMethod";
+	public static final String MDC_HTTP_PATH = "httpPath";
+
+	private final List<String> requestKeys;
+
+	public MdcRequestFilter(List<String> requestKeys) {
+		this.requestKeys = List.copyOf(requestKeys);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain) throws ServletException, IOException {
+		MDC.put(MDC_HTTP_METHOD, request.getMethod());
+		MDC.put(MDC_HTTP_PATH, request.getRequestURI());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			MDC.remove(MDC_HTTP_METHOD);
+			MDC.remove(MDC_HTTP_PATH);
+			for (String key : requestKeys) {
+				MDC.remove(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.hulkhiretech.payments.observability.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends every finished span as one JSON line to a local file, so traces can be
+ * analysed offline without running a collector. Invoked from the batch span
+ * processor thread, never from request threads.
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+
+	private final Gson gson = new Gson();
+	private final BufferedWriter writer;
+
+	public JsonLinesSpanExporter(Path file) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+		try {
+			for (SpanData span : spans) {
+				writer.write(gson.toJson(toMap(span)));
+				writer.newLine();
+			}
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			log.warn("Unable to write spans to file: {}", e.getMessage());
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode flush() {
+		try {
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		try {
+			writer.close();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	private static Map<String, Object> toMap(SpanData span) {
+		Map<String, Object> line = new LinkedHashMap<>();
+		line.put("service", span.getResource().getAttributes().asMap().entrySet().stream()
+				.filter(e -> "service.name".equals(e.getKey().getKey()))
+				.map(e -> String.valueOf(e.getValue()))
+				.findFirst().orElse(null));
+		line.put("traceId", span.getTraceId());
+		line.put("spanId", span.getSpanId());
+		line.put("parentSpanId", span.getParentSpanId());
+		line.put("name", span.getName());
+		line.put("kind", span.getKind().name());
+		line.put("startEpochNanos", span.getStartEpochNanos());
+		line.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+		line.put("status", span.getStatus().getStatusCode().name());
+
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+		line.put("attributes", attributes);
+		return line;
+	}
+}
@@ -0,0 +1,28 @@
+package com.hulkhiretech.payments.observability.tracing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Sampling and the OTLP collector endpoint are plain Spring Boot properties
+ * (management.tracing.* / management.otlp.tracing.*). This only adds the optional
+ * file exporter, enabled by setting tracing.file-exporter.path.
+ */
+@AutoConfiguration
+@ConditionalOnClass(SpanExporter.class)
+public class TracingAutoConfiguration {
+
+	@Bean
+	@ConditionalOnProperty("tracing.file-exporter.path")
+	SpanExporter jsonLinesSpanExporter(@Value("${tracing.file-exporter.path}") String path) throws IOException {
+		return new JsonLinesSpanExporter(Path.of(path));
+	}
+}
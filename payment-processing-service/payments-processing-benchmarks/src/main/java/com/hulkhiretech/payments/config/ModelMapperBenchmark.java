@@ -0,0 +1,62 @@
+package com.hulkhiretech.payments.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.pojo.Money;
+
+/**
+ * The TransactionDto <-> Transaction mappings exactly as configured in {@link AppConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+	private ModelMapper modelMapper;
+	private TransactionDto txnDto;
+	private Transaction txnEntity;
+
+	@Setup
+	public void setup() {
+		modelMapper = new AppConfig().modelMapper();
+
+		txnDto = new TransactionDto();
+		txnDto.setUserId(1234);
+		txnDto.setPaymentMethod("APM");
+		txnDto.setProvider("TRUSTLY");
+		txnDto.setPaymentType("SALE");
+		txnDto.setTxnStatus("INITIATED");
+		txnDto.setAmount(Money.parse("150.25", "EUR"));
+		txnDto.setMerchantTransactionReference("M-1001");
+		txnDto.setTxnReference("0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c");
+
+		txnEntity = modelMapper.map(txnDto, Transaction.class);
+	}
+
+	@Benchmark
+	public Transaction dtoToEntity() {
+		return modelMapper.map(txnDto, Transaction.class);
+	}
+
+	@Benchmark
+	public TransactionDto entityToDto() {
+		return modelMapper.map(txnEntity, TransactionDto.class);
+	}
+}
@@ -0,0 +1,69 @@
+package com.hulkhiretech.payments.pojo;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Amount handling at the provider boundary: Money against the BigDecimal and double conversions it
+ * replaced. Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+	private String text;
+	private BigDecimal decimal;
+	private Money money;
+
+	@Setup
+	public void setup() {
+		text = "150.25";
+		decimal = new BigDecimal(text);
+		money = Money.parse(text, "EUR");
+	}
+
+	@Benchmark
+	public Money parseMoney() {
+		return Money.parse(text, "EUR");
+	}
+
+	@Benchmark
+	public BigDecimal parseBigDecimal() {
+		return new BigDecimal(text);
+	}
+
+	@Benchmark
+	public Money fromBigDecimal() {
+		return Money.of(decimal, "EUR");
+	}
+
+	@Benchmark
+	public String formatMoney() {
+		return money.toPlainString();
+	}
+
+	@Benchmark
+	public String formatBigDecimal() {
+		return decimal.toPlainString();
+	}
+
+	@Benchmark
+	public String formatDouble() {
+		return Double.toString(decimal.doubleValue());
+	}
+}
@@ -0,0 +1,67 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of the per-request rate limit check, with every thread on one merchant (CAS contention on
+ * one bucket) and spread over many merchants. Limits are high enough that nothing is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MerchantRateLimiterBenchmark {
+
+	private static final int MERCHANTS = 1000;
+
+	private MerchantRateLimiter limiter;
+	private String[] merchantIds;
+
+	@Setup
+	public void setup() {
+		RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+		limit.setRatePerSecond(1_000_000_000);
+		limit.setBurst(1_000_000);
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setDefaults(Map.of(MetricsConstants.OPERATION_CREATE, limit));
+		limiter = new MerchantRateLimiter(properties, new PaymentMetrics(new SimpleMeterRegistry()));
+
+		merchantIds = new String[MERCHANTS];
+		for (int i = 0; i < MERCHANTS; i++) {
+			merchantIds[i] = "merchant-" + i;
+		}
+	}
+
+	@Benchmark
+	public long sameMerchant() {
+		return limiter.tryAcquire(merchantIds[0], MetricsConstants.OPERATION_CREATE);
+	}
+
+	@Benchmark
+	public long manyMerchants() {
+		return limiter.tryAcquire(merchantIds[ThreadLocalRandom.current().nextInt(MERCHANTS)],
+				MetricsConstants.OPERATION_CREATE);
+	}
+}
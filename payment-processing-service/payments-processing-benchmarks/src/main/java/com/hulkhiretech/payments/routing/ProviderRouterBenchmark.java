@@ -0,0 +1,61 @@
+package com.hulkhiretech.payments.routing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routing overhead per provider call: the endpoint pick alone, and the pick plus the
+ * start/finish bookkeeping the HTTP engines do, over four endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ProviderRouterBenchmark {
+
+	private ProviderRouter router;
+
+	@Setup
+	public void setup() {
+		RoutingProperties properties = new RoutingProperties();
+		properties.setEndpoints(Map.of("TRUSTLY", Map.of("APM", List.of(
+				"http://trustly-a:8083/v1/trustly/deposits",
+				"http://trustly-b:8083/v1/trustly/deposits",
+				"http://trustly-c:8083/v1/trustly/deposits",
+				"http://trustly-d:8083/v1/trustly/deposits"))));
+		router = new ProviderRouter(properties, new PaymentMetrics(new SimpleMeterRegistry()),
+				"http://localhost:8083/v1/trustly/deposits");
+	}
+
+	@Benchmark
+	public ProviderEndpoint select() {
+		return router.select("TRUSTLY", "APM");
+	}
+
+	@Benchmark
+	public ProviderEndpoint selectAndRecord() {
+		ProviderEndpoint endpoint = router.callStarted(router.select("TRUSTLY", "APM").getUrl());
+		router.callFinished(endpoint, 50_000_000, true);
+		return endpoint;
+	}
+}
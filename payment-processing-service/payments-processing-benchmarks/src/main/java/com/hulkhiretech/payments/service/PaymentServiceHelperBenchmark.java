@@ -0,0 +1,100 @@
+package com.hulkhiretech.payments.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.google.gson.Gson;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.exception.TrustlyProviderException;
+import com.hulkhiretech.payments.http.HttpRequest;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.Money;
+import com.hulkhiretech.payments.routing.ProviderRouter;
+import com.hulkhiretech.payments.routing.RoutingProperties;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderProtoCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Request building and response parsing around the Trustly provider deposit call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentServiceHelperBenchmark {
+
+	private PaymentServiceHelper helper;
+	private TransactionDto txnDto;
+	private InitiateTxnRequest initiateTxnRequest;
+	private ResponseEntity<byte[]> successResponse;
+	private ResponseEntity<byte[]> errorResponse;
+
+	@Setup
+	public void setup() {
+		helper = new PaymentServiceHelper(new Gson(), new TrustlyProviderProtoCodec(), new ProviderRouter(
+				new RoutingProperties(), new PaymentMetrics(new SimpleMeterRegistry()), "http://localhost:8083/v1/trustly/deposits"));
+
+		txnDto = new TransactionDto();
+		txnDto.setUserId(1234);
+		txnDto.setProvider("TRUSTLY");
+		txnDto.setPaymentMethod("APM");
+		txnDto.setAmount(Money.parse("150.25", "EUR"));
+		txnDto.setTxnReference("0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c");
+
+		initiateTxnRequest = new InitiateTxnRequest();
+		initiateTxnRequest.setFirstName("John");
+		initiateTxnRequest.setLastName("Doe");
+		initiateTxnRequest.setEmail("john.doe@example.com");
+		initiateTxnRequest.setCountry("SE");
+		initiateTxnRequest.setLocale("sv_SE");
+		initiateTxnRequest.setSuccessUrl("https://merchant.example.com/success");
+		initiateTxnRequest.setFailUrl("https://merchant.example.com/fail");
+
+		successResponse = ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON)
+				.body(("{\"orderId\":\"3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44\","
+						+ "\"uri\":\"http://localhost:8084/?token=3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44\"}")
+						.getBytes(StandardCharsets.UTF_8));
+		errorResponse = ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+				.body("{\"errorCode\":\"30001\",\"errorMessage\":\"Username is missing\"}"
+						.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public HttpRequest prepareInitiateRequest() {
+		return helper.prepareInitiateRequest(txnDto, initiateTxnRequest);
+	}
+
+	@Benchmark
+	public TrustlyProviderDepositResponse processSuccessResponse() {
+		return helper.processResponse(successResponse);
+	}
+
+	@Benchmark
+	public TrustlyProviderException processErrorResponse() {
+		try {
+			helper.processResponse(errorResponse);
+			throw new IllegalStateException("error response was accepted");
+		} catch (TrustlyProviderException e) {
+			return e;
+		}
+	}
+}
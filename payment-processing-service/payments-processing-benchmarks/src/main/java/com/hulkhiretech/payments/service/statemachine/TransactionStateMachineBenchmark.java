@@ -0,0 +1,88 @@
+package com.hulkhiretech.payments.service.statemachine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.service.PaymentStatusService;
+import com.hulkhiretech.payments.service.interfaces.TransactionStatusHandler;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Status dispatch (the replacement for TransactionStatusFactory): the raw state machine lookups,
+ * and a full {@link PaymentStatusService#updatePayment} with handlers that skip the DB write so
+ * only dispatch, hooks and metrics are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionStateMachineBenchmark {
+
+	private TransactionStateMachine stateMachine;
+	private PaymentStatusService paymentStatusService;
+	private TransactionDto txnDto;
+
+	@Setup
+	public void setup() {
+		List<TransactionStatusHandler> handlers = new ArrayList<>();
+		for (TransactionStatusEnum status : TransactionStatusEnum.values()) {
+			handlers.add(new NoopStatusHandler(status));
+		}
+		stateMachine = new TransactionStateMachine(handlers,
+				new StaticListableBeanFactory().getBeanProvider(TransactionTransitionHook.class));
+		paymentStatusService = new PaymentStatusService(stateMachine, new PaymentMetrics(new SimpleMeterRegistry()));
+
+		txnDto = new TransactionDto();
+		txnDto.setPaymentMethod("APM");
+		txnDto.setProvider("TRUSTLY");
+		txnDto.setPaymentType("SALE");
+		txnDto.setTxnReference("0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c");
+	}
+
+	@Benchmark
+	public void dispatch(Blackhole bh) {
+		bh.consume(stateMachine.isAllowed(TransactionStatusEnum.CREATED, TransactionStatusEnum.INITIATED));
+		bh.consume(stateMachine.getHandler(TransactionStatusEnum.INITIATED));
+		bh.consume(stateMachine.getHooks(TransactionStatusEnum.CREATED, TransactionStatusEnum.INITIATED));
+	}
+
+	@Benchmark
+	public TransactionDto updatePayment() {
+		txnDto.setTxnStatus(TransactionStatusEnum.CREATED.getName());
+		return paymentStatusService.updatePayment(txnDto, TransactionStatusEnum.INITIATED);
+	}
+
+	private record NoopStatusHandler(TransactionStatusEnum status) implements TransactionStatusHandler {
+
+		@Override
+		public TransactionDto handleTransactionStatus(TransactionDto transactionDto, TransactionStatusEnum fromStatus) {
+			return transactionDto;
+		}
+
+		@Override
+		public TransactionStatusEnum getTransactionStatus() {
+			return status;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.hulkhiretech.payments.trustlyprovider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+
+/**
+ * JSON (Gson) against protobuf for each side of the deposit call: processing encodes the request
+ * and decodes the response, the provider decodes the request. Payload sizes are printed once in
+ * setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepositCodecBenchmark {
+
+	private Gson gson;
+	private TrustlyProviderProtoCodec codec;
+	private TrustlyProviderDepositRequest request;
+	private byte[] jsonRequest;
+	private byte[] protobufRequest;
+	private byte[] jsonResponse;
+	private byte[] protobufResponse;
+
+	@Setup
+	public void setup() {
+		gson = new Gson();
+		codec = new TrustlyProviderProtoCodec();
+		request = TrustlyProviderDepositRequest.builder()
+				.txnReference("0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c")
+				.endUserId("1234")
+				.amount("150.25")
+				.currency("EUR")
+				.firstName("John")
+				.lastName("Doe")
+				.email("john.doe@example.com")
+				.country("SE")
+				.locale("sv_SE")
+				.successUrl("https://merchant.example.com/payments/0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c/success")
+				.failUrl("https://merchant.example.com/payments/0a6bd4b4-1c33-4d2d-9a89-4d0e7b0f1b2c/fail")
+				.build();
+		TrustlyProviderDepositResponse response = new TrustlyProviderDepositResponse();
+		response.setOrderid("3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44");
+		response.setUrl("http://localhost:8084/?token=3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44");
+
+		jsonRequest = gson.toJson(request).getBytes(StandardCharsets.UTF_8);
+		protobufRequest = codec.encodeDepositRequest(request);
+		jsonResponse = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+		protobufResponse = codec.encodeDepositResponse(response);
+		System.out.printf("payload bytes: request json=%d protobuf=%d, response json=%d protobuf=%d%n",
+				jsonRequest.length, protobufRequest.length, jsonResponse.length, protobufResponse.length);
+	}
+
+	@Benchmark
+	public byte[] encodeRequestJson() {
+		return gson.toJson(request).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] encodeRequestProtobuf() {
+		return codec.encodeDepositRequest(request);
+	}
+
+	@Benchmark
+	public TrustlyProviderDepositRequest decodeRequestJson() {
+		return gson.fromJson(new String(jsonRequest, StandardCharsets.UTF_8), TrustlyProviderDepositRequest.class);
+	}
+
+	@Benchmark
+	public TrustlyProviderDepositRequest decodeRequestProtobuf() {
+		return codec.decodeDepositRequest(protobufRequest);
+	}
+
+	@Benchmark
+	public TrustlyProviderDepositResponse decodeResponseJson() {
+		return gson.fromJson(new String(jsonResponse, StandardCharsets.UTF_8), TrustlyProviderDepositResponse.class);
+	}
+
+	@Benchmark
+	public TrustlyProviderDepositResponse decodeResponseProtobuf() {
+		return codec.decodeDepositResponse(protobufResponse);
+	}
+}
@@ -0,0 +1,74 @@
+package com.hulkhiretech.payments.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+
+/**
+ * Name to id lookups done by the *EnumConverter classes on every ModelMapper call, plus the
+ * reverse id to name lookup. Status is parameterised since the lookup is a linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumConverterBenchmark {
+
+	@Param({ "CREATED", "FAILED" })
+	private String txnStatus;
+
+	private int txnStatusId;
+
+	private PaymentMethodEnumConverter paymentMethodConverter;
+	private PaymentTypeEnumConverter paymentTypeConverter;
+	private ProviderEnumConverter providerConverter;
+	private TransactionStatusEnumConverter transactionStatusConverter;
+
+	@Setup
+	public void setup() {
+		paymentMethodConverter = new PaymentMethodEnumConverter();
+		paymentTypeConverter = new PaymentTypeEnumConverter();
+		providerConverter = new ProviderEnumConverter();
+		transactionStatusConverter = new TransactionStatusEnumConverter();
+		txnStatusId = TransactionStatusEnum.valueOf(txnStatus).getId();
+	}
+
+	@Benchmark
+	public Integer paymentMethodConverter() {
+		return paymentMethodConverter.convert("APM");
+	}
+
+	@Benchmark
+	public Integer paymentTypeConverter() {
+		return paymentTypeConverter.convert("SALE");
+	}
+
+	@Benchmark
+	public Integer providerConverter() {
+		return providerConverter.convert("TRUSTLY");
+	}
+
+	@Benchmark
+	public Integer transactionStatusConverter() {
+		return transactionStatusConverter.convert(txnStatus);
+	}
+
+	@Benchmark
+	public String transactionStatusById() {
+		return TransactionStatusEnum.getById(txnStatusId).getName();
+	}
+}
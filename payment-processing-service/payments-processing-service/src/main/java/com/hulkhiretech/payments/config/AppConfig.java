@@ -5,12 +5,15 @@ import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeMap;
 import org.modelmapper.config.Configuration.AccessLevel;
 import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
 
 import com.hulkhiretech.payments.dto.TransactionDto;
 import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.pojo.CreateTransaction;
+import com.hulkhiretech.payments.pojo.Money;
 import com.hulkhiretech.payments.util.PaymentMethodEnumConverter;
 import com.hulkhiretech.payments.util.PaymentTypeEnumConverter;
 import com.hulkhiretech.payments.util.ProviderEnumConverter;
@@ -29,6 +32,13 @@ public class AppConfig {
                 .setFieldMatchingEnabled(true)
                 .setFieldAccessLevel(AccessLevel.PRIVATE);
 
+        // Money is immutable, so it is shared rather than copied field by field
+        modelMapper.addConverter(ctx -> ctx.getSource(), Money.class, Money.class);
+
+        // The request amount is converted exactly against its currency by the service, not here
+        modelMapper.createTypeMap(CreateTransaction.class, TransactionDto.class)
+                .addMappings(mapper -> mapper.skip(TransactionDto::setAmount));
+
         // Create converter instances
         Converter<String, Integer> paymentMethodEnumConverter = new PaymentMethodEnumConverter();
         Converter<String, Integer> paymentTypeEnumConverter = new PaymentTypeEnumConverter();
@@ -94,8 +104,11 @@ public class AppConfig {
         return modelMapper;
     }
 
+	// Built from the auto-configured builder so outbound calls are observed and carry trace headers.
+	// Boot does not configure that builder for a reactive web application; the plain one only
+	// backs the outbox relay there
 	@Bean
-	RestClient restClientConfig() {
-		return RestClient.create();
+	RestClient restClientConfig(ObjectProvider<RestClient.Builder> restClientBuilder) {
+		return restClientBuilder.getIfAvailable(RestClient::builder).build();
 	}
-}
\ No newline at end of file
+}
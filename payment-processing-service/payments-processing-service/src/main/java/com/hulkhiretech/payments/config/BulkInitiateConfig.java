@@ -0,0 +1,30 @@
+package com.hulkhiretech.payments.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.hulkhiretech.payments.constants.ProfileConstants;
+
+@Configuration
+@Profile(ProfileConstants.NOT_REACTIVE)
+public class BulkInitiateConfig {
+
+	/**
+	 * Workers for bulk initiate items, shared by all bulk requests. BulkInitiateService never has
+	 * more than max-in-flight items submitted, so the queue only covers a worker that has released
+	 * its permit but not yet gone back to the pool.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	ThreadPoolExecutor bulkInitiateExecutor(@Value("${payments.bulk.max-in-flight:16}") int maxInFlight) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxInFlight), Thread.ofPlatform().name("bulk-initiate-", 0).factory());
+		executor.prestartAllCoreThreads();
+		return executor;
+	}
+}
@@ -0,0 +1,23 @@
+package com.hulkhiretech.payments.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.service.InitiateResponseCache;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+
+@Configuration
+public class InitiateReplayConfig {
+
+	// a cached initiate answer is only valid while the transaction is PENDING
+	@Bean
+	TransactionTransitionHook initiateCacheEvictionOnSuccess(InitiateResponseCache initiateResponseCache) {
+		return initiateResponseCache.evictionHook(TransactionStatusEnum.SUCCESS);
+	}
+
+	@Bean
+	TransactionTransitionHook initiateCacheEvictionOnFailure(InitiateResponseCache initiateResponseCache) {
+		return initiateResponseCache.evictionHook(TransactionStatusEnum.FAILED);
+	}
+}
@@ -0,0 +1,29 @@
+package com.hulkhiretech.payments.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+	/**
+	 * Dispatcher pool for outbox events, sized independently of the Tomcat request threads.
+	 * The poller never claims more rows than the queue can take, so rejections are not expected.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	ThreadPoolExecutor outboxDispatchExecutor(
+			@Value("${payments.outbox.dispatcher.threads:4}") int threads,
+			@Value("${payments.outbox.dispatcher.queue-capacity:64}") int queueCapacity) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("outbox-dispatch-", 0).factory());
+		executor.prestartAllCoreThreads();
+		return executor;
+	}
+}
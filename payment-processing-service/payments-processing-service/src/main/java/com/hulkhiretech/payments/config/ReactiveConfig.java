@@ -0,0 +1,66 @@
+package com.hulkhiretech.payments.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.hulkhiretech.payments.constants.ProfileConstants;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@Profile(ProfileConstants.REACTIVE)
+public class ReactiveConfig {
+
+	// Tomcat is on the class path for the servlet stack and would otherwise win; Netty keeps
+	// the reactive stack on a handful of event loop threads
+	@Bean
+	NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	@Bean
+	DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+		return DatabaseClient.create(connectionFactory);
+	}
+
+	// DataSourceAutoConfiguration backs off once a ConnectionFactory exists, but the status handlers
+	// and the outbox are still JDBC, so the Hikari pool is declared the same way Boot would
+	@Bean
+	@ConfigurationProperties("spring.datasource")
+	DataSourceProperties dataSourceProperties() {
+		return new DataSourceProperties();
+	}
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+		return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	// Built from the auto-configured builder so outbound calls are observed and carry trace headers.
+	// Reactor Netty pools 2 x max(cores, 8) connections by default, which caps a slow provider at a
+	// few calls per second however many requests are waiting
+	@Bean
+	WebClient webClient(WebClient.Builder webClientBuilder,
+			@Value("${payments.reactive.provider-max-connections:500}") int maxConnections) {
+		ConnectionProvider connectionProvider = ConnectionProvider.builder("trustly-provider")
+				.maxConnections(maxConnections)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		return webClientBuilder
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+				.build();
+	}
+}
@@ -0,0 +1,33 @@
+package com.hulkhiretech.payments.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.ratelimit.MerchantRateLimiter;
+import com.hulkhiretech.payments.ratelimit.RateLimitInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@Profile(ProfileConstants.NOT_REACTIVE)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+	private final MerchantRateLimiter merchantRateLimiter;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		if (!merchantRateLimiter.isEnabled()) {
+			return;
+		}
+		registry.addInterceptor(new RateLimitInterceptor(merchantRateLimiter, MetricsConstants.OPERATION_CREATE))
+				.addPathPatterns("/payments");
+		// bulk initiate takes one initiate token per item in BulkInitiateService
+		registry.addInterceptor(new RateLimitInterceptor(merchantRateLimiter, MetricsConstants.OPERATION_INITIATE))
+				.addPathPatterns("/payments/*/initiate");
+	}
+}
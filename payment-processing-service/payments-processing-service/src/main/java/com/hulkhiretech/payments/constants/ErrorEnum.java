@@ -6,7 +6,13 @@ import lombok.Getter;
 public enum ErrorEnum {
 	GENERIC_ERROR("20000", "Unable to process your request, please try later"),
 	UNABLE_TO_CONNECT_TRUSTLY_PROVIDER("20001", "Unable to connect to Trustly Provider, please try later"),
-	ERROR_PROCESSING_TRUSTLY_RESPONSE("20002", "Unable to connect to Trustly Provider, please try later");
+	ERROR_PROCESSING_TRUSTLY_RESPONSE("20002", "Unable to connect to Trustly Provider, please try later"),
+	ILLEGAL_STATUS_TRANSITION("20003", "Transaction is not in a valid state for this operation"),
+	OUTBOX_DISPATCH_ATTEMPTS_EXHAUSTED("20004", "Unable to dispatch the payment to Trustly Provider"),
+	INVALID_AMOUNT("20005", "Amount is missing or not valid for the currency"),
+	RATE_LIMIT_EXCEEDED("20006", "Too many requests, please retry later"),
+	INVALID_BULK_REQUEST("20007", "Bulk request has no items or too many items"),
+	BULK_CAPACITY_EXCEEDED("20008", "Bulk initiation is at capacity, please retry this item later");
 
 	private final String errorCode;
 	private final String errorMessage;
@@ -15,4 +21,4 @@ public enum ErrorEnum {
 		this.errorCode = errorCode;
 		this.errorMessage = errorMessage;
 	}
-}
\ No newline at end of file
+}
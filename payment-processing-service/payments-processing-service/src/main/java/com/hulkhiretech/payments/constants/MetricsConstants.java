@@ -0,0 +1,72 @@
+package com.hulkhiretech.payments.constants;
+
+public class MetricsConstants {
+
+	private MetricsConstants() {
+	}
+
+	// Meter names, all share the "payments" prefix so histogram settings apply to every one of them
+	public static final String PAYMENTS_REQUEST = "payments.request";
+	public static final String PAYMENTS_STAGE = "payments.stage";
+	public static final String PAYMENTS_DB = "payments.db";
+	public static final String PAYMENTS_PROVIDER_HTTP = "payments.provider.http";
+	public static final String PAYMENTS_STATUS_TRANSITION = "payments.status.transition";
+	public static final String PAYMENTS_STATUS_TRANSITION_REJECTED = "payments.status.transition.rejected";
+	public static final String PAYMENTS_ERRORS = "payments.errors";
+	public static final String PAYMENTS_OUTBOX_BACKLOG = "payments.outbox.backlog";
+	public static final String PAYMENTS_OUTBOX_OLDEST_AGE = "payments.outbox.oldest.age";
+	public static final String PAYMENTS_OUTBOX_LAG = "payments.outbox.lag";
+	public static final String PAYMENTS_OUTBOX_DISPATCH = "payments.outbox.dispatch";
+	public static final String PAYMENTS_OUTBOX_DISPATCHER_ACTIVE = "payments.outbox.dispatcher.active";
+	public static final String PAYMENTS_OUTBOX_DISPATCHER_QUEUED = "payments.outbox.dispatcher.queued";
+	public static final String PAYMENTS_RATELIMIT_REJECTED = "payments.ratelimit.rejected";
+	public static final String PAYMENTS_RATELIMIT_BUCKETS = "payments.ratelimit.buckets";
+	public static final String PAYMENTS_INITIATE_REPLAYED = "payments.initiate.replayed";
+	public static final String PAYMENTS_INITIATE_CACHE_SIZE = "payments.initiate.cache.size";
+	public static final String PAYMENTS_ROUTING_SELECTED = "payments.routing.selected";
+	public static final String PAYMENTS_ROUTING_EJECTIONS = "payments.routing.ejections";
+	public static final String PAYMENTS_ROUTING_LATENCY = "payments.routing.endpoint.latency";
+	public static final String PAYMENTS_ROUTING_ERROR_RATE = "payments.routing.endpoint.error.rate";
+	public static final String PAYMENTS_ROUTING_IN_FLIGHT = "payments.routing.endpoint.in.flight";
+	public static final String PAYMENTS_ROUTING_EJECTED = "payments.routing.endpoint.ejected";
+
+	// Tag keys
+	public static final String TAG_OPERATION = "operation";
+	public static final String TAG_STAGE = "stage";
+	public static final String TAG_STATUS = "status";
+	public static final String TAG_PROVIDER = "provider";
+	public static final String TAG_PAYMENT_METHOD = "paymentMethod";
+	public static final String TAG_OUTCOME = "outcome";
+	public static final String TAG_ERROR_CODE = "errorCode";
+	public static final String TAG_FROM = "from";
+	public static final String TAG_TO = "to";
+	public static final String TAG_ENDPOINT = "endpoint";
+	public static final String TAG_SOURCE = "source";
+
+	// Tag values
+	public static final String OPERATION_CREATE = "create";
+	public static final String OPERATION_INITIATE = "initiate";
+	public static final String OPERATION_SAVE = "save";
+	public static final String OPERATION_UPDATE = "update";
+	public static final String OPERATION_GET_BY_REFERENCE = "getByReference";
+	public static final String OPERATION_OUTBOX_SAVE = "outbox.save";
+	public static final String OPERATION_OUTBOX_CLAIM = "outbox.claim";
+	public static final String OPERATION_OUTBOX_COMPLETE = "outbox.complete";
+	public static final String OPERATION_OUTBOX_BACKLOG = "outbox.backlog";
+
+	public static final String STAGE_MAPPING = "mapping";
+	public static final String STAGE_DB_READ = "db.read";
+	public static final String STAGE_STATUS_WRITE = "status.write";
+	public static final String STAGE_PROVIDER_CALL = "provider.call";
+	public static final String STAGE_RESPONSE_PARSE = "response.parse";
+
+	// where a repeated initiate was answered from
+	public static final String SOURCE_CACHE = "cache";
+	public static final String SOURCE_DB = "db";
+	public static final String SOURCE_IN_FLIGHT = "inFlight";
+
+	public static final String OUTCOME_SUCCESS = "success";
+	public static final String OUTCOME_FAILURE = "failure";
+	public static final String UNKNOWN = "unknown";
+	public static final String STATUS_NONE = "NONE";
+}
@@ -0,0 +1,13 @@
+package com.hulkhiretech.payments.constants;
+
+public class OutboxConstants {
+
+	private OutboxConstants() {
+	}
+
+	public static final String EVENT_TRUSTLY_DEPOSIT = "TRUSTLY_DEPOSIT";
+
+	// payments.outbox.dispatch-mode values
+	public static final String DISPATCH_MODE_INLINE = "inline";
+	public static final String DISPATCH_MODE_ASYNC = "async";
+}
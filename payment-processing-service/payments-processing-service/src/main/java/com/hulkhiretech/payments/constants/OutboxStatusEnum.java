@@ -0,0 +1,5 @@
+package com.hulkhiretech.payments.constants;
+
+public enum OutboxStatusEnum {
+	NEW, IN_PROGRESS, DONE
+}
@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.constants;
+
+public class ProfileConstants {
+
+	private ProfileConstants() {
+	}
+
+	// WebFlux + R2DBC + WebClient variant of the processing pipeline, see application-reactive.properties
+	public static final String REACTIVE = "reactive";
+	public static final String NOT_REACTIVE = "!" + REACTIVE;
+}
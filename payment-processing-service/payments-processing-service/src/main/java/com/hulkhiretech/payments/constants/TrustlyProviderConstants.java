@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.constants;
+
+public class TrustlyProviderConstants {
+
+	private TrustlyProviderConstants() {
+	}
+
+	// trustlyprovider.deposit.protocol values
+	public static final String PROTOCOL_JSON = "json";
+	public static final String PROTOCOL_PROTOBUF = "protobuf";
+}
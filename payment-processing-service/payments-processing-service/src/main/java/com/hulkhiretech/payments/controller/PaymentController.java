@@ -1,15 +1,30 @@
 package com.hulkhiretech.payments.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.pojo.BulkInitiateRequest;
 import com.hulkhiretech.payments.pojo.CreateTransaction;
 import com.hulkhiretech.payments.pojo.CreateTransactionResponse;
 import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
 import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.ratelimit.MerchantRateLimiter;
+import com.hulkhiretech.payments.service.BulkInitiateService;
 import com.hulkhiretech.payments.service.interfaces.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -17,16 +32,20 @@ import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/payments")
+@Profile(ProfileConstants.NOT_REACTIVE)
 @Slf4j
 @RequiredArgsConstructor
 public class PaymentController {
 
 	private final PaymentService paymentService;
+	private final BulkInitiateService bulkInitiateService;
+	private final MerchantRateLimiter merchantRateLimiter;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping
 	public CreateTransactionResponse createPayment(@RequestBody CreateTransaction transaction) {
 		log.info("Payment Request Received  in Payments Controller");
-		log.info("Received payment request| createTxn:{}", transaction);
+		log.debug("Received payment request| createTxn:{}", transaction);
 		CreateTransactionResponse response = paymentService.createPayment(transaction);
 		log.info("Transaction details: {}", response);
 		// Created
@@ -36,10 +55,39 @@ public class PaymentController {
 	@PostMapping("/{transactionReference}/initiate")
 	public PaymentResponse initiatePayment(@PathVariable String transactionReference,
 			@RequestBody InitiateTxnRequest request) {
-		log.info("Initiating payment for txnReference: {}, initiateTxnRequest: {}", transactionReference, request);
+		log.info("Initiating payment for txnReference: {}", transactionReference);
 		PaymentResponse response = paymentService.initiatePayment(transactionReference, request);
 		log.info("Payment initiation response: {}", response);
 
 		return response;
 	}
+
+	/**
+	 * Initiates many transactions at once and streams one JSON line per item as it completes,
+	 * not in request order. Every item counts against the merchant's initiate rate limit.
+	 */
+	@PostMapping(value = "/bulk-initiate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> bulkInitiatePayments(@RequestHeader HttpHeaders headers,
+			@RequestBody BulkInitiateRequest request) {
+		bulkInitiateService.validate(request.getItems());
+		log.info("Bulk initiate received for {} items", request.getItems().size());
+		String merchantId = headers.getFirst(merchantRateLimiter.getMerchantHeader());
+
+		StreamingResponseBody body = out -> {
+			try {
+				bulkInitiateService.initiatePayments(request.getItems(), merchantId, result -> {
+					try {
+						out.write(objectMapper.writeValueAsBytes(result));
+						out.write('\n');
+						out.flush();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
 }
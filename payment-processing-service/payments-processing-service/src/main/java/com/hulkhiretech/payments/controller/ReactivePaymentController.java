@@ -0,0 +1,73 @@
+package com.hulkhiretech.payments.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.pojo.BulkInitiateRequest;
+import com.hulkhiretech.payments.pojo.BulkInitiateResult;
+import com.hulkhiretech.payments.pojo.CreateTransaction;
+import com.hulkhiretech.payments.pojo.CreateTransactionResponse;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.ratelimit.MerchantRateLimiter;
+import com.hulkhiretech.payments.service.ReactiveBulkInitiateService;
+import com.hulkhiretech.payments.service.interfaces.ReactivePaymentService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link PaymentController}, same paths and payloads.
+ */
+@RestController
+@RequestMapping("/payments")
+@Profile(ProfileConstants.REACTIVE)
+@Slf4j
+@RequiredArgsConstructor
+public class ReactivePaymentController {
+
+	private final ReactivePaymentService reactivePaymentService;
+	private final ReactiveBulkInitiateService reactiveBulkInitiateService;
+	private final MerchantRateLimiter merchantRateLimiter;
+
+	@PostMapping
+	public Mono<CreateTransactionResponse> createPayment(@RequestBody CreateTransaction transaction) {
+		log.info("Payment Request Received  in Reactive Payments Controller");
+		log.debug("Received payment request| createTxn:{}", transaction);
+		return reactivePaymentService.createPayment(transaction)
+				.doOnNext(response -> log.info("Transaction details: {}", response));
+	}
+
+	@PostMapping("/{transactionReference}/initiate")
+	public Mono<PaymentResponse> initiatePayment(@PathVariable String transactionReference,
+			@RequestBody InitiateTxnRequest request) {
+		log.info("Initiating payment for txnReference: {}", transactionReference);
+		return reactivePaymentService.initiatePayment(transactionReference, request)
+				.doOnNext(response -> log.info("Payment initiation response: {}", response));
+	}
+
+	/**
+	 * Bulk initiate as NDJSON, one line per item as it completes. Every item counts against the
+	 * merchant's initiate rate limit.
+	 */
+	@PostMapping(value = "/bulk-initiate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<BulkInitiateResult> bulkInitiatePayments(@RequestHeader HttpHeaders headers,
+			@RequestBody BulkInitiateRequest request) {
+		return Flux.defer(() -> {
+			reactiveBulkInitiateService.validate(request.getItems());
+			log.info("Bulk initiate received for {} items", request.getItems().size());
+			return reactiveBulkInitiateService.initiatePayments(request.getItems(),
+					headers.getFirst(merchantRateLimiter.getMerchantHeader()));
+		});
+	}
+}
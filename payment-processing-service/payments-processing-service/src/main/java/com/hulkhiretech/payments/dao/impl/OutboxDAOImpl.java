@@ -0,0 +1,153 @@
+package com.hulkhiretech.payments.dao.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.OutboxStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.OutboxDAO;
+import com.hulkhiretech.payments.entity.OutboxEvent;
+import com.hulkhiretech.payments.pojo.OutboxBacklog;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxDAOImpl implements OutboxDAO {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final ObservationRegistry observationRegistry;
+
+	@Override
+	public long saveEvent(OutboxEvent event, int leaseSeconds) {
+		String sql = """
+				INSERT INTO payments.Transaction_Outbox (txnReference, eventType, payload, status, attempts, lockedBy,
+				lockedUntil) VALUES (:txnReference, :eventType, :payload, :status, :attempts, :lockedBy,
+				TIMESTAMPADD(SECOND, :leaseSeconds, NOW(3)))""";
+
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("txnReference", event.getTxnReference())
+				.addValue("eventType", event.getEventType())
+				.addValue("payload", event.getPayload())
+				.addValue("status", event.getStatus())
+				.addValue("attempts", event.getAttempts())
+				.addValue("lockedBy", event.getLockedBy())
+				.addValue("leaseSeconds", leaseSeconds);
+
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		observe(MetricsConstants.OPERATION_OUTBOX_SAVE,
+				() -> jdbcTemplate.update(sql, params, keyHolder, new String[] { "id" }));
+		long id = keyHolder.getKey().longValue();
+		log.info("Outbox event saved with id: {} for txnReference: {}", id, event.getTxnReference());
+		return id;
+	}
+
+	@Override
+	public List<OutboxEvent> lockClaimableEvents(int limit) {
+		// NEW rows are inserted with lockedUntil = now, so one range on (status, lockedUntil)
+		// covers both fresh rows and rows whose dispatcher lease has expired
+		String sql = """
+				SELECT * FROM payments.Transaction_Outbox
+				WHERE status IN (:claimableStatuses) AND lockedUntil <= NOW(3)
+				ORDER BY lockedUntil LIMIT :limit
+				FOR UPDATE SKIP LOCKED""";
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("claimableStatuses",
+				List.of(OutboxStatusEnum.NEW.name(), OutboxStatusEnum.IN_PROGRESS.name()));
+		params.put("limit", limit);
+
+		return observe(MetricsConstants.OPERATION_OUTBOX_CLAIM,
+				() -> jdbcTemplate.query(sql, params, new BeanPropertyRowMapper<>(OutboxEvent.class)));
+	}
+
+	@Override
+	public int leaseEvents(List<Long> ids, String owner, int leaseSeconds) {
+		String sql = """
+				UPDATE payments.Transaction_Outbox
+				SET status = :status, lockedBy = :owner, lockedUntil = TIMESTAMPADD(SECOND, :leaseSeconds, NOW(3)),
+				attempts = attempts + 1
+				WHERE id IN (:ids)""";
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("status", OutboxStatusEnum.IN_PROGRESS.name());
+		params.put("owner", owner);
+		params.put("leaseSeconds", leaseSeconds);
+		params.put("ids", ids);
+
+		return observe(MetricsConstants.OPERATION_OUTBOX_CLAIM, () -> jdbcTemplate.update(sql, params));
+	}
+
+	@Override
+	public boolean markDone(long id, String owner, String lastError) {
+		String sql = """
+				UPDATE payments.Transaction_Outbox
+				SET status = :status, lastError = :lastError, lockedUntil = NULL, processedDate = NOW(3)
+				WHERE id = :id AND lockedBy = :owner AND status = :leasedStatus""";
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("status", OutboxStatusEnum.DONE.name());
+		params.put("lastError", lastError);
+		params.put("id", id);
+		params.put("owner", owner);
+		params.put("leasedStatus", OutboxStatusEnum.IN_PROGRESS.name());
+
+		int updated = observe(MetricsConstants.OPERATION_OUTBOX_COMPLETE, () -> jdbcTemplate.update(sql, params));
+		log.info("Outbox event {} marked done, rows affected: {}", id, updated);
+		return updated > 0;
+	}
+
+	@Override
+	public boolean releaseForRetry(long id, String owner, String lastError, int delaySeconds) {
+		String sql = """
+				UPDATE payments.Transaction_Outbox
+				SET status = :status, lastError = :lastError, lockedBy = NULL,
+				lockedUntil = TIMESTAMPADD(SECOND, :delaySeconds, NOW(3))
+				WHERE id = :id AND lockedBy = :owner AND status = :leasedStatus""";
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("status", OutboxStatusEnum.NEW.name());
+		params.put("lastError", lastError);
+		params.put("delaySeconds", delaySeconds);
+		params.put("id", id);
+		params.put("owner", owner);
+		params.put("leasedStatus", OutboxStatusEnum.IN_PROGRESS.name());
+
+		int updated = observe(MetricsConstants.OPERATION_OUTBOX_COMPLETE, () -> jdbcTemplate.update(sql, params));
+		log.info("Outbox event {} released for retry in {}s, rows affected: {}", id, delaySeconds, updated);
+		return updated > 0;
+	}
+
+	@Override
+	public OutboxBacklog getBacklog() {
+		String sql = """
+				SELECT COUNT(*) AS backlog, MIN(creationDate) AS oldestCreationDate
+				FROM payments.Transaction_Outbox WHERE status IN (:pendingStatuses)""";
+
+		Map<String, Object> params = new HashMap<>();
+		params.put("pendingStatuses", List.of(OutboxStatusEnum.NEW.name(), OutboxStatusEnum.IN_PROGRESS.name()));
+
+		return observe(MetricsConstants.OPERATION_OUTBOX_BACKLOG,
+				() -> jdbcTemplate.queryForObject(sql, params, new BeanPropertyRowMapper<>(OutboxBacklog.class)));
+	}
+
+	private <T> T observe(String operation, Supplier<T> dbCall) {
+		return Observation.createNotStarted(MetricsConstants.PAYMENTS_DB, observationRegistry)
+				.contextualName("db " + operation)
+				.lowCardinalityKeyValue(MetricsConstants.TAG_OPERATION, operation)
+				.observe(dbCall);
+	}
+}
@@ -0,0 +1,151 @@
+package com.hulkhiretech.payments.dao.impl;
+
+import java.math.BigDecimal;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.dao.interfaces.ReactiveTransactionDAO;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.pojo.Money;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link TransactionDAOImpl}, same SQL and the same payments.db observations.
+ */
+@Repository
+@Profile(ProfileConstants.REACTIVE)
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveTransactionDAOImpl implements ReactiveTransactionDAO {
+
+	private final DatabaseClient databaseClient;
+	private final ObservationRegistry observationRegistry;
+
+	@Override
+	public Mono<Boolean> saveTransaction(Transaction transaction) {
+		log.debug("Saving transaction: {}", transaction);
+		String sql = """
+				INSERT INTO payments.Transaction (userId,paymentMethodId,providerId,paymentTypeId,txnStatusId,amount,currency,
+				merchantTransactionReference,txnReference,providerReference, retryCount) VALUES
+				(:userId,:paymentMethodId,:providerId,:paymentTypeId,:txnStatusId,:amount,:currency,:merchantTransactionReference,
+				:txnReference,:providerReference,:retryCount)""";
+
+		GenericExecuteSpec spec = databaseClient.sql(sql)
+				.bind("userId", transaction.getUserId())
+				.bind("paymentMethodId", transaction.getPaymentMethodId())
+				.bind("providerId", transaction.getProviderId())
+				.bind("paymentTypeId", transaction.getPaymentTypeId())
+				.bind("txnStatusId", transaction.getTxnStatusId())
+				.bind("retryCount", transaction.getRetryCount());
+		Money amount = transaction.getAmount();
+		spec = bind(spec, "amount", amount == null ? null : amount.toBigDecimal(), BigDecimal.class);
+		spec = bind(spec, "currency", amount == null ? null : amount.getCurrency(), String.class);
+		spec = bind(spec, "merchantTransactionReference", transaction.getMerchantTransactionReference(), String.class);
+		spec = bind(spec, "txnReference", transaction.getTxnReference(), String.class);
+		spec = bind(spec, "providerReference", transaction.getProviderReference(), String.class);
+
+		return observe(MetricsConstants.OPERATION_SAVE, spec.fetch().rowsUpdated())
+				.map(rowsInserted -> {
+					log.info("Transaction saved for reference: {}, rows inserted: {}", transaction.getTxnReference(),
+							rowsInserted);
+					return rowsInserted > 0;
+				});
+	}
+
+	@Override
+	public Mono<Boolean> updateTransaction(Transaction entity, int fromStatusId) {
+		log.info("Updating transaction in DAO layer for txnReference:{} | txnStatusId:{} | providerReference:{} | errorCode:{}",
+				entity.getTxnReference(), entity.getTxnStatusId(), entity.getProviderReference(), entity.getErrorCode());
+
+		String sql = "UPDATE payments.Transaction " + "SET txnStatusId = :txnStatusId, "
+				+ "providerReference = :providerReference, " + "redirectUrl = :redirectUrl, "
+				+ "errorCode = :errorCode, "
+				+ "errorMessage = :errorMessage " + "WHERE txnReference = :txnReference "
+				+ "AND txnStatusId = :fromStatusId";
+
+		GenericExecuteSpec spec = databaseClient.sql(sql).bind("txnStatusId", entity.getTxnStatusId())
+				.bind("fromStatusId", fromStatusId);
+		spec = bind(spec, "providerReference", entity.getProviderReference(), String.class);
+		spec = bind(spec, "redirectUrl", entity.getRedirectUrl(), String.class);
+		spec = bind(spec, "errorCode", entity.getErrorCode(), String.class);
+		spec = bind(spec, "errorMessage", entity.getErrorMessage(), String.class);
+		spec = bind(spec, "txnReference", entity.getTxnReference(), String.class);
+
+		return observe(MetricsConstants.OPERATION_UPDATE, spec.fetch().rowsUpdated())
+				.flatMap(updated -> {
+					if (updated == 0) {
+						return Mono.error(new OptimisticLockingFailureException("Transaction "
+								+ entity.getTxnReference() + " is no longer in status " + fromStatusId));
+					}
+					log.info("Transaction updated for reference: {}, rows affected: {}", entity.getTxnReference(),
+							updated);
+					return Mono.just(true);
+				});
+	}
+
+	@Override
+	public Mono<Transaction> getTransactionByReference(String txnReference) {
+		String sql = "SELECT * FROM payments.Transaction WHERE txnReference = :txnReference";
+
+		Mono<Transaction> query = databaseClient.sql(sql)
+				.bind("txnReference", txnReference)
+				.map(ReactiveTransactionDAOImpl::toTransaction)
+				.one()
+				// same failure as queryForObject in the blocking DAO
+				.switchIfEmpty(Mono.error(() -> new EmptyResultDataAccessException(1)));
+		return observe(MetricsConstants.OPERATION_GET_BY_REFERENCE, query)
+				.doOnNext(entity -> log.info("Transaction retrieved successfully for reference: {}", txnReference));
+	}
+
+	private static Transaction toTransaction(Readable row) {
+		Transaction entity = new Transaction();
+		entity.setId(row.get("id", Integer.class));
+		entity.setUserId(row.get("userId", Integer.class));
+		entity.setPaymentMethodId(row.get("paymentMethodId", Integer.class));
+		entity.setProviderId(row.get("providerId", Integer.class));
+		entity.setPaymentTypeId(row.get("paymentTypeId", Integer.class));
+		entity.setTxnStatusId(row.get("txnStatusId", Integer.class));
+		BigDecimal amount = row.get("amount", BigDecimal.class);
+		String currency = row.get("currency", String.class);
+		entity.setAmount(amount == null || currency == null ? null : Money.of(amount, currency));
+		entity.setErrorCode(row.get("errorCode", String.class));
+		entity.setErrorMessage(row.get("errorMessage", String.class));
+		entity.setMerchantTransactionReference(row.get("merchantTransactionReference", String.class));
+		entity.setTxnReference(row.get("txnReference", String.class));
+		entity.setProviderReference(row.get("providerReference", String.class));
+		entity.setRedirectUrl(row.get("redirectUrl", String.class));
+		Integer retryCount = row.get("retryCount", Integer.class);
+		entity.setRetryCount(retryCount == null ? 0 : retryCount);
+		return entity;
+	}
+
+	private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+		return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+	}
+
+	/**
+	 * Reactive version of TransactionDAOImpl#observe: the observation spans subscription to completion.
+	 */
+	private <T> Mono<T> observe(String operation, Mono<T> dbCall) {
+		return Mono.defer(() -> {
+			Observation observation = Observation.createNotStarted(MetricsConstants.PAYMENTS_DB, observationRegistry)
+					.contextualName("db " + operation)
+					.lowCardinalityKeyValue(MetricsConstants.TAG_OPERATION, operation)
+					.start();
+			return dbCall.doOnError(observation::error).doFinally(signal -> observation.stop());
+		});
+	}
+}
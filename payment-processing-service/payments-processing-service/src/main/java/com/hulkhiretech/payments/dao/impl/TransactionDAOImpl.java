@@ -1,16 +1,24 @@
 package com.hulkhiretech.payments.dao.impl;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
-import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import com.hulkhiretech.payments.constants.MetricsConstants;
 import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
 import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.pojo.Money;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,19 +28,32 @@ import lombok.extern.slf4j.Slf4j;
 public class TransactionDAOImpl implements TransactionDAO {
 
 	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final ObservationRegistry observationRegistry;
 
 	@Override
 	public String saveTransaction(Transaction transaction) {
-		log.info("Saving transaction: {}", transaction);
+		log.debug("Saving transaction: {}", transaction);
 		String sql = """
 				INSERT INTO payments.Transaction (userId,paymentMethodId,providerId,paymentTypeId,txnStatusId,amount,currency,
 				merchantTransactionReference,txnReference,providerReference, retryCount) VALUES
 				(:userId,:paymentMethodId,:providerId,:paymentTypeId,:txnStatusId,:amount,:currency,:merchantTransactionReference,
 				:txnReference,:providerReference,:retryCount)""";
 
-		BeanPropertySqlParameterSource params = new BeanPropertySqlParameterSource(transaction);
-
-		int rowsInserted = jdbcTemplate.update(sql, params);
+		// amount is stored as DECIMAL next to its currency, both taken from the Money value
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("userId", transaction.getUserId())
+				.addValue("paymentMethodId", transaction.getPaymentMethodId())
+				.addValue("providerId", transaction.getProviderId())
+				.addValue("paymentTypeId", transaction.getPaymentTypeId())
+				.addValue("txnStatusId", transaction.getTxnStatusId())
+				.addValue("amount", transaction.getAmount() == null ? null : transaction.getAmount().toBigDecimal())
+				.addValue("currency", transaction.getAmount() == null ? null : transaction.getAmount().getCurrency())
+				.addValue("merchantTransactionReference", transaction.getMerchantTransactionReference())
+				.addValue("txnReference", transaction.getTxnReference())
+				.addValue("providerReference", transaction.getProviderReference())
+				.addValue("retryCount", transaction.getRetryCount());
+
+		int rowsInserted = observe(MetricsConstants.OPERATION_SAVE, () -> jdbcTemplate.update(sql, params));
 
 		if (rowsInserted > 0) {
 			log.info("Transaction saved successfully with reference: {}", transaction.getTxnReference());
@@ -45,27 +66,34 @@ public class TransactionDAOImpl implements TransactionDAO {
 	}
 
 	@Override
-	public boolean updateTransaction(Transaction entity) {
+	public void updateTransaction(Transaction entity, int fromStatusId) {
 		log.info(
 				"Updating transaction in DAO layer for txnReference:{} | txnStatusId:{} | providerReference:{} | errorCode:{} | errorMessage:{}",
 				entity.getTxnReference(), entity.getTxnStatusId(), entity.getProviderReference(), entity.getErrorCode(),
 				entity.getErrorMessage());
 
 		String sql = "UPDATE payments.Transaction " + "SET txnStatusId = :txnStatusId, "
-				+ "providerReference = :providerReference, " + "errorCode = :errorCode, "
-				+ "errorMessage = :errorMessage " + "WHERE txnReference = :txnReference";
+				+ "providerReference = :providerReference, " + "redirectUrl = :redirectUrl, "
+				+ "errorCode = :errorCode, "
+				+ "errorMessage = :errorMessage " + "WHERE txnReference = :txnReference "
+				+ "AND txnStatusId = :fromStatusId";
 
 		Map<String, Object> params = new HashMap<>();
 		params.put("txnStatusId", entity.getTxnStatusId());
 		params.put("providerReference", entity.getProviderReference());
+		params.put("redirectUrl", entity.getRedirectUrl());
 		params.put("errorCode", entity.getErrorCode());
 		params.put("errorMessage", entity.getErrorMessage());
 		params.put("txnReference", entity.getTxnReference());
+		params.put("fromStatusId", fromStatusId);
 
-		int updated = jdbcTemplate.update(sql, params);
+		int updated = observe(MetricsConstants.OPERATION_UPDATE, () -> jdbcTemplate.update(sql, params));
+		if (updated == 0) {
+			throw new OptimisticLockingFailureException("Transaction " + entity.getTxnReference()
+					+ " is no longer in status " + fromStatusId);
+		}
 		log.info("Transaction updated successfully for reference: {}, rows affected: {}", entity.getTxnReference(),
 				updated);
-		return updated > 0;
 	}
 
 	@Override
@@ -75,8 +103,41 @@ public class TransactionDAOImpl implements TransactionDAO {
 		Map<String, Object> params = new HashMap<>();
 		params.put("txnReference", txnReference);
 
-		Transaction entity = jdbcTemplate.queryForObject(sql, params, new BeanPropertyRowMapper<>(Transaction.class));
+		Transaction entity = observe(MetricsConstants.OPERATION_GET_BY_REFERENCE,
+				() -> jdbcTemplate.queryForObject(sql, params, TransactionDAOImpl::toTransaction));
 		log.info("Transaction retrieved successfully for reference: {}", txnReference);
 		return entity;
 	}
+
+	private static Transaction toTransaction(ResultSet rs, int rowNum) throws SQLException {
+		Transaction entity = new Transaction();
+		entity.setId(rs.getInt("id"));
+		entity.setUserId(rs.getInt("userId"));
+		entity.setPaymentMethodId(rs.getInt("paymentMethodId"));
+		entity.setProviderId(rs.getInt("providerId"));
+		entity.setPaymentTypeId(rs.getInt("paymentTypeId"));
+		entity.setTxnStatusId(rs.getInt("txnStatusId"));
+		BigDecimal amount = rs.getBigDecimal("amount");
+		String currency = rs.getString("currency");
+		entity.setAmount(amount == null || currency == null ? null : Money.of(amount, currency));
+		entity.setErrorCode(rs.getString("errorCode"));
+		entity.setErrorMessage(rs.getString("errorMessage"));
+		entity.setMerchantTransactionReference(rs.getString("merchantTransactionReference"));
+		entity.setTxnReference(rs.getString("txnReference"));
+		entity.setProviderReference(rs.getString("providerReference"));
+		entity.setRedirectUrl(rs.getString("redirectUrl"));
+		entity.setRetryCount(rs.getInt("retryCount"));
+		return entity;
+	}
+
+	/**
+	 * Runs the DB call inside an observation, which yields both the payments.db timer
+	 * and a child span of the current trace.
+	 */
+	private <T> T observe(String operation, Supplier<T> dbCall) {
+		return Observation.createNotStarted(MetricsConstants.PAYMENTS_DB, observationRegistry)
+				.contextualName("db " + operation)
+				.lowCardinalityKeyValue(MetricsConstants.TAG_OPERATION, operation)
+				.observe(dbCall);
+	}
 }
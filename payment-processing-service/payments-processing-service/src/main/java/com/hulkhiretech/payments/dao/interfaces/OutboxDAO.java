@@ -0,0 +1,38 @@
+package com.hulkhiretech.payments.dao.interfaces;
+
+import java.util.List;
+
+import com.hulkhiretech.payments.entity.OutboxEvent;
+import com.hulkhiretech.payments.pojo.OutboxBacklog;
+
+public interface OutboxDAO {
+
+	/**
+	 * Inserts the event and returns its generated id. A positive leaseSeconds keeps the
+	 * row away from the poller for that long, 0 makes it claimable right away.
+	 */
+	public long saveEvent(OutboxEvent event, int leaseSeconds);
+
+	/**
+	 * Locks up to limit claimable rows, skipping rows locked by other dispatchers.
+	 * Must run inside a transaction.
+	 */
+	public List<OutboxEvent> lockClaimableEvents(int limit);
+
+	public int leaseEvents(List<Long> ids, String owner, int leaseSeconds);
+
+	/**
+	 * Marks the event done, only while owner still holds its lease. Returns false when the
+	 * lease expired and another dispatcher claimed the event, the caller must then leave the
+	 * transaction alone.
+	 */
+	public boolean markDone(long id, String owner, String lastError);
+
+	/**
+	 * Hands a leased event back after a failure worth retrying: it becomes claimable again after
+	 * delaySeconds. Same ownership rule as {@link #markDone}.
+	 */
+	public boolean releaseForRetry(long id, String owner, String lastError, int delaySeconds);
+
+	public OutboxBacklog getBacklog();
+}
@@ -0,0 +1,18 @@
+package com.hulkhiretech.payments.dao.interfaces;
+
+import com.hulkhiretech.payments.entity.Transaction;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransactionDAO {
+
+	public Mono<Boolean> saveTransaction(Transaction transaction);
+
+	public Mono<Transaction> getTransactionByReference(String txnReference);
+
+	/**
+	 * Same guard as {@link TransactionDAO#updateTransaction}: errors with
+	 * OptimisticLockingFailureException unless the row is still in fromStatusId.
+	 */
+	public Mono<Boolean> updateTransaction(Transaction entity, int fromStatusId);
+}
@@ -9,5 +9,9 @@ public interface TransactionDAO {
 
 	public Transaction getTransactionByReference(String txnReference);
 
-	boolean updateTransaction(Transaction entity);
+	/**
+	 * Moves the row to the entity's status, only if it is still in fromStatusId. Throws
+	 * OptimisticLockingFailureException when it is not (or the row does not exist).
+	 */
+	void updateTransaction(Transaction entity, int fromStatusId);
 }
@@ -1,6 +1,6 @@
 package com.hulkhiretech.payments.dto;
 
-import java.math.BigDecimal;
+import com.hulkhiretech.payments.pojo.Money;
 
 import lombok.Data;
 
@@ -16,8 +16,7 @@ public class TransactionDto {
 
 	private String txnStatus;
 
-	private BigDecimal amount;
-	private String currency;
+	private Money amount;
 
 	private String errorCode;
 	private String errorMessage;
@@ -25,5 +24,6 @@ public class TransactionDto {
 	private String merchantTransactionReference;
 	private String txnReference;
 	private String providerReference;
+	private String redirectUrl;
 	private int retryCount;
 }
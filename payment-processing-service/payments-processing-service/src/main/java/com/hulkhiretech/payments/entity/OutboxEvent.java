@@ -0,0 +1,23 @@
+package com.hulkhiretech.payments.entity;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+@Data
+public class OutboxEvent {
+
+	private long id;
+	private String txnReference;
+	private String eventType;
+	private String payload;
+
+	private String status;
+	private int attempts;
+	private String lockedBy;
+	private Timestamp lockedUntil;
+	private String lastError;
+
+	private Timestamp creationDate;
+	private Timestamp processedDate;
+}
@@ -1,6 +1,6 @@
 package com.hulkhiretech.payments.entity;
 
-import java.math.BigDecimal;
+import com.hulkhiretech.payments.pojo.Money;
 
 import lombok.Data;
 
@@ -15,8 +15,7 @@ public class Transaction {
 	private int paymentTypeId;
 	private int txnStatusId;
 
-	private BigDecimal amount;
-	private String currency;
+	private Money amount;
 
 	private String errorCode;
 	private String errorMessage;
@@ -24,5 +23,6 @@ public class Transaction {
 	private String merchantTransactionReference;
 	private String txnReference;
 	private String providerReference;
+	private String redirectUrl;
 	private int retryCount;
 }
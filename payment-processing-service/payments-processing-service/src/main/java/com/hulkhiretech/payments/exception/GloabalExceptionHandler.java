@@ -1,19 +1,25 @@
 package com.hulkhiretech.payments.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
 import com.hulkhiretech.payments.pojo.ErrorResponse;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @ControllerAdvice
 @Slf4j
+@RequiredArgsConstructor
 public class GloabalExceptionHandler {
 
+	private final PaymentMetrics paymentMetrics;
+
 	@ExceptionHandler(TrustlyProviderException.class)
 	public ResponseEntity<ErrorResponse> handleTrustlyException(TrustlyProviderException ex) {
 		log.error("Validation error occurred: {}", ex.getMessage(), ex);
@@ -22,9 +28,28 @@ public class GloabalExceptionHandler {
 		return new ResponseEntity<>(errorResponse, ex.getHttpStatus());
 	}
 
+	@ExceptionHandler(PaymentProcessingException.class)
+	public ResponseEntity<ErrorResponse> handlePaymentProcessingException(PaymentProcessingException ex) {
+		log.error("Payment processing error occurred: {}", ex.getMessage());
+		paymentMetrics.countError(ex.getErrorCode(), null);
+		ErrorResponse errorResponse = new ErrorResponse(ex.getErrorCode(), ex.getErrorMessage());
+		log.info("Returning error response: {}", errorResponse);
+		return new ResponseEntity<>(errorResponse, ex.getHttpStatus());
+	}
+
+	@ExceptionHandler(RateLimitExceededException.class)
+	public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+		paymentMetrics.countError(ex.getErrorCode(), null);
+		ErrorResponse errorResponse = new ErrorResponse(ex.getErrorCode(), ex.getErrorMessage());
+		return ResponseEntity.status(ex.getHttpStatus())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(errorResponse);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
 		log.error("Validation error occurred: {}", ex.getMessage(), ex);
+		paymentMetrics.countError(ErrorEnum.GENERIC_ERROR.getErrorCode(), null);
 		ErrorResponse errorResponse = new ErrorResponse(ErrorEnum.GENERIC_ERROR.getErrorCode(),
 				ErrorEnum.GENERIC_ERROR.getErrorMessage());
 		log.info("Returning error response: {}", errorResponse);
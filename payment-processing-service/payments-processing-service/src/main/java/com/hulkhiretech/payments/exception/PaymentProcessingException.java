@@ -0,0 +1,22 @@
+package com.hulkhiretech.payments.exception;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+@Getter
+public class PaymentProcessingException extends RuntimeException {
+	private static final long serialVersionUID = 3183457281931529754L;
+
+	private final String errorCode;
+	private final String errorMessage;
+	private final HttpStatus httpStatus;
+
+	public PaymentProcessingException(
+			String errorCode, String errorMessage, HttpStatus httpStatus) {
+		super(errorMessage);
+		this.errorCode = errorCode;
+		this.errorMessage = errorMessage;
+		this.httpStatus = httpStatus;
+	}
+}
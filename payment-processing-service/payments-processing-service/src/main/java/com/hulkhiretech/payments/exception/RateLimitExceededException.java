@@ -0,0 +1,20 @@
+package com.hulkhiretech.payments.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends PaymentProcessingException {
+	private static final long serialVersionUID = -4410127376581235214L;
+
+	private final long retryAfterSeconds;
+
+	public RateLimitExceededException(long retryAfterSeconds) {
+		super(ErrorEnum.RATE_LIMIT_EXCEEDED.getErrorCode(), ErrorEnum.RATE_LIMIT_EXCEEDED.getErrorMessage(),
+				HttpStatus.TOO_MANY_REQUESTS);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+}
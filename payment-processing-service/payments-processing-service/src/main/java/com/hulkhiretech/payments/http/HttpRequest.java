@@ -1,6 +1,9 @@
 package com.hulkhiretech.payments.http;
 
+import java.util.List;
+
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 
 import lombok.Data;
 
@@ -9,6 +12,9 @@ public class HttpRequest {
 
 	private HttpMethod httpMethod;
 	private String url;
-	private String body;
+	// String for JSON, byte[] for protobuf
+	private Object body;
+	private MediaType contentType = MediaType.APPLICATION_JSON;
+	private List<MediaType> accept = List.of(MediaType.APPLICATION_JSON);
 
 }
@@ -10,7 +10,11 @@ import org.springframework.web.client.RestClient;
 
 import com.hulkhiretech.payments.constants.ErrorEnum;
 import com.hulkhiretech.payments.exception.TrustlyProviderException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.routing.ProviderEndpoint;
+import com.hulkhiretech.payments.routing.ProviderRouter;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,23 +23,38 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class HttpServiceEngine {
 	
+	private static final String CONNECTION_ERROR = "IO_ERROR";
+
 	private final RestClient restClient;
+	private final PaymentMetrics paymentMetrics;
+	private final ProviderRouter providerRouter;
 
-	public ResponseEntity<String> makeHttpCall(HttpRequest request) {
-		log.info("Making an HTTP call... httpRequest:{}", request);
+	public ResponseEntity<byte[]> makeHttpCall(HttpRequest request) {
+		log.info("Making an HTTP call... url:{}", request.getUrl());
+		log.debug("httpRequest:{}", request);
 		
+		Timer.Sample sample = paymentMetrics.startTimer();
+		ProviderEndpoint endpoint = providerRouter.callStarted(request.getUrl());
+		long start = System.nanoTime();
+		boolean healthy = false;
 		try {
-			ResponseEntity<String> response = restClient
+			ResponseEntity<byte[]> response = restClient
 					.method(request.getHttpMethod()).uri(request.getUrl())
-					.contentType(MediaType.APPLICATION_JSON)
+					.contentType(request.getContentType())
+					.accept(request.getAccept().toArray(MediaType[]::new))
 					.body(request.getBody())
 					.retrieve()
-					.toEntity(String.class);
-			log.info("HTTP response received response: {}", response);
+					.toEntity(byte[].class);
+			log.debug("HTTP response received response: {}", response);
+			paymentMetrics.recordProviderHttpCall(sample, String.valueOf(response.getStatusCode().value()));
+			healthy = true;
 			return response; // 2xx
 			
 		} catch (HttpClientErrorException | HttpServerErrorException e) {// 4xx or 5xx
             log.error("Client error occurred while making HTTP call: {}", e.getMessage(), e);
+            paymentMetrics.recordProviderHttpCall(sample, String.valueOf(e.getStatusCode().value()));
+            // a 4xx is the provider working as intended, it only counts against routing on 5xx
+            healthy = e instanceof HttpClientErrorException;
             
             // if gateway timeout, then throw TrustlyProviderException with specific error code and message
 			if (e.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT 
@@ -49,21 +68,25 @@ public class HttpServiceEngine {
 			}
             
             // return ResponseEntity Object, 
-            //the error response will have a json response object, 
-            //set that as body of ResponseEntity. 
+            //the error response will have a json or protobuf response object, 
+            //set that as body of ResponseEntity, with its content type. 
             //And whatever HttpStatus code comes, return that in ResponseEntity.
 			return ResponseEntity
 					.status(e.getStatusCode())
-					.body(e.getResponseBodyAsString());
+					.headers(e.getResponseHeaders())
+					.body(e.getResponseBodyAsByteArray());
             
 		} catch (Exception e) {
 			log.error("Error occurred while making HTTP call: {}", e.getMessage(), e);
+			paymentMetrics.recordProviderHttpCall(sample, CONNECTION_ERROR);
 			
 			throw new TrustlyProviderException(
 					ErrorEnum.UNABLE_TO_CONNECT_TRUSTLY_PROVIDER.getErrorCode(), 
 					ErrorEnum.UNABLE_TO_CONNECT_TRUSTLY_PROVIDER.getErrorMessage(),
 					HttpStatus.SERVICE_UNAVAILABLE);
 			
+		} finally {
+			providerRouter.callFinished(endpoint, System.nanoTime() - start, healthy);
 		}
 		
 	}
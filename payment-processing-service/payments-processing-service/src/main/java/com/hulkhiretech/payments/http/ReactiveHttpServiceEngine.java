@@ -0,0 +1,91 @@
+package com.hulkhiretech.payments.http;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.exception.TrustlyProviderException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.routing.ProviderEndpoint;
+import com.hulkhiretech.payments.routing.ProviderRouter;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link HttpServiceEngine}: 4xx/5xx bodies are handed back as a
+ * ResponseEntity, 503/504, timeouts and connection errors become a TrustlyProviderException.
+ */
+@Component
+@Profile(ProfileConstants.REACTIVE)
+@Slf4j
+public class ReactiveHttpServiceEngine {
+
+	private static final String CONNECTION_ERROR = "IO_ERROR";
+
+	private final WebClient webClient;
+	private final PaymentMetrics paymentMetrics;
+	private final ProviderRouter providerRouter;
+	private final Duration timeout;
+
+	public ReactiveHttpServiceEngine(WebClient webClient, PaymentMetrics paymentMetrics, ProviderRouter providerRouter,
+			@Value("${payments.reactive.provider-timeout-ms:30000}") long timeoutMillis) {
+		this.webClient = webClient;
+		this.paymentMetrics = paymentMetrics;
+		this.providerRouter = providerRouter;
+		this.timeout = Duration.ofMillis(timeoutMillis);
+	}
+
+	public Mono<ResponseEntity<byte[]>> makeHttpCall(HttpRequest request) {
+		return Mono.defer(() -> {
+			log.info("Making an HTTP call... url:{}", request.getUrl());
+			log.debug("httpRequest:{}", request);
+			Timer.Sample sample = paymentMetrics.startTimer();
+			ProviderEndpoint endpoint = providerRouter.callStarted(request.getUrl());
+			long start = System.nanoTime();
+
+			return webClient.method(request.getHttpMethod())
+					.uri(request.getUrl())
+					.contentType(request.getContentType())
+					.accept(request.getAccept().toArray(MediaType[]::new))
+					.bodyValue(request.getBody())
+					.exchangeToMono(response -> response.toEntity(byte[].class))
+					.timeout(timeout)
+					.doOnCancel(() -> providerRouter.callAbandoned(endpoint))
+					.onErrorMap(e -> {
+						log.error("Error occurred while making HTTP call: {}", e.toString());
+						providerRouter.callFinished(endpoint, System.nanoTime() - start, false);
+						paymentMetrics.recordProviderHttpCall(sample, CONNECTION_ERROR);
+						return unableToConnect();
+					})
+					.flatMap(response -> {
+						log.debug("HTTP response received response: {}", response);
+						paymentMetrics.recordProviderHttpCall(sample, String.valueOf(response.getStatusCode().value()));
+						providerRouter.callFinished(endpoint, System.nanoTime() - start,
+								!response.getStatusCode().is5xxServerError());
+						if (response.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT)
+								|| response.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)) {
+							log.error("Gateway timeout or service unavailable error occurred: {}", response.getStatusCode());
+							return Mono.error(unableToConnect());
+						}
+						return Mono.just(response);
+					});
+		});
+	}
+
+	private static TrustlyProviderException unableToConnect() {
+		return new TrustlyProviderException(
+				ErrorEnum.UNABLE_TO_CONNECT_TRUSTLY_PROVIDER.getErrorCode(),
+				ErrorEnum.UNABLE_TO_CONNECT_TRUSTLY_PROVIDER.getErrorMessage(),
+				HttpStatus.SERVICE_UNAVAILABLE);
+	}
+}
@@ -0,0 +1,167 @@
+package com.hulkhiretech.payments.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.routing.ProviderEndpoint;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single place where the payment lifecycle meters are named and tagged.
+ * Percentile histograms for every "payments.*" timer are switched on through
+ * management.metrics.distribution.percentiles-histogram.payments in application.properties.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	public Timer.Sample startTimer() {
+		return Timer.start(meterRegistry);
+	}
+
+	public void recordRequest(Timer.Sample sample, String operation, TransactionDto txnDto, boolean success) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_REQUEST,
+				txnTags(txnDto)
+				.and(MetricsConstants.TAG_OPERATION, operation)
+				.and(MetricsConstants.TAG_OUTCOME, outcome(success))));
+	}
+
+	public void recordStage(Timer.Sample sample, String stage, TransactionDto txnDto) {
+		// same tag keys as recordStatusWrite, Prometheus drops a meter whose keys differ from its siblings
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_STAGE,
+				txnTags(txnDto)
+				.and(MetricsConstants.TAG_STAGE, stage)
+				.and(MetricsConstants.TAG_STATUS,
+						valueOrUnknown(txnDto == null ? null : txnDto.getTxnStatus()))));
+	}
+
+	public void recordStatusWrite(Timer.Sample sample, TransactionDto txnDto) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_STAGE,
+				txnTags(txnDto)
+				.and(MetricsConstants.TAG_STAGE, MetricsConstants.STAGE_STATUS_WRITE)
+				.and(MetricsConstants.TAG_STATUS, valueOrUnknown(txnDto.getTxnStatus()))));
+	}
+
+	public void recordProviderHttpCall(Timer.Sample sample, String status) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_PROVIDER_HTTP,
+				MetricsConstants.TAG_STATUS, status));
+	}
+
+	public void countTransition(TransactionStatusEnum from, TransactionStatusEnum to, TransactionDto txnDto) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_STATUS_TRANSITION, transitionTags(from, to, txnDto))
+		.increment();
+	}
+
+	public void countRejectedTransition(TransactionStatusEnum from, TransactionStatusEnum to, TransactionDto txnDto) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_STATUS_TRANSITION_REJECTED, transitionTags(from, to, txnDto))
+		.increment();
+	}
+
+	public void countError(String errorCode, TransactionDto txnDto) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_ERRORS,
+				txnTags(txnDto).and(MetricsConstants.TAG_ERROR_CODE, valueOrUnknown(errorCode)))
+		.increment();
+	}
+
+	public void registerOutboxGauges(AtomicLong backlog, AtomicLong oldestAgeMillis, ThreadPoolExecutor executor) {
+		Gauge.builder(MetricsConstants.PAYMENTS_OUTBOX_BACKLOG, backlog, AtomicLong::get).register(meterRegistry);
+		TimeGauge.builder(MetricsConstants.PAYMENTS_OUTBOX_OLDEST_AGE, oldestAgeMillis, TimeUnit.MILLISECONDS,
+				AtomicLong::get).register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_OUTBOX_DISPATCHER_ACTIVE, executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_OUTBOX_DISPATCHER_QUEUED, executor, e -> e.getQueue().size())
+				.register(meterRegistry);
+	}
+
+	// time from the outbox insert to the start of its dispatch
+	public void recordOutboxLag(long lagMillis) {
+		meterRegistry.timer(MetricsConstants.PAYMENTS_OUTBOX_LAG).record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+	}
+
+	public void recordOutboxDispatch(Timer.Sample sample, TransactionDto txnDto, boolean success) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_OUTBOX_DISPATCH,
+				txnTags(txnDto).and(MetricsConstants.TAG_OUTCOME, outcome(success))));
+	}
+
+	// merchant ids are not used as a tag, there can be thousands of them
+	public void countRateLimited(String operation) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_RATELIMIT_REJECTED, MetricsConstants.TAG_OPERATION, operation)
+		.increment();
+	}
+
+	public void registerRateLimitGauge(Map<?, ?> buckets) {
+		Gauge.builder(MetricsConstants.PAYMENTS_RATELIMIT_BUCKETS, buckets, Map::size).register(meterRegistry);
+	}
+
+	public void countInitiateReplay(String source) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_INITIATE_REPLAYED, MetricsConstants.TAG_SOURCE, source)
+		.increment();
+	}
+
+	public <T> void registerInitiateCacheGauge(T cache, ToDoubleFunction<T> size) {
+		Gauge.builder(MetricsConstants.PAYMENTS_INITIATE_CACHE_SIZE, cache, size).register(meterRegistry);
+	}
+
+	public void countRoutingDecision(String provider, String endpoint) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_ROUTING_SELECTED,
+				MetricsConstants.TAG_PROVIDER, valueOrUnknown(provider),
+				MetricsConstants.TAG_ENDPOINT, endpoint)
+		.increment();
+	}
+
+	public void countRoutingEjection(String endpoint) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_ROUTING_EJECTIONS, MetricsConstants.TAG_ENDPOINT, endpoint)
+		.increment();
+	}
+
+	public void registerRoutingGauges(ProviderEndpoint endpoint) {
+		Tags tags = Tags.of(MetricsConstants.TAG_ENDPOINT, endpoint.getName());
+		TimeGauge.builder(MetricsConstants.PAYMENTS_ROUTING_LATENCY, endpoint, TimeUnit.NANOSECONDS,
+				ProviderEndpoint::getLatencyNanos).tags(tags).register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_ROUTING_ERROR_RATE, endpoint, ProviderEndpoint::getErrorRate)
+		.tags(tags).register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_ROUTING_IN_FLIGHT, endpoint, e -> e.getInFlight().get())
+		.tags(tags).register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_ROUTING_EJECTED, endpoint, e -> e.isEjected() ? 1 : 0)
+		.tags(tags).register(meterRegistry);
+	}
+
+	private static Tags txnTags(TransactionDto txnDto) {
+		if (txnDto == null) {
+			return Tags.of(MetricsConstants.TAG_PROVIDER, MetricsConstants.UNKNOWN,
+					MetricsConstants.TAG_PAYMENT_METHOD, MetricsConstants.UNKNOWN);
+		}
+		return Tags.of(MetricsConstants.TAG_PROVIDER, valueOrUnknown(txnDto.getProvider()),
+				MetricsConstants.TAG_PAYMENT_METHOD, valueOrUnknown(txnDto.getPaymentMethod()));
+	}
+
+	private static Tags transitionTags(TransactionStatusEnum from, TransactionStatusEnum to, TransactionDto txnDto) {
+		return txnTags(txnDto)
+				.and(MetricsConstants.TAG_FROM, from == null ? MetricsConstants.STATUS_NONE : from.getName())
+				.and(MetricsConstants.TAG_TO, to.getName());
+	}
+
+	private static String outcome(boolean success) {
+		return success ? MetricsConstants.OUTCOME_SUCCESS : MetricsConstants.OUTCOME_FAILURE;
+	}
+
+	private static String valueOrUnknown(String value) {
+		return value == null || value.isEmpty() ? MetricsConstants.UNKNOWN : value;
+	}
+}
@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.pojo;
+
+import lombok.Data;
+
+@Data
+public class BulkInitiateItem {
+
+	private String txnReference;
+
+	private InitiateTxnRequest request;
+}
@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.pojo;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkInitiateRequest {
+
+	private List<BulkInitiateItem> items;
+}
@@ -0,0 +1,55 @@
+package com.hulkhiretech.payments.pojo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.exception.TrustlyProviderException;
+
+import lombok.Data;
+
+/**
+ * One NDJSON line of a bulk initiate response: the PaymentResponse of the item, or its error.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkInitiateResult {
+
+	private String txnReference;
+
+	private String txnStatus;
+	private String url;
+
+	private String errorCode;
+	private String errorMessage;
+
+	public static BulkInitiateResult of(PaymentResponse paymentResponse) {
+		BulkInitiateResult result = new BulkInitiateResult();
+		result.setTxnReference(paymentResponse.getTxnReference());
+		result.setTxnStatus(paymentResponse.getTxnStatus());
+		result.setUrl(paymentResponse.getUrl());
+		return result;
+	}
+
+	public static BulkInitiateResult of(String txnReference, ErrorEnum error) {
+		return error(txnReference, error.getErrorCode(), error.getErrorMessage());
+	}
+
+	// same codes the single initiate call answers with
+	public static BulkInitiateResult of(String txnReference, Throwable e) {
+		if (e instanceof PaymentProcessingException ex) {
+			return error(txnReference, ex.getErrorCode(), ex.getErrorMessage());
+		}
+		if (e instanceof TrustlyProviderException ex) {
+			return error(txnReference, ex.getErrorCode(), ex.getErrorMessage());
+		}
+		return of(txnReference, ErrorEnum.GENERIC_ERROR);
+	}
+
+	private static BulkInitiateResult error(String txnReference, String errorCode, String errorMessage) {
+		BulkInitiateResult result = new BulkInitiateResult();
+		result.setTxnReference(txnReference);
+		result.setErrorCode(errorCode);
+		result.setErrorMessage(errorMessage);
+		return result;
+	}
+}
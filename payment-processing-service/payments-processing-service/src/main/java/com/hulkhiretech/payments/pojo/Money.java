@@ -0,0 +1,151 @@
+package com.hulkhiretech.payments.pojo;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Immutable amount held as a long count of the currency's minor unit (cents for EUR, yen for
+ * JPY). The exponent of each currency comes from the ISO 4217 data in {@link Currency} and is
+ * cached per code. Conversions to and from decimal text are exact: an amount with more decimals
+ * than the currency allows, or one that does not fit a long, is rejected rather than rounded.
+ */
+@Getter
+@EqualsAndHashCode
+public final class Money {
+
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+			10_000_000L, 100_000_000L, 1_000_000_000L };
+	private static final Map<String, Integer> EXPONENTS = new ConcurrentHashMap<>();
+
+	private final long minorUnits;
+	private final String currency;
+	@EqualsAndHashCode.Exclude
+	private final int exponent;
+
+	private Money(long minorUnits, String currency, int exponent) {
+		this.minorUnits = minorUnits;
+		this.currency = currency;
+		this.exponent = exponent;
+	}
+
+	public static Money ofMinor(long minorUnits, String currency) {
+		return new Money(minorUnits, currency, exponent(currency));
+	}
+
+	public static Money of(BigDecimal amount, String currency) {
+		if (amount == null) {
+			throw new IllegalArgumentException("Amount is missing");
+		}
+		int exponent = exponent(currency);
+		try {
+			return new Money(amount.movePointRight(exponent).longValueExact(), currency, exponent);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not exact in " + currency, e);
+		}
+	}
+
+	/**
+	 * Plain decimal text such as "150.25" or "-3", without going through BigDecimal.
+	 */
+	public static Money parse(CharSequence amount, String currency) {
+		int exponent = exponent(currency);
+		if (amount == null || amount.isEmpty()) {
+			throw new IllegalArgumentException("Amount is missing");
+		}
+		try {
+			return new Money(parseMinorUnits(amount, exponent, currency), currency, exponent);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Amount " + amount + " does not fit in " + currency, e);
+		}
+	}
+
+	private static long parseMinorUnits(CharSequence amount, int exponent, String currency) {
+		boolean negative = amount.charAt(0) == '-';
+		int i = negative || amount.charAt(0) == '+' ? 1 : 0;
+		long units = 0;
+		int decimals = -1;
+		boolean digits = false;
+		for (; i < amount.length(); i++) {
+			char c = amount.charAt(i);
+			if (c == '.' && decimals < 0) {
+				decimals = 0;
+				continue;
+			}
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Amount " + amount + " is not a number");
+			}
+			digits = true;
+			if (decimals == exponent) {
+				// trailing zeros are fine, "150.0" is still 150 JPY
+				if (c != '0') {
+					throw new IllegalArgumentException("Amount " + amount + " is not exact in " + currency);
+				}
+				continue;
+			}
+			units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+			if (decimals >= 0) {
+				decimals++;
+			}
+		}
+		if (!digits) {
+			throw new IllegalArgumentException("Amount " + amount + " is not a number");
+		}
+		units = Math.multiplyExact(units, POWERS_OF_TEN[exponent - Math.max(decimals, 0)]);
+		return negative ? -units : units;
+	}
+
+	/**
+	 * Number of minor-unit digits of the currency, 2 for EUR and 0 for JPY.
+	 */
+	public static int exponent(String currency) {
+		if (currency == null) {
+			throw new IllegalArgumentException("Currency is missing");
+		}
+		Integer exponent = EXPONENTS.get(currency);
+		return exponent != null ? exponent : EXPONENTS.computeIfAbsent(currency, Money::lookUpExponent);
+	}
+
+	private static int lookUpExponent(String currency) {
+		int exponent = Currency.getInstance(currency).getDefaultFractionDigits();
+		if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+			// XAU, XDR and friends have no minor unit
+			throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+		}
+		return exponent;
+	}
+
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(minorUnits, exponent);
+	}
+
+	/**
+	 * Decimal text with exactly the currency's number of decimals, "150.25", "150.00" or "150".
+	 */
+	public String toPlainString() {
+		if (exponent == 0) {
+			return Long.toString(minorUnits);
+		}
+		long divisor = POWERS_OF_TEN[exponent];
+		long major = Math.abs(minorUnits / divisor);
+		long minor = Math.abs(minorUnits % divisor);
+		StringBuilder text = new StringBuilder(24);
+		if (minorUnits < 0) {
+			text.append('-');
+		}
+		text.append(major).append('.');
+		for (long pad = divisor / 10; pad > minor && pad > 1; pad /= 10) {
+			text.append('0');
+		}
+		return text.append(minor).toString();
+	}
+
+	@Override
+	public String toString() {
+		return currency + " " + toPlainString();
+	}
+}
@@ -0,0 +1,12 @@
+package com.hulkhiretech.payments.pojo;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+
+@Data
+public class OutboxBacklog {
+
+	private long backlog;
+	private Timestamp oldestCreationDate;
+}
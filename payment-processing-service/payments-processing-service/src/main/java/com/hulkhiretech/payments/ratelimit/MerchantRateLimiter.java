@@ -0,0 +1,83 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One {@link TokenBucket} per merchant and operation, so a merchant that floods create or
+ * initiate only exhausts its own budget. Buckets live in a concurrent map bounded by
+ * payments.ratelimit.max-buckets and are evicted once idle.
+ */
+@Slf4j
+@Component
+public class MerchantRateLimiter {
+
+	static final String UNKNOWN_MERCHANT = "unknown";
+	static final String OVERFLOW_MERCHANT = "overflow";
+
+	private final RateLimitProperties properties;
+	private final PaymentMetrics paymentMetrics;
+	private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	public MerchantRateLimiter(RateLimitProperties properties, PaymentMetrics paymentMetrics) {
+		this.properties = properties;
+		this.paymentMetrics = paymentMetrics;
+		paymentMetrics.registerRateLimitGauge(buckets);
+	}
+
+	public String getMerchantHeader() {
+		return properties.getMerchantHeader();
+	}
+
+	public boolean isEnabled() {
+		return properties.isEnabled();
+	}
+
+	/**
+	 * @return 0 when the request may go ahead, otherwise the seconds to put in Retry-After
+	 */
+	public long tryAcquire(String merchantId, String operation) {
+		String merchant = merchantId == null || merchantId.isBlank() ? UNKNOWN_MERCHANT : merchantId;
+		RateLimitProperties.Limit limit = properties.limitFor(merchant, operation);
+		if (limit == null || limit.getRatePerSecond() <= 0) {
+			return 0;
+		}
+
+		long now = System.nanoTime();
+		BucketKey key = new BucketKey(merchant, operation);
+		TokenBucket bucket = buckets.get(key);
+		if (bucket == null) {
+			if (buckets.size() >= properties.getMaxBuckets()) {
+				key = new BucketKey(OVERFLOW_MERCHANT, operation);
+			}
+			bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getRatePerSecond(), limit.getBurst(), now));
+		}
+
+		long waitNanos = bucket.tryAcquire(now);
+		if (waitNanos == 0) {
+			return 0;
+		}
+		log.warn("Rate limit hit for merchant: {}, operation: {}", merchant, operation);
+		paymentMetrics.countRateLimited(operation);
+		return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+	}
+
+	@Scheduled(fixedDelayString = "${payments.ratelimit.eviction-interval-ms:60000}")
+	void evictIdleBuckets() {
+		long now = System.nanoTime();
+		long idleNanos = properties.getIdleEviction().toNanos();
+		int before = buckets.size();
+		buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+		log.debug("Evicted {} idle rate limit buckets, {} left", before - buckets.size(), buckets.size());
+	}
+
+	private record BucketKey(String merchantId, String operation) {
+	}
+}
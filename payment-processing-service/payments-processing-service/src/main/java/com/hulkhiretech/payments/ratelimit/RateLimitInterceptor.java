@@ -0,0 +1,30 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.hulkhiretech.payments.exception.RateLimitExceededException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Takes a token for the calling merchant before the handler runs; registered once per
+ * rate-limited operation in WebConfig.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final MerchantRateLimiter merchantRateLimiter;
+	private final String operation;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		long retryAfterSeconds = merchantRateLimiter.tryAcquire(
+				request.getHeader(merchantRateLimiter.getMerchantHeader()), operation);
+		if (retryAfterSeconds > 0) {
+			throw new RateLimitExceededException(retryAfterSeconds);
+		}
+		return true;
+	}
+}
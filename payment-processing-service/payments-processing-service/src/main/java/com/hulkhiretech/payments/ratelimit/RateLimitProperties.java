@@ -0,0 +1,47 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * payments.ratelimit.*: limits per operation (create, initiate), overridable per merchant with
+ * payments.ratelimit.merchants.&lt;merchantId&gt;.&lt;operation&gt;.*.
+ */
+@Data
+@Component
+@ConfigurationProperties("payments.ratelimit")
+public class RateLimitProperties {
+
+	private boolean enabled = true;
+
+	// request header naming the calling merchant; requests without it share one bucket
+	private String merchantHeader = "merchant-id";
+
+	// merchants beyond this many buckets share an overflow bucket per operation
+	private int maxBuckets = 10_000;
+
+	// a bucket that has been full for this long is dropped; it is recreated full on the next request
+	private Duration idleEviction = Duration.ofMinutes(10);
+
+	private Map<String, Limit> defaults = new HashMap<>();
+
+	private Map<String, Map<String, Limit>> merchants = new HashMap<>();
+
+	@Data
+	public static class Limit {
+		private double ratePerSecond;
+		private int burst = 1;
+	}
+
+	Limit limitFor(String merchantId, String operation) {
+		Map<String, Limit> merchantLimits = merchants.get(merchantId);
+		Limit limit = merchantLimits == null ? null : merchantLimits.get(operation);
+		return limit != null ? limit : defaults.get(operation);
+	}
+}
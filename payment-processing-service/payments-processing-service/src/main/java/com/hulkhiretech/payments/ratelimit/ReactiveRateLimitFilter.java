@@ -0,0 +1,84 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.ErrorResponse;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link RateLimitInterceptor}. A WebFilter runs outside the controller
+ * advice, so the 429 body is written here in the same shape GloabalExceptionHandler uses.
+ * Bulk initiate is not matched here: the item count is only known once the body is read, so
+ * ReactiveBulkInitiateService takes one initiate token per item instead.
+ */
+@Component
+@Profile(ProfileConstants.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveRateLimitFilter implements WebFilter {
+
+	private static final PathPattern CREATE = PathPatternParser.defaultInstance.parse("/payments");
+	private static final PathPattern INITIATE = PathPatternParser.defaultInstance.parse("/payments/*/initiate");
+
+	private final MerchantRateLimiter merchantRateLimiter;
+	private final PaymentMetrics paymentMetrics;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		String operation = operation(exchange.getRequest());
+		if (operation == null || !merchantRateLimiter.isEnabled()) {
+			return chain.filter(exchange);
+		}
+		long retryAfterSeconds = merchantRateLimiter.tryAcquire(
+				exchange.getRequest().getHeaders().getFirst(merchantRateLimiter.getMerchantHeader()), operation);
+		if (retryAfterSeconds == 0) {
+			return chain.filter(exchange);
+		}
+
+		paymentMetrics.countError(ErrorEnum.RATE_LIMIT_EXCEEDED.getErrorCode(), null);
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+		response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		try {
+			byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(
+					ErrorEnum.RATE_LIMIT_EXCEEDED.getErrorCode(), ErrorEnum.RATE_LIMIT_EXCEEDED.getErrorMessage()));
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+		} catch (JsonProcessingException e) {
+			return response.setComplete();
+		}
+	}
+
+	private static String operation(ServerHttpRequest request) {
+		if (request.getMethod() != HttpMethod.POST) {
+			return null;
+		}
+		if (CREATE.matches(request.getPath().pathWithinApplication())) {
+			return MetricsConstants.OPERATION_CREATE;
+		}
+		if (INITIATE.matches(request.getPath().pathWithinApplication())) {
+			return MetricsConstants.OPERATION_INITIATE;
+		}
+		return null;
+	}
+}
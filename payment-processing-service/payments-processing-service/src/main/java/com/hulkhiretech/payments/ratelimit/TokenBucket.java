@@ -0,0 +1,44 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (GCRA): the time at which the bucket would be full
+ * again. Taking a token moves it forward by one emission interval with a CAS, so concurrent
+ * requests for the same merchant never block each other.
+ */
+final class TokenBucket {
+
+	private final long emissionIntervalNanos;
+	private final long burstNanos;
+	private final AtomicLong fullAt;
+
+	TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+		this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+		this.burstNanos = emissionIntervalNanos * Math.max(burst, 1);
+		this.fullAt = new AtomicLong(nowNanos);
+	}
+
+	/**
+	 * @return 0 when a token was taken, otherwise nanos until one will be available
+	 */
+	long tryAcquire(long nowNanos) {
+		while (true) {
+			long current = fullAt.get();
+			long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+			long wait = next - nowNanos - burstNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+	// full and untouched since idleNanos, so dropping it loses nothing
+	boolean isIdle(long nowNanos, long idleNanos) {
+		return nowNanos - fullAt.get() > idleNanos;
+	}
+}
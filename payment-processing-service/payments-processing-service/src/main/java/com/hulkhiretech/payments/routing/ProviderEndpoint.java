@@ -0,0 +1,70 @@
+package com.hulkhiretech.payments.routing;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * One provider deposit URL with its moving averages. Averages are updated under the endpoint's
+ * lock, which is held for a few arithmetic operations per call; reads for selection are not
+ * locked.
+ */
+@Getter
+public class ProviderEndpoint {
+
+	private final String url;
+	// host:port, used as the metrics tag
+	private final String name;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private volatile double latencyNanos;
+	private volatile double errorRate;
+	private volatile long ejectedUntilNanos;
+	private int samples;
+	private int consecutiveEjections;
+
+	ProviderEndpoint(String url) {
+		this.url = url;
+		this.name = URI.create(url).getAuthority();
+		this.ejectedUntilNanos = System.nanoTime();
+	}
+
+	public boolean isEjected() {
+		return !isAvailable(System.nanoTime());
+	}
+
+	boolean isAvailable(long nowNanos) {
+		return nowNanos - ejectedUntilNanos >= 0;
+	}
+
+	// peak-EWMA style: a fast endpoint with a queue of calls in flight looks as slow as it will be
+	double cost() {
+		return latencyNanos * (inFlight.get() + 1);
+	}
+
+	/**
+	 * @return true when this sample got the endpoint ejected
+	 */
+	synchronized boolean record(long elapsedNanos, boolean healthy, long nowNanos, RoutingProperties properties) {
+		double alpha = properties.getEwmaAlpha();
+		latencyNanos = samples == 0 ? elapsedNanos : latencyNanos + alpha * (elapsedNanos - latencyNanos);
+		errorRate = samples == 0 ? (healthy ? 0 : 1) : errorRate + alpha * ((healthy ? 0 : 1) - errorRate);
+		samples++;
+		if (healthy) {
+			consecutiveEjections = 0;
+			return false;
+		}
+		if (!isAvailable(nowNanos) || samples < properties.getMinSamples() || errorRate <= properties.getMaxErrorRate()) {
+			return false;
+		}
+		long ejection = Math.min(properties.getEjection().toNanos() << Math.min(consecutiveEjections, 20),
+				properties.getMaxEjection().toNanos());
+		consecutiveEjections++;
+		ejectedUntilNanos = nowNanos + ejection;
+		// re-admitted with a clean error history, it has to fail min-samples times again to go out
+		errorRate = 0;
+		samples = 0;
+		return true;
+	}
+}
@@ -0,0 +1,130 @@
+package com.hulkhiretech.payments.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the provider endpoint for a deposit call with power-of-two-choices: two random available
+ * endpoints are compared and the one with the lower latency average times calls in flight wins.
+ * Endpoints whose error rate goes over the limit are ejected for a while; when every endpoint of
+ * a route is ejected, all of them are used again rather than failing the payment here.
+ */
+@Slf4j
+@Component
+public class ProviderRouter {
+
+	private final RoutingProperties properties;
+	private final PaymentMetrics paymentMetrics;
+	private final List<ProviderEndpoint> defaultRoute;
+	private final Map<String, List<ProviderEndpoint>> routes = new ConcurrentHashMap<>();
+	private final Map<String, ProviderEndpoint> endpointsByUrl = new ConcurrentHashMap<>();
+
+	public ProviderRouter(RoutingProperties properties, PaymentMetrics paymentMetrics,
+			@Value("${trustlyprovider.deposit.url}") String defaultDepositUrl) {
+		this.properties = properties;
+		this.paymentMetrics = paymentMetrics;
+		this.defaultRoute = List.of(endpoint(defaultDepositUrl));
+		properties.getEndpoints().forEach((provider, byPaymentMethod) -> byPaymentMethod.forEach(
+				(paymentMethod, urls) -> routes.put(routeKey(provider, paymentMethod),
+						urls.stream().map(this::endpoint).toList())));
+		log.info("Provider routes: {}, default: {}", properties.getEndpoints(), defaultDepositUrl);
+	}
+
+	public ProviderEndpoint select(String provider, String paymentMethod) {
+		List<ProviderEndpoint> route = routes.getOrDefault(routeKey(provider, paymentMethod), defaultRoute);
+		ProviderEndpoint selected = route.size() == 1 ? route.get(0) : powerOfTwoChoices(route);
+		paymentMetrics.countRoutingDecision(provider, selected.getName());
+		return selected;
+	}
+
+	/**
+	 * Every deposit URL in use, for the startup connection warm-up.
+	 */
+	public Set<String> getEndpointUrls() {
+		return Set.copyOf(endpointsByUrl.keySet());
+	}
+
+	/**
+	 * Called by the HTTP engines around every call; unknown URLs are not tracked.
+	 */
+	public ProviderEndpoint callStarted(String url) {
+		ProviderEndpoint endpoint = endpointsByUrl.get(url);
+		if (endpoint != null) {
+			endpoint.getInFlight().incrementAndGet();
+		}
+		return endpoint;
+	}
+
+	/**
+	 * @param healthy false for connection errors, timeouts and 5xx answers
+	 */
+	public void callFinished(ProviderEndpoint endpoint, long elapsedNanos, boolean healthy) {
+		if (endpoint == null) {
+			return;
+		}
+		endpoint.getInFlight().decrementAndGet();
+		if (endpoint.record(elapsedNanos, healthy, System.nanoTime(), properties)) {
+			log.warn("Provider endpoint {} ejected, error rate above {}", endpoint.getUrl(),
+					properties.getMaxErrorRate());
+			paymentMetrics.countRoutingEjection(endpoint.getName());
+		}
+	}
+
+	/**
+	 * For calls cancelled before an answer came; they count for nothing either way.
+	 */
+	public void callAbandoned(ProviderEndpoint endpoint) {
+		if (endpoint != null) {
+			endpoint.getInFlight().decrementAndGet();
+		}
+	}
+
+	private ProviderEndpoint powerOfTwoChoices(List<ProviderEndpoint> route) {
+		long now = System.nanoTime();
+		List<ProviderEndpoint> candidates = route;
+		if (!route.stream().allMatch(endpoint -> endpoint.isAvailable(now))) {
+			List<ProviderEndpoint> available = new ArrayList<>(route.size());
+			for (ProviderEndpoint endpoint : route) {
+				if (endpoint.isAvailable(now)) {
+					available.add(endpoint);
+				}
+			}
+			candidates = available.isEmpty() ? route : available;
+		}
+		if (candidates.size() == 1) {
+			return candidates.get(0);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		ProviderEndpoint a = candidates.get(first);
+		ProviderEndpoint b = candidates.get(second);
+		return a.cost() <= b.cost() ? a : b;
+	}
+
+	private ProviderEndpoint endpoint(String url) {
+		return endpointsByUrl.computeIfAbsent(url, u -> {
+			ProviderEndpoint endpoint = new ProviderEndpoint(u);
+			paymentMetrics.registerRoutingGauges(endpoint);
+			return endpoint;
+		});
+	}
+
+	private static String routeKey(String provider, String paymentMethod) {
+		return provider + "/" + paymentMethod;
+	}
+}
@@ -0,0 +1,35 @@
+package com.hulkhiretech.payments.routing;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * payments.routing.*: provider deposit endpoints per provider and payment method, and the
+ * thresholds for ejecting an unhealthy one.
+ */
+@Data
+@Component
+@ConfigurationProperties("payments.routing")
+public class RoutingProperties {
+
+	// provider -> payment method -> deposit urls; trustlyprovider.deposit.url when nothing is set
+	private Map<String, Map<String, List<String>>> endpoints = new HashMap<>();
+
+	// weight of the newest sample in the latency and error-rate averages
+	private double ewmaAlpha = 0.2;
+
+	// an endpoint is ejected once its error rate is above this, given at least min-samples calls
+	private double maxErrorRate = 0.5;
+	private int minSamples = 5;
+
+	// first ejection lasts this long, each consecutive one twice as long up to max-ejection
+	private Duration ejection = Duration.ofSeconds(10);
+	private Duration maxEjection = Duration.ofMinutes(5);
+}
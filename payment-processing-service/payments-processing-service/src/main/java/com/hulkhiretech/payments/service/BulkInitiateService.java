@@ -0,0 +1,165 @@
+package com.hulkhiretech.payments.service;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.LoggingConstants;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.pojo.BulkInitiateItem;
+import com.hulkhiretech.payments.pojo.BulkInitiateResult;
+import com.hulkhiretech.payments.ratelimit.MerchantRateLimiter;
+import com.hulkhiretech.payments.service.interfaces.PaymentService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Initiates many existing transactions through {@link PaymentService#initiatePayment} on the
+ * bulk worker pool. A permit is taken per item, so at most max-in-flight items are running across
+ * all bulk requests; the caller's thread waits for a permit, which paces it to the provider. An
+ * item that cannot get one within acquire-timeout is reported as BULK_CAPACITY_EXCEEDED instead of
+ * being queued. Each item also takes an initiate token from the merchant's rate limit bucket, as
+ * the single initiate call does; an item without one is reported as RATE_LIMIT_EXCEEDED. Results
+ * are handed to the consumer on the caller's thread as items complete.
+ */
+@Slf4j
+@Service
+@Profile(ProfileConstants.NOT_REACTIVE)
+public class BulkInitiateService {
+
+	private static final long POLL_MILLIS = 50;
+
+	private final PaymentService paymentService;
+	private final MerchantRateLimiter merchantRateLimiter;
+	private final ThreadPoolExecutor bulkInitiateExecutor;
+	private final Semaphore inFlight;
+	private final int maxItems;
+	private final long acquireTimeoutMillis;
+
+	public BulkInitiateService(PaymentService paymentService, MerchantRateLimiter merchantRateLimiter,
+			@Qualifier("bulkInitiateExecutor") ThreadPoolExecutor bulkInitiateExecutor,
+			@Value("${payments.bulk.max-in-flight:16}") int maxInFlight,
+			@Value("${payments.bulk.max-items:1000}") int maxItems,
+			@Value("${payments.bulk.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+		this.paymentService = paymentService;
+		this.merchantRateLimiter = merchantRateLimiter;
+		this.bulkInitiateExecutor = bulkInitiateExecutor;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.maxItems = maxItems;
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	public void validate(List<BulkInitiateItem> items) {
+		if (items == null || items.isEmpty() || items.size() > maxItems) {
+			log.error("Bulk initiate rejected, items: {}, max: {}", items == null ? 0 : items.size(), maxItems);
+			throw new PaymentProcessingException(
+					ErrorEnum.INVALID_BULK_REQUEST.getErrorCode(),
+					ErrorEnum.INVALID_BULK_REQUEST.getErrorMessage(),
+					HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * @param merchantId the calling merchant, whose initiate budget the items are taken from
+	 */
+	public void initiatePayments(List<BulkInitiateItem> items, String merchantId,
+			Consumer<BulkInitiateResult> resultConsumer) throws InterruptedException {
+		log.info("Bulk initiate of {} items", items.size());
+		Batch batch = new Batch(resultConsumer);
+
+		for (BulkInitiateItem item : items) {
+			batch.drain();
+			if (rateLimited(merchantId)) {
+				resultConsumer.accept(BulkInitiateResult.of(item.getTxnReference(), ErrorEnum.RATE_LIMIT_EXCEEDED));
+				continue;
+			}
+			if (!acquire(batch)) {
+				log.warn("No bulk capacity for txnReference: {}", item.getTxnReference());
+				resultConsumer.accept(BulkInitiateResult.of(item.getTxnReference(), ErrorEnum.BULK_CAPACITY_EXCEEDED));
+				continue;
+			}
+			try {
+				bulkInitiateExecutor.execute(() -> batch.completed.add(initiate(item)));
+				batch.pending++;
+			} catch (RejectedExecutionException e) {
+				inFlight.release();
+				resultConsumer.accept(BulkInitiateResult.of(item.getTxnReference(), ErrorEnum.BULK_CAPACITY_EXCEEDED));
+			}
+		}
+		batch.awaitRemaining();
+		log.info("Bulk initiate of {} items done", items.size());
+	}
+
+	private BulkInitiateResult initiate(BulkInitiateItem item) {
+		try {
+			return BulkInitiateResult.of(paymentService.initiatePayment(item.getTxnReference(), item.getRequest()));
+		} catch (RuntimeException e) {
+			log.error("Bulk initiate failed for txnReference: {}: {}", item.getTxnReference(), e.getMessage());
+			return BulkInitiateResult.of(item.getTxnReference(), e);
+		} finally {
+			inFlight.release();
+			MDC.remove(LoggingConstants.MDC_TXN_REFERENCE);
+		}
+	}
+
+	private boolean rateLimited(String merchantId) {
+		return merchantRateLimiter.isEnabled()
+				&& merchantRateLimiter.tryAcquire(merchantId, MetricsConstants.OPERATION_INITIATE) > 0;
+	}
+
+	// waits for a permit, passing on results that complete in the meantime
+	private boolean acquire(Batch batch) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+		while (!inFlight.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+			batch.drain();
+			if (System.nanoTime() - deadline > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Results of one bulk request. Only the caller's thread touches pending and the consumer; the
+	 * workers just add to the queue, which never holds more than the validated number of items.
+	 */
+	private static final class Batch {
+
+		private final BlockingQueue<BulkInitiateResult> completed = new LinkedBlockingQueue<>();
+		private final Consumer<BulkInitiateResult> resultConsumer;
+		private int pending;
+
+		private Batch(Consumer<BulkInitiateResult> resultConsumer) {
+			this.resultConsumer = resultConsumer;
+		}
+
+		private void drain() {
+			BulkInitiateResult result;
+			while ((result = completed.poll()) != null) {
+				resultConsumer.accept(result);
+				pending--;
+			}
+		}
+
+		private void awaitRemaining() throws InterruptedException {
+			for (; pending > 0; pending--) {
+				resultConsumer.accept(completed.take());
+			}
+		}
+	}
+}
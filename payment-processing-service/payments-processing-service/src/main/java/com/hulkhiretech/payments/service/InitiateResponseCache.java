@@ -0,0 +1,116 @@
+package com.hulkhiretech.payments.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU of initiate answers for PENDING transactions, so a merchant retrying initiate gets
+ * the same redirect URL without a DB read or a provider call. Entries expire after the ttl and
+ * are dropped by the transition hooks from {@link #evictionHook} once the transaction leaves
+ * PENDING; the redirectUrl column covers everything that is not cached.
+ */
+@Slf4j
+@Component
+public class InitiateResponseCache {
+
+	private final long ttlNanos;
+	private final Map<String, Entry> entries;
+
+	private record Entry(String url, long expiresAtNanos) {
+	}
+
+	public InitiateResponseCache(PaymentMetrics paymentMetrics,
+			@Value("${payments.initiate.replay-cache.max-size:10000}") int maxSize,
+			@Value("${payments.initiate.replay-cache.ttl:10m}") Duration ttl) {
+		this.ttlNanos = ttl.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+		paymentMetrics.registerInitiateCacheGauge(this, InitiateResponseCache::size);
+	}
+
+	public PaymentResponse get(String txnReference) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(txnReference);
+			if (entry != null && System.nanoTime() - entry.expiresAtNanos() > 0) {
+				entries.remove(txnReference);
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			return null;
+		}
+		PaymentResponse response = new PaymentResponse();
+		response.setTxnReference(txnReference);
+		response.setTxnStatus(TransactionStatusEnum.PENDING.getName());
+		response.setUrl(entry.url());
+		return response;
+	}
+
+	/**
+	 * Only PENDING answers with a URL are kept, anything else can still change.
+	 */
+	public void put(PaymentResponse response) {
+		if (response.getUrl() == null || !TransactionStatusEnum.PENDING.getName().equals(response.getTxnStatus())) {
+			return;
+		}
+		synchronized (entries) {
+			entries.put(response.getTxnReference(), new Entry(response.getUrl(), System.nanoTime() + ttlNanos));
+		}
+	}
+
+	/**
+	 * Size under the lock, the access-ordered map is not safe to read while another thread writes.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public void evict(String txnReference) {
+		synchronized (entries) {
+			entries.remove(txnReference);
+		}
+	}
+
+	/**
+	 * Hook for PENDING -> toStatus that drops the cached answer of the transaction.
+	 */
+	public TransactionTransitionHook evictionHook(TransactionStatusEnum toStatus) {
+		return new TransactionTransitionHook() {
+
+			@Override
+			public TransactionStatusEnum getFromStatus() {
+				return TransactionStatusEnum.PENDING;
+			}
+
+			@Override
+			public TransactionStatusEnum getToStatus() {
+				return toStatus;
+			}
+
+			@Override
+			public void afterTransition(TransactionDto transactionDto) {
+				log.debug("Dropping cached initiate answer for txnReference: {}", transactionDto.getTxnReference());
+				evict(transactionDto.getTxnReference());
+			}
+		};
+	}
+}
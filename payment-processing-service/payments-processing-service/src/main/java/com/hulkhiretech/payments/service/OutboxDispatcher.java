@@ -0,0 +1,260 @@
+package com.hulkhiretech.payments.service;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.modelmapper.ModelMapper;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.LoggingConstants;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.OutboxDAO;
+import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.OutboxEvent;
+import com.hulkhiretech.payments.exception.TrustlyProviderException;
+import com.hulkhiretech.payments.http.HttpRequest;
+import com.hulkhiretech.payments.http.HttpServiceEngine;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.OutboxBacklog;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs the provider deposit call for an outbox event and finalizes the
+ * transaction. Called inline from the initiate request, and from the poller for
+ * events inserted in async mode or left behind by a crashed instance.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+	private final TransactionOutboxService outboxService;
+	private final OutboxDAO outboxDAO;
+	private final TransactionDAO transactionDAO;
+	private final ModelMapper modelMapper;
+	private final PaymentServiceHelper paymentsServiceHelper;
+	private final HttpServiceEngine httpServiceEngine;
+	private final PaymentMetrics paymentMetrics;
+	private final InitiateResponseCache initiateResponseCache;
+	private final ThreadPoolExecutor dispatchExecutor;
+
+	private final boolean pollerEnabled;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final int retryBackoffSeconds;
+	private final int retryBackoffMaxSeconds;
+
+	private final AtomicLong backlog = new AtomicLong();
+	private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+	public OutboxDispatcher(TransactionOutboxService outboxService, OutboxDAO outboxDAO,
+			TransactionDAO transactionDAO, ModelMapper modelMapper, PaymentServiceHelper paymentsServiceHelper,
+			HttpServiceEngine httpServiceEngine, PaymentMetrics paymentMetrics,
+			InitiateResponseCache initiateResponseCache,
+			@Qualifier("outboxDispatchExecutor") ThreadPoolExecutor dispatchExecutor,
+			@Value("${payments.outbox.poller.enabled:true}") boolean pollerEnabled,
+			@Value("${payments.outbox.poller.batch-size:20}") int batchSize,
+			@Value("${payments.outbox.max-attempts:5}") int maxAttempts,
+			@Value("${payments.outbox.retry-backoff-seconds:2}") int retryBackoffSeconds,
+			@Value("${payments.outbox.retry-backoff-max-seconds:60}") int retryBackoffMaxSeconds) {
+		this.outboxService = outboxService;
+		this.outboxDAO = outboxDAO;
+		this.transactionDAO = transactionDAO;
+		this.modelMapper = modelMapper;
+		this.paymentsServiceHelper = paymentsServiceHelper;
+		this.httpServiceEngine = httpServiceEngine;
+		this.paymentMetrics = paymentMetrics;
+		this.initiateResponseCache = initiateResponseCache;
+		this.dispatchExecutor = dispatchExecutor;
+		this.pollerEnabled = pollerEnabled;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoffSeconds = retryBackoffSeconds;
+		this.retryBackoffMaxSeconds = retryBackoffMaxSeconds;
+		paymentMetrics.registerOutboxGauges(backlog, oldestAgeMillis, dispatchExecutor);
+	}
+
+	/**
+	 * Calls the provider and moves the transaction to PENDING, or to FAILED when the
+	 * provider rejects it. Either way the outbox event is marked done in the same DB
+	 * transaction as the status write. If we die before that, the lease expires and
+	 * the event is dispatched again.
+	 * <p>
+	 * When the provider could not be reached (connection error, 503, 504) or its answer
+	 * could not be read, the outcome is unknown rather than failed: the event goes back to
+	 * the poller with a growing delay and the transaction stays INITIATED, which is also
+	 * what the inline caller gets. Only after max-attempts does it become FAILED.
+	 */
+	public PaymentResponse dispatch(OutboxEvent event, TransactionDto txnDTO) {
+		Timer.Sample dispatchSample = paymentMetrics.startTimer();
+		if (event.getCreationDate() != null) {
+			paymentMetrics.recordOutboxLag(System.currentTimeMillis() - event.getCreationDate().getTime());
+		}
+		HttpRequest request = paymentsServiceHelper.prepareDepositHttpRequest(txnDTO, event.getPayload());
+
+		TrustlyProviderDepositResponse responseObj = null;
+		try {
+			Timer.Sample providerSample = paymentMetrics.startTimer();
+			ResponseEntity<byte[]> httpResponse = httpServiceEngine.makeHttpCall(request);
+			if (paymentsServiceHelper.fallBackToJson(request, httpResponse)) {
+				httpResponse = httpServiceEngine.makeHttpCall(
+						paymentsServiceHelper.prepareDepositHttpRequest(txnDTO, event.getPayload()));
+			}
+			paymentMetrics.recordStage(providerSample, MetricsConstants.STAGE_PROVIDER_CALL, txnDTO);
+
+			Timer.Sample parseSample = paymentMetrics.startTimer();
+			responseObj = paymentsServiceHelper.processResponse(httpResponse);
+			paymentMetrics.recordStage(parseSample, MetricsConstants.STAGE_RESPONSE_PARSE, txnDTO);
+			log.debug("Processed DepositResponse: {}", responseObj);
+
+		} catch (TrustlyProviderException e) {// Failure in processing the response
+			log.error("Error processing Trustly response: {}", e.getMessage(), e);
+			txnDTO.setErrorCode(e.getErrorCode());
+			txnDTO.setErrorMessage(e.getErrorMessage());
+			paymentMetrics.countError(e.getErrorCode(), txnDTO);
+			paymentMetrics.recordOutboxDispatch(dispatchSample, txnDTO, false);
+
+			if (isRetryable(e) && retryLater(event, txnDTO)) {
+				return queuedResponse(txnDTO);
+			}
+			outboxService.complete(event, txnDTO, TransactionStatusEnum.FAILED);
+			log.info("Transaction status updated to FAILED with error: {}", e.getErrorMessage());
+			throw e;
+		} catch (Exception e) {
+			log.error("Error processing Trustly response: {}", e.getMessage(), e);
+			txnDTO.setErrorCode(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorCode());
+			txnDTO.setErrorMessage(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorMessage());
+			paymentMetrics.countError(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorCode(), txnDTO);
+			paymentMetrics.recordOutboxDispatch(dispatchSample, txnDTO, false);
+
+			// the provider may have accepted the deposit, do not fail it on one unreadable answer
+			if (retryLater(event, txnDTO)) {
+				return queuedResponse(txnDTO);
+			}
+			outboxService.complete(event, txnDTO, TransactionStatusEnum.FAILED);
+			log.info("Transaction status updated to FAILED with error: {}",
+					ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorMessage());
+			throw e;
+		}
+
+		txnDTO.setProviderReference(responseObj.getOrderid());
+		txnDTO.setRedirectUrl(responseObj.getUrl());
+		txnDTO = outboxService.complete(event, txnDTO, TransactionStatusEnum.PENDING);
+		paymentMetrics.recordOutboxDispatch(dispatchSample, txnDTO, true);
+
+		PaymentResponse paymentResponse = new PaymentResponse();
+		paymentResponse.setTxnReference(txnDTO.getTxnReference());
+		paymentResponse.setUrl(responseObj.getUrl());
+		paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
+		initiateResponseCache.put(paymentResponse);
+		return paymentResponse;
+	}
+
+	@Scheduled(initialDelayString = "${payments.outbox.poller.initial-delay-ms:5000}",
+			fixedDelayString = "${payments.outbox.poller.interval-ms:500}")
+	public void poll() {
+		if (!pollerEnabled) {
+			return;
+		}
+		try {
+			refreshBacklog();
+			// only claim what the pool can start soon, so leases do not expire in the queue
+			int limit = Math.min(batchSize, dispatchExecutor.getQueue().remainingCapacity());
+			while (limit > 0) {
+				List<OutboxEvent> events = outboxService.claim(limit);
+				for (OutboxEvent event : events) {
+					dispatchExecutor.execute(() -> dispatchClaimed(event));
+				}
+				if (events.size() < limit) {
+					break;
+				}
+				limit = Math.min(batchSize, dispatchExecutor.getQueue().remainingCapacity());
+			}
+		} catch (DataAccessException | RejectedExecutionException e) {
+			// claimed rows that were not started are picked up again once their lease expires
+			log.warn("Outbox poll failed: {}", e.getMessage());
+		}
+	}
+
+	private void dispatchClaimed(OutboxEvent event) {
+		MDC.put(LoggingConstants.MDC_TXN_REFERENCE, event.getTxnReference());
+		try {
+			TransactionDto txnDTO = modelMapper.map(
+					transactionDAO.getTransactionByReference(event.getTxnReference()), TransactionDto.class);
+
+			if (!TransactionStatusEnum.INITIATED.getName().equals(txnDTO.getTxnStatus())) {
+				// finalized by an earlier attempt that died before marking the event done
+				log.info("Skipping outbox event {}, transaction is already {}", event.getId(), txnDTO.getTxnStatus());
+				outboxService.skip(event, "Transaction already " + txnDTO.getTxnStatus());
+				return;
+			}
+
+			if (event.getAttempts() > maxAttempts) {
+				log.error("Outbox event {} exceeded {} dispatch attempts", event.getId(), maxAttempts);
+				txnDTO.setErrorCode(ErrorEnum.OUTBOX_DISPATCH_ATTEMPTS_EXHAUSTED.getErrorCode());
+				txnDTO.setErrorMessage(ErrorEnum.OUTBOX_DISPATCH_ATTEMPTS_EXHAUSTED.getErrorMessage());
+				outboxService.complete(event, txnDTO, TransactionStatusEnum.FAILED);
+				return;
+			}
+
+			dispatch(event, txnDTO);
+		} catch (Exception e) {
+			log.error("Outbox dispatch failed for event {}: {}", event.getId(), e.getMessage());
+		} finally {
+			MDC.remove(LoggingConstants.MDC_TXN_REFERENCE);
+		}
+	}
+
+	private static boolean isRetryable(TrustlyProviderException e) {
+		return ErrorEnum.UNABLE_TO_CONNECT_TRUSTLY_PROVIDER.getErrorCode().equals(e.getErrorCode())
+				|| e.getHttpStatus() == HttpStatus.SERVICE_UNAVAILABLE
+				|| e.getHttpStatus() == HttpStatus.GATEWAY_TIMEOUT;
+	}
+
+	/**
+	 * Hands the event back to the poller unless this was its last attempt. The delay doubles
+	 * with every attempt, from retry-backoff-seconds up to retry-backoff-max-seconds.
+	 */
+	private boolean retryLater(OutboxEvent event, TransactionDto txnDTO) {
+		int attempts = event.getAttempts();
+		if (attempts >= maxAttempts) {
+			log.error("Outbox event {} failed on attempt {} of {}, giving up", event.getId(), attempts, maxAttempts);
+			return false;
+		}
+		int delaySeconds = (int) Math.min(retryBackoffMaxSeconds,
+				(long) retryBackoffSeconds << Math.min(Math.max(attempts - 1, 0), 30));
+		outboxService.retryLater(event, txnDTO.getErrorMessage(), delaySeconds);
+		log.warn("Outbox event {} failed on attempt {} of {}, retrying in {}s", event.getId(), attempts, maxAttempts,
+				delaySeconds);
+		return true;
+	}
+
+	private static PaymentResponse queuedResponse(TransactionDto txnDTO) {
+		PaymentResponse paymentResponse = new PaymentResponse();
+		paymentResponse.setTxnReference(txnDTO.getTxnReference());
+		paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
+		return paymentResponse;
+	}
+
+	private void refreshBacklog() {
+		OutboxBacklog current = outboxDAO.getBacklog();
+		backlog.set(current.getBacklog());
+		oldestAgeMillis.set(current.getOldestCreationDate() == null ? 0
+				: Math.max(0, System.currentTimeMillis() - current.getOldestCreationDate().getTime()));
+	}
+}
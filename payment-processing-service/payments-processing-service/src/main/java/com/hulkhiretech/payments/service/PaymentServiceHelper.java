@@ -1,20 +1,33 @@
 package com.hulkhiretech.payments.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.google.gson.Gson;
 import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.constants.TrustlyProviderConstants;
 import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
 import com.hulkhiretech.payments.exception.TrustlyProviderException;
 import com.hulkhiretech.payments.http.HttpRequest;
+import com.hulkhiretech.payments.pojo.CreateTransaction;
 import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.Money;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.routing.ProviderRouter;
 import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositRequest;
 import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
 import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderErrorResponse;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderProtoCodec;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,29 +37,55 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceHelper {
 
-	private final Gson gson;
+	// how long to stay on JSON after the provider turned protobuf down
+	private static final long PROTOBUF_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
 
-	@Value("${trustlyprovider.deposit.url}")
-	private String trustlyProviderDepositUrl;
+	private final Gson gson;
+	private final TrustlyProviderProtoCodec protoCodec;
+	private final ProviderRouter providerRouter;
+
+	@Value("${trustlyprovider.deposit.protocol:" + TrustlyProviderConstants.PROTOCOL_JSON + "}")
+	private String depositProtocol;
+
+	private volatile long protobufRetryAt;
+
+	/**
+	 * Amount of a create request in minor units of its currency. An amount that would need
+	 * rounding, like 10.005 EUR, is rejected instead of being stored as something else.
+	 */
+	public Money toMoney(CreateTransaction createTransaction) {
+		try {
+			return Money.of(createTransaction.getAmount(), createTransaction.getCurrency());
+		} catch (IllegalArgumentException e) {
+			log.error("Invalid amount {} {}: {}", createTransaction.getAmount(), createTransaction.getCurrency(),
+					e.getMessage());
+			throw new PaymentProcessingException(
+					ErrorEnum.INVALID_AMOUNT.getErrorCode(),
+					ErrorEnum.INVALID_AMOUNT.getErrorMessage(),
+					HttpStatus.BAD_REQUEST);
+		}
+	}
 
 	public TrustlyProviderDepositResponse processResponse(
-			ResponseEntity<String> httpResponse) {
-		log.info("Processing HTTP response: {}", httpResponse);
+			ResponseEntity<byte[]> httpResponse) {
+		log.debug("Processing HTTP response: {}", httpResponse.getStatusCode());
 
-		if(httpResponse.getStatusCode().is2xxSuccessful()) {// Success
+		// the provider answers in the format it was asked for, or JSON if it does not speak protobuf
+		MediaType contentType = httpResponse.getHeaders().getContentType();
+		boolean protobuf = contentType != null
+				&& TrustlyProviderProtoCodec.APPLICATION_PROTOBUF.isCompatibleWith(contentType);
+		byte[] body = httpResponse.getBody() == null ? new byte[0] : httpResponse.getBody();
 
-			String body = httpResponse.getBody();
-			log.info("HTTP response body: {}", body);
+		if(httpResponse.getStatusCode().is2xxSuccessful()) {// Success
 
-			TrustlyProviderDepositResponse depositResponse = gson.fromJson(
-					body, TrustlyProviderDepositResponse.class);
-			log.info("Parsed TrustlyDepositResponse: {}", depositResponse);
+			TrustlyProviderDepositResponse depositResponse = protobuf
+					? protoCodec.decodeDepositResponse(body)
+					: gson.fromJson(new String(body, StandardCharsets.UTF_8), TrustlyProviderDepositResponse.class);
+			log.debug("Parsed TrustlyDepositResponse: {}", depositResponse);
 
 			if (depositResponse != null
 					&& depositResponse.getUrl() != null) {
-				log.error("Deposit response or its data is null");
-
-				log.info("DepositResponse created: {}", depositResponse);
+				log.debug("DepositResponse created: {}", depositResponse);
 
 				return depositResponse;
 			}
@@ -58,16 +97,15 @@ public class PaymentServiceHelper {
 		// Valid Error Response
 		if(httpResponse.getStatusCode().is4xxClientError() || 
 				httpResponse.getStatusCode().is5xxServerError()) {
-			log.error("HTTP error occurred: {}", httpResponse.getBody());
+			log.error("HTTP error occurred: {}", httpResponse.getStatusCode());
 
-			TrustlyProviderErrorResponse errorResponse = gson.fromJson(
-					httpResponse.getBody(), TrustlyProviderErrorResponse.class);
+			TrustlyProviderErrorResponse errorResponse = protobuf
+					? protoCodec.decodeErrorResponse(body)
+					: gson.fromJson(new String(body, StandardCharsets.UTF_8), TrustlyProviderErrorResponse.class);
 
 			log.error("Parsed TrustlyErrorResponse: {}", errorResponse);
 
 			if (errorResponse != null) {
-				log.error("Error response or its error field is null");
-
 				throw new TrustlyProviderException(
 						errorResponse.getErrorCode(),
 						errorResponse.getErrorMessage(), 
@@ -77,7 +115,7 @@ public class PaymentServiceHelper {
 			log.error("Error response is invalid: {}", errorResponse);
 		}
 
-		log.error("Unexpected response from Trustly: {}", httpResponse.getBody());
+		log.error("Unexpected response from Trustly: {}", httpResponse.getStatusCode());
 
 		throw new TrustlyProviderException(
 				ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorCode(), 
@@ -86,17 +124,71 @@ public class PaymentServiceHelper {
 
 	}
 
+	/**
+	 * Answer for an initiate of a transaction that was already initiated, or null when it still
+	 * has to go to the provider. INITIATED means the deposit call is on its way, so the caller
+	 * gets the status without a URL, as in async dispatch mode. PENDING and later answer with the
+	 * stored redirect URL.
+	 */
+	public PaymentResponse replayInitiate(TransactionDto txnDTO) {
+		TransactionStatusEnum status = txnDTO.getTxnStatus() == null ? null
+				: TransactionStatusEnum.getByName(txnDTO.getTxnStatus());
+		boolean redirected = (status == TransactionStatusEnum.PENDING || status == TransactionStatusEnum.SUCCESS)
+				&& txnDTO.getProviderReference() != null && txnDTO.getRedirectUrl() != null;
+		if (status != TransactionStatusEnum.INITIATED && !redirected) {
+			return null;
+		}
+		log.info("Transaction {} is already {}, not calling the provider again", txnDTO.getTxnReference(), status);
+		PaymentResponse paymentResponse = new PaymentResponse();
+		paymentResponse.setTxnReference(txnDTO.getTxnReference());
+		paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
+		paymentResponse.setUrl(redirected ? txnDTO.getRedirectUrl() : null);
+		return paymentResponse;
+	}
+
+	/**
+	 * True when the provider answered a protobuf request with 415. The caller sends the deposit
+	 * again; JSON is used from now on and protobuf is offered again after a few minutes.
+	 */
+	public boolean fallBackToJson(HttpRequest request, ResponseEntity<byte[]> httpResponse) {
+		if (!httpResponse.getStatusCode().isSameCodeAs(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+				|| !TrustlyProviderProtoCodec.APPLICATION_PROTOBUF.equals(request.getContentType())) {
+			return false;
+		}
+		log.warn("Trustly provider does not accept protobuf, using JSON for the next {} ms",
+				PROTOBUF_RETRY_MILLIS);
+		protobufRetryAt = System.currentTimeMillis() + PROTOBUF_RETRY_MILLIS;
+		return true;
+	}
+
 	public HttpRequest prepareInitiateRequest(TransactionDto txnDTO, 
 			InitiateTxnRequest initiateTxnRequest) {
+		TrustlyProviderDepositRequest request = buildDepositRequest(txnDTO, initiateTxnRequest);
+		return useProtobuf() ? protobufDepositHttpRequest(txnDTO, request)
+				: prepareDepositHttpRequest(txnDTO, gson.toJson(request));
+	}
+
+	/**
+	 * JSON body of the deposit call. This is what the outbox stores, whatever the wire protocol.
+	 */
+	public String prepareDepositPayload(TransactionDto txnDTO, 
+			InitiateTxnRequest initiateTxnRequest) {
+		String jsonReqData = gson.toJson(buildDepositRequest(txnDTO, initiateTxnRequest));
+		log.debug("JSON request data: {}", jsonReqData);
+		return jsonReqData;
+	}
+
+	private TrustlyProviderDepositRequest buildDepositRequest(TransactionDto txnDTO, 
+			InitiateTxnRequest initiateTxnRequest) {
 
-		log.info("Preparing initiate request for txnDTO: {}, initiateTxnRequest: {}", 
+		log.debug("Preparing initiate request for txnDTO: {}, initiateTxnRequest: {}", 
 				txnDTO, initiateTxnRequest);
 
-		TrustlyProviderDepositRequest request = TrustlyProviderDepositRequest.builder()
+		return TrustlyProviderDepositRequest.builder()
 				.txnReference(txnDTO.getTxnReference())
 				.endUserId(String.valueOf(txnDTO.getUserId()))
-				.amount(txnDTO.getAmount().doubleValue())
-				.currency(txnDTO.getCurrency())
+				.amount(txnDTO.getAmount().toPlainString())
+				.currency(txnDTO.getAmount().getCurrency())
 				.firstName(initiateTxnRequest.getFirstName())
 				.lastName(initiateTxnRequest.getLastName())
 				.email(initiateTxnRequest.getEmail())
@@ -105,18 +197,47 @@ public class PaymentServiceHelper {
 				.successUrl(initiateTxnRequest.getSuccessUrl())
 				.failUrl(initiateTxnRequest.getFailUrl())
 				.build();
+	}
 
-		String jsonReqData = gson.toJson(request);
-		log.info("JSON request data: {}", jsonReqData);
-
+	/**
+	 * Rebuilds the deposit call from the JSON body stored in the outbox. The endpoint is picked
+	 * per call, so a retry may go to a different one than the first attempt.
+	 */
+	public HttpRequest prepareDepositHttpRequest(TransactionDto txnDTO, String jsonReqData) {
+		if (useProtobuf()) {
+			return protobufDepositHttpRequest(txnDTO, gson.fromJson(jsonReqData, TrustlyProviderDepositRequest.class));
+		}
 		HttpRequest httpRequest = new HttpRequest();
 		httpRequest.setBody(jsonReqData);
 		httpRequest.setHttpMethod(HttpMethod.POST);
 
-		httpRequest.setUrl(trustlyProviderDepositUrl);
+		httpRequest.setUrl(depositUrl(txnDTO));
+
+		log.debug("Prepared HttpRequest: {}", httpRequest);
+
+		return httpRequest;
+	}
+
+	private HttpRequest protobufDepositHttpRequest(TransactionDto txnDTO, TrustlyProviderDepositRequest request) {
+		HttpRequest httpRequest = new HttpRequest();
+		httpRequest.setBody(protoCodec.encodeDepositRequest(request));
+		httpRequest.setContentType(TrustlyProviderProtoCodec.APPLICATION_PROTOBUF);
+		httpRequest.setAccept(List.of(TrustlyProviderProtoCodec.APPLICATION_PROTOBUF, MediaType.APPLICATION_JSON));
+		httpRequest.setHttpMethod(HttpMethod.POST);
+
+		httpRequest.setUrl(depositUrl(txnDTO));
 
-		log.info("Prepared HttpRequest: {}", httpRequest);
+		log.debug("Prepared protobuf HttpRequest for txnReference: {}", request.getTxnReference());
 
 		return httpRequest;
 	}
+
+	private String depositUrl(TransactionDto txnDTO) {
+		return providerRouter.select(txnDTO.getProvider(), txnDTO.getPaymentMethod()).getUrl();
+	}
+
+	private boolean useProtobuf() {
+		return TrustlyProviderConstants.PROTOCOL_PROTOBUF.equalsIgnoreCase(depositProtocol)
+				&& System.currentTimeMillis() >= protobufRetryAt;
+	}
 }
@@ -1,12 +1,21 @@
 package com.hulkhiretech.payments.service;
 
+import java.util.List;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.hulkhiretech.payments.constants.ErrorEnum;
 import com.hulkhiretech.payments.constants.TransactionStatusEnum;
 import com.hulkhiretech.payments.dto.TransactionDto;
-import com.hulkhiretech.payments.service.factory.TransactionStatusFactory;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
 import com.hulkhiretech.payments.service.interfaces.TransactionStatusHandler;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+import com.hulkhiretech.payments.service.statemachine.TransactionStateMachine;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,17 +24,62 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentStatusService {
 
-    private final TransactionStatusFactory transactionStatusFactory;
+    private final TransactionStateMachine transactionStateMachine;
+    private final PaymentMetrics paymentMetrics;
+
+    /**
+     * Moves the transaction from its current status (the txnStatus on the DTO, null for a
+     * new transaction) to targetStatus. Illegal transitions are rejected before any DB write, and the
+     * write itself only applies while the row is still in currentStatus, so a concurrent change
+     * (e.g. a notification racing the initiate call) is rejected the same way.
+     */
+    public TransactionDto updatePayment(TransactionDto transactionDto, TransactionStatusEnum targetStatus) {
+        TransactionStatusEnum currentStatus = transactionDto.getTxnStatus() == null ? null
+                : TransactionStatusEnum.getByName(transactionDto.getTxnStatus());
+        log.info("Status transition {} -> {} for txnReference: {}", currentStatus, targetStatus,
+                transactionDto.getTxnReference());
+
+        if (!transactionStateMachine.isAllowed(currentStatus, targetStatus)) {
+            log.error("Illegal status transition {} -> {} for txnReference: {}", currentStatus, targetStatus,
+                    transactionDto.getTxnReference());
+            paymentMetrics.countRejectedTransition(currentStatus, targetStatus, transactionDto);
+            throw new PaymentProcessingException(
+                    ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+                    ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+                    HttpStatus.CONFLICT);
+        }
+
+        TransactionStatusHandler transactionStatusHandler = transactionStateMachine.getHandler(targetStatus);
+        List<TransactionTransitionHook> hooks = transactionStateMachine.getHooks(currentStatus, targetStatus);
+        for (TransactionTransitionHook hook : hooks) {
+            hook.beforeTransition(transactionDto);
+        }
+
+        transactionDto.setTxnStatus(targetStatus.getName());
+        Timer.Sample sample = paymentMetrics.startTimer();
+        try {
+            transactionDto = transactionStatusHandler.handleTransactionStatus(transactionDto, currentStatus);
+        } catch (OptimisticLockingFailureException e) {
+            // another writer moved the row after it was read, the transition checked above no longer applies
+            transactionDto.setTxnStatus(currentStatus == null ? null : currentStatus.getName());
+            log.error("Concurrent status change, {} -> {} not applied for txnReference: {}", currentStatus,
+                    targetStatus, transactionDto.getTxnReference());
+            paymentMetrics.countRejectedTransition(currentStatus, targetStatus, transactionDto);
+            throw new PaymentProcessingException(
+                    ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+                    ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+                    HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            // the row was not moved, keep the DTO consistent with it
+            transactionDto.setTxnStatus(currentStatus == null ? null : currentStatus.getName());
+            throw e;
+        }
+        paymentMetrics.recordStatusWrite(sample, transactionDto);
+        paymentMetrics.countTransition(currentStatus, targetStatus, transactionDto);
 
-    public TransactionDto updatePayment(TransactionDto transactionDto) {
-    	TransactionStatusEnum statusEnum = TransactionStatusEnum.getByName(transactionDto.getTxnStatus());
-    	log.info("The enum corresponding to the status code {} is {}", transactionDto.getTxnStatus(), statusEnum);
-        TransactionStatusHandler transactionStatusHandler = transactionStatusFactory.getTransactionHandler(statusEnum);
-        if(transactionStatusHandler==null){
-            log.error("NO status handler found for the status code: {}",transactionDto.getTxnStatus());
-            throw new RuntimeException("No Handler found for the status code: "+transactionDto.getTxnStatus());
+        for (TransactionTransitionHook hook : hooks) {
+            hook.afterTransition(transactionDto);
         }
-        transactionDto = transactionStatusHandler.handleTransactionStatus(transactionDto);
         return transactionDto;
     }
 
@@ -0,0 +1,124 @@
+package com.hulkhiretech.payments.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.pojo.BulkInitiateItem;
+import com.hulkhiretech.payments.pojo.BulkInitiateResult;
+import com.hulkhiretech.payments.ratelimit.MerchantRateLimiter;
+import com.hulkhiretech.payments.service.interfaces.ReactivePaymentService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link BulkInitiateService}, with the same limits and the same rejected
+ * results. A permit is taken per item from a semaphore shared by all bulk requests, so at most
+ * max-in-flight items are running on this instance; an item that cannot get one within
+ * acquire-timeout is reported as BULK_CAPACITY_EXCEEDED. Waiting for a permit polls instead of
+ * blocking the event loop. Each item also takes an initiate token from the merchant's rate limit
+ * bucket and is reported as RATE_LIMIT_EXCEEDED without one.
+ */
+@Slf4j
+@Service
+@Profile(ProfileConstants.REACTIVE)
+public class ReactiveBulkInitiateService {
+
+	private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+	private final ReactivePaymentService reactivePaymentService;
+	private final MerchantRateLimiter merchantRateLimiter;
+	private final Semaphore inFlight;
+	private final int maxInFlight;
+	private final int maxItems;
+	private final long acquireTimeoutNanos;
+
+	public ReactiveBulkInitiateService(ReactivePaymentService reactivePaymentService,
+			MerchantRateLimiter merchantRateLimiter,
+			@Value("${payments.bulk.max-in-flight:16}") int maxInFlight,
+			@Value("${payments.bulk.max-items:1000}") int maxItems,
+			@Value("${payments.bulk.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+		this.reactivePaymentService = reactivePaymentService;
+		this.merchantRateLimiter = merchantRateLimiter;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.maxInFlight = maxInFlight;
+		this.maxItems = maxItems;
+		this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+	}
+
+	public void validate(List<BulkInitiateItem> items) {
+		if (items == null || items.isEmpty() || items.size() > maxItems) {
+			log.error("Bulk initiate rejected, items: {}, max: {}", items == null ? 0 : items.size(), maxItems);
+			throw new PaymentProcessingException(
+					ErrorEnum.INVALID_BULK_REQUEST.getErrorCode(),
+					ErrorEnum.INVALID_BULK_REQUEST.getErrorMessage(),
+					HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * flatMap subscribes at most max-in-flight items of this request at a time and only requests
+	 * more as results are written, so a slow client slows its own batch down.
+	 *
+	 * @param merchantId the calling merchant, whose initiate budget the items are taken from
+	 */
+	public Flux<BulkInitiateResult> initiatePayments(List<BulkInitiateItem> items, String merchantId) {
+		log.info("Bulk initiate of {} items", items.size());
+		return Flux.fromIterable(items)
+				.flatMap(item -> initiate(item, merchantId), maxInFlight)
+				.doOnComplete(() -> log.info("Bulk initiate of {} items done", items.size()));
+	}
+
+	private Mono<BulkInitiateResult> initiate(BulkInitiateItem item, String merchantId) {
+		return Mono.defer(() -> {
+			if (rateLimited(merchantId)) {
+				return Mono.just(BulkInitiateResult.of(item.getTxnReference(), ErrorEnum.RATE_LIMIT_EXCEEDED));
+			}
+			return acquire().flatMap(acquired -> {
+				if (!acquired) {
+					log.warn("No bulk capacity for txnReference: {}", item.getTxnReference());
+					return Mono.just(BulkInitiateResult.of(item.getTxnReference(), ErrorEnum.BULK_CAPACITY_EXCEEDED));
+				}
+				return reactivePaymentService.initiatePayment(item.getTxnReference(), item.getRequest())
+						.map(BulkInitiateResult::of)
+						.onErrorResume(e -> {
+							log.error("Bulk initiate failed for txnReference: {}: {}", item.getTxnReference(),
+									e.getMessage());
+							return Mono.just(BulkInitiateResult.of(item.getTxnReference(), e));
+						})
+						.doFinally(signal -> inFlight.release());
+			});
+		});
+	}
+
+	private boolean rateLimited(String merchantId) {
+		return merchantRateLimiter.isEnabled()
+				&& merchantRateLimiter.tryAcquire(merchantId, MetricsConstants.OPERATION_INITIATE) > 0;
+	}
+
+	/**
+	 * Emits true once a permit is taken, false after acquire-timeout. The deadline is checked in
+	 * the same callable that takes the permit, a racing timeout operator could drop a taken permit.
+	 */
+	private Mono<Boolean> acquire() {
+		long deadline = System.nanoTime() + acquireTimeoutNanos;
+		return Mono.fromCallable(() -> {
+			if (inFlight.tryAcquire()) {
+				return Boolean.TRUE;
+			}
+			return System.nanoTime() - deadline > 0 ? Boolean.FALSE : null;
+		}).repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts.delayElements(POLL_INTERVAL));
+	}
+}
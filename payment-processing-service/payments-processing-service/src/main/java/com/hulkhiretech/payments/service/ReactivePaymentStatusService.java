@@ -0,0 +1,94 @@
+package com.hulkhiretech.payments.service;
+
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.ReactiveTransactionDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+import com.hulkhiretech.payments.service.statemachine.TransactionStateMachine;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link PaymentStatusService}. Transition rules and hooks come from the
+ * same {@link TransactionStateMachine}; the status handlers are blocking, so the write is done
+ * here instead: CREATED inserts the row, every later status updates it.
+ */
+@Slf4j
+@Service
+@Profile(ProfileConstants.REACTIVE)
+@RequiredArgsConstructor
+public class ReactivePaymentStatusService {
+
+	private final TransactionStateMachine transactionStateMachine;
+	private final ReactiveTransactionDAO reactiveTransactionDAO;
+	private final ModelMapper modelMapper;
+	private final PaymentMetrics paymentMetrics;
+
+	public Mono<TransactionDto> updatePayment(TransactionDto transactionDto, TransactionStatusEnum targetStatus) {
+		return Mono.defer(() -> {
+			TransactionStatusEnum currentStatus = transactionDto.getTxnStatus() == null ? null
+					: TransactionStatusEnum.getByName(transactionDto.getTxnStatus());
+			log.info("Status transition {} -> {} for txnReference: {}", currentStatus, targetStatus,
+					transactionDto.getTxnReference());
+
+			if (!transactionStateMachine.isAllowed(currentStatus, targetStatus)) {
+				log.error("Illegal status transition {} -> {} for txnReference: {}", currentStatus, targetStatus,
+						transactionDto.getTxnReference());
+				paymentMetrics.countRejectedTransition(currentStatus, targetStatus, transactionDto);
+				return Mono.error(new PaymentProcessingException(
+						ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+						ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+						HttpStatus.CONFLICT));
+			}
+
+			List<TransactionTransitionHook> hooks = transactionStateMachine.getHooks(currentStatus, targetStatus);
+			for (TransactionTransitionHook hook : hooks) {
+				hook.beforeTransition(transactionDto);
+			}
+
+			transactionDto.setTxnStatus(targetStatus.getName());
+			Transaction txnEntity = modelMapper.map(transactionDto, Transaction.class);
+			Mono<Boolean> write = targetStatus == TransactionStatusEnum.CREATED
+					? reactiveTransactionDAO.saveTransaction(txnEntity)
+					: reactiveTransactionDAO.updateTransaction(txnEntity, currentStatus.getId());
+
+			Timer.Sample sample = paymentMetrics.startTimer();
+			return write
+					.doOnError(e -> transactionDto.setTxnStatus(currentStatus == null ? null : currentStatus.getName()))
+					.onErrorMap(OptimisticLockingFailureException.class, e -> {
+						// another writer moved the row after it was read
+						log.error("Concurrent status change, {} -> {} not applied for txnReference: {}",
+								currentStatus, targetStatus, transactionDto.getTxnReference());
+						paymentMetrics.countRejectedTransition(currentStatus, targetStatus, transactionDto);
+						return new PaymentProcessingException(
+								ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+								ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+								HttpStatus.CONFLICT);
+					})
+					.map(written -> {
+						paymentMetrics.recordStatusWrite(sample, transactionDto);
+						paymentMetrics.countTransition(currentStatus, targetStatus, transactionDto);
+						for (TransactionTransitionHook hook : hooks) {
+							hook.afterTransition(transactionDto);
+						}
+						return transactionDto;
+					});
+		});
+	}
+}
@@ -0,0 +1,122 @@
+package com.hulkhiretech.payments.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.OutboxConstants;
+import com.hulkhiretech.payments.constants.OutboxStatusEnum;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.OutboxDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.OutboxEvent;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Owns the transactional boundaries of the deposit outbox: the INITIATED write
+ * and the outbox insert commit together, and so do the final status write and
+ * marking the event done.
+ */
+@Service
+@Slf4j
+public class TransactionOutboxService {
+
+	private final OutboxDAO outboxDAO;
+	private final PaymentStatusService paymentStatusService;
+	private final boolean inlineDispatch;
+	private final int leaseSeconds;
+	private final String owner;
+
+	public TransactionOutboxService(OutboxDAO outboxDAO, PaymentStatusService paymentStatusService,
+			@Value("${payments.outbox.dispatch-mode:" + OutboxConstants.DISPATCH_MODE_INLINE + "}") String dispatchMode,
+			@Value("${payments.outbox.lease-seconds:60}") int leaseSeconds,
+			@Value("${spring.application.name}") String applicationName) {
+		this.outboxDAO = outboxDAO;
+		this.paymentStatusService = paymentStatusService;
+		this.inlineDispatch = !OutboxConstants.DISPATCH_MODE_ASYNC.equalsIgnoreCase(dispatchMode);
+		this.leaseSeconds = leaseSeconds;
+		String instance = applicationName + "@" + ManagementFactory.getRuntimeMXBean().getName();
+		this.owner = instance.length() > 100 ? instance.substring(0, 100) : instance;
+		log.info("Outbox dispatch mode: {}, owner: {}", inlineDispatch ? OutboxConstants.DISPATCH_MODE_INLINE
+				: OutboxConstants.DISPATCH_MODE_ASYNC, owner);
+	}
+
+	/**
+	 * In inline mode the event is inserted already leased to this instance, so the
+	 * request thread dispatches it and the poller only picks it up if we crash.
+	 */
+	@Transactional
+	public OutboxEvent initiate(TransactionDto txnDTO, String depositPayload) {
+		paymentStatusService.updatePayment(txnDTO, TransactionStatusEnum.INITIATED);
+
+		OutboxEvent event = new OutboxEvent();
+		event.setTxnReference(txnDTO.getTxnReference());
+		event.setEventType(OutboxConstants.EVENT_TRUSTLY_DEPOSIT);
+		event.setPayload(depositPayload);
+		if (inlineDispatch) {
+			event.setStatus(OutboxStatusEnum.IN_PROGRESS.name());
+			event.setAttempts(1);
+			event.setLockedBy(owner);
+		} else {
+			event.setStatus(OutboxStatusEnum.NEW.name());
+		}
+		event.setId(outboxDAO.saveEvent(event, inlineDispatch ? leaseSeconds : 0));
+		return event;
+	}
+
+	@Transactional
+	public List<OutboxEvent> claim(int limit) {
+		List<OutboxEvent> events = outboxDAO.lockClaimableEvents(limit);
+		if (!events.isEmpty()) {
+			outboxDAO.leaseEvents(events.stream().map(OutboxEvent::getId).toList(), owner, leaseSeconds);
+			events.forEach(event -> event.setAttempts(event.getAttempts() + 1));
+			log.info("Claimed {} outbox events", events.size());
+		}
+		return events;
+	}
+
+	/**
+	 * Marks the event done and writes the final status. If our lease expired and another
+	 * dispatcher claimed the event meanwhile, that dispatcher owns the outcome: nothing is
+	 * written and the caller gets the 20003 conflict.
+	 */
+	@Transactional
+	public TransactionDto complete(OutboxEvent event, TransactionDto txnDTO, TransactionStatusEnum finalStatus) {
+		if (!outboxDAO.markDone(event.getId(), owner, txnDTO.getErrorMessage())) {
+			log.warn("Lease on outbox event {} lost, not moving {} to {}", event.getId(), txnDTO.getTxnReference(),
+					finalStatus);
+			throw new PaymentProcessingException(
+					ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+					ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+					HttpStatus.CONFLICT);
+		}
+		return paymentStatusService.updatePayment(txnDTO, finalStatus);
+	}
+
+	@Transactional
+	public void skip(OutboxEvent event, String reason) {
+		outboxDAO.markDone(event.getId(), owner, reason);
+	}
+
+	/**
+	 * Gives the event back to the poller after a failure worth retrying, the transaction
+	 * stays INITIATED.
+	 */
+	@Transactional
+	public void retryLater(OutboxEvent event, String lastError, int delaySeconds) {
+		if (!outboxDAO.releaseForRetry(event.getId(), owner, lastError, delaySeconds)) {
+			log.warn("Lease on outbox event {} lost, leaving the retry to its new owner", event.getId());
+		}
+	}
+
+	public boolean isInlineDispatch() {
+		return inlineDispatch;
+	}
+}
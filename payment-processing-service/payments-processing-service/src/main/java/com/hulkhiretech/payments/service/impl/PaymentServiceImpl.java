@@ -1,28 +1,39 @@
 package com.hulkhiretech.payments.service.impl;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.modelmapper.ModelMapper;
-import org.springframework.http.ResponseEntity;
+import org.slf4j.MDC;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.LoggingConstants;
+import com.hulkhiretech.payments.constants.MetricsConstants;
 import com.hulkhiretech.payments.constants.TransactionStatusEnum;
 import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
 import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.OutboxEvent;
 import com.hulkhiretech.payments.entity.Transaction;
-import com.hulkhiretech.payments.exception.TrustlyProviderException;
-import com.hulkhiretech.payments.http.HttpRequest;
-import com.hulkhiretech.payments.http.HttpServiceEngine;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
 import com.hulkhiretech.payments.pojo.CreateTransaction;
 import com.hulkhiretech.payments.pojo.CreateTransactionResponse;
 import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
 import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.service.InitiateResponseCache;
+import com.hulkhiretech.payments.service.OutboxDispatcher;
 import com.hulkhiretech.payments.service.PaymentServiceHelper;
 import com.hulkhiretech.payments.service.PaymentStatusService;
+import com.hulkhiretech.payments.service.TransactionOutboxService;
 import com.hulkhiretech.payments.service.interfaces.PaymentService;
-import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,17 +46,35 @@ public class PaymentServiceImpl implements PaymentService {
 	private final PaymentStatusService paymentStatusService;
 	private final TransactionDAO transactionDAO;
 	private final PaymentServiceHelper paymentsServiceHelper;
-	private final HttpServiceEngine httpServiceEngine;
+	private final TransactionOutboxService transactionOutboxService;
+	private final OutboxDispatcher outboxDispatcher;
+	private final PaymentMetrics paymentMetrics;
+	private final InitiateResponseCache initiateResponseCache;
+
+	// initiates running on this instance, a duplicate waits for the first one instead of racing it
+	private final Map<String, CompletableFuture<PaymentResponse>> initiatesInFlight = new ConcurrentHashMap<>();
 
 	@Override
 	public CreateTransactionResponse createPayment(CreateTransaction createTransaction) {
-		log.info("Transaction received in PaymentServiceImpl:  {}", createTransaction);
+		log.debug("Transaction received in PaymentServiceImpl:  {}", createTransaction);
+		Timer.Sample requestSample = paymentMetrics.startTimer();
+
+		Timer.Sample mappingSample = paymentMetrics.startTimer();
 		TransactionDto transactionDto = modelMapper.map(createTransaction, TransactionDto.class);
-		transactionDto.setTxnStatus(TransactionStatusEnum.CREATED.getName());
+		transactionDto.setAmount(paymentsServiceHelper.toMoney(createTransaction));
+		paymentMetrics.recordStage(mappingSample, MetricsConstants.STAGE_MAPPING, transactionDto);
 		transactionDto.setTxnReference(UUID.randomUUID().toString());
 		transactionDto.setRetryCount(0);
-		log.info("Transaction Final: {}", transactionDto);
-		transactionDto = paymentStatusService.updatePayment(transactionDto);
+		MDC.put(LoggingConstants.MDC_TXN_REFERENCE, transactionDto.getTxnReference());
+		log.debug("Transaction Final: {}", transactionDto);
+		try {
+			transactionDto = paymentStatusService.updatePayment(transactionDto, TransactionStatusEnum.CREATED);
+		} catch (RuntimeException e) {
+			paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_CREATE, transactionDto, false);
+			throw e;
+		}
+		paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_CREATE, transactionDto, true);
+
 		CreateTransactionResponse response = new CreateTransactionResponse();
 		response.setTxnStatus(transactionDto.getTxnStatus());
 		response.setTxnReference(transactionDto.getTxnReference());
@@ -53,63 +82,131 @@ public class PaymentServiceImpl implements PaymentService {
 		return response;
 	}
 
+	/**
+	 * Idempotent: a transaction that is already initiated is answered from the cache or from its
+	 * row without another provider call, and concurrent duplicates share the first call's result.
+	 * Across instances only one INITIATED write commits (status guard on the UPDATE, unique outbox
+	 * key); the instance that loses the race answers from the winner's row like any other replay.
+	 */
 	@Override
 	public PaymentResponse initiatePayment(String txnReference, InitiateTxnRequest initiateTxnRequest) {
-		log.info("Initiating payment for txnReference: {}, initiateTxnRequest: {}", txnReference, initiateTxnRequest);
+		MDC.put(LoggingConstants.MDC_TXN_REFERENCE, txnReference);
+		log.info("Initiating payment for txnReference: {}", txnReference);
+		log.debug("initiateTxnRequest: {}", initiateTxnRequest);
+
+		PaymentResponse cached = initiateResponseCache.get(txnReference);
+		if (cached != null) {
+			log.info("Initiate answered from cache for txnReference: {}", txnReference);
+			paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_CACHE);
+			return cached;
+		}
 
-		Transaction txnEntity = transactionDAO.getTransactionByReference(txnReference);
-		log.info("Fetched transaction entity: {}", txnEntity);
+		CompletableFuture<PaymentResponse> initiate = new CompletableFuture<>();
+		CompletableFuture<PaymentResponse> running = initiatesInFlight.putIfAbsent(txnReference, initiate);
+		if (running != null) {
+			log.info("Initiate already running for txnReference: {}, waiting for it", txnReference);
+			paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_IN_FLIGHT);
+			try {
+				return running.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+		try {
+			PaymentResponse paymentResponse = initiate(txnReference, initiateTxnRequest);
+			initiate.complete(paymentResponse);
+			return paymentResponse;
+		} catch (RuntimeException e) {
+			initiate.completeExceptionally(e);
+			throw e;
+		} finally {
+			initiatesInFlight.remove(txnReference, initiate);
+		}
+	}
 
-		TransactionDto txnDTO = modelMapper.map(txnEntity, TransactionDto.class);
-		log.info("Mapped TransactionEntity to TransactionDTO: {}", txnDTO);
+	private PaymentResponse initiate(String txnReference, InitiateTxnRequest initiateTxnRequest) {
+		Timer.Sample requestSample = paymentMetrics.startTimer();
 
-		txnDTO.setTxnStatus(TransactionStatusEnum.INITIATED.getName());
-		txnDTO = paymentStatusService.updatePayment(txnDTO);
+		// provider and payment method are not known until the row is read, so the read is untagged
+		Timer.Sample dbReadSample = paymentMetrics.startTimer();
+		Transaction txnEntity = transactionDAO.getTransactionByReference(txnReference);
+		paymentMetrics.recordStage(dbReadSample, MetricsConstants.STAGE_DB_READ, null);
+		log.debug("Fetched transaction entity: {}", txnEntity);
 
-		log.info("Processed transactionDTO after initiation: {}", txnDTO);
+		Timer.Sample mappingSample = paymentMetrics.startTimer();
+		TransactionDto txnDTO = modelMapper.map(txnEntity, TransactionDto.class);
+		paymentMetrics.recordStage(mappingSample, MetricsConstants.STAGE_MAPPING, txnDTO);
+		log.debug("Mapped TransactionEntity to TransactionDTO: {}", txnDTO);
+
+		PaymentResponse replayed = paymentsServiceHelper.replayInitiate(txnDTO);
+		if (replayed != null) {
+			paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_DB);
+			initiateResponseCache.put(replayed);
+			paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, true);
+			return replayed;
+		}
 
-		HttpRequest request = paymentsServiceHelper.prepareInitiateRequest(txnDTO, initiateTxnRequest);
+		String depositPayload = paymentsServiceHelper.prepareDepositPayload(txnDTO, initiateTxnRequest);
 
-		TrustlyProviderDepositResponse responseObj = null;
+		// INITIATED write and the outbox row commit together, the provider call happens after
+		OutboxEvent outboxEvent;
 		try {
-			ResponseEntity<String> httpResponse = httpServiceEngine.makeHttpCall(request);
-
-			responseObj = paymentsServiceHelper.processResponse(httpResponse);
-			log.info("Processed DepositResponse: {}", responseObj);
-
-		} catch (TrustlyProviderException e) {// Failure in processing the response
-			log.error("Error processing Trustly response: {}", e.getMessage(), e);
-			txnDTO.setTxnStatus(TransactionStatusEnum.FAILED.getName());
-			txnDTO.setErrorCode(e.getErrorCode());
-			txnDTO.setErrorMessage(e.getErrorMessage());
+			outboxEvent = transactionOutboxService.initiate(txnDTO, depositPayload);
+		} catch (DuplicateKeyException | PaymentProcessingException e) {
+			PaymentResponse winner = replayLostRace(txnReference, e);
+			paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, true);
+			return winner;
+		}
+		log.debug("Processed transactionDTO after initiation: {}", txnDTO);
+
+		if (!transactionOutboxService.isInlineDispatch()) {
+			// async mode, the dispatcher pool calls the provider and moves the transaction on
+			PaymentResponse paymentResponse = new PaymentResponse();
+			paymentResponse.setTxnReference(txnDTO.getTxnReference());
+			paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
+			log.info("Payment queued for dispatch for txnReference: {}", txnDTO.getTxnReference());
+			paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, true);
+			return paymentResponse;
+		}
 
-			paymentStatusService.updatePayment(txnDTO);
-			log.info("Transaction status updated to FAILED with error: {}", e.getErrorMessage());
-			throw e;
-		} catch (Exception e) {
-			log.error("Error processing Trustly response: {}", e.getMessage(), e);
-			txnDTO.setTxnStatus(TransactionStatusEnum.FAILED.getName());
-			txnDTO.setErrorCode(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorCode());
-			txnDTO.setErrorMessage(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorMessage());
-
-			paymentStatusService.updatePayment(txnDTO);
-			log.info("Transaction status updated to FAILED with error: {}",
-					ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorMessage());
+		PaymentResponse paymentResponse;
+		try {
+			paymentResponse = outboxDispatcher.dispatch(outboxEvent, txnDTO);
+		} catch (RuntimeException e) {
+			paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, false);
 			throw e;
 		}
 
-		PaymentResponse paymentResponse = new PaymentResponse();
-		paymentResponse.setTxnReference(txnDTO.getTxnReference());
-		paymentResponse.setUrl(responseObj.getUrl());
-
-		txnDTO.setTxnStatus(TransactionStatusEnum.PENDING.getName());
-		txnDTO.setProviderReference(responseObj.getOrderid());
-		txnDTO = paymentStatusService.updatePayment(txnDTO);
-
-		paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
-		log.info("Returning responseObj: {}", responseObj);
+		log.info("Payment initiated for txnReference: {}, txnStatus: {}", txnDTO.getTxnReference(),
+				paymentResponse.getTxnStatus());
+		paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, true);
 
 		return paymentResponse;
 
 	}
+
+	/**
+	 * Another instance initiated the transaction between our read and our INITIATED write, so the
+	 * write was rolled back. Answers from the row it left, or 409 when that cannot be replayed
+	 * (e.g. it is already FAILED).
+	 */
+	private PaymentResponse replayLostRace(String txnReference, RuntimeException e) {
+		if (e instanceof PaymentProcessingException ppe
+				&& !ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode().equals(ppe.getErrorCode())) {
+			throw e;
+		}
+		log.info("Transaction {} was initiated concurrently: {}", txnReference, e.getMessage());
+		TransactionDto current = modelMapper.map(transactionDAO.getTransactionByReference(txnReference),
+				TransactionDto.class);
+		PaymentResponse replayed = paymentsServiceHelper.replayInitiate(current);
+		if (replayed == null) {
+			throw new PaymentProcessingException(
+					ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+					ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+					HttpStatus.CONFLICT);
+		}
+		paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_DB);
+		initiateResponseCache.put(replayed);
+		return replayed;
+	}
 }
@@ -0,0 +1,246 @@
+package com.hulkhiretech.payments.service.impl;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.ProfileConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.ReactiveTransactionDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.exception.TrustlyProviderException;
+import com.hulkhiretech.payments.http.HttpRequest;
+import com.hulkhiretech.payments.http.ReactiveHttpServiceEngine;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.CreateTransaction;
+import com.hulkhiretech.payments.pojo.CreateTransactionResponse;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.service.InitiateResponseCache;
+import com.hulkhiretech.payments.service.PaymentServiceHelper;
+import com.hulkhiretech.payments.service.ReactivePaymentStatusService;
+import com.hulkhiretech.payments.service.interfaces.ReactivePaymentService;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Same flow as {@link PaymentServiceImpl} without blocking a thread on the DB or the provider.
+ * The provider is called directly after the INITIATED write; the transactional outbox is a JDBC
+ * feature and is not used on this stack.
+ */
+@Service
+@Profile(ProfileConstants.REACTIVE)
+@Slf4j
+@RequiredArgsConstructor
+public class ReactivePaymentServiceImpl implements ReactivePaymentService {
+
+	private final ModelMapper modelMapper;
+	private final ReactivePaymentStatusService reactivePaymentStatusService;
+	private final ReactiveTransactionDAO reactiveTransactionDAO;
+	private final PaymentServiceHelper paymentsServiceHelper;
+	private final ReactiveHttpServiceEngine reactiveHttpServiceEngine;
+	private final PaymentMetrics paymentMetrics;
+	private final InitiateResponseCache initiateResponseCache;
+
+	private final Map<String, CompletableFuture<PaymentResponse>> initiatesInFlight = new ConcurrentHashMap<>();
+
+	@Override
+	public Mono<CreateTransactionResponse> createPayment(CreateTransaction createTransaction) {
+		return Mono.defer(() -> {
+			log.debug("Transaction received in ReactivePaymentServiceImpl:  {}", createTransaction);
+			Timer.Sample requestSample = paymentMetrics.startTimer();
+
+			Timer.Sample mappingSample = paymentMetrics.startTimer();
+			TransactionDto transactionDto = modelMapper.map(createTransaction, TransactionDto.class);
+			transactionDto.setAmount(paymentsServiceHelper.toMoney(createTransaction));
+			paymentMetrics.recordStage(mappingSample, MetricsConstants.STAGE_MAPPING, transactionDto);
+			transactionDto.setTxnReference(UUID.randomUUID().toString());
+			transactionDto.setRetryCount(0);
+
+			return reactivePaymentStatusService.updatePayment(transactionDto, TransactionStatusEnum.CREATED)
+					.doOnError(e -> paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_CREATE,
+							transactionDto, false))
+					.map(createdDto -> {
+						paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_CREATE, createdDto, true);
+						CreateTransactionResponse response = new CreateTransactionResponse();
+						response.setTxnStatus(createdDto.getTxnStatus());
+						response.setTxnReference(createdDto.getTxnReference());
+						log.info("The created transaction reference is: {}", response);
+						return response;
+					});
+		});
+	}
+
+	/**
+	 * Idempotent like {@link PaymentServiceImpl#initiatePayment}.
+	 */
+	@Override
+	public Mono<PaymentResponse> initiatePayment(String txnReference, InitiateTxnRequest initiateTxnRequest) {
+		return Mono.defer(() -> {
+			log.info("Initiating payment for txnReference: {}", txnReference);
+			log.debug("initiateTxnRequest: {}", initiateTxnRequest);
+
+			PaymentResponse cached = initiateResponseCache.get(txnReference);
+			if (cached != null) {
+				log.info("Initiate answered from cache for txnReference: {}", txnReference);
+				paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_CACHE);
+				return Mono.just(cached);
+			}
+
+			CompletableFuture<PaymentResponse> initiate = new CompletableFuture<>();
+			CompletableFuture<PaymentResponse> running = initiatesInFlight.putIfAbsent(txnReference, initiate);
+			if (running != null) {
+				log.info("Initiate already running for txnReference: {}, waiting for it", txnReference);
+				paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_IN_FLIGHT);
+				// a waiter going away must not cancel the call the others wait for
+				return Mono.fromFuture(running, true);
+			}
+			return initiate(txnReference, initiateTxnRequest)
+					// waiters must get what this request gets, never an empty answer
+					.switchIfEmpty(Mono.error(() -> new EmptyResultDataAccessException(1)))
+					.doOnSuccess(initiate::complete)
+					.doOnError(initiate::completeExceptionally)
+					.doFinally(signal -> {
+						if (signal == SignalType.CANCEL) {
+							initiate.cancel(false);
+						}
+						initiatesInFlight.remove(txnReference, initiate);
+					});
+		});
+	}
+
+	private Mono<PaymentResponse> initiate(String txnReference, InitiateTxnRequest initiateTxnRequest) {
+		return Mono.defer(() -> {
+			Timer.Sample requestSample = paymentMetrics.startTimer();
+			Timer.Sample dbReadSample = paymentMetrics.startTimer();
+
+			return reactiveTransactionDAO.getTransactionByReference(txnReference)
+					.flatMap(txnEntity -> {
+						paymentMetrics.recordStage(dbReadSample, MetricsConstants.STAGE_DB_READ, null);
+
+						Timer.Sample mappingSample = paymentMetrics.startTimer();
+						TransactionDto txnDTO = modelMapper.map(txnEntity, TransactionDto.class);
+						paymentMetrics.recordStage(mappingSample, MetricsConstants.STAGE_MAPPING, txnDTO);
+
+						PaymentResponse replayed = paymentsServiceHelper.replayInitiate(txnDTO);
+						if (replayed != null) {
+							paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_DB);
+							initiateResponseCache.put(replayed);
+							paymentMetrics.recordRequest(requestSample, MetricsConstants.OPERATION_INITIATE, txnDTO, true);
+							return Mono.just(replayed);
+						}
+
+						HttpRequest request = paymentsServiceHelper.prepareInitiateRequest(txnDTO, initiateTxnRequest);
+
+						// the conflict handler only sees the INITIATED write, the provider call and the
+						// PENDING write run in the flatMap after it
+						return reactivePaymentStatusService.updatePayment(txnDTO, TransactionStatusEnum.INITIATED)
+								.map(initiatedDto -> callProvider(initiatedDto, initiateTxnRequest, request))
+								.onErrorResume(ReactivePaymentServiceImpl::isConflict,
+										e -> Mono.just(replayLostRace(txnReference, e)))
+								.flatMap(response -> response)
+								.doOnSuccess(response -> paymentMetrics.recordRequest(requestSample,
+										MetricsConstants.OPERATION_INITIATE, txnDTO, true))
+								.doOnError(e -> paymentMetrics.recordRequest(requestSample,
+										MetricsConstants.OPERATION_INITIATE, txnDTO, false));
+					});
+		});
+	}
+
+	private static boolean isConflict(Throwable e) {
+		return e instanceof PaymentProcessingException ppe
+				&& ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode().equals(ppe.getErrorCode());
+	}
+
+	/**
+	 * Same as the blocking path: another instance initiated the transaction between our read and
+	 * our INITIATED write. Answers from the row it left, or 409 when that cannot be replayed (e.g.
+	 * it is already FAILED).
+	 */
+	private Mono<PaymentResponse> replayLostRace(String txnReference, Throwable e) {
+		return Mono.defer(() -> {
+			log.info("Transaction {} was initiated concurrently: {}", txnReference, e.getMessage());
+			return reactiveTransactionDAO.getTransactionByReference(txnReference);
+		}).flatMap(txnEntity -> {
+			PaymentResponse replayed = paymentsServiceHelper.replayInitiate(
+					modelMapper.map(txnEntity, TransactionDto.class));
+			if (replayed == null) {
+				return Mono.error(new PaymentProcessingException(
+						ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+						ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(),
+						HttpStatus.CONFLICT));
+			}
+			paymentMetrics.countInitiateReplay(MetricsConstants.SOURCE_DB);
+			initiateResponseCache.put(replayed);
+			return Mono.just(replayed);
+		});
+	}
+
+	/**
+	 * Provider call and the PENDING write, or the FAILED write when the provider rejects the payment.
+	 */
+	private Mono<PaymentResponse> callProvider(TransactionDto txnDTO, InitiateTxnRequest initiateTxnRequest,
+			HttpRequest request) {
+		Timer.Sample providerSample = paymentMetrics.startTimer();
+		return reactiveHttpServiceEngine.makeHttpCall(request)
+				.flatMap(httpResponse -> paymentsServiceHelper.fallBackToJson(request, httpResponse)
+						? reactiveHttpServiceEngine.makeHttpCall(
+								paymentsServiceHelper.prepareInitiateRequest(txnDTO, initiateTxnRequest))
+						: Mono.just(httpResponse))
+				.map(httpResponse -> {
+					paymentMetrics.recordStage(providerSample, MetricsConstants.STAGE_PROVIDER_CALL, txnDTO);
+					Timer.Sample parseSample = paymentMetrics.startTimer();
+					TrustlyProviderDepositResponse responseObj = paymentsServiceHelper.processResponse(httpResponse);
+					paymentMetrics.recordStage(parseSample, MetricsConstants.STAGE_RESPONSE_PARSE, txnDTO);
+					return responseObj;
+				})
+				.onErrorResume(e -> failTransaction(txnDTO, e))
+				.flatMap(responseObj -> {
+					txnDTO.setProviderReference(responseObj.getOrderid());
+					txnDTO.setRedirectUrl(responseObj.getUrl());
+					return reactivePaymentStatusService.updatePayment(txnDTO, TransactionStatusEnum.PENDING)
+							.map(pendingDto -> {
+								PaymentResponse paymentResponse = new PaymentResponse();
+								paymentResponse.setTxnReference(pendingDto.getTxnReference());
+								paymentResponse.setUrl(responseObj.getUrl());
+								paymentResponse.setTxnStatus(pendingDto.getTxnStatus());
+								log.info("Payment initiated for txnReference: {}, txnStatus: {}",
+										pendingDto.getTxnReference(), pendingDto.getTxnStatus());
+								initiateResponseCache.put(paymentResponse);
+								return paymentResponse;
+							});
+				});
+	}
+
+	private <T> Mono<T> failTransaction(TransactionDto txnDTO, Throwable e) {
+		log.error("Error processing Trustly response: {}", e.getMessage());
+		if (e instanceof TrustlyProviderException providerException) {
+			txnDTO.setErrorCode(providerException.getErrorCode());
+			txnDTO.setErrorMessage(providerException.getErrorMessage());
+		} else {
+			txnDTO.setErrorCode(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorCode());
+			txnDTO.setErrorMessage(ErrorEnum.ERROR_PROCESSING_TRUSTLY_RESPONSE.getErrorMessage());
+		}
+		paymentMetrics.countError(txnDTO.getErrorCode(), txnDTO);
+
+		return reactivePaymentStatusService.updatePayment(txnDTO, TransactionStatusEnum.FAILED)
+				.doOnNext(failedDto -> log.info("Transaction status updated to FAILED with error: {}",
+						failedDto.getErrorMessage()))
+				.then(Mono.error(e));
+	}
+}
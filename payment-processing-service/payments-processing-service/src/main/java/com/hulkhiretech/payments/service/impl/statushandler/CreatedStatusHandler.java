@@ -3,6 +3,7 @@ package com.hulkhiretech.payments.service.impl.statushandler;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
 import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
 import com.hulkhiretech.payments.dto.TransactionDto;
 import com.hulkhiretech.payments.entity.Transaction;
@@ -20,15 +21,19 @@ public class CreatedStatusHandler implements TransactionStatusHandler {
 	private final ModelMapper modelMapper;
 
 	@Override
-	public TransactionDto handleTransactionStatus(TransactionDto transactionDto) {
-		log.info("Data object received in created status handler is{},transactionDto");
+	public TransactionDto handleTransactionStatus(TransactionDto transactionDto, TransactionStatusEnum fromStatus) {
+		log.debug("Data object received in created status handler is {}", transactionDto);
 		Transaction txEntity = modelMapper.map(transactionDto, Transaction.class);
 
-		log.info("Mapped Final Transaction is: {}", txEntity);
+		log.debug("Mapped Final Transaction is: {}", txEntity);
 		String status = transactionDAO.saveTransaction(txEntity);
 		log.info("Status of transaction in created status handler is {}", status);
-		log.info("Transaction Created Successfully : {}", transactionDto);
+		log.info("Transaction Created Successfully : {}", transactionDto.getTxnReference());
 		return transactionDto;
 	}
 
+	@Override
+	public TransactionStatusEnum getTransactionStatus() {
+		return TransactionStatusEnum.CREATED;
+	}
 }
@@ -3,6 +3,7 @@ package com.hulkhiretech.payments.service.impl.statushandler;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
 import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
 import com.hulkhiretech.payments.dto.TransactionDto;
 import com.hulkhiretech.payments.entity.Transaction;
@@ -21,13 +22,17 @@ public class InitiatedStatusHandler implements TransactionStatusHandler {
 	private final ModelMapper modelMapper;
 
 	@Override
-	public TransactionDto handleTransactionStatus(TransactionDto transactionDTO) {
-		log.info("Handling transaction status for DTO: {}", transactionDTO);
+	public TransactionDto handleTransactionStatus(TransactionDto transactionDTO, TransactionStatusEnum fromStatus) {
+		log.debug("Handling transaction status for DTO: {}", transactionDTO);
 
-		transactionDao.updateTransaction(modelMapper.map(transactionDTO, Transaction.class));
-		log.info("Transaction status updated in database for transactionDTO: {}", transactionDTO);
+		transactionDao.updateTransaction(modelMapper.map(transactionDTO, Transaction.class), fromStatus.getId());
+		log.info("Transaction status updated in database for txnReference: {}", transactionDTO.getTxnReference());
 
 		return transactionDTO;
 	}
 
+	@Override
+	public TransactionStatusEnum getTransactionStatus() {
+		return TransactionStatusEnum.INITIATED;
+	}
 }
@@ -0,0 +1,38 @@
+package com.hulkhiretech.payments.service.impl.statushandler;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.TransactionDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.service.interfaces.TransactionStatusHandler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SuccessStatusHandler implements TransactionStatusHandler {
+
+	private final TransactionDAO transactionDao;
+	
+	private final ModelMapper modelMapper;
+	
+	@Override
+	public TransactionDto handleTransactionStatus(TransactionDto transactionDTO, TransactionStatusEnum fromStatus) {
+		log.debug("Handling transaction status for DTO: {}", transactionDTO);
+		
+		transactionDao.updateTransaction(modelMapper.map(transactionDTO, Transaction.class), fromStatus.getId());
+		log.info("Transaction status updated in database for txnReference: {}", transactionDTO.getTxnReference());
+		
+		return transactionDTO;
+	}
+
+	@Override
+	public TransactionStatusEnum getTransactionStatus() {
+		return TransactionStatusEnum.SUCCESS;
+	}
+}
@@ -0,0 +1,16 @@
+package com.hulkhiretech.payments.service.interfaces;
+
+import com.hulkhiretech.payments.pojo.CreateTransaction;
+import com.hulkhiretech.payments.pojo.CreateTransactionResponse;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePaymentService {
+
+	public Mono<CreateTransactionResponse> createPayment(CreateTransaction createTransaction);
+
+	public Mono<PaymentResponse> initiatePayment(String txnReference, InitiateTxnRequest initiateTxnRequest);
+
+}
@@ -1,8 +1,19 @@
 package com.hulkhiretech.payments.service.interfaces;
 
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
 import com.hulkhiretech.payments.dto.TransactionDto;
 
 public interface TransactionStatusHandler {
 
-    public TransactionDto handleTransactionStatus(TransactionDto transactionDto);
+    /**
+     * Persists transactionDto, already set to this handler's status. fromStatus is the status the
+     * row must still be in (null for a new transaction); if another writer moved it first,
+     * nothing is written and an OptimisticLockingFailureException is thrown.
+     */
+    public TransactionDto handleTransactionStatus(TransactionDto transactionDto, TransactionStatusEnum fromStatus);
+
+    /**
+     * The status this handler persists, used to build the dispatch table once at startup.
+     */
+    public TransactionStatusEnum getTransactionStatus();
 }
@@ -0,0 +1,24 @@
+package com.hulkhiretech.payments.service.interfaces;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dto.TransactionDto;
+
+/**
+ * Extension point bound to a single edge of the transaction state machine.
+ * Hooks run on the request thread, before and after the status handler writes the row.
+ */
+public interface TransactionTransitionHook {
+
+	/**
+	 * Source status of the edge, null for the initial transition into CREATED.
+	 */
+	public TransactionStatusEnum getFromStatus();
+
+	public TransactionStatusEnum getToStatus();
+
+	public default void beforeTransition(TransactionDto transactionDto) {
+	}
+
+	public default void afterTransition(TransactionDto transactionDto) {
+	}
+}
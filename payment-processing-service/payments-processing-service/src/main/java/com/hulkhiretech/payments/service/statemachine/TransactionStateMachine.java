@@ -0,0 +1,111 @@
+package com.hulkhiretech.payments.service.statemachine;
+
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.CREATED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.FAILED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.INITIATED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.PENDING;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.service.interfaces.TransactionStatusHandler;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transaction lifecycle: which status may follow which, the handler that
+ * persists each status and the hooks bound to each edge. Everything is resolved
+ * once at startup; a missing handler fails the context instead of the first
+ * request that needs it.
+ */
+@Component
+@Slf4j
+public class TransactionStateMachine {
+
+	private static final Set<TransactionStatusEnum> INITIAL_STATUSES = EnumSet.of(CREATED);
+
+	private static final Map<TransactionStatusEnum, Set<TransactionStatusEnum>> ALLOWED_TRANSITIONS = new EnumMap<>(
+			TransactionStatusEnum.class);
+
+	static {
+		ALLOWED_TRANSITIONS.put(CREATED, EnumSet.of(INITIATED, FAILED));
+		ALLOWED_TRANSITIONS.put(INITIATED, EnumSet.of(PENDING, FAILED));
+		ALLOWED_TRANSITIONS.put(PENDING, EnumSet.of(SUCCESS, FAILED));
+		ALLOWED_TRANSITIONS.put(SUCCESS, EnumSet.noneOf(TransactionStatusEnum.class));
+		ALLOWED_TRANSITIONS.put(FAILED, EnumSet.noneOf(TransactionStatusEnum.class));
+	}
+
+	private final Map<TransactionStatusEnum, TransactionStatusHandler> handlers = new EnumMap<>(
+			TransactionStatusEnum.class);
+
+	// hooks keyed by target status, for the initial edge (no source status)
+	private final Map<TransactionStatusEnum, List<TransactionTransitionHook>> initialHooks = new EnumMap<>(
+			TransactionStatusEnum.class);
+
+	// hooks keyed by source status, then target status
+	private final Map<TransactionStatusEnum, Map<TransactionStatusEnum, List<TransactionTransitionHook>>> hooks = new EnumMap<>(
+			TransactionStatusEnum.class);
+
+	public TransactionStateMachine(List<TransactionStatusHandler> statusHandlers,
+			ObjectProvider<TransactionTransitionHook> transitionHooks) {
+		for (TransactionStatusHandler handler : statusHandlers) {
+			TransactionStatusHandler previous = handlers.put(handler.getTransactionStatus(), handler);
+			if (previous != null) {
+				throw new IllegalStateException("More than one TransactionStatusHandler for status "
+						+ handler.getTransactionStatus());
+			}
+		}
+		for (TransactionStatusEnum status : TransactionStatusEnum.values()) {
+			if (!handlers.containsKey(status)) {
+				throw new IllegalStateException("No TransactionStatusHandler for status " + status);
+			}
+		}
+
+		transitionHooks.orderedStream().forEach(this::register);
+		log.info("Transaction state machine ready, transitions: {}", ALLOWED_TRANSITIONS);
+	}
+
+	public boolean isAllowed(TransactionStatusEnum from, TransactionStatusEnum to) {
+		if (from == null) {
+			return INITIAL_STATUSES.contains(to);
+		}
+		return ALLOWED_TRANSITIONS.get(from).contains(to);
+	}
+
+	public TransactionStatusHandler getHandler(TransactionStatusEnum status) {
+		return handlers.get(status);
+	}
+
+	public List<TransactionTransitionHook> getHooks(TransactionStatusEnum from, TransactionStatusEnum to) {
+		Map<TransactionStatusEnum, List<TransactionTransitionHook>> byTarget = from == null ? initialHooks
+				: hooks.get(from);
+		if (byTarget == null) {
+			return Collections.emptyList();
+		}
+		return byTarget.getOrDefault(to, Collections.emptyList());
+	}
+
+	private void register(TransactionTransitionHook hook) {
+		TransactionStatusEnum from = hook.getFromStatus();
+		TransactionStatusEnum to = hook.getToStatus();
+		if (to == null || !isAllowed(from, to)) {
+			throw new IllegalStateException(hook.getClass().getName() + " is bound to a transition that is not allowed: "
+					+ from + " -> " + to);
+		}
+		Map<TransactionStatusEnum, List<TransactionTransitionHook>> byTarget = from == null ? initialHooks
+				: hooks.computeIfAbsent(from, k -> new EnumMap<>(TransactionStatusEnum.class));
+		byTarget.computeIfAbsent(to, k -> new ArrayList<>()).add(hook);
+		log.info("Registered transition hook {} for {} -> {}", hook.getClass().getSimpleName(), from, to);
+	}
+}
@@ -10,7 +10,8 @@ public class TrustlyProviderDepositRequest {
 	private String txnReference;
 	private String endUserId;
 	
-	private Double amount;
+	// exact decimal text in the currency's minor-unit precision, "150.25"
+	private String amount;
 	private String currency;
 
 	private String firstName;
@@ -0,0 +1,179 @@
+package com.hulkhiretech.payments.trustlyprovider;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.hulkhiretech.payments.pojo.Money;
+
+/**
+ * Protobuf encoding of the deposit call, as described in proto/trustly_provider.proto. Works
+ * directly on the existing request/response classes, so there is no generated code; null
+ * fields are left out and unknown fields are skipped, like a generated parser would. The amount
+ * travels as a count of minor units and is converted exactly against the currency on both ends.
+ */
+@Component
+public class TrustlyProviderProtoCodec {
+
+	public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+	// DepositRequest
+	private static final int TXN_REFERENCE = 1;
+	private static final int END_USER_ID = 2;
+	private static final int CURRENCY = 4;
+	private static final int FIRST_NAME = 5;
+	private static final int LAST_NAME = 6;
+	private static final int EMAIL = 7;
+	private static final int COUNTRY = 8;
+	private static final int LOCALE = 9;
+	private static final int SUCCESS_URL = 10;
+	private static final int FAIL_URL = 11;
+	private static final int AMOUNT_MINOR = 12;
+
+	// DepositResponse
+	private static final int ORDER_ID = 1;
+	private static final int URI = 2;
+
+	// ErrorResponse
+	private static final int ERROR_CODE = 1;
+	private static final int ERROR_MESSAGE = 2;
+
+	public byte[] encodeDepositRequest(TrustlyProviderDepositRequest request) {
+		Money amount = request.getAmount() == null ? null : Money.parse(request.getAmount(), request.getCurrency());
+		int size = stringSize(TXN_REFERENCE, request.getTxnReference())
+				+ stringSize(END_USER_ID, request.getEndUserId())
+				+ stringSize(CURRENCY, request.getCurrency())
+				+ stringSize(FIRST_NAME, request.getFirstName())
+				+ stringSize(LAST_NAME, request.getLastName())
+				+ stringSize(EMAIL, request.getEmail())
+				+ stringSize(COUNTRY, request.getCountry())
+				+ stringSize(LOCALE, request.getLocale())
+				+ stringSize(SUCCESS_URL, request.getSuccessUrl())
+				+ stringSize(FAIL_URL, request.getFailUrl())
+				+ (amount == null ? 0 : CodedOutputStream.computeInt64Size(AMOUNT_MINOR, amount.getMinorUnits()));
+
+		byte[] bytes = new byte[size];
+		CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+		try {
+			writeString(out, TXN_REFERENCE, request.getTxnReference());
+			writeString(out, END_USER_ID, request.getEndUserId());
+			writeString(out, CURRENCY, request.getCurrency());
+			writeString(out, FIRST_NAME, request.getFirstName());
+			writeString(out, LAST_NAME, request.getLastName());
+			writeString(out, EMAIL, request.getEmail());
+			writeString(out, COUNTRY, request.getCountry());
+			writeString(out, LOCALE, request.getLocale());
+			writeString(out, SUCCESS_URL, request.getSuccessUrl());
+			writeString(out, FAIL_URL, request.getFailUrl());
+			if (amount != null) {
+				out.writeInt64(AMOUNT_MINOR, amount.getMinorUnits());
+			}
+			out.checkNoSpaceLeft();
+		} catch (IOException e) {
+			throw new IllegalStateException("Deposit request size was miscalculated", e);
+		}
+		return bytes;
+	}
+
+	public TrustlyProviderDepositRequest decodeDepositRequest(byte[] bytes) {
+		TrustlyProviderDepositRequest.TrustlyProviderDepositRequestBuilder builder = TrustlyProviderDepositRequest.builder();
+		CodedInputStream in = CodedInputStream.newInstance(bytes);
+		Long amountMinor = null;
+		String currency = null;
+		try {
+			int tag;
+			while ((tag = in.readTag()) != 0) {
+				switch (WireFormat.getTagFieldNumber(tag)) {
+				case TXN_REFERENCE -> builder.txnReference(in.readStringRequireUtf8());
+				case END_USER_ID -> builder.endUserId(in.readStringRequireUtf8());
+				case CURRENCY -> currency = in.readStringRequireUtf8();
+				case FIRST_NAME -> builder.firstName(in.readStringRequireUtf8());
+				case LAST_NAME -> builder.lastName(in.readStringRequireUtf8());
+				case EMAIL -> builder.email(in.readStringRequireUtf8());
+				case COUNTRY -> builder.country(in.readStringRequireUtf8());
+				case LOCALE -> builder.locale(in.readStringRequireUtf8());
+				case SUCCESS_URL -> builder.successUrl(in.readStringRequireUtf8());
+				case FAIL_URL -> builder.failUrl(in.readStringRequireUtf8());
+				case AMOUNT_MINOR -> amountMinor = in.readInt64();
+				default -> in.skipField(tag);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Malformed protobuf DepositRequest", e);
+		}
+		// fields may come in any order, so the amount is converted once the currency is known
+		if (amountMinor != null) {
+			builder.amount(Money.ofMinor(amountMinor, currency).toPlainString());
+		}
+		return builder.currency(currency).build();
+	}
+
+	public byte[] encodeDepositResponse(TrustlyProviderDepositResponse response) {
+		return encodePair(ORDER_ID, response.getOrderid(), URI, response.getUrl());
+	}
+
+	public TrustlyProviderDepositResponse decodeDepositResponse(byte[] bytes) {
+		String[] fields = decodePair(bytes, ORDER_ID, URI, "DepositResponse");
+		TrustlyProviderDepositResponse response = new TrustlyProviderDepositResponse();
+		response.setOrderid(fields[0]);
+		response.setUrl(fields[1]);
+		return response;
+	}
+
+	public byte[] encodeErrorResponse(TrustlyProviderErrorResponse errorResponse) {
+		return encodePair(ERROR_CODE, errorResponse.getErrorCode(), ERROR_MESSAGE, errorResponse.getErrorMessage());
+	}
+
+	public TrustlyProviderErrorResponse decodeErrorResponse(byte[] bytes) {
+		String[] fields = decodePair(bytes, ERROR_CODE, ERROR_MESSAGE, "ErrorResponse");
+		return new TrustlyProviderErrorResponse(fields[0], fields[1]);
+	}
+
+	private static byte[] encodePair(int firstField, String first, int secondField, String second) {
+		byte[] bytes = new byte[stringSize(firstField, first) + stringSize(secondField, second)];
+		CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+		try {
+			writeString(out, firstField, first);
+			writeString(out, secondField, second);
+			out.checkNoSpaceLeft();
+		} catch (IOException e) {
+			throw new IllegalStateException("Message size was miscalculated", e);
+		}
+		return bytes;
+	}
+
+	private static String[] decodePair(byte[] bytes, int firstField, int secondField, String messageName) {
+		String[] fields = new String[2];
+		CodedInputStream in = CodedInputStream.newInstance(bytes);
+		try {
+			int tag;
+			while ((tag = in.readTag()) != 0) {
+				int field = WireFormat.getTagFieldNumber(tag);
+				if (field == firstField) {
+					fields[0] = in.readStringRequireUtf8();
+				} else if (field == secondField) {
+					fields[1] = in.readStringRequireUtf8();
+				} else {
+					in.skipField(tag);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Malformed protobuf " + messageName, e);
+		}
+		return fields;
+	}
+
+	private static int stringSize(int field, String value) {
+		return value == null ? 0 : CodedOutputStream.computeStringSize(field, value);
+	}
+
+	private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+		if (value != null) {
+			out.writeString(field, value);
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.hulkhiretech.payments.warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.pojo.CreateTransaction;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.Money;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.routing.ProviderRouter;
+import com.hulkhiretech.payments.service.PaymentServiceHelper;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositRequest;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderProtoCodec;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs before the readiness probe reports ACCEPTING_TRAFFIC, so the first real requests do not
+ * pay for cold code: ModelMapper type maps, Gson/Jackson/protobuf (de)serialization and Money
+ * conversions are run on synthetic data until the JIT has compiled them, the DB pool is filled
+ * and keep-alive connections to every provider endpoint are opened. Nothing is written to the DB
+ * or sent to a provider deposit endpoint, and payment metrics are not touched. A failing step is
+ * logged and skipped; warm-up never keeps the service from becoming ready.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+	private static final String SYNTHETIC_RESPONSE = "{\"orderId\":\"3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44\","
+			+ "\"uri\":\"http://localhost:8084/?token=3a1f2e5c-8d11-4f7e-9c0e-6f2d7a1b9e44\"}";
+	private static final String SYNTHETIC_CREATE = "{\"userId\":1,\"paymentMethod\":\"APM\",\"provider\":\"TRUSTLY\","
+			+ "\"paymentType\":\"SALE\",\"amount\":150.25,\"currency\":\"EUR\",\"merchantTransactionReference\":\"warmup\"}";
+
+	private final ApplicationContext applicationContext;
+	private final ModelMapper modelMapper;
+	private final PaymentServiceHelper paymentServiceHelper;
+	private final TrustlyProviderProtoCodec protoCodec;
+	private final ObjectMapper objectMapper;
+	private final ProviderRouter providerRouter;
+	private final ObjectProvider<DataSource> dataSource;
+	private final ObjectProvider<ConnectionFactory> connectionFactory;
+	private final ObjectProvider<RestClient> restClient;
+	private final ObjectProvider<WebClient> webClient;
+
+	private final boolean enabled;
+	private final int iterations;
+	private final int httpConnections;
+	private final Duration timeout;
+
+	public WarmupRunner(ApplicationContext applicationContext, ModelMapper modelMapper,
+			PaymentServiceHelper paymentServiceHelper, TrustlyProviderProtoCodec protoCodec, ObjectMapper objectMapper,
+			ProviderRouter providerRouter, ObjectProvider<DataSource> dataSource,
+			ObjectProvider<ConnectionFactory> connectionFactory, ObjectProvider<RestClient> restClient,
+			ObjectProvider<WebClient> webClient,
+			@Value("${payments.warmup.enabled:true}") boolean enabled,
+			@Value("${payments.warmup.iterations:2000}") int iterations,
+			@Value("${payments.warmup.http-connections:4}") int httpConnections,
+			@Value("${payments.warmup.timeout:30s}") Duration timeout) {
+		this.applicationContext = applicationContext;
+		this.modelMapper = modelMapper;
+		this.paymentServiceHelper = paymentServiceHelper;
+		this.protoCodec = protoCodec;
+		this.objectMapper = objectMapper;
+		this.providerRouter = providerRouter;
+		this.dataSource = dataSource;
+		this.connectionFactory = connectionFactory;
+		this.restClient = restClient;
+		this.webClient = webClient;
+		this.enabled = enabled;
+		this.iterations = iterations;
+		this.httpConnections = httpConnections;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			return;
+		}
+		// Boot moves readiness to ACCEPTING_TRAFFIC once all runners have returned
+		AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+		long start = System.nanoTime();
+		step("code paths", this::warmCodePaths);
+		step("DB connections", this::warmDatabase);
+		step("provider connections", this::warmProviderConnections);
+		log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	private void step(String name, Runnable warmup) {
+		long start = System.nanoTime();
+		try {
+			warmup.run();
+			log.info("Warm-up of {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (RuntimeException e) {
+			log.warn("Warm-up of {} failed, skipping it: {}", name, e.toString());
+		}
+	}
+
+	private void warmCodePaths() {
+		InitiateTxnRequest initiateTxnRequest = new InitiateTxnRequest();
+		initiateTxnRequest.setFirstName("John");
+		initiateTxnRequest.setLastName("Doe");
+		initiateTxnRequest.setEmail("john.doe@example.com");
+		initiateTxnRequest.setCountry("SE");
+		initiateTxnRequest.setLocale("sv_SE");
+		initiateTxnRequest.setSuccessUrl("https://merchant.example.com/success");
+		initiateTxnRequest.setFailUrl("https://merchant.example.com/fail");
+		ResponseEntity<byte[]> providerResponse = ResponseEntity.status(HttpStatus.OK)
+				.contentType(MediaType.APPLICATION_JSON).body(SYNTHETIC_RESPONSE.getBytes(StandardCharsets.UTF_8));
+
+		try {
+			for (int i = 0; i < iterations; i++) {
+				CreateTransaction createTransaction = objectMapper.readValue(SYNTHETIC_CREATE, CreateTransaction.class);
+				TransactionDto txnDTO = modelMapper.map(createTransaction, TransactionDto.class);
+				txnDTO.setAmount(Money.of(createTransaction.getAmount(), createTransaction.getCurrency()));
+				txnDTO.setTxnReference("warmup-" + i);
+				txnDTO.setTxnStatus("CREATED");
+				Transaction entity = modelMapper.map(txnDTO, Transaction.class);
+				txnDTO = modelMapper.map(entity, TransactionDto.class);
+
+				paymentServiceHelper.prepareDepositPayload(txnDTO, initiateTxnRequest);
+				TrustlyProviderDepositRequest depositRequest = protoCodec.decodeDepositRequest(
+						protoCodec.encodeDepositRequest(TrustlyProviderDepositRequest.builder()
+								.txnReference(txnDTO.getTxnReference())
+								.amount(txnDTO.getAmount().toPlainString())
+								.currency(txnDTO.getAmount().getCurrency())
+								.build()));
+				Money.parse(depositRequest.getAmount(), depositRequest.getCurrency());
+
+				PaymentResponse paymentResponse = new PaymentResponse();
+				paymentResponse.setTxnReference(txnDTO.getTxnReference());
+				paymentResponse.setUrl(paymentServiceHelper.processResponse(providerResponse).getUrl());
+				paymentResponse.setTxnStatus(txnDTO.getTxnStatus());
+				objectMapper.writeValueAsBytes(paymentResponse);
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void warmDatabase() {
+		ConnectionFactory r2dbc = connectionFactory.getIfAvailable();
+		if (r2dbc instanceof ConnectionPool pool) {
+			Integer warmed = pool.warmup().block(timeout);
+			log.info("R2DBC pool warmed, {} new connections", warmed);
+		}
+		DataSource jdbc = dataSource.getIfAvailable();
+		if (jdbc == null) {
+			return;
+		}
+		List<Connection> opened = new ArrayList<>();
+		try {
+			opened.add(jdbc.getConnection());
+			// Hikari keeps minimum-idle connections open, hold that many at once so all of them exist
+			// now; the setting is only resolved once the first connection has started the pool
+			int connections = jdbc instanceof HikariDataSource hikari ? hikari.getMinimumIdle() : 1;
+			while (opened.size() < connections) {
+				opened.add(jdbc.getConnection());
+			}
+			for (Connection connection : opened) {
+				connection.isValid((int) timeout.toSeconds());
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			for (Connection connection : opened) {
+				try {
+					connection.close();
+				} catch (SQLException e) {
+					log.debug("Closing warm-up connection failed: {}", e.toString());
+				}
+			}
+		}
+		log.info("JDBC pool warmed with {} connections", opened.size());
+	}
+
+	/**
+	 * HEAD to each deposit URL opens keep-alive connections without creating an order; whatever
+	 * status comes back (405, 404, 401) the connection is in the client's pool afterwards.
+	 */
+	private void warmProviderConnections() {
+		WebClient reactiveClient = webClient.getIfAvailable();
+		for (String url : providerRouter.getEndpointUrls()) {
+			if (reactiveClient != null) {
+				Flux.range(0, httpConnections)
+						.flatMap(i -> reactiveClient.head().uri(url).retrieve().toBodilessEntity()
+								.onErrorResume(e -> {
+									log.debug("Warm-up HEAD {} answered {}", url, e.toString());
+									return Mono.empty();
+								}), httpConnections)
+						.blockLast(timeout);
+			} else {
+				warmWithRestClient(restClient.getObject(), url);
+			}
+		}
+	}
+
+	private void warmWithRestClient(RestClient client, String url) {
+		Callable<Void> head = () -> {
+			try {
+				client.head().uri(url).retrieve().toBodilessEntity();
+			} catch (RuntimeException e) {
+				log.debug("Warm-up HEAD {} answered {}", url, e.toString());
+			}
+			return null;
+		};
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			// calls still running at the timeout are cancelled
+			executor.invokeAll(Collections.nCopies(httpConnections, head), timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
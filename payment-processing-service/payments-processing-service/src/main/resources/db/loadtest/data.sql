@@ -0,0 +1,8 @@
+INSERT INTO payments.Payment_Method (id, name, status) VALUES (1, 'APM', 1);
+INSERT INTO payments.Payment_Type (id, type, status) VALUES (1, 'SALE', 1);
+INSERT INTO payments.Provider (id, providerName, status) VALUES (1, 'TRUSTLY', 1);
+INSERT INTO payments.Transaction_Status (id, name, status) VALUES (1, 'CREATED', 1);
+INSERT INTO payments.Transaction_Status (id, name, status) VALUES (2, 'INITIATED', 1);
+INSERT INTO payments.Transaction_Status (id, name, status) VALUES (3, 'PENDING', 1);
+INSERT INTO payments.Transaction_Status (id, name, status) VALUES (4, 'SUCCESS', 1);
+INSERT INTO payments.Transaction_Status (id, name, status) VALUES (5, 'FAILED', 1);
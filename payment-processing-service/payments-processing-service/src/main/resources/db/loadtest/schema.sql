@@ -0,0 +1,76 @@
+-- H2 (MySQL mode) version of database-scripts/sprint2 and sprint5, for the loadtest profile only
+CREATE SCHEMA IF NOT EXISTS payments;
+
+CREATE TABLE payments.Payment_Method (
+ id int NOT NULL,
+ name varchar(50) NOT NULL,
+ status tinyint DEFAULT 1,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id)
+);
+
+CREATE TABLE payments.Payment_Type (
+ id int NOT NULL,
+ type varchar(50) NOT NULL,
+ status tinyint DEFAULT 1,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id)
+);
+
+CREATE TABLE payments.Provider (
+ id int NOT NULL AUTO_INCREMENT,
+ providerName varchar(50) NOT NULL,
+ status tinyint DEFAULT 1,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id)
+);
+
+CREATE TABLE payments.Transaction_Status (
+ id int NOT NULL,
+ name varchar(50) NOT NULL,
+ status tinyint DEFAULT 1,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id)
+);
+
+CREATE TABLE payments.Transaction (
+ id int NOT NULL AUTO_INCREMENT,
+ userId int NOT NULL,
+ paymentMethodId int NOT NULL,
+ providerId int NOT NULL,
+ paymentTypeId int NOT NULL,
+ txnStatusId int NOT NULL,
+ amount decimal(19,2) DEFAULT '0.00',
+ currency varchar(3) NOT NULL,
+ merchantTransactionReference varchar(50) NOT NULL,
+ txnReference varchar(50) NOT NULL,
+ providerReference varchar(100) DEFAULT NULL,
+ redirectUrl varchar(2048) DEFAULT NULL,
+ errorCode varchar(500) DEFAULT NULL,
+ errorMessage varchar(1000) DEFAULT NULL,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ retryCount int DEFAULT 0,
+ PRIMARY KEY (id),
+ CONSTRAINT transaction_txnReference UNIQUE (txnReference),
+ CONSTRAINT transaction_paymentMethodId FOREIGN KEY (paymentMethodId) REFERENCES payments.Payment_Method (id),
+ CONSTRAINT transaction_providerId FOREIGN KEY (providerId) REFERENCES payments.Provider (id),
+ CONSTRAINT transaction_txnStatusId FOREIGN KEY (txnStatusId) REFERENCES payments.Transaction_Status (id),
+ CONSTRAINT transaction_paymentTypeId FOREIGN KEY (paymentTypeId) REFERENCES payments.Payment_Type (id)
+);
+
+CREATE TABLE payments.Transaction_Outbox (
+ id bigint NOT NULL AUTO_INCREMENT,
+ txnReference varchar(50) NOT NULL,
+ eventType varchar(50) NOT NULL,
+ payload text NOT NULL,
+ status varchar(20) NOT NULL DEFAULT 'NEW',
+ attempts int NOT NULL DEFAULT 0,
+ lockedBy varchar(100) DEFAULT NULL,
+ lockedUntil timestamp(3) NULL DEFAULT NULL,
+ lastError varchar(1000) DEFAULT NULL,
+ creationDate timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+ processedDate timestamp(3) NULL DEFAULT NULL,
+ PRIMARY KEY (id),
+ CONSTRAINT transaction_outbox_txnReference_eventType UNIQUE (txnReference, eventType)
+);
+CREATE INDEX transaction_outbox_status_lockedUntil ON payments.Transaction_Outbox (status, lockedUntil);
@@ -0,0 +1,99 @@
+package com.hulkhiretech.payments.pojo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+	@Test
+	void parseReadsMinorUnitsForTheCurrencyExponent() {
+		assertThat(Money.parse("150.25", "EUR").getMinorUnits()).isEqualTo(15025);
+		assertThat(Money.parse("150.2", "EUR").getMinorUnits()).isEqualTo(15020);
+		assertThat(Money.parse("150", "EUR").getMinorUnits()).isEqualTo(15000);
+		assertThat(Money.parse("150.", "EUR").getMinorUnits()).isEqualTo(15000);
+		assertThat(Money.parse("+0.05", "EUR").getMinorUnits()).isEqualTo(5);
+		assertThat(Money.parse("1.234", "BHD").getMinorUnits()).isEqualTo(1234);
+	}
+
+	@Test
+	void exponentZeroCurrencyHasNoDecimals() {
+		assertThat(Money.exponent("JPY")).isZero();
+		assertThat(Money.parse("150", "JPY").getMinorUnits()).isEqualTo(150);
+		// trailing zeros add no precision
+		assertThat(Money.parse("150.00", "JPY").getMinorUnits()).isEqualTo(150);
+		assertThat(Money.ofMinor(150, "JPY").toPlainString()).isEqualTo("150");
+		assertThat(Money.of(new BigDecimal("150"), "JPY").toBigDecimal()).isEqualByComparingTo("150");
+
+		assertThatThrownBy(() -> Money.parse("150.5", "JPY")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Money.of(new BigDecimal("150.5"), "JPY"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void negativeAmountsKeepTheirSign() {
+		Money refund = Money.parse("-3.07", "EUR");
+
+		assertThat(refund.getMinorUnits()).isEqualTo(-307);
+		assertThat(refund.toPlainString()).isEqualTo("-3.07");
+		assertThat(Money.parse("-0.05", "EUR").toPlainString()).isEqualTo("-0.05");
+		assertThat(Money.parse("-3", "JPY").toPlainString()).isEqualTo("-3");
+		assertThat(refund.toBigDecimal()).isEqualByComparingTo("-3.07");
+	}
+
+	@Test
+	void formatAlwaysHasTheCurrencyDecimals() {
+		assertThat(Money.ofMinor(15025, "EUR").toPlainString()).isEqualTo("150.25");
+		assertThat(Money.ofMinor(15000, "EUR").toPlainString()).isEqualTo("150.00");
+		assertThat(Money.ofMinor(5, "EUR").toPlainString()).isEqualTo("0.05");
+		assertThat(Money.ofMinor(0, "EUR").toPlainString()).isEqualTo("0.00");
+		assertThat(Money.ofMinor(1001, "BHD").toPlainString()).isEqualTo("1.001");
+		assertThat(Money.ofMinor(15025, "EUR")).hasToString("EUR 150.25");
+	}
+
+	@Test
+	void conversionsAreExactNotRounded() {
+		assertThatThrownBy(() -> Money.parse("0.001", "EUR")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("not exact");
+		assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"), "EUR"))
+				.isInstanceOf(IllegalArgumentException.class);
+		// one more digit than a long holds
+		assertThatThrownBy(() -> Money.parse("92233720368547758.08", "EUR"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("does not fit");
+
+		Money max = Money.parse("92233720368547758.07", "EUR");
+		assertThat(max.getMinorUnits()).isEqualTo(Long.MAX_VALUE);
+		assertThat(Money.parse(max.toPlainString(), "EUR")).isEqualTo(max);
+		// 0.1 + 0.2 is exactly 0.3 here, unlike in double
+		assertThat(Money.parse("0.1", "EUR").getMinorUnits() + Money.parse("0.2", "EUR").getMinorUnits())
+				.isEqualTo(Money.parse("0.3", "EUR").getMinorUnits());
+	}
+
+	@Test
+	void parseAndBigDecimalAgree() {
+		for (String amount : new String[] { "0", "0.01", "9.99", "150.25", "-42.5", "1000000" }) {
+			assertThat(Money.parse(amount, "EUR")).as(amount).isEqualTo(Money.of(new BigDecimal(amount), "EUR"));
+		}
+	}
+
+	@Test
+	void malformedInputIsRejected() {
+		for (String amount : new String[] { "", "-", ".", "1.2.3", "1,50", "12a", " 1" }) {
+			assertThatThrownBy(() -> Money.parse(amount, "EUR")).as(amount)
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThatThrownBy(() -> Money.parse(null, "EUR")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Money.parse("1", null)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Money.parse("1", "XAU")).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("no minor unit");
+	}
+
+	@Test
+	void equalityIgnoresHowTheAmountWasWritten() {
+		assertThat(Money.parse("150.2", "EUR")).isEqualTo(Money.ofMinor(15020, "EUR"));
+		assertThat(Money.parse("150.2", "EUR")).isNotEqualTo(Money.ofMinor(15020, "SEK"));
+	}
+}
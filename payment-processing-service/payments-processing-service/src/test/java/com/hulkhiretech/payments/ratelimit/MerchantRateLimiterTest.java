@@ -0,0 +1,147 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.ratelimit.RateLimitProperties.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MerchantRateLimiterTest {
+
+	private static final String CREATE = MetricsConstants.OPERATION_CREATE;
+	private static final String INITIATE = MetricsConstants.OPERATION_INITIATE;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RateLimitProperties properties = new RateLimitProperties();
+
+	@Test
+	void merchantsHaveSeparateBudgets() {
+		// one token every 1000 s, so nothing refills while the test runs
+		properties.getDefaults().put(INITIATE, limit(0.001, 2));
+		MerchantRateLimiter limiter = newLimiter();
+
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isZero();
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isZero();
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isEqualTo(1000);
+		assertThat(limiter.tryAcquire("m2", INITIATE)).isZero();
+		assertThat(rejected(INITIATE)).isEqualTo(1);
+		assertThat(buckets()).isEqualTo(2);
+	}
+
+	@Test
+	void retryAfterIsRoundedUpToWholeSeconds() {
+		properties.getDefaults().put(INITIATE, limit(0.5, 1));
+		MerchantRateLimiter limiter = newLimiter();
+
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isZero();
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isEqualTo(2);
+
+		properties.getDefaults().put(CREATE, limit(1000, 1));
+		assertThat(limiter.tryAcquire("m1", CREATE)).isZero();
+		// a wait of at most a millisecond still asks for a full second
+		assertThat(limiter.tryAcquire("m1", CREATE)).isIn(0L, 1L);
+	}
+
+	@Test
+	void merchantOverrideReplacesTheDefaultForThatOperationOnly() {
+		Limit defaultLimit = limit(0.001, 1);
+		Limit override = limit(0.001, 3);
+		properties.getDefaults().put(INITIATE, defaultLimit);
+		properties.getDefaults().put(CREATE, defaultLimit);
+		properties.getMerchants().put("big", Map.of(INITIATE, override));
+
+		assertThat(properties.limitFor("big", INITIATE)).isSameAs(override);
+		assertThat(properties.limitFor("big", CREATE)).isSameAs(defaultLimit);
+		assertThat(properties.limitFor("small", INITIATE)).isSameAs(defaultLimit);
+
+		MerchantRateLimiter limiter = newLimiter();
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire("big", INITIATE)).isZero();
+		}
+		assertThat(limiter.tryAcquire("big", INITIATE)).isPositive();
+		assertThat(limiter.tryAcquire("big", CREATE)).isZero();
+		assertThat(limiter.tryAcquire("big", CREATE)).isPositive();
+	}
+
+	@Test
+	void requestsWithoutAMerchantShareTheUnknownBucket() {
+		properties.getDefaults().put(INITIATE, limit(0.001, 1));
+		MerchantRateLimiter limiter = newLimiter();
+
+		assertThat(limiter.tryAcquire(null, INITIATE)).isZero();
+		assertThat(limiter.tryAcquire(" ", INITIATE)).isPositive();
+		assertThat(limiter.tryAcquire("", INITIATE)).isPositive();
+		assertThat(buckets()).isEqualTo(1);
+
+		properties.getMerchants().put(MerchantRateLimiter.UNKNOWN_MERCHANT, Map.of(CREATE, limit(0.001, 2)));
+		assertThat(limiter.tryAcquire(null, CREATE)).isZero();
+		assertThat(limiter.tryAcquire(null, CREATE)).isZero();
+		assertThat(limiter.tryAcquire(null, CREATE)).isPositive();
+	}
+
+	@Test
+	void merchantsBeyondMaxBucketsShareTheOverflowBucket() {
+		properties.setMaxBuckets(2);
+		properties.getDefaults().put(INITIATE, limit(0.001, 1));
+		MerchantRateLimiter limiter = newLimiter();
+
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isZero();
+		assertThat(limiter.tryAcquire("m2", INITIATE)).isZero();
+		assertThat(limiter.tryAcquire("m3", INITIATE)).isZero();
+		// m3 took the overflow bucket's only token
+		assertThat(limiter.tryAcquire("m4", INITIATE)).isPositive();
+		assertThat(limiter.tryAcquire("m5", INITIATE)).isPositive();
+		// merchants that already had a bucket keep it
+		assertThat(limiter.tryAcquire("m1", INITIATE)).isPositive();
+		assertThat(buckets()).isEqualTo(3);
+	}
+
+	@Test
+	void operationsWithoutAPositiveRateAreNotLimited() {
+		properties.getDefaults().put(CREATE, limit(0, 1));
+		MerchantRateLimiter limiter = newLimiter();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.tryAcquire("m1", CREATE)).isZero();
+			assertThat(limiter.tryAcquire("m1", INITIATE)).isZero();
+		}
+		assertThat(buckets()).isZero();
+		assertThat(meterRegistry.find(MetricsConstants.PAYMENTS_RATELIMIT_REJECTED).counter()).isNull();
+	}
+
+	@Test
+	void enabledFollowsTheProperties() {
+		MerchantRateLimiter limiter = newLimiter();
+		assertThat(limiter.isEnabled()).isTrue();
+
+		properties.setEnabled(false);
+		assertThat(limiter.isEnabled()).isFalse();
+		assertThat(limiter.getMerchantHeader()).isEqualTo("merchant-id");
+	}
+
+	private MerchantRateLimiter newLimiter() {
+		return new MerchantRateLimiter(properties, new PaymentMetrics(meterRegistry));
+	}
+
+	private double rejected(String operation) {
+		return meterRegistry.find(MetricsConstants.PAYMENTS_RATELIMIT_REJECTED)
+				.tag(MetricsConstants.TAG_OPERATION, operation).counter().count();
+	}
+
+	private double buckets() {
+		return meterRegistry.find(MetricsConstants.PAYMENTS_RATELIMIT_BUCKETS).gauge().value();
+	}
+
+	private static Limit limit(double ratePerSecond, int burst) {
+		Limit limit = new Limit();
+		limit.setRatePerSecond(ratePerSecond);
+		limit.setBurst(burst);
+		return limit;
+	}
+}
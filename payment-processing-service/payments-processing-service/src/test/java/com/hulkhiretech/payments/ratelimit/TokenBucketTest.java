@@ -0,0 +1,64 @@
+package com.hulkhiretech.payments.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private static final long T0 = 1_000_000_000L;
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void fullBucketAllowsTheBurstThenReportsTheWait() {
+		// 10/s is one token every 100 ms
+		TokenBucket bucket = new TokenBucket(10, 3, T0);
+
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		assertThat(bucket.tryAcquire(T0)).isEqualTo(100 * MS);
+		assertThat(bucket.tryAcquire(T0 + 40 * MS)).isEqualTo(60 * MS);
+	}
+
+	@Test
+	void tokensRefillAtTheConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(10, 1, T0);
+
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		assertThat(bucket.tryAcquire(T0 + 99 * MS)).isEqualTo(MS);
+		assertThat(bucket.tryAcquire(T0 + 100 * MS)).isZero();
+		assertThat(bucket.tryAcquire(T0 + 100 * MS)).isEqualTo(100 * MS);
+	}
+
+	@Test
+	void idleTimeNeverBanksMoreThanTheBurst() {
+		TokenBucket bucket = new TokenBucket(10, 2, T0);
+		long later = T0 + TimeUnit.SECONDS.toNanos(60);
+
+		assertThat(bucket.tryAcquire(later)).isZero();
+		assertThat(bucket.tryAcquire(later)).isZero();
+		assertThat(bucket.tryAcquire(later)).isPositive();
+	}
+
+	@Test
+	void burstBelowOneStillAllowsOneRequest() {
+		TokenBucket bucket = new TokenBucket(1, 0, T0);
+
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		assertThat(bucket.tryAcquire(T0)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Test
+	void bucketIsIdleOnceFullForTheIdlePeriod() {
+		TokenBucket bucket = new TokenBucket(10, 1, T0);
+		long idle = TimeUnit.SECONDS.toNanos(5);
+
+		assertThat(bucket.tryAcquire(T0)).isZero();
+		// full again at T0 + 100 ms
+		assertThat(bucket.isIdle(T0 + 100 * MS + idle, idle)).isFalse();
+		assertThat(bucket.isIdle(T0 + 101 * MS + idle, idle)).isTrue();
+	}
+}
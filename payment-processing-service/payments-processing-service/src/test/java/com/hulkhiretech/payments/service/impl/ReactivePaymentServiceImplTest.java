@@ -0,0 +1,189 @@
+package com.hulkhiretech.payments.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dao.interfaces.ReactiveTransactionDAO;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.entity.Transaction;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.http.HttpRequest;
+import com.hulkhiretech.payments.http.ReactiveHttpServiceEngine;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.pojo.InitiateTxnRequest;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.service.InitiateResponseCache;
+import com.hulkhiretech.payments.service.PaymentServiceHelper;
+import com.hulkhiretech.payments.service.ReactivePaymentStatusService;
+import com.hulkhiretech.payments.trustlyprovider.TrustlyProviderDepositResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactivePaymentServiceImplTest {
+
+	private static final String TXN_REFERENCE = "txn-1";
+	private static final String WINNER_URL = "https://provider.example/redirect/winner";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PaymentMetrics paymentMetrics = new PaymentMetrics(meterRegistry);
+	private final InMemoryReactiveTransactionDAO dao = new InMemoryReactiveTransactionDAO();
+	private final ReactivePaymentStatusService statusService = mock(ReactivePaymentStatusService.class);
+	private final ReactiveHttpServiceEngine httpServiceEngine = mock(ReactiveHttpServiceEngine.class);
+	// replayInitiate is the real one, the provider request and response are stubbed
+	private final PaymentServiceHelper helper = spy(new PaymentServiceHelper(null, null, null));
+	private final InitiateResponseCache cache = new InitiateResponseCache(paymentMetrics, 100, Duration.ofMinutes(10));
+	private final ReactivePaymentServiceImpl service;
+
+	ReactivePaymentServiceImplTest() {
+		ModelMapper modelMapper = mock(ModelMapper.class);
+		when(modelMapper.map(any(Transaction.class), eq(TransactionDto.class)))
+				.thenAnswer(invocation -> toDto(invocation.getArgument(0)));
+		doReturn(new HttpRequest()).when(helper).prepareInitiateRequest(any(), any());
+		service = new ReactivePaymentServiceImpl(modelMapper, statusService, dao, helper, httpServiceEngine,
+				paymentMetrics, cache);
+	}
+
+	@Test
+	void lostInitiateRaceIsAnsweredFromTheWinnersRow() {
+		dao.reads.add(Mono.just(row(TransactionStatusEnum.CREATED, null)));
+		dao.reads.add(Mono.just(row(TransactionStatusEnum.PENDING, WINNER_URL)));
+		when(statusService.updatePayment(any(), eq(TransactionStatusEnum.INITIATED))).thenReturn(conflict());
+
+		PaymentResponse response = service.initiatePayment(TXN_REFERENCE, new InitiateTxnRequest()).block();
+
+		assertThat(response.getTxnStatus()).isEqualTo(TransactionStatusEnum.PENDING.getName());
+		assertThat(response.getUrl()).isEqualTo(WINNER_URL);
+		assertThat(cache.get(TXN_REFERENCE).getUrl()).isEqualTo(WINNER_URL);
+		assertThat(meterRegistry.find(MetricsConstants.PAYMENTS_INITIATE_REPLAYED)
+				.tag(MetricsConstants.TAG_SOURCE, MetricsConstants.SOURCE_DB).counter().count()).isEqualTo(1);
+		verify(httpServiceEngine, never()).makeHttpCall(any());
+	}
+
+	@Test
+	void lostRaceToARowThatCannotBeReplayedIsAConflict() {
+		dao.reads.add(Mono.just(row(TransactionStatusEnum.CREATED, null)));
+		dao.reads.add(Mono.just(row(TransactionStatusEnum.FAILED, null)));
+		when(statusService.updatePayment(any(), eq(TransactionStatusEnum.INITIATED))).thenReturn(conflict());
+
+		assertConflict(service.initiatePayment(TXN_REFERENCE, new InitiateTxnRequest()));
+		verify(httpServiceEngine, never()).makeHttpCall(any());
+	}
+
+	@Test
+	void conflictOnThePendingWriteIsNotReplayed() {
+		dao.reads.add(Mono.just(row(TransactionStatusEnum.CREATED, null)));
+		when(statusService.updatePayment(any(), eq(TransactionStatusEnum.INITIATED))).thenAnswer(invocation -> {
+			TransactionDto txn = invocation.getArgument(0);
+			txn.setTxnStatus(TransactionStatusEnum.INITIATED.getName());
+			return Mono.just(txn);
+		});
+		when(statusService.updatePayment(any(), eq(TransactionStatusEnum.PENDING))).thenReturn(conflict());
+		ResponseEntity<byte[]> httpResponse = ResponseEntity.ok(new byte[0]);
+		when(httpServiceEngine.makeHttpCall(any())).thenReturn(Mono.just(httpResponse));
+		TrustlyProviderDepositResponse deposit = new TrustlyProviderDepositResponse();
+		deposit.setOrderid("order-1");
+		deposit.setUrl(WINNER_URL);
+		doReturn(deposit).when(helper).processResponse(httpResponse);
+
+		assertConflict(service.initiatePayment(TXN_REFERENCE, new InitiateTxnRequest()));
+		// only the first read, no replay
+		assertThat(dao.reads).isEmpty();
+		assertThat(meterRegistry.find(MetricsConstants.PAYMENTS_INITIATE_REPLAYED).counter()).isNull();
+	}
+
+	@Test
+	void unknownReferenceIsTheSameErrorForEveryWaiter() throws Exception {
+		Sinks.Empty<Transaction> read = Sinks.empty();
+		dao.reads.add(read.asMono());
+
+		CompletableFuture<PaymentResponse> first = service.initiatePayment(TXN_REFERENCE, new InitiateTxnRequest())
+				.toFuture();
+		CompletableFuture<PaymentResponse> waiter = service.initiatePayment(TXN_REFERENCE, new InitiateTxnRequest())
+				.toFuture();
+		read.tryEmitEmpty();
+
+		for (CompletableFuture<PaymentResponse> future : List.of(first, waiter)) {
+			assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(EmptyResultDataAccessException.class);
+		}
+	}
+
+	private static Mono<TransactionDto> conflict() {
+		return Mono.error(new PaymentProcessingException(ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode(),
+				ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorMessage(), HttpStatus.CONFLICT));
+	}
+
+	private static void assertConflict(Mono<PaymentResponse> initiate) {
+		assertThatThrownBy(initiate::block).isInstanceOfSatisfying(PaymentProcessingException.class, e -> {
+			assertThat(e.getErrorCode()).isEqualTo(ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode());
+			assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+		});
+	}
+
+	private static Transaction row(TransactionStatusEnum status, String redirectUrl) {
+		Transaction txn = new Transaction();
+		txn.setTxnReference(TXN_REFERENCE);
+		txn.setTxnStatusId(status.getId());
+		if (redirectUrl != null) {
+			txn.setProviderReference("order-0");
+			txn.setRedirectUrl(redirectUrl);
+		}
+		return txn;
+	}
+
+	private static TransactionDto toDto(Transaction txn) {
+		TransactionDto dto = new TransactionDto();
+		dto.setTxnReference(txn.getTxnReference());
+		dto.setTxnStatus(TransactionStatusEnum.getById(txn.getTxnStatusId()).getName());
+		dto.setProviderReference(txn.getProviderReference());
+		dto.setRedirectUrl(txn.getRedirectUrl());
+		return dto;
+	}
+
+	private static class InMemoryReactiveTransactionDAO implements ReactiveTransactionDAO {
+
+		// what each getTransactionByReference returns, in order
+		private final Deque<Mono<Transaction>> reads = new ArrayDeque<>();
+
+		@Override
+		public Mono<Boolean> saveTransaction(Transaction transaction) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Mono<Transaction> getTransactionByReference(String txnReference) {
+			return reads.remove();
+		}
+
+		@Override
+		public Mono<Boolean> updateTransaction(Transaction entity, int fromStatusId) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package com.hulkhiretech.payments.service.statemachine;
+
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.CREATED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.FAILED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.INITIATED;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.PENDING;
+import static com.hulkhiretech.payments.constants.TransactionStatusEnum.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.constants.TransactionStatusEnum;
+import com.hulkhiretech.payments.dto.TransactionDto;
+import com.hulkhiretech.payments.exception.PaymentProcessingException;
+import com.hulkhiretech.payments.metrics.PaymentMetrics;
+import com.hulkhiretech.payments.service.PaymentStatusService;
+import com.hulkhiretech.payments.service.interfaces.TransactionStatusHandler;
+import com.hulkhiretech.payments.service.interfaces.TransactionTransitionHook;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TransactionStateMachineTest {
+
+	private static final Set<String> ALLOWED = Set.of("null->CREATED", "CREATED->INITIATED", "CREATED->FAILED",
+			"INITIATED->PENDING", "INITIATED->FAILED", "PENDING->SUCCESS", "PENDING->FAILED");
+
+	// what the handlers were asked to write, as from->to
+	private final List<String> writes = new ArrayList<>();
+	private final List<String> calls = new ArrayList<>();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void onlyTheLifecycleEdgesAreAllowed() {
+		TransactionStateMachine stateMachine = newStateMachine();
+
+		List<TransactionStatusEnum> sources = new ArrayList<>(Arrays.asList(TransactionStatusEnum.values()));
+		sources.add(null);
+		for (TransactionStatusEnum from : sources) {
+			for (TransactionStatusEnum to : TransactionStatusEnum.values()) {
+				assertThat(stateMachine.isAllowed(from, to)).as(from + "->" + to)
+						.isEqualTo(ALLOWED.contains(from + "->" + to));
+			}
+		}
+	}
+
+	@Test
+	void everyStatusNeedsExactlyOneHandler() {
+		List<TransactionStatusHandler> missing = new ArrayList<>(handlers());
+		missing.remove(SUCCESS.ordinal());
+		assertThatThrownBy(() -> new TransactionStateMachine(missing, hooks()))
+				.isInstanceOf(IllegalStateException.class).hasMessageContaining("SUCCESS");
+
+		List<TransactionStatusHandler> duplicate = new ArrayList<>(handlers());
+		duplicate.add(new RecordingHandler(PENDING));
+		assertThatThrownBy(() -> new TransactionStateMachine(duplicate, hooks()))
+				.isInstanceOf(IllegalStateException.class).hasMessageContaining("PENDING");
+	}
+
+	@Test
+	void hookOnAnEdgeThatIsNotAllowedFailsAtStartup() {
+		assertThatThrownBy(() -> newStateMachine(new RecordingHook(SUCCESS, FAILED)))
+				.isInstanceOf(IllegalStateException.class).hasMessageContaining("SUCCESS -> FAILED");
+		assertThatThrownBy(() -> newStateMachine(new RecordingHook(null, INITIATED)))
+				.isInstanceOf(IllegalStateException.class).hasMessageContaining("null -> INITIATED");
+	}
+
+	@Test
+	void hooksAreBoundToTheirEdgeOnly() {
+		RecordingHook initial = new RecordingHook(null, CREATED);
+		RecordingHook toPending = new RecordingHook(INITIATED, PENDING);
+		TransactionStateMachine stateMachine = newStateMachine(initial, toPending);
+
+		assertThat(stateMachine.getHooks(null, CREATED)).containsExactly(initial);
+		assertThat(stateMachine.getHooks(INITIATED, PENDING)).containsExactly(toPending);
+		assertThat(stateMachine.getHooks(INITIATED, FAILED)).isEmpty();
+		assertThat(stateMachine.getHooks(PENDING, SUCCESS)).isEmpty();
+	}
+
+	@Test
+	void transitionRunsTheHooksAroundTheWrite() {
+		PaymentStatusService service = newService(new RecordingHook(CREATED, INITIATED));
+
+		TransactionDto txn = service.updatePayment(transaction(CREATED), INITIATED);
+
+		assertThat(txn.getTxnStatus()).isEqualTo(INITIATED.getName());
+		assertThat(writes).containsExactly("CREATED->INITIATED");
+		assertThat(calls).containsExactly("before CREATED->INITIATED", "write", "after CREATED->INITIATED");
+		assertThat(meterRegistry.find(MetricsConstants.PAYMENTS_STATUS_TRANSITION).counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void disallowedTransitionIsRejectedBeforeAnyWrite() {
+		PaymentStatusService service = newService(new RecordingHook(PENDING, SUCCESS));
+		TransactionDto txn = transaction(INITIATED);
+
+		assertConflict(() -> service.updatePayment(txn, SUCCESS));
+
+		assertThat(txn.getTxnStatus()).isEqualTo(INITIATED.getName());
+		assertThat(writes).isEmpty();
+		assertThat(calls).isEmpty();
+	}
+
+	@Test
+	void rowMovedByAnotherWriterIsRejectedAsAConflict() {
+		RecordingHook hook = new RecordingHook(INITIATED, PENDING);
+		List<TransactionStatusHandler> handlers = new ArrayList<>(handlers());
+		handlers.set(PENDING.ordinal(), new RecordingHandler(PENDING) {
+			@Override
+			public TransactionDto handleTransactionStatus(TransactionDto transactionDto,
+					TransactionStatusEnum fromStatus) {
+				throw new OptimisticLockingFailureException("moved");
+			}
+		});
+		PaymentStatusService service = new PaymentStatusService(
+				new TransactionStateMachine(handlers, hooks(hook)), new PaymentMetrics(meterRegistry));
+		TransactionDto txn = transaction(INITIATED);
+
+		assertConflict(() -> service.updatePayment(txn, PENDING));
+
+		// the DTO still describes the row as it was read, and afterTransition did not run
+		assertThat(txn.getTxnStatus()).isEqualTo(INITIATED.getName());
+		assertThat(calls).containsExactly("before INITIATED->PENDING");
+		assertThat(meterRegistry.find(MetricsConstants.PAYMENTS_STATUS_TRANSITION_REJECTED).counter().count())
+				.isEqualTo(1);
+	}
+
+	private static void assertConflict(Runnable transition) {
+		assertThatThrownBy(transition::run).isInstanceOfSatisfying(PaymentProcessingException.class, e -> {
+			assertThat(e.getErrorCode()).isEqualTo(ErrorEnum.ILLEGAL_STATUS_TRANSITION.getErrorCode());
+			assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.CONFLICT);
+		});
+	}
+
+	private PaymentStatusService newService(TransactionTransitionHook... transitionHooks) {
+		return new PaymentStatusService(newStateMachine(transitionHooks), new PaymentMetrics(meterRegistry));
+	}
+
+	private TransactionStateMachine newStateMachine(TransactionTransitionHook... transitionHooks) {
+		return new TransactionStateMachine(handlers(), hooks(transitionHooks));
+	}
+
+	private List<TransactionStatusHandler> handlers() {
+		List<TransactionStatusHandler> handlers = new ArrayList<>();
+		for (TransactionStatusEnum status : TransactionStatusEnum.values()) {
+			handlers.add(new RecordingHandler(status));
+		}
+		return handlers;
+	}
+
+	private static ObjectProvider<TransactionTransitionHook> hooks(TransactionTransitionHook... transitionHooks) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		for (int i = 0; i < transitionHooks.length; i++) {
+			beanFactory.addBean("hook" + i, transitionHooks[i]);
+		}
+		return beanFactory.getBeanProvider(TransactionTransitionHook.class);
+	}
+
+	private static TransactionDto transaction(TransactionStatusEnum status) {
+		TransactionDto txn = new TransactionDto();
+		txn.setTxnReference("txn-1");
+		txn.setTxnStatus(status.getName());
+		return txn;
+	}
+
+	private class RecordingHandler implements TransactionStatusHandler {
+
+		private final TransactionStatusEnum status;
+
+		RecordingHandler(TransactionStatusEnum status) {
+			this.status = status;
+		}
+
+		@Override
+		public TransactionDto handleTransactionStatus(TransactionDto transactionDto, TransactionStatusEnum fromStatus) {
+			writes.add(fromStatus + "->" + transactionDto.getTxnStatus());
+			calls.add("write");
+			return transactionDto;
+		}
+
+		@Override
+		public TransactionStatusEnum getTransactionStatus() {
+			return status;
+		}
+	}
+
+	private class RecordingHook implements TransactionTransitionHook {
+
+		private final TransactionStatusEnum from;
+		private final TransactionStatusEnum to;
+
+		RecordingHook(TransactionStatusEnum from, TransactionStatusEnum to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public TransactionStatusEnum getFromStatus() {
+			return from;
+		}
+
+		@Override
+		public TransactionStatusEnum getToStatus() {
+			return to;
+		}
+
+		@Override
+		public void beforeTransition(TransactionDto transactionDto) {
+			calls.add("before " + from + "->" + to);
+		}
+
+		@Override
+		public void afterTransition(TransactionDto transactionDto) {
+			calls.add("after " + from + "->" + to);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.hulkhiretech.payments.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hulkhiretech.payments.security.MerchantKeyRegistry.MerchantKeys;
+
+/**
+ * HMAC check of a typical payment request body: Mac.getInstance and init on every call, as
+ * HMacSHA256ServiceImpl did before, against the pre-keyed Macs of {@link MerchantKeyRegistry},
+ * with a signature made by the active key and by the next key during a rotation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HmacSignatureBenchmark {
+
+	private static final String CLIENT_ID = "merchant-id-123";
+	private static final String ACTIVE_KEY = "THIS_IS_MY_SECRET";
+	private static final String NEXT_KEY = "THIS_IS_MY_NEXT_SECRET";
+
+	private byte[] body;
+	private MerchantKeys merchantKeys;
+	private byte[] activeSignature;
+	private byte[] nextSignature;
+
+	@Setup
+	public void setup() throws GeneralSecurityException {
+		body = ("{\"amount\":15025,\"currency\":\"EUR\",\"paymentMethod\":\"APM\",\"paymentType\":\"SALE\","
+				+ "\"provider\":\"TRUSTLY\",\"customerID\":\"123456\",\"mobileNo\":\"9123456789\","
+				+ "\"merchantTransactionReference\":\"LT3k2j4h5g6f7d8s\"}").getBytes(StandardCharsets.UTF_8);
+
+		MerchantKeyProperties.KeySet keySet = new MerchantKeyProperties.KeySet();
+		keySet.setActive(ACTIVE_KEY);
+		keySet.setNext(NEXT_KEY);
+		MerchantKeyProperties properties = new MerchantKeyProperties();
+		properties.setKeys(Map.of(CLIENT_ID, keySet));
+		merchantKeys = new MerchantKeyRegistry(properties).get(CLIENT_ID);
+
+		activeSignature = perCallMac(ACTIVE_KEY);
+		nextSignature = perCallMac(NEXT_KEY);
+	}
+
+	@Benchmark
+	public boolean perCallMacInit() throws GeneralSecurityException {
+		return Base64.getEncoder().encodeToString(perCallMac(ACTIVE_KEY))
+				.equals(Base64.getEncoder().encodeToString(activeSignature));
+	}
+
+	@Benchmark
+	public int pooledActiveKey() {
+		return merchantKeys.verify(ByteBuffer.wrap(body), activeSignature);
+	}
+
+	@Benchmark
+	public int pooledNextKey() {
+		return merchantKeys.verify(ByteBuffer.wrap(body), nextSignature);
+	}
+
+	private byte[] perCallMac(String key) throws GeneralSecurityException {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		return mac.doFinal(body);
+	}
+}
@@ -0,0 +1,59 @@
+package com.hulkhiretech.payments.util;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of counting one payment attempt for PAYMENT_ATTEMPT_THRESHOLD_RULE, with every thread on
+ * one customer (CAS contention on one window) and spread over millions of tracked customers
+ * (map lookup on a cold cache line). The counters are filled with every customer up front.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Threads(4)
+public class SlidingWindowCountersBenchmark {
+
+	@Param({ "1000000", "5000000" })
+	private int users;
+
+	private SlidingWindowCounters counters;
+	private String[] customerIds;
+
+	@Setup
+	public void setup() {
+		counters = new SlidingWindowCounters(Duration.ofMinutes(10), users);
+		customerIds = new String[users];
+		for (int i = 0; i < users; i++) {
+			customerIds[i] = "customer-" + i;
+			counters.increment(customerIds[i]);
+		}
+	}
+
+	@Benchmark
+	public int sameUser() {
+		return counters.increment(customerIds[0]);
+	}
+
+	@Benchmark
+	public int manyUsers() {
+		return counters.increment(customerIds[ThreadLocalRandom.current().nextInt(users)]);
+	}
+}
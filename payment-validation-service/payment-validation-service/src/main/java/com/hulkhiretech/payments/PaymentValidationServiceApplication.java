@@ -3,7 +3,9 @@ package com.hulkhiretech.payments;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication(exclude = {UserDetailsServiceAutoConfiguration.class})
 public class PaymentValidationServiceApplication { 
 
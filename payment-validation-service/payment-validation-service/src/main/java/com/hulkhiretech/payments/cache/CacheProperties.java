@@ -0,0 +1,46 @@
+package com.hulkhiretech.payments.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * payments.cache.users / .rules / .params: the two tiers of each reference data cache.
+ * payments.cache.l2: the shared tier, off unless type is resp.
+ */
+@Data
+@Component
+@ConfigurationProperties("payments.cache")
+public class CacheProperties {
+
+	private Tiers users = new Tiers();
+	private Tiers rules = new Tiers();
+	private Tiers params = new Tiers();
+	private Shared l2 = new Shared();
+
+	@Data
+	public static class Tiers {
+		// 0 turns the in-process tier off
+		private int l1MaxSize = 10000;
+		private long l1TtlMs = 60000;
+		private long l2TtlMs = 600000;
+		// how long a key with no row is remembered, in both tiers
+		private long negativeTtlMs = 30000;
+	}
+
+	@Data
+	public static class Shared {
+		// none or resp (any server speaking the Redis protocol)
+		private String type = "none";
+		private String host = "localhost";
+		private int port = 6379;
+		private String password;
+		private String keyPrefix = "payments:validation:v1:";
+		private int poolSize = 16;
+		private int connectTimeoutMs = 200;
+		private int timeoutMs = 100;
+		// after a connection error the shared tier is skipped for this long
+		private long retryIntervalMs = 5000;
+	}
+}
@@ -0,0 +1,97 @@
+package com.hulkhiretech.payments.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The in-process tier: at most maxSize entries in access-ordered LinkedHashMaps, split into
+ * shards so lookups of different keys rarely wait on the same lock. A full shard drops its least
+ * recently used entry; an entry past its TTL counts as missing and is removed when it is met.
+ */
+final class LocalCache<V> {
+
+	/**
+	 * @param value null for a key known to have no row
+	 */
+	record Entry<V>(V value, long expiresAt) {
+	}
+
+	private final Map<String, Entry<V>>[] shards;
+	private final int mask;
+	private final LongSupplier nanoTime;
+
+	@SuppressWarnings("unchecked")
+	LocalCache(int maxSize, LongSupplier nanoTime) {
+		// one shard for small caches so they evict in exact LRU order, up to 16 for big ones
+		int shardCount = Integer.highestOneBit(Math.max(1, Math.min(16, maxSize / 256)));
+		int shardSize = (maxSize + shardCount - 1) / shardCount;
+		this.shards = new Map[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+					return size() > shardSize;
+				}
+			};
+		}
+		this.mask = shardCount - 1;
+		this.nanoTime = nanoTime;
+	}
+
+	/**
+	 * @return the entry, or null when the key is not cached or has expired
+	 */
+	Entry<V> get(String key) {
+		Map<String, Entry<V>> shard = shard(key);
+		synchronized (shard) {
+			Entry<V> entry = shard.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (nanoTime.getAsLong() - entry.expiresAt() >= 0) {
+				shard.remove(key);
+				return null;
+			}
+			return entry;
+		}
+	}
+
+	void put(String key, V value, long ttlNanos) {
+		Map<String, Entry<V>> shard = shard(key);
+		Entry<V> entry = new Entry<>(value, nanoTime.getAsLong() + ttlNanos);
+		synchronized (shard) {
+			shard.put(key, entry);
+		}
+	}
+
+	void remove(String key) {
+		Map<String, Entry<V>> shard = shard(key);
+		synchronized (shard) {
+			shard.remove(key);
+		}
+	}
+
+	void clear() {
+		for (Map<String, Entry<V>> shard : shards) {
+			synchronized (shard) {
+				shard.clear();
+			}
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for (Map<String, Entry<V>> shard : shards) {
+			synchronized (shard) {
+				size += shard.size();
+			}
+		}
+		return size;
+	}
+
+	private Map<String, Entry<V>> shard(String key) {
+		int h = key.hashCode();
+		return shards[(h ^ (h >>> 16)) & mask];
+	}
+}
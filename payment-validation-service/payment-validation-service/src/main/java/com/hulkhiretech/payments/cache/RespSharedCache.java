@@ -0,0 +1,281 @@
+package com.hulkhiretech.payments.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link SharedCache} on a Redis-protocol (RESP2) server, using GET, SET PX and DEL over plain
+ * blocking sockets. Connections are pooled: one is taken per command and handed back, at most
+ * pool-size are kept idle. A connection error closes every idle connection and skips the server
+ * for retry-interval-ms, so a server that is down costs one timeout, not one per request.
+ */
+@Slf4j
+public class RespSharedCache implements SharedCache, AutoCloseable {
+
+	private final String host;
+	private final int port;
+	private final String password;
+	private final int connectTimeoutMs;
+	private final int timeoutMs;
+	private final long retryIntervalNanos;
+	private final int maxIdle;
+	private final ValidationMetrics validationMetrics;
+
+	private final Queue<Connection> idle = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+	// System.nanoTime() until which the server is not tried, only meaningful while down is set
+	private volatile boolean down;
+	private volatile long downUntil;
+
+	public RespSharedCache(CacheProperties.Shared properties, ValidationMetrics validationMetrics) {
+		this.host = properties.getHost();
+		this.port = properties.getPort();
+		this.password = properties.getPassword();
+		this.connectTimeoutMs = properties.getConnectTimeoutMs();
+		this.timeoutMs = properties.getTimeoutMs();
+		this.retryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getRetryIntervalMs());
+		this.maxIdle = properties.getPoolSize();
+		this.validationMetrics = validationMetrics;
+	}
+
+	@Override
+	public String get(String key) {
+		Object reply = call("GET", key);
+		return reply instanceof String value ? value : null;
+	}
+
+	@Override
+	public void set(String key, String value, long ttlMillis) {
+		call("SET", key, value, "PX", Long.toString(ttlMillis));
+	}
+
+	@Override
+	public void delete(String key) {
+		call("DEL", key);
+	}
+
+	@Override
+	public void close() {
+		Connection connection;
+		while ((connection = idle.poll()) != null) {
+			connection.close();
+		}
+	}
+
+	private Object call(String... command) {
+		if (down) {
+			if (System.nanoTime() - downUntil < 0) {
+				return null;
+			}
+			down = false;
+		}
+		Connection connection = idle.poll();
+		boolean reused = connection != null;
+		if (reused) {
+			idleCount.decrementAndGet();
+		}
+		try {
+			if (connection == null) {
+				connection = connect();
+			}
+			Object reply;
+			try {
+				reply = connection.execute(command);
+			} catch (IOException e) {
+				if (!reused || e instanceof RespErrorException) {
+					throw e;
+				}
+				// the server may have dropped a connection that sat idle, try once on a new one
+				connection.close();
+				connection = null;
+				connection = connect();
+				reply = connection.execute(command);
+			}
+			release(connection);
+			return reply;
+		} catch (RespErrorException e) {
+			// the reply was read in full, the connection is still usable
+			release(connection);
+			validationMetrics.countSharedCacheError();
+			log.warn("Shared cache rejected {}: {}", command[0], e.getMessage());
+			return null;
+		} catch (IOException e) {
+			if (connection != null) {
+				connection.close();
+			}
+			// the server restarted or went away, the idle connections are most likely dead too
+			close();
+			downUntil = System.nanoTime() + retryIntervalNanos;
+			down = true;
+			validationMetrics.countSharedCacheError();
+			log.warn("Shared cache {}:{} unreachable, skipping it for {} ms: {}", host, port,
+					TimeUnit.NANOSECONDS.toMillis(retryIntervalNanos), e.toString());
+			return null;
+		}
+	}
+
+	private Connection connect() throws IOException {
+		Connection connection = new Connection();
+		try {
+			if (password != null && !password.isEmpty()) {
+				connection.execute("AUTH", password);
+			}
+		} catch (IOException e) {
+			connection.close();
+			// a wrong password is not a problem with one command, handle it like an unreachable server
+			throw new IOException("AUTH failed: " + e.getMessage(), e);
+		}
+		return connection;
+	}
+
+	private void release(Connection connection) {
+		if (idleCount.incrementAndGet() <= maxIdle) {
+			idle.offer(connection);
+		} else {
+			idleCount.decrementAndGet();
+			connection.close();
+		}
+	}
+
+	/**
+	 * An -ERR reply.
+	 */
+	static final class RespErrorException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		RespErrorException(String message) {
+			super(message);
+		}
+	}
+
+	private final class Connection {
+
+		private final Socket socket;
+		private final InputStream in;
+		private final OutputStream out;
+
+		Connection() throws IOException {
+			socket = new Socket();
+			try {
+				socket.connect(new InetSocketAddress(host, port), connectTimeoutMs);
+				socket.setSoTimeout(timeoutMs);
+				socket.setTcpNoDelay(true);
+				in = new BufferedInputStream(socket.getInputStream());
+				out = new BufferedOutputStream(socket.getOutputStream());
+			} catch (IOException e) {
+				socket.close();
+				throw e;
+			}
+		}
+
+		Object execute(String... command) throws IOException {
+			// an array of bulk strings: *<count>\r\n then $<length>\r\n<bytes>\r\n per argument
+			writeLine('*', command.length);
+			for (String argument : command) {
+				byte[] bytes = argument.getBytes(StandardCharsets.UTF_8);
+				writeLine('$', bytes.length);
+				out.write(bytes);
+				out.write('\r');
+				out.write('\n');
+			}
+			out.flush();
+			return readReply();
+		}
+
+		private void writeLine(char type, int value) throws IOException {
+			out.write(type);
+			out.write(Integer.toString(value).getBytes(StandardCharsets.US_ASCII));
+			out.write('\r');
+			out.write('\n');
+		}
+
+		private Object readReply() throws IOException {
+			int type = in.read();
+			if (type == -1) {
+				throw new EOFException("Connection closed by the server");
+			}
+			String line = readLine();
+			switch (type) {
+			case '+':
+				return line;
+			case '-':
+				throw new RespErrorException(line);
+			case ':':
+				return parseNumber(line);
+			case '$': {
+				int length = (int) parseNumber(line);
+				if (length < 0) {
+					return null;
+				}
+				byte[] bytes = in.readNBytes(length);
+				if (bytes.length < length || in.read() != '\r' || in.read() != '\n') {
+					throw new EOFException("Bulk string cut short");
+				}
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+			case '*': {
+				int count = (int) parseNumber(line);
+				if (count < 0) {
+					return null;
+				}
+				List<Object> elements = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					elements.add(readReply());
+				}
+				return elements;
+			}
+			default:
+				throw new IOException("Unexpected reply type: " + (char) type);
+			}
+		}
+
+		private long parseNumber(String line) throws IOException {
+			try {
+				return Long.parseLong(line);
+			} catch (NumberFormatException e) {
+				throw new IOException("Malformed reply: " + line, e);
+			}
+		}
+
+		private String readLine() throws IOException {
+			StringBuilder line = new StringBuilder();
+			int b;
+			while ((b = in.read()) != '\r') {
+				if (b == -1) {
+					throw new EOFException("Connection closed by the server");
+				}
+				line.append((char) b);
+			}
+			if (in.read() != '\n') {
+				throw new IOException("Reply line not terminated by CRLF");
+			}
+			return line.toString();
+		}
+
+		void close() {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// nothing left to do with it
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.hulkhiretech.payments.cache;
+
+/**
+ * The tier shared by every instance. It is only an optimisation: an implementation never throws,
+ * a value it cannot read or write is treated as missing and the caller goes to the database.
+ */
+public interface SharedCache {
+
+	/**
+	 * @return the value, or null when the key is not there or the cache could not be reached
+	 */
+	String get(String key);
+
+	void set(String key, String value, long ttlMillis);
+
+	void delete(String key);
+
+	/**
+	 * False for the stand-in used when no shared cache is configured.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	SharedCache NONE = new SharedCache() {
+
+		@Override
+		public String get(String key) {
+			return null;
+		}
+
+		@Override
+		public void set(String key, String value, long ttlMillis) {
+		}
+
+		@Override
+		public void delete(String key) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+	};
+}
@@ -0,0 +1,157 @@
+package com.hulkhiretech.payments.cache;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache for one kind of reference data, in front of a loader that queries MySQL.
+ * A lookup tries L1 in this process ({@link LocalCache}), then L2 shared by every instance
+ * ({@link SharedCache}), then the loader, and writes what it found back to the tiers above. A key
+ * the loader has no row for is cached too, for negative-ttl-ms, so unknown keys do not reach the
+ * database on every request either. L2 holds the values as JSON, "null" for a key with no row.
+ * <p>
+ * Two lookups missing the same key at the same time both call the loader. Cached values are
+ * shared between callers and must not be modified.
+ */
+@Slf4j
+public class TwoTierCache<V> {
+
+	@Getter
+	private final String name;
+	private final Type type;
+	private final Function<String, V> loader;
+	private final SharedCache sharedCache;
+	private final Gson gson;
+	private final String keyPrefix;
+	// null when the in-process tier is turned off
+	private final LocalCache<V> localCache;
+	private final long l1TtlNanos;
+	private final long l2TtlMillis;
+	private final long negativeTtlMillis;
+
+	private final Counter l1Hits;
+	private final Counter l1Misses;
+	private final Counter l2Hits;
+	private final Counter l2Misses;
+
+	/**
+	 * @param type the type of V, a TypeToken's type for generic values
+	 */
+	public TwoTierCache(String name, Type type, Function<String, V> loader, CacheProperties.Tiers tiers,
+			SharedCache sharedCache, String keyPrefix, Gson gson, ValidationMetrics validationMetrics) {
+		this(name, type, loader, tiers, sharedCache, keyPrefix, gson, validationMetrics, System::nanoTime);
+	}
+
+	TwoTierCache(String name, Type type, Function<String, V> loader, CacheProperties.Tiers tiers,
+			SharedCache sharedCache, String keyPrefix, Gson gson, ValidationMetrics validationMetrics,
+			LongSupplier nanoTime) {
+		this.name = name;
+		this.type = type;
+		this.loader = loader;
+		this.sharedCache = sharedCache;
+		this.gson = gson;
+		this.keyPrefix = keyPrefix + name + ":";
+		this.l1TtlNanos = TimeUnit.MILLISECONDS.toNanos(tiers.getL1TtlMs());
+		this.l2TtlMillis = tiers.getL2TtlMs();
+		this.negativeTtlMillis = tiers.getNegativeTtlMs();
+
+		if (tiers.getL1MaxSize() > 0 && tiers.getL1TtlMs() > 0) {
+			localCache = new LocalCache<>(tiers.getL1MaxSize(), nanoTime);
+			l1Hits = validationMetrics.cacheRequests(name, MetricsConstants.TIER_L1, MetricsConstants.RESULT_HIT);
+			l1Misses = validationMetrics.cacheRequests(name, MetricsConstants.TIER_L1, MetricsConstants.RESULT_MISS);
+			validationMetrics.registerCacheHitRatio(name, MetricsConstants.TIER_L1, l1Hits, l1Misses);
+			validationMetrics.registerCacheSizeGauge(name, localCache::size);
+		} else {
+			localCache = null;
+			l1Hits = null;
+			l1Misses = null;
+		}
+		if (sharedCache.isEnabled()) {
+			l2Hits = validationMetrics.cacheRequests(name, MetricsConstants.TIER_L2, MetricsConstants.RESULT_HIT);
+			l2Misses = validationMetrics.cacheRequests(name, MetricsConstants.TIER_L2, MetricsConstants.RESULT_MISS);
+			validationMetrics.registerCacheHitRatio(name, MetricsConstants.TIER_L2, l2Hits, l2Misses);
+		} else {
+			l2Hits = null;
+			l2Misses = null;
+		}
+	}
+
+	/**
+	 * @return the value, or null when the loader has no row for the key. Exceptions from the
+	 *         loader are passed on and nothing is cached for the key.
+	 */
+	public V get(String key) {
+		if (localCache != null) {
+			LocalCache.Entry<V> entry = localCache.get(key);
+			if (entry != null) {
+				l1Hits.increment();
+				return entry.value();
+			}
+			l1Misses.increment();
+		}
+
+		if (sharedCache.isEnabled()) {
+			String json = sharedCache.get(keyPrefix + key);
+			if (json != null) {
+				try {
+					V value = gson.fromJson(json, type);
+					l2Hits.increment();
+					putLocal(key, value);
+					return value;
+				} catch (JsonParseException e) {
+					log.warn("Unreadable {} entry in the shared cache for {}, loading it again: {}", name, key,
+							e.getMessage());
+				}
+			}
+			l2Misses.increment();
+		}
+
+		V value = loader.apply(key);
+		if (sharedCache.isEnabled()) {
+			sharedCache.set(keyPrefix + key, gson.toJson(value), value == null ? negativeTtlMillis : l2TtlMillis);
+		}
+		putLocal(key, value);
+		return value;
+	}
+
+	/**
+	 * Drops the key from both tiers, for when its row changed. Other instances keep their L1 copy
+	 * until it expires.
+	 */
+	public void invalidate(String key) {
+		if (localCache != null) {
+			localCache.remove(key);
+		}
+		sharedCache.delete(keyPrefix + key);
+		log.info("Invalidated {} cache entry: {}", name, key);
+	}
+
+	/**
+	 * Empties this instance's L1. Shared entries stay until their TTL; invalidate single keys to
+	 * drop them sooner.
+	 */
+	public void invalidateLocal() {
+		if (localCache != null) {
+			localCache.clear();
+		}
+		log.info("Cleared the local {} cache", name);
+	}
+
+	private void putLocal(String key, V value) {
+		if (localCache != null) {
+			localCache.put(key, value,
+					value == null ? Math.min(l1TtlNanos, TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis)) : l1TtlNanos);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.hulkhiretech.payments.cache;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.entity.User;
+import com.hulkhiretech.payments.services.impl.validator.ValidationRuleRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Invalidation hooks, for after validations.users or the rule tables were changed by hand:
+ * <ul>
+ * <li>DELETE /actuator/validationcache/users?key=&lt;endUserID&gt; drops one user from both tiers,
+ * without key it empties this instance's L1</li>
+ * <li>DELETE /actuator/validationcache/rules drops the cached rule tables and rebuilds the
+ * pipeline now</li>
+ * </ul>
+ * Not exposed unless listed in management.endpoints.web.exposure.include; like every path other
+ * than health it needs an HMAC signature.
+ */
+@Component
+@Endpoint(id = "validationcache")
+@RequiredArgsConstructor
+public class ValidationCacheEndpoint {
+
+	private final TwoTierCache<User> userCache;
+	private final ValidationRuleRegistry validationRuleRegistry;
+
+	@DeleteOperation
+	public List<String> invalidate(@Selector String cache, @Nullable String key) {
+		switch (cache) {
+		case "users" -> {
+			if (key == null || key.isBlank()) {
+				userCache.invalidateLocal();
+				return List.of("users: local entries cleared");
+			}
+			userCache.invalidate(key);
+			return List.of("users: " + key + " invalidated");
+		}
+		case "rules" -> {
+			boolean reloaded = validationRuleRegistry.reload();
+			return List.of(reloaded ? "rules: reloaded" : "rules: invalidated, reload failed, pipeline not changed");
+		}
+		default -> throw new InvalidEndpointRequestException("Unknown cache: " + cache,
+				"Unknown cache, expected users or rules");
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.hulkhiretech.payments.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.hulkhiretech.payments.cache.CacheProperties;
+import com.hulkhiretech.payments.cache.RespSharedCache;
+import com.hulkhiretech.payments.cache.SharedCache;
+import com.hulkhiretech.payments.cache.TwoTierCache;
+import com.hulkhiretech.payments.dao.interfaces.UserDAO;
+import com.hulkhiretech.payments.dao.interfaces.ValidationRuleDAO;
+import com.hulkhiretech.payments.entity.User;
+import com.hulkhiretech.payments.entity.ValidationRule;
+import com.hulkhiretech.payments.entity.ValidationRuleParam;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+
+/**
+ * The reference data caches of validations.users, validation_rules and validation_rules_params,
+ * and the shared tier behind them.
+ */
+@Configuration
+public class CacheConfig {
+
+	// the rule tables are read whole, each is cached under a single key
+	public static final String ALL_ROWS_KEY = "all";
+
+	@Bean
+	SharedCache sharedCache(CacheProperties cacheProperties, ValidationMetrics validationMetrics) {
+		String type = cacheProperties.getL2().getType();
+		return switch (type) {
+		case "none" -> SharedCache.NONE;
+		case "resp" -> new RespSharedCache(cacheProperties.getL2(), validationMetrics);
+		default -> throw new IllegalStateException("payments.cache.l2.type must be none or resp: " + type);
+		};
+	}
+
+	@Bean
+	TwoTierCache<User> userCache(UserDAO userDAO, CacheProperties cacheProperties, SharedCache sharedCache,
+			Gson gson, ValidationMetrics validationMetrics) {
+		return new TwoTierCache<>("users", User.class, userDAO::findByEndUserID, cacheProperties.getUsers(),
+				sharedCache, cacheProperties.getL2().getKeyPrefix(), gson, validationMetrics);
+	}
+
+	@Bean
+	TwoTierCache<List<ValidationRule>> ruleCache(ValidationRuleDAO validationRuleDAO,
+			CacheProperties cacheProperties, SharedCache sharedCache, Gson gson,
+			ValidationMetrics validationMetrics) {
+		return new TwoTierCache<>("rules", new TypeToken<List<ValidationRule>>() {
+		}.getType(), key -> validationRuleDAO.getActiveRules(), cacheProperties.getRules(), sharedCache,
+				cacheProperties.getL2().getKeyPrefix(), gson, validationMetrics);
+	}
+
+	@Bean
+	TwoTierCache<List<ValidationRuleParam>> ruleParamCache(ValidationRuleDAO validationRuleDAO,
+			CacheProperties cacheProperties, SharedCache sharedCache, Gson gson,
+			ValidationMetrics validationMetrics) {
+		return new TwoTierCache<>("params", new TypeToken<List<ValidationRuleParam>>() {
+		}.getType(), key -> validationRuleDAO.getRuleParams(), cacheProperties.getParams(), sharedCache,
+				cacheProperties.getL2().getKeyPrefix(), gson, validationMetrics);
+	}
+}
@@ -10,6 +10,7 @@ import org.springframework.security.web.authentication.logout.LogoutFilter;
 import org.springframework.security.web.session.DisableEncodeUrlFilter;
 
 import com.google.gson.Gson;
+import com.hulkhiretech.payments.security.BodyBufferPool;
 import com.hulkhiretech.payments.security.ExceptionHandlerFilter;
 import com.hulkhiretech.payments.security.HmacFilter;
 import com.hulkhiretech.payments.services.interfaces.HMacSHA256Service;
@@ -24,6 +25,8 @@ public class SecurityConfiguration {
 	private final HMacSHA256Service hMacSHA256Service;
 	
 	private final Gson gson;
+	
+	private final BodyBufferPool bodyBufferPool;
 
 	@Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -33,9 +36,11 @@ public class SecurityConfiguration {
 	    
 	    .addFilterBefore(new ExceptionHandlerFilter(), DisableEncodeUrlFilter.class)
 	    
-	    .addFilterAfter(new HmacFilter(hMacSHA256Service, gson), LogoutFilter.class) // Ensure HmacFilter runs after LogoutFilter)
+	    .addFilterAfter(new HmacFilter(hMacSHA256Service, gson, bodyBufferPool), LogoutFilter.class) // Ensure HmacFilter runs after LogoutFilter)
 	    
 	    .authorizeHttpRequests(authorize -> authorize
+	    		// liveness/readiness probes, HmacFilter lets them through unsigned
+	    		.requestMatchers(HmacFilter.HEALTH_PATH, HmacFilter.HEALTH_PATH + "/**").permitAll()
 	    		.anyRequest().authenticated())
 	    
 	    .sessionManagement(session -> session
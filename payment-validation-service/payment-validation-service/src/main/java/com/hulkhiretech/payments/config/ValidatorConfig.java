@@ -0,0 +1,20 @@
+package com.hulkhiretech.payments.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ValidatorConfig {
+
+	/**
+	 * Runs the validators of one priority tier side by side. Virtual threads, since the rules
+	 * mostly wait on the DB or a cache rather than use CPU.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	ExecutorService validatorExecutor() {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("validator-", 0).factory());
+	}
+}
@@ -7,4 +7,8 @@ public class Constants {
 
 	public static final String PAYMENTS_ENDPOINT = "/payments";
 	public static final String HMAC_SIGNATURE = "hmac-signature";
-}
\ No newline at end of file
+	// the merchant whose key signed the request, merchant.client.id when absent
+	public static final String CLIENT_ID = "client-id";
+	// the PaymentRequest parsed by HmacFilter, read by the controller instead of the body
+	public static final String PAYMENT_REQUEST_ATTRIBUTE = "paymentRequest";
+}
\ No newline at end of file
@@ -7,7 +7,13 @@ public enum ErrorEnum {
 	GENERIC_ERROR("10000", "Unable to process your request, please try later"),
 	MISSING_CUSTOMER_ID("10001", "Customer ID is missing in the payment request"),
 	MISSING_HMAC_SIGNATURE("10002", "HMAC signature is missing in the payment request"),
-	INVALID_HMAC_SIGNATURE("10003", "HMAC signature is invalid. Please check & try again");
+	INVALID_HMAC_SIGNATURE("10003", "HMAC signature is invalid. Please check & try again"),
+	MISSING_MERCHANT_TXN_REFERENCE("10004", "Merchant transaction reference is missing in the payment request"),
+	DUPLICATE_MERCHANT_TXN_REFERENCE("10005", "A payment with this merchant transaction reference already exists"),
+	PAYMENT_ATTEMPT_THRESHOLD_EXCEEDED("10006", "Too many payment attempts, please try again later"),
+	UNKNOWN_CLIENT_ID("10007", "Client id is not registered for payments"),
+	REQUEST_BODY_TOO_LARGE("10008", "Request body is larger than allowed"),
+	UNKNOWN_CUSTOMER("10009", "Customer is not registered");
 
 	private final String errorCode;
 	private final String errorMessage;
@@ -0,0 +1,10 @@
+package com.hulkhiretech.payments.constants;
+
+public class LoggingConstants {
+
+	private LoggingConstants() {
+	}
+
+	// MDC keys, emitted as top level fields by the JSON encoder
+	public static final String MDC_CLIENT_ID = "clientId";
+}
@@ -0,0 +1,52 @@
+package com.hulkhiretech.payments.constants;
+
+public class MetricsConstants {
+
+	private MetricsConstants() {
+	}
+
+	// Meter names
+	public static final String PAYMENTS_VALIDATION_TIER = "payments.validation.tier";
+	public static final String PAYMENTS_DUPLICATE_CHECKS = "payments.validation.duplicate.checks";
+	public static final String PAYMENTS_DUPLICATE_FILTER_FILL = "payments.validation.duplicate.filter.fill";
+	public static final String PAYMENTS_DUPLICATE_FILTER_INSERTIONS = "payments.validation.duplicate.filter.insertions";
+	public static final String PAYMENTS_DUPLICATE_FILTER_FPP = "payments.validation.duplicate.filter.fpp";
+	public static final String PAYMENTS_ATTEMPT_USERS = "payments.validation.attempts.users";
+	public static final String PAYMENTS_ATTEMPT_OVERFLOW = "payments.validation.attempts.overflow";
+	public static final String PAYMENTS_AUDIT_QUEUE_DEPTH = "payments.validation.audit.queue.depth";
+	public static final String PAYMENTS_AUDIT_ROWS = "payments.validation.audit.rows";
+	public static final String PAYMENTS_AUDIT_FLUSH = "payments.validation.audit.flush";
+	public static final String PAYMENTS_CACHE_REQUESTS = "payments.validation.cache.requests";
+	public static final String PAYMENTS_CACHE_HIT_RATIO = "payments.validation.cache.hit.ratio";
+	public static final String PAYMENTS_CACHE_SIZE = "payments.validation.cache.size";
+	public static final String PAYMENTS_CACHE_L2_ERRORS = "payments.validation.cache.l2.errors";
+
+	// Tag keys
+	public static final String TAG_PRIORITY = "priority";
+	public static final String TAG_OUTCOME = "outcome";
+	public static final String TAG_RESULT = "result";
+	public static final String TAG_CACHE = "cache";
+	public static final String TAG_TIER = "tier";
+
+	// Tag values
+	public static final String OUTCOME_SUCCESS = "success";
+	public static final String OUTCOME_REJECTED = "rejected";
+	public static final String OUTCOME_FAILURE = "failure";
+
+	// how a duplicate check was answered
+	public static final String RESULT_NEW = "new";
+	public static final String RESULT_RECENT = "recent";
+	public static final String RESULT_DUPLICATE = "duplicate";
+	public static final String RESULT_FALSE_POSITIVE = "falsePositive";
+
+	// what became of a request queued for merchant_payment_request
+	public static final String RESULT_WRITTEN = "written";
+	public static final String RESULT_DROPPED = "dropped";
+	public static final String RESULT_FAILED = "failed";
+
+	// reference data cache tiers and lookup results
+	public static final String TIER_L1 = "l1";
+	public static final String TIER_L2 = "l2";
+	public static final String RESULT_HIT = "hit";
+	public static final String RESULT_MISS = "miss";
+}
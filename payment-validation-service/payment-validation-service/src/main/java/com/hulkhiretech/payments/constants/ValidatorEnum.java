@@ -5,6 +5,9 @@ import java.util.Map;
 
 import com.hulkhiretech.payments.services.impl.validator.Check1Validator;
 import com.hulkhiretech.payments.services.impl.validator.Check2Validator;
+import com.hulkhiretech.payments.services.impl.validator.DuplicationTxnValidator;
+import com.hulkhiretech.payments.services.impl.validator.PaymentAttemptThresholdValidator;
+import com.hulkhiretech.payments.services.impl.validator.RegisteredUserValidator;
 import com.hulkhiretech.payments.services.impl.validator.Validator;
 
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +16,10 @@ import lombok.extern.slf4j.Slf4j;
 public enum ValidatorEnum {
 
 	CHECK1_VALIDATOR_RULE("CHECK1_VALIDATOR_RULE", Check1Validator.class),
-	CHECK2_VALIDATOR_RULE("CHECK2_VALIDATOR_RULE", Check2Validator.class);
+	CHECK2_VALIDATOR_RULE("CHECK2_VALIDATOR_RULE", Check2Validator.class),
+	DUPLICATION_TXN_RULE("DUPLICATION_TXN_RULE", DuplicationTxnValidator.class),
+	PAYMENT_ATTEMPT_THRESHOLD_RULE("PAYMENT_ATTEMPT_THRESHOLD_RULE", PaymentAttemptThresholdValidator.class),
+	REGISTERED_USER_RULE("REGISTERED_USER_RULE", RegisteredUserValidator.class);
 
 	private final String name;
 	private final Class<? extends Validator> validatorClass;
@@ -38,4 +44,4 @@ public enum ValidatorEnum {
 		}
 		return type.validatorClass;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.hulkhiretech.payments.controller;
 
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,8 +23,8 @@ public class PaymentsController {
 	
 	@PostMapping
 	public PaymentResponse createPayment(
-			@RequestBody PaymentRequest paymentDetails) {
-		log.info("Received paymentDetails: {}", paymentDetails);
+			@RequestAttribute(Constants.PAYMENT_REQUEST_ATTRIBUTE) PaymentRequest paymentDetails) {
+		log.debug("Received paymentDetails: {}", paymentDetails);
 
 		// This method would typically handle payment creation logic
 		PaymentResponse response = paymentService.createPayment(paymentDetails);
@@ -34,4 +34,4 @@ public class PaymentsController {
 		return response;
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.hulkhiretech.payments.dao.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hulkhiretech.payments.dao.interfaces.MerchantPaymentRequestDAO;
+import com.hulkhiretech.payments.entity.MerchantPaymentRequest;
+
+@Repository
+public class MerchantPaymentRequestDAOImpl implements MerchantPaymentRequestDAO {
+
+	private static final int SCAN_FETCH_SIZE = 1000;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final JdbcTemplate scanJdbcTemplate;
+
+	public MerchantPaymentRequestDAOImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+		this.jdbcTemplate = jdbcTemplate;
+		// MySQL only honours the fetch size with useCursorFetch=true on the URL, otherwise it
+		// reads the whole result into memory
+		this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+		this.scanJdbcTemplate.setFetchSize(SCAN_FETCH_SIZE);
+	}
+
+	@Override
+	public long forEachReferenceAfter(long afterId, Consumer<String> consumer) {
+		String sql = """
+				SELECT id, merchantTransactionReference FROM validations.merchant_payment_request
+				WHERE id > ? ORDER BY id""";
+		long[] maxId = { afterId };
+		scanJdbcTemplate.query(sql, resultSet -> {
+			maxId[0] = resultSet.getLong(1);
+			consumer.accept(resultSet.getString(2));
+		}, afterId);
+		return maxId[0];
+	}
+
+	@Override
+	public boolean existsByReference(String merchantTransactionReference) {
+		// served by the unique key on merchantTransactionReference
+		String sql = """
+				SELECT COUNT(*) FROM validations.merchant_payment_request
+				WHERE merchantTransactionReference = :merchantTransactionReference""";
+		Long count = jdbcTemplate.queryForObject(sql,
+				Map.of("merchantTransactionReference", merchantTransactionReference), Long.class);
+		return count != null && count > 0;
+	}
+
+	@Override
+	public int insertIgnoringDuplicates(List<MerchantPaymentRequest> rows, boolean gzipped) {
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		// another instance may have accepted the same reference before its row got here. The no-op
+		// update only skips that duplicate key; INSERT IGNORE would also turn truncation, NULL in a
+		// NOT NULL column and the like into warnings and store the row anyway
+		StringBuilder sql = new StringBuilder("INSERT INTO validations.merchant_payment_request "
+				+ "(endUserID, merchantTransactionReference, ")
+				.append(gzipped ? "transactionRequestGzip" : "transactionRequest")
+				.append(") VALUES ");
+		List<Object> args = new ArrayList<>(rows.size() * 3);
+		for (int i = 0; i < rows.size(); i++) {
+			MerchantPaymentRequest row = rows.get(i);
+			sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+			args.add(row.getEndUserID());
+			args.add(row.getMerchantTransactionReference());
+			args.add(gzipped ? row.getTransactionRequestGzip() : row.getTransactionRequest());
+		}
+		sql.append(" ON DUPLICATE KEY UPDATE id = id");
+		return jdbcTemplate.getJdbcOperations().update(sql.toString(), args.toArray());
+	}
+}
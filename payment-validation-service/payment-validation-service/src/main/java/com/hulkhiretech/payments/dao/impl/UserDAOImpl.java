@@ -0,0 +1,32 @@
+package com.hulkhiretech.payments.dao.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hulkhiretech.payments.dao.interfaces.UserDAO;
+import com.hulkhiretech.payments.entity.User;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class UserDAOImpl implements UserDAO {
+
+	private static final BeanPropertyRowMapper<User> USER_ROW_MAPPER = new BeanPropertyRowMapper<>(User.class);
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Override
+	public User findByEndUserID(String endUserID) {
+		// served by the unique key on endUserID
+		String sql = """
+				SELECT endUserID, email, phoneNumber, firstName, lastName FROM validations.users
+				WHERE endUserID = :endUserID""";
+		List<User> users = jdbcTemplate.query(sql, Map.of("endUserID", endUserID), USER_ROW_MAPPER);
+		return users.isEmpty() ? null : users.get(0);
+	}
+}
@@ -0,0 +1,37 @@
+package com.hulkhiretech.payments.dao.impl;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hulkhiretech.payments.dao.interfaces.ValidationRuleDAO;
+import com.hulkhiretech.payments.entity.ValidationRule;
+import com.hulkhiretech.payments.entity.ValidationRuleParam;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ValidationRuleDAOImpl implements ValidationRuleDAO {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Override
+	public List<ValidationRule> getActiveRules() {
+		// validatorName breaks ties so equal priorities always run in the same order
+		String sql = """
+				SELECT validatorName, priority FROM validations.validation_rules
+				WHERE isActive = TRUE ORDER BY priority, validatorName""";
+		return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(ValidationRule.class));
+	}
+
+	@Override
+	public List<ValidationRuleParam> getRuleParams() {
+		String sql = """
+				SELECT validatorName, paramName, paramValue FROM validations.validation_rules_params
+				ORDER BY validatorName, paramName""";
+		return jdbcTemplate.query(sql, new BeanPropertyRowMapper<>(ValidationRuleParam.class));
+	}
+}
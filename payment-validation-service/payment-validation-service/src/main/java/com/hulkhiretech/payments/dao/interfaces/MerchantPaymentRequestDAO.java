@@ -0,0 +1,29 @@
+package com.hulkhiretech.payments.dao.interfaces;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.hulkhiretech.payments.entity.MerchantPaymentRequest;
+
+public interface MerchantPaymentRequestDAO {
+
+	/**
+	 * Streams the merchantTransactionReference of every row with an id above afterId, without
+	 * holding them all in memory.
+	 *
+	 * @return the highest id seen, afterId if there were no new rows
+	 */
+	long forEachReferenceAfter(long afterId, Consumer<String> consumer);
+
+	boolean existsByReference(String merchantTransactionReference);
+
+	/**
+	 * Writes the rows with one multi-row INSERT. Rows whose merchantTransactionReference is
+	 * already in the table are skipped; any other error fails the whole batch.
+	 *
+	 * @param gzipped whether to fill transactionRequestGzip rather than transactionRequest
+	 * @return the number of rows written, skipped rows count as 0 only with useAffectedRows=true
+	 *         on a MySQL URL
+	 */
+	int insertIgnoringDuplicates(List<MerchantPaymentRequest> rows, boolean gzipped);
+}
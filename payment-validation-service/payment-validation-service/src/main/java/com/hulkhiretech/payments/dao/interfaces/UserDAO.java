@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.dao.interfaces;
+
+import com.hulkhiretech.payments.entity.User;
+
+public interface UserDAO {
+
+	/**
+	 * @return the user, or null when there is no row for endUserID
+	 */
+	User findByEndUserID(String endUserID);
+}
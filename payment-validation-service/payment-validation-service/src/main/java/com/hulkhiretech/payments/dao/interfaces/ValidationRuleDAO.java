@@ -0,0 +1,16 @@
+package com.hulkhiretech.payments.dao.interfaces;
+
+import java.util.List;
+
+import com.hulkhiretech.payments.entity.ValidationRule;
+import com.hulkhiretech.payments.entity.ValidationRuleParam;
+
+public interface ValidationRuleDAO {
+
+	/**
+	 * Active rules, lowest priority first.
+	 */
+	List<ValidationRule> getActiveRules();
+
+	List<ValidationRuleParam> getRuleParams();
+}
@@ -0,0 +1,13 @@
+package com.hulkhiretech.payments.entity;
+
+import lombok.Data;
+
+@Data
+public class MerchantPaymentRequest {
+
+	private String endUserID;
+	private String merchantTransactionReference;
+	// the request as JSON, or null when it is stored gzipped in transactionRequestGzip
+	private String transactionRequest;
+	private byte[] transactionRequestGzip;
+}
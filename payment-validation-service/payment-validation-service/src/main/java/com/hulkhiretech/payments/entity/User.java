@@ -0,0 +1,13 @@
+package com.hulkhiretech.payments.entity;
+
+import lombok.Data;
+
+@Data
+public class User {
+
+	private String endUserID;
+	private String email;
+	private String phoneNumber;
+	private String firstName;
+	private String lastName;
+}
@@ -0,0 +1,10 @@
+package com.hulkhiretech.payments.entity;
+
+import lombok.Data;
+
+@Data
+public class ValidationRule {
+
+	private String validatorName;
+	private int priority;
+}
@@ -0,0 +1,11 @@
+package com.hulkhiretech.payments.entity;
+
+import lombok.Data;
+
+@Data
+public class ValidationRuleParam {
+
+	private String validatorName;
+	private String paramName;
+	private String paramValue;
+}
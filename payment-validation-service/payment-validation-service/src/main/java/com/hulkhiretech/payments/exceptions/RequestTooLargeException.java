@@ -0,0 +1,14 @@
+package com.hulkhiretech.payments.exceptions;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+
+/**
+ * Answered with 413 Payload Too Large instead of 400.
+ */
+public class RequestTooLargeException extends ValidationException {
+	private static final long serialVersionUID = 5386520176312045177L;
+
+	public RequestTooLargeException() {
+		super(ErrorEnum.REQUEST_BODY_TOO_LARGE.getErrorCode(), ErrorEnum.REQUEST_BODY_TOO_LARGE.getErrorMessage());
+	}
+}
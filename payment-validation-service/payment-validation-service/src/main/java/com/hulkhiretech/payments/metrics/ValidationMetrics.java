@@ -0,0 +1,105 @@
+package com.hulkhiretech.payments.metrics;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.util.ShardedBloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single place where the validation meters are named and tagged. Percentile histograms for
+ * every "payments.*" timer are switched on in application.properties.
+ */
+@Component
+@RequiredArgsConstructor
+public class ValidationMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	public Timer.Sample startTimer() {
+		return Timer.start(meterRegistry);
+	}
+
+	/**
+	 * @param outcome success, rejected (a ValidationException) or failure (anything else)
+	 */
+	public void recordTier(Timer.Sample sample, int priority, String outcome) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_VALIDATION_TIER,
+				MetricsConstants.TAG_PRIORITY, String.valueOf(priority),
+				MetricsConstants.TAG_OUTCOME, outcome));
+	}
+
+	public void countDuplicateCheck(String result) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_DUPLICATE_CHECKS, MetricsConstants.TAG_RESULT, result)
+		.increment();
+	}
+
+	public void countAttemptOverflow() {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_ATTEMPT_OVERFLOW).increment();
+	}
+
+	public void registerAttemptUsersGauge(Supplier<Number> users) {
+		Gauge.builder(MetricsConstants.PAYMENTS_ATTEMPT_USERS, users).register(meterRegistry);
+	}
+
+	/**
+	 * @param result written, duplicate (already in the table), dropped (queue full) or failed
+	 */
+	public void countAuditRows(String result, int rows) {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_AUDIT_ROWS, MetricsConstants.TAG_RESULT, result)
+		.increment(rows);
+	}
+
+	public void recordAuditFlush(Timer.Sample sample, String outcome) {
+		sample.stop(meterRegistry.timer(MetricsConstants.PAYMENTS_AUDIT_FLUSH, MetricsConstants.TAG_OUTCOME, outcome));
+	}
+
+	public void registerAuditQueueGauge(Supplier<Number> depth) {
+		Gauge.builder(MetricsConstants.PAYMENTS_AUDIT_QUEUE_DEPTH, depth).register(meterRegistry);
+	}
+
+	/**
+	 * @param result hit or miss; the counter is looked up once by the cache, not per lookup
+	 */
+	public Counter cacheRequests(String cache, String tier, String result) {
+		return meterRegistry.counter(MetricsConstants.PAYMENTS_CACHE_REQUESTS, MetricsConstants.TAG_CACHE, cache,
+				MetricsConstants.TAG_TIER, tier, MetricsConstants.TAG_RESULT, result);
+	}
+
+	/**
+	 * Share of lookups answered by the tier since startup; NaN before the first lookup.
+	 */
+	public void registerCacheHitRatio(String cache, String tier, Counter hits, Counter misses) {
+		Gauge.builder(MetricsConstants.PAYMENTS_CACHE_HIT_RATIO,
+				() -> hits.count() / (hits.count() + misses.count()))
+		.tag(MetricsConstants.TAG_CACHE, cache)
+		.tag(MetricsConstants.TAG_TIER, tier)
+		.register(meterRegistry);
+	}
+
+	public void registerCacheSizeGauge(String cache, Supplier<Number> size) {
+		Gauge.builder(MetricsConstants.PAYMENTS_CACHE_SIZE, size).tag(MetricsConstants.TAG_CACHE, cache)
+		.register(meterRegistry);
+	}
+
+	public void countSharedCacheError() {
+		meterRegistry.counter(MetricsConstants.PAYMENTS_CACHE_L2_ERRORS).increment();
+	}
+
+	public void registerDuplicateFilterGauges(ShardedBloomFilter filter) {
+		Gauge.builder(MetricsConstants.PAYMENTS_DUPLICATE_FILTER_FILL, filter, ShardedBloomFilter::getFillRatio)
+		.register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_DUPLICATE_FILTER_INSERTIONS, filter, ShardedBloomFilter::getInsertions)
+		.register(meterRegistry);
+		Gauge.builder(MetricsConstants.PAYMENTS_DUPLICATE_FILTER_FPP, filter,
+				ShardedBloomFilter::getExpectedFalsePositiveRate)
+		.register(meterRegistry);
+	}
+}
@@ -12,4 +12,5 @@ public class PaymentRequest {
 	private String provider;
 	private String customerID;
 	private String mobileNo;
-}
\ No newline at end of file
+	private String merchantTransactionReference;
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.hulkhiretech.payments.security;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+/**
+ * Reusable byte arrays for request bodies. A body of up to buffer-size bytes, which covers every
+ * payment request, is read into a pooled array that goes back to the pool when the request ends;
+ * a bigger one gets an array of its own. At most buffer-pool-size idle arrays are kept.
+ */
+@Component
+public class BodyBufferPool {
+
+	private final int bufferSize;
+	private final int maxIdle;
+	@Getter
+	private final int maxBodyBytes;
+
+	private final Queue<byte[]> idle = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	public BodyBufferPool(@Value("${payments.request.buffer-size:4096}") int bufferSize,
+			@Value("${payments.request.buffer-pool-size:256}") int maxIdle,
+			@Value("${payments.request.max-body-bytes:16384}") int maxBodyBytes) {
+		if (bufferSize <= 0 || bufferSize > maxBodyBytes) {
+			throw new IllegalArgumentException("payments.request.buffer-size must be between 1 and "
+					+ "payments.request.max-body-bytes (" + maxBodyBytes + "): " + bufferSize);
+		}
+		this.bufferSize = bufferSize;
+		this.maxIdle = maxIdle;
+		this.maxBodyBytes = maxBodyBytes;
+	}
+
+	/**
+	 * @param contentLength the announced body length, -1 when unknown
+	 */
+	byte[] acquire(long contentLength) {
+		if (contentLength > bufferSize) {
+			return new byte[(int) contentLength];
+		}
+		byte[] buffer = idle.poll();
+		if (buffer == null) {
+			return new byte[bufferSize];
+		}
+		idleCount.decrementAndGet();
+		return buffer;
+	}
+
+	/**
+	 * Takes back an array from {@link #acquire}; arrays that are not of the pooled size are left to
+	 * the GC.
+	 */
+	void release(byte[] buffer) {
+		if (buffer.length != bufferSize) {
+			return;
+		}
+		if (idleCount.incrementAndGet() <= maxIdle) {
+			idle.offer(buffer);
+		} else {
+			idleCount.decrementAndGet();
+		}
+	}
+}
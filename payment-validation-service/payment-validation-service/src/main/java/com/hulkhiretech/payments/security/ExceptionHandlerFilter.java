@@ -7,6 +7,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.google.gson.Gson;
 import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.exceptions.RequestTooLargeException;
 import com.hulkhiretech.payments.exceptions.ValidationException;
 import com.hulkhiretech.payments.pojo.ErrorResponse;
 
@@ -22,32 +23,34 @@ public class ExceptionHandlerFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		try {
-			log.info(" ExceptionHandlerFilter Before doFilter");
+			log.debug(" ExceptionHandlerFilter Before doFilter");
 			filterChain.doFilter(request, response);
-			log.info(" ExceptionHandlerFilter After doFilter");
+			log.debug(" ExceptionHandlerFilter After doFilter");
 		} catch (ValidationException ex) {
-			log.error(" ValidationException message is -> " + ex.getMessage());
+			log.error(" ValidationException message is -> {}", ex.getMessage());
 			
 			ErrorResponse paymentResponse = new ErrorResponse(
 					ex.getErrorCode(),
 					ex.getErrorMessage());
 			
-			log.error(" paymentResponse is -> " + paymentResponse);
+			log.error(" paymentResponse is -> {}", paymentResponse);
 			
 			Gson gson = new Gson();
-			response.setStatus(HttpStatus.BAD_REQUEST.value());
+			response.setStatus(ex instanceof RequestTooLargeException
+					? HttpStatus.PAYLOAD_TOO_LARGE.value()
+					: HttpStatus.BAD_REQUEST.value());
 			response.setContentType("application/json");
 			response.getWriter().write(gson.toJson(paymentResponse));
 			response.getWriter().flush();
 			
 		} catch (Exception ex) {
-			log.error(" generic exception message is -> " + ex.getMessage());
+			log.error(" generic exception message is -> {}", ex.getMessage());
 			
 			ErrorResponse paymentResponse = new ErrorResponse(
 					ErrorEnum.GENERIC_ERROR.getErrorCode(),
 					ErrorEnum.GENERIC_ERROR.getErrorMessage());
 			
-			log.error(" paymentResponse is -> " + paymentResponse);
+			log.error(" paymentResponse is -> {}", paymentResponse);
 			Gson gson = new Gson();
 			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
 			response.setContentType("application/json");
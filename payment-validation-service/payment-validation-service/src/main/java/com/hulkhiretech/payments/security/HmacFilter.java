@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 
+import org.slf4j.MDC;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,9 +12,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.google.gson.Gson;
 import com.hulkhiretech.payments.constants.Constants;
+import com.hulkhiretech.payments.constants.LoggingConstants;
 import com.hulkhiretech.payments.pojo.PaymentRequest;
 import com.hulkhiretech.payments.services.interfaces.HMacSHA256Service;
-import com.hulkhiretech.payments.util.RequestUtil;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,13 +25,18 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class HmacFilter extends OncePerRequestFilter {
 
+	public static final String HEALTH_PATH = "/actuator/health";
+
 	private HMacSHA256Service hMacSHA256Service;
 	
 	private Gson gson;
 
-	public HmacFilter(HMacSHA256Service hMacSHA256Service, Gson gson) {
+	private BodyBufferPool bodyBufferPool;
+
+	public HmacFilter(HMacSHA256Service hMacSHA256Service, Gson gson, BodyBufferPool bodyBufferPool) {
 		this.hMacSHA256Service = hMacSHA256Service;
 		this.gson = gson;
+		this.bodyBufferPool = bodyBufferPool;
 	}
 
 	@Override
@@ -38,37 +44,61 @@ public class HmacFilter extends OncePerRequestFilter {
 			HttpServletResponse response, 
 			FilterChain filterChain)
 					throws ServletException, IOException {
-		log.info("HmacFilter: Processing request");
-		WrappedRequest wrappedRequest = new WrappedRequest(requestRef);
+		log.debug("HmacFilter: Processing request");
+		WrappedRequest wrappedRequest = new WrappedRequest(requestRef, bodyBufferPool);
+		try {
+			doFilterWrapped(wrappedRequest, response, filterChain);
+		} finally {
+			// the controller works on the parsed PaymentRequest, the body is no longer needed
+			wrappedRequest.release();
+		}
+	}
+
+	private void doFilterWrapped(WrappedRequest wrappedRequest, 
+			HttpServletResponse response, 
+			FilterChain filterChain)
+					throws ServletException, IOException {
 
 		String incomingHmacSignature = wrappedRequest.getHeader(
 				Constants.HMAC_SIGNATURE); 
 
-		PaymentRequest reqObj = getReqObjFromServletReq(wrappedRequest);
-		PaymentRequest convertedResponse = RequestUtil.extractPaymentRequest(wrappedRequest);
-		log.info("HmacFilter: Converted PaymentRequest: {}", convertedResponse);
-		
-
-		log.info("HmacFilter: Extracted PaymentRequest: {}", reqObj);
+		String clientId = wrappedRequest.getHeader(Constants.CLIENT_ID);
+		if (clientId == null || clientId.isEmpty()) {
+			// merchants set up before the client-id header existed
+			clientId = hMacSHA256Service.getDefaultClientId();
+		}
 
 		// If below method throws exception, means invalid, else valid.
+		// Signed over the raw body, so the client's field order and whitespace do not matter.
 		hMacSHA256Service.verifyHmacSignature(
-				incomingHmacSignature, reqObj);
+				clientId, incomingHmacSignature, wrappedRequest.getBodyBuffer());
+
+		// The only parse of the body, the controller takes the object from the request attribute.
+		PaymentRequest reqObj = getReqObjFromServletReq(wrappedRequest);
+		log.debug("HmacFilter: Extracted PaymentRequest: {}", reqObj);
+		wrappedRequest.setAttribute(Constants.PAYMENT_REQUEST_ATTRIBUTE, reqObj);
 
 		// ONLY VALID REQUESTS WILL REACH HERE.
+		MDC.put(LoggingConstants.MDC_CLIENT_ID, clientId);
 		log.info("HmacFilter: HMAC signature verified successfully");
 
 		// Request is authenticated, set the security context.
 		SecurityContext context = SecurityContextHolder.createEmptyContext(); 
 		Authentication authentication = new HmacAuthenticationToken(
-				hMacSHA256Service.getClientId(), incomingHmacSignature);
+				clientId, incomingHmacSignature);
 		context.setAuthentication(authentication);
 		SecurityContextHolder.setContext(context);
-		log.info("HmacFilter: Security context set with authentication");
+		log.debug("HmacFilter: Security context set with authentication");
 
 		filterChain.doFilter(wrappedRequest, response); 
 
-		log.info("HmacFilter: Filter chain processed successfully");
+		log.debug("HmacFilter: Filter chain processed successfully");
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		return path.equals(HEALTH_PATH) || path.startsWith(HEALTH_PATH + "/");
 	}
 
 	private PaymentRequest getReqObjFromServletReq(WrappedRequest wrappedRequest) {
@@ -0,0 +1,28 @@
+package com.hulkhiretech.payments.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * merchant.auth.keys.&lt;clientId&gt;.active / .next: HMAC keys per merchant, chosen by the
+ * client-id request header. While a key is being rotated the merchant has both and may sign with
+ * either; once every client signs with the new key it becomes active and next is removed.
+ */
+@Data
+@Component
+@ConfigurationProperties("merchant.auth")
+public class MerchantKeyProperties {
+
+	private Map<String, KeySet> keys = new HashMap<>();
+
+	@Data
+	public static class KeySet {
+		private String active;
+		private String next;
+	}
+}
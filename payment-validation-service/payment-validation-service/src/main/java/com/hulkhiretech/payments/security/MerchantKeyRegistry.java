@@ -0,0 +1,127 @@
+package com.hulkhiretech.payments.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The HMAC keys of every merchant from {@link MerchantKeyProperties}, loaded once at startup.
+ * Each key keeps a pool of Mac instances already initialised with it, so a request costs only
+ * update and doFinal; Mac.getInstance and the key schedule run once per concurrent caller, not
+ * once per request.
+ */
+@Slf4j
+@Component
+public class MerchantKeyRegistry {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private final Map<String, MerchantKeys> merchants;
+
+	public MerchantKeyRegistry(MerchantKeyProperties merchantKeyProperties) {
+		Map<String, MerchantKeys> loaded = new HashMap<>();
+		merchantKeyProperties.getKeys().forEach((clientId, keySet) -> {
+			if (keySet.getActive() == null || keySet.getActive().isEmpty()) {
+				throw new IllegalStateException("merchant.auth.keys." + clientId + ".active is missing");
+			}
+			List<MacPool> macPools = new ArrayList<>(2);
+			macPools.add(new MacPool(keySet.getActive()));
+			if (keySet.getNext() != null && !keySet.getNext().isEmpty()) {
+				macPools.add(new MacPool(keySet.getNext()));
+			}
+			loaded.put(clientId, new MerchantKeys(List.copyOf(macPools)));
+		});
+		this.merchants = Map.copyOf(loaded);
+		log.info("Loaded HMAC keys for merchants: {}", merchants.keySet());
+	}
+
+	/**
+	 * @return the keys of the merchant, or null for an unknown client id
+	 */
+	public MerchantKeys get(String clientId) {
+		return clientId == null ? null : merchants.get(clientId);
+	}
+
+	public static final class MerchantKeys {
+
+		// the active key first, then the next one if a rotation is under way
+		private final List<MacPool> macPools;
+
+		private MerchantKeys(List<MacPool> macPools) {
+			this.macPools = macPools;
+		}
+
+		/**
+		 * Signs with the active key.
+		 */
+		public byte[] sign(byte[] data) {
+			return macPools.get(0).doFinal(ByteBuffer.wrap(data));
+		}
+
+		/**
+		 * @return 0 if the signature was made with the active key, 1 with the next key, -1 with
+		 *         neither
+		 */
+		public int verify(ByteBuffer data, byte[] signature) {
+			for (int i = 0; i < macPools.size(); i++) {
+				// constant time, the response time must not tell how many leading bytes matched
+				if (MessageDigest.isEqual(macPools.get(i).doFinal(data.duplicate()), signature)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	static final class MacPool {
+
+		private final SecretKeySpec keySpec;
+		// grows to the highest number of requests of one merchant in flight at once
+		private final Queue<Mac> idle = new ConcurrentLinkedQueue<>();
+
+		MacPool(String key) {
+			this.keySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+			// fail at startup rather than on the first request
+			idle.add(newMac());
+		}
+
+		// a heap buffer is read in place, not copied
+		byte[] doFinal(ByteBuffer data) {
+			Mac mac = idle.poll();
+			if (mac == null) {
+				mac = newMac();
+			}
+			try {
+				mac.update(data);
+				// doFinal resets the Mac to its initialised state, ready for the next caller
+				return mac.doFinal();
+			} finally {
+				idle.offer(mac);
+			}
+		}
+
+		private Mac newMac() {
+			try {
+				Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+				mac.init(keySpec);
+				return mac;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("HmacSHA256 is not available", e);
+			}
+		}
+	}
+}
@@ -2,49 +2,102 @@ package com.hulkhiretech.payments.security;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.hulkhiretech.payments.exceptions.RequestTooLargeException;
 
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
+import lombok.extern.slf4j.Slf4j;
 
-
+/**
+ * Reads the body once, straight into an array from {@link BodyBufferPool}, and serves every later
+ * read from views over that array. A body announced or found to be over the size limit is
+ * rejected with {@link RequestTooLargeException} as soon as that is known. {@link #release} must
+ * be called when the request is done; the body cannot be read after that.
+ */
+@Slf4j
 public class WrappedRequest extends HttpServletRequestWrapper {
+   private final BodyBufferPool bodyBufferPool;
    private byte[] buffer;
-   public WrappedRequest(HttpServletRequest req) throws IOException {
+   private int length;
+   public WrappedRequest(HttpServletRequest req, BodyBufferPool bodyBufferPool) throws IOException {
        super(req);
-       // Read InputStream and store its content in a buffer.
-       InputStream is = req.getInputStream();
-       ByteArrayOutputStream baos = new ByteArrayOutputStream();
-       byte[] buf = new byte[1024];
-       int read;
-       while ((read = is.read(buf)) > 0) {
-           baos.write(buf, 0, read);
+       this.bodyBufferPool = bodyBufferPool;
+       int maxBodyBytes = bodyBufferPool.getMaxBodyBytes();
+       long contentLength = req.getContentLengthLong();
+       if (contentLength > maxBodyBytes) {
+           log.error("Request body of {} bytes is over the limit of {} bytes", contentLength, maxBodyBytes);
+           throw new RequestTooLargeException();
+       }
+       this.buffer = bodyBufferPool.acquire(contentLength);
+       try {
+           readBody(req.getInputStream(), maxBodyBytes);
+       } catch (IOException | RuntimeException e) {
+           release();
+           throw e;
+       }
+   }
+   private void readBody(InputStream is, int maxBodyBytes) throws IOException {
+       while (true) {
+           if (length == buffer.length) {
+               // usually the end of a body whose Content-Length was sent
+               int next = is.read();
+               if (next == -1) {
+                   return;
+               }
+               if (length == maxBodyBytes) {
+                   log.error("Request body is over the limit of {} bytes", maxBodyBytes);
+                   throw new RequestTooLargeException();
+               }
+               byte[] grown = Arrays.copyOf(buffer, (int) Math.min(maxBodyBytes, 2L * buffer.length));
+               bodyBufferPool.release(buffer);
+               buffer = grown;
+               buffer[length++] = (byte) next;
+           }
+           int read = is.read(buffer, length, buffer.length - length);
+           if (read == -1) {
+               return;
+           }
+           length += read;
+       }
+   }
+   /**
+    * The body exactly as received, as a view over the buffer.
+    */
+   public ByteBuffer getBodyBuffer() {
+       return ByteBuffer.wrap(buffer, 0, length);
+   }
+   public String getBody() {
+       return new String(buffer, 0, length, StandardCharsets.UTF_8);
+   }
+   /**
+    * Hands the buffer back to the pool.
+    */
+   public void release() {
+       if (buffer != null) {
+           bodyBufferPool.release(buffer);
+           buffer = null;
        }
-       this.buffer = baos.toByteArray();
    }
    @Override
    public ServletInputStream getInputStream() {
-       ByteArrayInputStream bais = new ByteArrayInputStream(this.buffer);
-       return new BufferedServletInputStream(bais);
+       return new BufferedServletInputStream(new ByteArrayInputStream(buffer, 0, length));
    }
-   public String getBody() throws IOException {
-       BufferedReader reader = new BufferedReader(new InputStreamReader(
-               this.getInputStream()));
-       String line;
-       StringBuilder inputBuffer = new StringBuilder();
-       do {
-           line = reader.readLine();
-           if (null != line) {
-               inputBuffer.append(line.trim());
-           }
-       } while (line != null);
-       reader.close();
-       return inputBuffer.toString().trim();
+   @Override
+   public int getContentLength() {
+       return length;
+   }
+   @Override
+   public long getContentLengthLong() {
+       return length;
    }
    private static final class BufferedServletInputStream extends ServletInputStream {
        private ByteArrayInputStream bais;
@@ -65,20 +118,20 @@ public class WrappedRequest extends HttpServletRequestWrapper {
        }
        @Override
        public boolean isFinished() {
-           return false;
+           return this.bais.available() == 0;
        }
        @Override
        public boolean isReady() {
-           return false;
+           return true;
        }
        @Override
        public void setReadListener(ReadListener readListener) {
        }
    }
-   
+
    @Override
    public BufferedReader getReader() throws IOException {
-       return new BufferedReader(new InputStreamReader(getInputStream(), "UTF-8"));
+       return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
    }
 
 }
@@ -1,22 +1,20 @@
 package com.hulkhiretech.payments.services.impl;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.google.gson.Gson;
 import com.hulkhiretech.payments.constants.ErrorEnum;
 import com.hulkhiretech.payments.exceptions.ValidationException;
-import com.hulkhiretech.payments.pojo.PaymentRequest;
+import com.hulkhiretech.payments.security.MerchantKeyRegistry;
+import com.hulkhiretech.payments.security.MerchantKeyRegistry.MerchantKeys;
 import com.hulkhiretech.payments.services.interfaces.HMacSHA256Service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,44 +23,29 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class HMacSHA256ServiceImpl implements HMacSHA256Service {
 
-	private final Gson gson;
+	private static final String HMAC_VERIFY_OBSERVATION = "payments.hmac.verify";
+
+	private final ObservationRegistry observationRegistry;
+
+	private final MerchantKeyRegistry merchantKeyRegistry;
 	
 	@Value("${merchant.client.id}")
-	private String clientId;
+	private String defaultClientId;
 
 	@Override
-	public String generateHmacSHA256Signature(String jsonData) {
-
-		String secretKey = "THIS_IS_MY_SECRET";
-		String signature = null;
-
-		try {
-			// Create a SecretKeySpec object from the secret key
-			SecretKeySpec keySpec = new SecretKeySpec(
-					secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-
-			// Initialize the HMAC-SHA256 Mac instance
-			Mac mac = Mac.getInstance("HmacSHA256");
-			mac.init(keySpec);
+	public String generateHmacSHA256Signature(String clientId, String jsonData) {
 
-			// Compute the HMAC-SHA256 signature
-			byte[] signatureBytes = mac.doFinal(
-					jsonData.getBytes(StandardCharsets.UTF_8));
+		// Encode the signature in Base64
+		String signature = Base64.getEncoder().encodeToString(
+				getMerchantKeys(clientId).sign(jsonData.getBytes(StandardCharsets.UTF_8)));
 
-			// Encode the signature in Base64
-			signature = Base64.getEncoder(
-					).encodeToString(signatureBytes);
-
-		} catch (NoSuchAlgorithmException | InvalidKeyException e) {
-			e.printStackTrace();
-		}
-		log.info("Generated HMAC-SHA256 signature: {}", signature);
+		log.debug("Generated HMAC-SHA256 signature: {}", signature);
 		return signature;
 	}
 
 	@Override
-	public void verifyHmacSignature(String incomingHmacSignature, 
-			PaymentRequest paymentDetails) {
+	public void verifyHmacSignature(String clientId, String incomingHmacSignature, 
+			ByteBuffer body) {
 
 		if (incomingHmacSignature == null 
 				|| incomingHmacSignature.isEmpty()) {
@@ -73,30 +56,57 @@ public class HMacSHA256ServiceImpl implements HMacSHA256Service {
 					ErrorEnum.MISSING_HMAC_SIGNATURE.getErrorMessage());
 		}
 		
-		log.info("Verifying HMAC signature: {}", incomingHmacSignature);
+		MerchantKeys merchantKeys = getMerchantKeys(clientId);
 
-		String jsonReq = gson.toJson(paymentDetails);
-		
-		String generatedHmacSignature = generateHmacSHA256Signature(jsonReq);
-		log.info("Generated HMAC signature: {}", generatedHmacSignature);
+		log.debug("Verifying HMAC signature: {}", incomingHmacSignature);
+
+		byte[] incomingSignatureBytes;
+		try {
+			incomingSignatureBytes = Base64.getDecoder().decode(incomingHmacSignature);
+		} catch (IllegalArgumentException e) {
+			log.error("Incoming HMAC signature is not Base64: {}", incomingHmacSignature);
+
+			throw new ValidationException(
+					ErrorEnum.INVALID_HMAC_SIGNATURE.getErrorCode(),
+					ErrorEnum.INVALID_HMAC_SIGNATURE.getErrorMessage());
+		}
+
+		Integer matchedKey = Observation
+				.createNotStarted(HMAC_VERIFY_OBSERVATION, observationRegistry)
+				.observe(() -> merchantKeys.verify(body, incomingSignatureBytes));
 		
-		if (!incomingHmacSignature.equals(generatedHmacSignature)) {
+		if (matchedKey < 0) {
 			log.error("HMAC signature verification failed. "
-					+ "incomingHmacSignature: {}, generatedHmacSignature: {}", 
-					incomingHmacSignature,
-					generatedHmacSignature);
+					+ "incomingHmacSignature: {}", 
+					incomingHmacSignature);
 
 			throw new ValidationException(
 					ErrorEnum.INVALID_HMAC_SIGNATURE.getErrorCode(),
 					ErrorEnum.INVALID_HMAC_SIGNATURE.getErrorMessage());
 		}
 		
+		if (matchedKey > 0) {
+			log.debug("Request signed with the next key of merchant: {}", clientId);
+		}
+		
 		log.info("HMAC signature verification successful");
 	}
 
 	@Override
-	public String getClientId() {
-		return clientId;
+	public String getDefaultClientId() {
+		return defaultClientId;
+	}
+
+	private MerchantKeys getMerchantKeys(String clientId) {
+		MerchantKeys merchantKeys = merchantKeyRegistry.get(clientId);
+		if (merchantKeys == null) {
+			log.error("No HMAC key configured for client id: {}", clientId);
+
+			throw new ValidationException(
+					ErrorEnum.UNKNOWN_CLIENT_ID.getErrorCode(),
+					ErrorEnum.UNKNOWN_CLIENT_ID.getErrorMessage());
+		}
+		return merchantKeys;
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
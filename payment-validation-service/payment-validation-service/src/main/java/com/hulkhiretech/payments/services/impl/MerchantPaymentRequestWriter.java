@@ -0,0 +1,195 @@
+package com.hulkhiretech.payments.services.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.google.gson.Gson;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.dao.interfaces.MerchantPaymentRequestDAO;
+import com.hulkhiretech.payments.entity.MerchantPaymentRequest;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes every accepted payment request to merchant_payment_request off the request thread. The
+ * request only queues it; one writer thread turns up to batch-size queued requests into a single
+ * multi-row INSERT, at least every flush-interval-ms while there is something to write. JSON and
+ * gzip are done on the writer thread as well.
+ * <p>
+ * The queue is bounded: when the DB falls behind by queue-capacity rows, further requests are
+ * still accepted but not written, and counted as dropped. A batch the DB rejects is retried
+ * max-attempts times, then its references are logged. On shutdown, which comes after the web
+ * server has stopped taking requests, the queue is written out before the DataSource closes.
+ */
+@Service
+@Slf4j
+public class MerchantPaymentRequestWriter {
+
+	private final MerchantPaymentRequestDAO merchantPaymentRequestDAO;
+	private final ValidationMetrics validationMetrics;
+	private final Gson gson;
+
+	private final BlockingQueue<PaymentRequest> queue;
+	private final int batchSize;
+	private final long flushIntervalMs;
+	private final int maxAttempts;
+	private final boolean compressPayload;
+	private final long drainTimeoutMs;
+
+	private volatile boolean running = true;
+	private Thread writerThread;
+
+	public MerchantPaymentRequestWriter(MerchantPaymentRequestDAO merchantPaymentRequestDAO,
+			ValidationMetrics validationMetrics, Gson gson,
+			@Value("${payments.audit.queue-capacity:10000}") int queueCapacity,
+			@Value("${payments.audit.batch-size:500}") int batchSize,
+			@Value("${payments.audit.flush-interval-ms:200}") long flushIntervalMs,
+			@Value("${payments.audit.max-attempts:3}") int maxAttempts,
+			@Value("${payments.audit.compress-payload:false}") boolean compressPayload,
+			@Value("${payments.audit.drain-timeout-ms:10000}") long drainTimeoutMs) {
+		this.merchantPaymentRequestDAO = merchantPaymentRequestDAO;
+		this.validationMetrics = validationMetrics;
+		this.gson = gson;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushIntervalMs = flushIntervalMs;
+		this.maxAttempts = maxAttempts;
+		this.compressPayload = compressPayload;
+		this.drainTimeoutMs = drainTimeoutMs;
+		validationMetrics.registerAuditQueueGauge(queue::size);
+	}
+
+	@PostConstruct
+	public void start() {
+		writerThread = Thread.ofPlatform().name("merchant-request-writer").start(this::run);
+	}
+
+	/**
+	 * Queues the request for writing, never blocks.
+	 */
+	public void enqueue(PaymentRequest paymentRequest) {
+		if (!queue.offer(paymentRequest)) {
+			validationMetrics.countAuditRows(MetricsConstants.RESULT_DROPPED, 1);
+			log.error("merchant_payment_request queue is full, not writing reference: {}",
+					paymentRequest.getMerchantTransactionReference());
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		writerThread.join(drainTimeoutMs);
+		if (writerThread.isAlive()) {
+			log.error("merchant_payment_request writer did not finish within {} ms, {} requests not written",
+					drainTimeoutMs, queue.size());
+			writerThread.interrupt();
+		}
+	}
+
+	private void run() {
+		List<PaymentRequest> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PaymentRequest first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				// give the batch up to one flush interval to fill
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+				while (batch.size() < batchSize) {
+					if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+						continue;
+					}
+					long remaining = deadline - System.nanoTime();
+					PaymentRequest next = remaining > 0 && running
+							? queue.poll(remaining, TimeUnit.NANOSECONDS)
+							: null;
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("merchant_payment_request writer failed, {} requests lost", batch.size(), e);
+				validationMetrics.countAuditRows(MetricsConstants.RESULT_FAILED, batch.size());
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(List<PaymentRequest> batch) throws InterruptedException {
+		List<MerchantPaymentRequest> rows = new ArrayList<>(batch.size());
+		for (PaymentRequest paymentRequest : batch) {
+			rows.add(toRow(paymentRequest));
+		}
+		for (int attempt = 1;; attempt++) {
+			Timer.Sample sample = validationMetrics.startTimer();
+			try {
+				int written = merchantPaymentRequestDAO.insertIgnoringDuplicates(rows, compressPayload);
+				validationMetrics.recordAuditFlush(sample, MetricsConstants.OUTCOME_SUCCESS);
+				validationMetrics.countAuditRows(MetricsConstants.RESULT_WRITTEN, written);
+				validationMetrics.countAuditRows(MetricsConstants.RESULT_DUPLICATE, rows.size() - written);
+				log.debug("Wrote {} of {} merchant payment requests", written, rows.size());
+				return;
+			} catch (DataAccessException e) {
+				validationMetrics.recordAuditFlush(sample, MetricsConstants.OUTCOME_FAILURE);
+				if (attempt >= maxAttempts) {
+					validationMetrics.countAuditRows(MetricsConstants.RESULT_FAILED, rows.size());
+					log.error("Could not write {} merchant payment requests after {} attempts, references: {}",
+							rows.size(), attempt,
+							rows.stream().map(MerchantPaymentRequest::getMerchantTransactionReference).toList(), e);
+					return;
+				}
+				log.warn("Writing {} merchant payment requests failed, attempt {} of {}: {}", rows.size(), attempt,
+						maxAttempts, e.getMessage());
+				Thread.sleep(flushIntervalMs * attempt);
+			}
+		}
+	}
+
+	private MerchantPaymentRequest toRow(PaymentRequest paymentRequest) {
+		MerchantPaymentRequest row = new MerchantPaymentRequest();
+		row.setEndUserID(paymentRequest.getCustomerID());
+		row.setMerchantTransactionReference(paymentRequest.getMerchantTransactionReference());
+		String json = gson.toJson(paymentRequest);
+		if (compressPayload) {
+			row.setTransactionRequestGzip(gzip(json));
+		} else {
+			row.setTransactionRequest(json);
+		}
+		return row;
+	}
+
+	private static byte[] gzip(String json) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length() / 2);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+}
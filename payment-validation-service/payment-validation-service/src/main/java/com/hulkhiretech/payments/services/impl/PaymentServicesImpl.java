@@ -1,13 +1,11 @@
 package com.hulkhiretech.payments.services.impl;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
-import com.hulkhiretech.payments.constants.ValidatorEnum;
 import com.hulkhiretech.payments.pojo.PaymentRequest;
 import com.hulkhiretech.payments.pojo.PaymentResponse;
-import com.hulkhiretech.payments.services.impl.validator.Validator;
+import com.hulkhiretech.payments.services.impl.validator.ValidationRuleRegistry;
 import com.hulkhiretech.payments.services.interfaces.PaymentService;
 
 import jakarta.annotation.PostConstruct;
@@ -17,45 +15,27 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PaymentServicesImpl implements PaymentService {
 	
-	@Value("${validator.rules}")
-    private String validationRules;
+	private final ValidationRuleRegistry validationRuleRegistry;
 	
-	private ApplicationContext applicationContext;
+	private final MerchantPaymentRequestWriter merchantPaymentRequestWriter;
 	
 	@Value("${mytestkey}")
 	private String mytestkey;
 	
-	public PaymentServicesImpl(ApplicationContext applicationContext) {
-		this.applicationContext = applicationContext;
+	public PaymentServicesImpl(ValidationRuleRegistry validationRuleRegistry,
+			MerchantPaymentRequestWriter merchantPaymentRequestWriter) {
+		this.validationRuleRegistry = validationRuleRegistry;
+		this.merchantPaymentRequestWriter = merchantPaymentRequestWriter;
 	}
 
 	@Override
 	public PaymentResponse createPayment(PaymentRequest paymentDetails) {
-		log.info("Received payment details: {}", paymentDetails);
+		log.debug("Received payment details: {}", paymentDetails);
 		
-		// Split the validation rules and process each validator
-		String[] rules = validationRules.split(",");
-		for (String rule : rules) {
-			log.info("Applying validation rule: {}", rule);
-			
-			Class<? extends Validator> validatorClass = 
-					ValidatorEnum.getValidatorClassByName(rule);
-			
-			Validator validatorBean = null;
-			if (validatorClass != null) {
-				validatorBean = applicationContext.getBean(validatorClass);
-			}
-			
-			if (validatorBean == null || validatorClass == null) {
-				log.warn("Validator not found for rule: {}", rule);
-				continue; // Skip if validator not found
-			}
-			
-			log.info("Validator bean retrieved: {}", 
-					validatorBean.getClass().getSimpleName());
-			validatorBean.validate(paymentDetails);
-			
-		}
+		validationRuleRegistry.getPipeline().validate(paymentDetails);
+		
+		// written in the background, see MerchantPaymentRequestWriter
+		merchantPaymentRequestWriter.enqueue(paymentDetails);
 		
 		//TODO this is temporary, replace with actual functional values.
 		PaymentResponse paymentResponse = new PaymentResponse();
@@ -72,4 +52,4 @@ public class PaymentServicesImpl implements PaymentService {
 	public void init() {
 		log.info("****Calling init() mytestkey:{}", mytestkey);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -14,7 +14,7 @@ public class Check1Validator implements Validator {
 
 	@Override
 	public void validate(PaymentRequest paymentRequest) {
-		log.info("Validating payment request: {}", paymentRequest);
+		log.debug("Validating payment request: {}", paymentRequest);
 
 		// TEMP logic to throw exception
 		if (paymentRequest.getCustomerID() == null || paymentRequest.getCustomerID().isEmpty()) {
@@ -30,4 +30,4 @@ public class Check1Validator implements Validator {
 
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.dao.interfaces.MerchantPaymentRequestDAO;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+import com.hulkhiretech.payments.util.ShardedBloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects a merchantTransactionReference that was used before. A bloom filter loaded from
+ * merchant_payment_request at startup, and fed the rows added since every sync interval, answers
+ * "definitely new" for almost every request without a query; only references it might have seen
+ * are looked up in the table. A bounded set of the references accepted recently catches retries
+ * that arrive before their row is written.
+ * <p>
+ * The reference is only claimed in {@link #onAccepted}, once every rule has passed, so a payment
+ * rejected by any rule can be sent again with the same reference. The claim is atomic, when the
+ * same reference comes in twice at once only one of them is accepted.
+ * <p>
+ * Each sync re-reads the last sync-overlap-ids ids as well, since auto-increment ids from
+ * concurrent INSERTs can commit out of order. Instances only see each other's references through
+ * the table, so a duplicate sent to two instances within one sync interval plus the
+ * MerchantPaymentRequestWriter flush delay is accepted by both.
+ */
+@Service
+@Slf4j
+public class DuplicationTxnValidator implements Validator {
+
+	private final MerchantPaymentRequestDAO merchantPaymentRequestDAO;
+	private final ValidationMetrics validationMetrics;
+	private final ShardedBloomFilter filter;
+	private final long expectedReferences;
+	private final long syncOverlapIds;
+	private final Map<String, Boolean> recentReferences;
+
+	// until the table has been read into the filter every reference is looked up
+	private volatile boolean filterLoaded;
+	private long lastSyncedId;
+	private boolean sizeWarned;
+
+	public DuplicationTxnValidator(MerchantPaymentRequestDAO merchantPaymentRequestDAO,
+			ValidationMetrics validationMetrics,
+			@Value("${validator.duplicate.expected-references:1000000}") long expectedReferences,
+			@Value("${validator.duplicate.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${validator.duplicate.filter-shards:16}") int filterShards,
+			@Value("${validator.duplicate.recent-size:10000}") int recentSize,
+			@Value("${validator.duplicate.sync-overlap-ids:10000}") long syncOverlapIds) {
+		this.merchantPaymentRequestDAO = merchantPaymentRequestDAO;
+		this.validationMetrics = validationMetrics;
+		this.expectedReferences = expectedReferences;
+		this.syncOverlapIds = syncOverlapIds;
+		this.filter = new ShardedBloomFilter(expectedReferences, falsePositiveRate, filterShards);
+		this.recentReferences = new LinkedHashMap<>() {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > recentSize;
+			}
+		};
+		validationMetrics.registerDuplicateFilterGauges(filter);
+	}
+
+	@PostConstruct
+	public void init() {
+		syncFilter();
+	}
+
+	/**
+	 * Adds the rows written since the last sync, by this instance or any other. Until the first
+	 * sync succeeds every reference is looked up. References the filter may already hold are not
+	 * put again, which keeps the re-read overlap out of the insertion count.
+	 */
+	@Scheduled(initialDelayString = "${validator.duplicate.sync-interval-ms:5000}",
+			fixedDelayString = "${validator.duplicate.sync-interval-ms:5000}")
+	public synchronized void syncFilter() {
+		long start = System.nanoTime();
+		long before = filter.getInsertions();
+		long fromId = Math.max(0, lastSyncedId - syncOverlapIds);
+		try {
+			long maxId = merchantPaymentRequestDAO.forEachReferenceAfter(fromId, reference -> {
+				if (!filter.mightContain(reference)) {
+					filter.put(reference);
+				}
+			});
+			lastSyncedId = Math.max(lastSyncedId, maxId);
+		} catch (DataAccessException e) {
+			log.warn("Could not sync the duplicate filter from merchant_payment_request: {}", e.getMessage());
+			return;
+		}
+		if (!filterLoaded) {
+			filterLoaded = true;
+			log.info("Duplicate filter loaded with {} references in {} ms", filter.getInsertions() - before,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+		// half the bits are set once the filter holds the number of references it was sized for
+		if (!sizeWarned && filter.getFillRatio() > 0.5) {
+			sizeWarned = true;
+			log.warn("Duplicate filter is past validator.duplicate.expected-references ({}), raise it to keep "
+					+ "the false positive rate down", expectedReferences);
+		}
+	}
+
+	@Override
+	public void validate(PaymentRequest paymentRequest) {
+		String reference = paymentRequest.getMerchantTransactionReference();
+		if (reference == null || reference.isBlank()) {
+			log.error("Merchant transaction reference is missing in the payment request");
+			throw new ValidationException(ErrorEnum.MISSING_MERCHANT_TXN_REFERENCE.getErrorCode(),
+					ErrorEnum.MISSING_MERCHANT_TXN_REFERENCE.getErrorMessage());
+		}
+
+		boolean recent;
+		synchronized (recentReferences) {
+			recent = recentReferences.containsKey(reference);
+		}
+		if (recent) {
+			validationMetrics.countDuplicateCheck(MetricsConstants.RESULT_RECENT);
+			throw duplicate(reference);
+		}
+
+		boolean definitelyNew = filterLoaded && !filter.mightContain(reference);
+		if (definitelyNew) {
+			validationMetrics.countDuplicateCheck(MetricsConstants.RESULT_NEW);
+			return;
+		}
+
+		if (merchantPaymentRequestDAO.existsByReference(reference)) {
+			validationMetrics.countDuplicateCheck(MetricsConstants.RESULT_DUPLICATE);
+			throw duplicate(reference);
+		}
+		validationMetrics.countDuplicateCheck(
+				filterLoaded ? MetricsConstants.RESULT_FALSE_POSITIVE : MetricsConstants.RESULT_NEW);
+	}
+
+	/**
+	 * Claims the reference for this payment. Another request with the same reference may have
+	 * passed validate at the same time; whichever claims it second is rejected here.
+	 */
+	@Override
+	public void onAccepted(PaymentRequest paymentRequest) {
+		String reference = paymentRequest.getMerchantTransactionReference();
+		boolean claimed;
+		synchronized (recentReferences) {
+			claimed = recentReferences.putIfAbsent(reference, Boolean.TRUE) == null;
+		}
+		if (!claimed) {
+			validationMetrics.countDuplicateCheck(MetricsConstants.RESULT_RECENT);
+			throw duplicate(reference);
+		}
+		filter.put(reference);
+	}
+
+	// warm-up references would go into the filter and could collide with real ones
+	@Override
+	public boolean runsInWarmup() {
+		return false;
+	}
+
+	private static ValidationException duplicate(String reference) {
+		log.error("Duplicate merchant transaction reference: {}", reference);
+		return new ValidationException(ErrorEnum.DUPLICATE_MERCHANT_TXN_REFERENCE.getErrorCode(),
+				ErrorEnum.DUPLICATE_MERCHANT_TXN_REFERENCE.getErrorMessage());
+	}
+}
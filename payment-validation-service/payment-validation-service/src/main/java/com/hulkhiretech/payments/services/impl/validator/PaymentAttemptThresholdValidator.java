@@ -0,0 +1,130 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+import com.hulkhiretech.payments.util.SlidingWindowCounters;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Velocity check: at most maxPaymentThreshold payment attempts per customer within the last
+ * durationInMins minutes, both from validation_rules_params. Attempts are counted in memory per
+ * instance, rejected ones included, so a customer retrying in a loop stays blocked until they
+ * slow down. Customers are no longer tracked once their window is empty; if more than
+ * validator.attempt-threshold.max-users are active at once, the extra ones are not checked.
+ */
+@Service
+@Slf4j
+public class PaymentAttemptThresholdValidator implements Validator {
+
+	static final String PARAM_DURATION_IN_MINS = "durationInMins";
+	static final String PARAM_MAX_PAYMENT_THRESHOLD = "maxPaymentThreshold";
+
+	private final ValidationMetrics validationMetrics;
+	private final int maxUsers;
+
+	// the counters of the current parameters, kept while the parameters stay the same
+	private volatile ThresholdCheck current;
+
+	record Config(Duration window, int maxAttempts) {
+	}
+
+	public PaymentAttemptThresholdValidator(ValidationMetrics validationMetrics,
+			@Value("${validator.attempt-threshold.max-users:1000000}") int maxUsers) {
+		this.validationMetrics = validationMetrics;
+		this.maxUsers = maxUsers;
+		validationMetrics.registerAttemptUsersGauge(() -> {
+			ThresholdCheck check = current;
+			return check == null ? 0 : check.counters.size();
+		});
+	}
+
+	@Override
+	public void validate(PaymentRequest paymentRequest) {
+		throw new IllegalStateException("PAYMENT_ATTEMPT_THRESHOLD_RULE runs with its rule parameters only");
+	}
+
+	@Override
+	public synchronized Validator withParams(Map<String, String> params) {
+		Config config = new Config(Duration.ofMinutes(parse(params, PARAM_DURATION_IN_MINS, 1, 24 * 60)),
+				(int) parse(params, PARAM_MAX_PAYMENT_THRESHOLD, 1, SlidingWindowCounters.MAX_BUCKET_COUNT - 1));
+		if (current == null || !current.config.equals(config)) {
+			// new limits start from empty counts
+			current = new ThresholdCheck(config, new SlidingWindowCounters(config.window(), maxUsers));
+			log.info("Payment attempt threshold: {} attempts per {}", config.maxAttempts(), config.window());
+		}
+		return current;
+	}
+
+	@Scheduled(fixedDelayString = "${validator.attempt-threshold.eviction-interval-ms:60000}")
+	void evictIdleUsers() {
+		ThresholdCheck check = current;
+		if (check != null) {
+			int evicted = check.counters.evictIdle();
+			log.debug("Evicted {} idle customers from the attempt counters, {} left", evicted, check.counters.size());
+		}
+	}
+
+	private static long parse(Map<String, String> params, String name, long min, long max) {
+		String value = params.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException(name + " is missing");
+		}
+		long parsed;
+		try {
+			parsed = Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + " is not a number: " + value);
+		}
+		if (parsed < min || parsed > max) {
+			throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+		}
+		return parsed;
+	}
+
+	private final class ThresholdCheck implements Validator {
+
+		private final Config config;
+		private final SlidingWindowCounters counters;
+
+		private ThresholdCheck(Config config, SlidingWindowCounters counters) {
+			this.config = config;
+			this.counters = counters;
+		}
+
+		@Override
+		public void validate(PaymentRequest paymentRequest) {
+			String customerId = paymentRequest.getCustomerID();
+			if (customerId == null || customerId.isEmpty()) {
+				// CHECK1_VALIDATOR_RULE reports the missing customer
+				return;
+			}
+			int attempts = counters.increment(customerId);
+			if (attempts < 0) {
+				validationMetrics.countAttemptOverflow();
+				return;
+			}
+			if (attempts > config.maxAttempts()) {
+				log.error("Payment attempt threshold exceeded for customer: {}, {} attempts in {}", customerId,
+						attempts, config.window());
+				throw new ValidationException(ErrorEnum.PAYMENT_ATTEMPT_THRESHOLD_EXCEEDED.getErrorCode(),
+						ErrorEnum.PAYMENT_ATTEMPT_THRESHOLD_EXCEEDED.getErrorMessage());
+			}
+		}
+
+		// warm-up customers would take up slots in the counters
+		@Override
+		public boolean runsInWarmup() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.cache.TwoTierCache;
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.entity.User;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects a customerID with no row in validations.users. The lookup goes through the user cache,
+ * so a customer seen recently, known or unknown, costs no query.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RegisteredUserValidator implements Validator {
+
+	private final TwoTierCache<User> userCache;
+
+	@Override
+	public void validate(PaymentRequest paymentRequest) {
+		String customerID = paymentRequest.getCustomerID();
+		if (customerID == null || customerID.isEmpty()) {
+			// CHECK1_VALIDATOR_RULE reports the missing customer
+			return;
+		}
+		if (userCache.get(customerID) == null) {
+			log.error("Customer is not registered: {}", customerID);
+			throw new ValidationException(ErrorEnum.UNKNOWN_CUSTOMER.getErrorCode(),
+					ErrorEnum.UNKNOWN_CUSTOMER.getErrorMessage());
+		}
+	}
+
+	@Override
+	public boolean runsInWarmup() {
+		return false;
+	}
+}
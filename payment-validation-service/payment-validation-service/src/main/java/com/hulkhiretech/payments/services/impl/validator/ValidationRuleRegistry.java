@@ -0,0 +1,162 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hulkhiretech.payments.cache.TwoTierCache;
+import com.hulkhiretech.payments.config.CacheConfig;
+import com.hulkhiretech.payments.constants.ValidatorEnum;
+import com.hulkhiretech.payments.entity.ValidationRule;
+import com.hulkhiretech.payments.entity.ValidationRuleParam;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the validator pipeline built from validations.validation_rules and
+ * validation_rules_params. The tables are re-read every validator.refresh-interval-ms and a new
+ * pipeline is swapped in when they changed, so rules can be switched on and off without a
+ * restart. If the first load fails the rules listed in validator.rules are used; a failed
+ * refresh keeps the current pipeline. The pipeline is this instance's copy of the rules; the
+ * tables are read through the rule caches, so with a shared cache configured a fleet reads them
+ * from MySQL about once per payments.cache.rules.l2-ttl-ms rather than once per instance and
+ * refresh.
+ */
+@Service
+@Slf4j
+public class ValidationRuleRegistry {
+
+	private final TwoTierCache<List<ValidationRule>> ruleCache;
+	private final TwoTierCache<List<ValidationRuleParam>> ruleParamCache;
+	private final ApplicationContext applicationContext;
+	private final ExecutorService validatorExecutor;
+	private final ValidationMetrics validationMetrics;
+	private final String fallbackRules;
+
+	private volatile ValidatorPipeline pipeline;
+
+	// rows the current pipeline was built from, a refresh with the same rows changes nothing
+	private List<ValidationRule> loadedRules;
+	private List<ValidationRuleParam> loadedParams;
+
+	public ValidationRuleRegistry(TwoTierCache<List<ValidationRule>> ruleCache,
+			TwoTierCache<List<ValidationRuleParam>> ruleParamCache, ApplicationContext applicationContext,
+			ExecutorService validatorExecutor, ValidationMetrics validationMetrics,
+			@Value("${validator.rules}") String fallbackRules) {
+		this.ruleCache = ruleCache;
+		this.ruleParamCache = ruleParamCache;
+		this.applicationContext = applicationContext;
+		this.validatorExecutor = validatorExecutor;
+		this.validationMetrics = validationMetrics;
+		this.fallbackRules = fallbackRules;
+	}
+
+	public ValidatorPipeline getPipeline() {
+		return pipeline;
+	}
+
+	@PostConstruct
+	public void init() {
+		if (!refresh()) {
+			pipeline = compileFallback();
+			log.warn("Validation rules not loaded from the database, using validator.rules: {}", pipeline);
+		}
+	}
+
+	/**
+	 * @return false when the rules could not be loaded or compiled and the pipeline was left as it was
+	 */
+	@Scheduled(initialDelayString = "${validator.refresh-interval-ms:30000}",
+			fixedDelayString = "${validator.refresh-interval-ms:30000}")
+	public synchronized boolean refresh() {
+		List<ValidationRule> rules;
+		List<ValidationRuleParam> params;
+		try {
+			rules = ruleCache.get(CacheConfig.ALL_ROWS_KEY);
+			params = ruleParamCache.get(CacheConfig.ALL_ROWS_KEY);
+		} catch (DataAccessException e) {
+			log.warn("Could not load validation rules, pipeline not changed: {}", e.getMessage());
+			return false;
+		}
+		if (rules.equals(loadedRules) && params.equals(loadedParams)) {
+			return true;
+		}
+
+		ValidatorPipeline compiled;
+		try {
+			compiled = compile(rules, params);
+		} catch (IllegalArgumentException e) {
+			log.error("Invalid validation rule configuration, pipeline not changed: {}", e.getMessage());
+			return false;
+		}
+		pipeline = compiled;
+		loadedRules = rules;
+		loadedParams = params;
+		log.info("Validation pipeline updated: {}", compiled);
+		return true;
+	}
+
+	/**
+	 * Drops the cached rule tables and rebuilds the pipeline from MySQL right away. Other
+	 * instances pick the change up at their next refresh.
+	 */
+	public boolean reload() {
+		ruleCache.invalidate(CacheConfig.ALL_ROWS_KEY);
+		ruleParamCache.invalidate(CacheConfig.ALL_ROWS_KEY);
+		return refresh();
+	}
+
+	private ValidatorPipeline compile(List<ValidationRule> rules, List<ValidationRuleParam> params) {
+		Map<String, Map<String, String>> paramsByRule = new HashMap<>();
+		for (ValidationRuleParam param : params) {
+			paramsByRule.computeIfAbsent(param.getValidatorName(), name -> new HashMap<>())
+					.put(param.getParamName(), param.getParamValue());
+		}
+
+		List<ValidatorPipeline.Step> steps = new ArrayList<>();
+		for (ValidationRule rule : rules) {
+			Validator validator = resolve(rule.getValidatorName(),
+					paramsByRule.getOrDefault(rule.getValidatorName(), Map.of()));
+			if (validator != null) {
+				steps.add(new ValidatorPipeline.Step(rule.getValidatorName(), rule.getPriority(), validator));
+			}
+		}
+		return new ValidatorPipeline(steps, validatorExecutor, validationMetrics);
+	}
+
+	private ValidatorPipeline compileFallback() {
+		List<ValidatorPipeline.Step> steps = new ArrayList<>();
+		String[] names = fallbackRules.split(",");
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i].trim();
+			Validator validator = resolve(name, Map.of());
+			if (validator != null) {
+				steps.add(new ValidatorPipeline.Step(name, i, validator));
+			}
+		}
+		return new ValidatorPipeline(steps, validatorExecutor, validationMetrics);
+	}
+
+	private Validator resolve(String name, Map<String, String> params) {
+		Class<? extends Validator> validatorClass = ValidatorEnum.getValidatorClassByName(name);
+		if (validatorClass == null) {
+			log.warn("Validator not found for rule: {}, skipping it", name);
+			return null;
+		}
+		try {
+			return applicationContext.getBean(validatorClass).withParams(params);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(name + ": " + e.getMessage(), e);
+		}
+	}
+}
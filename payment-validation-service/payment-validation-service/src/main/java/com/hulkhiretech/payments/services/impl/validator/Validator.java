@@ -1,9 +1,36 @@
 package com.hulkhiretech.payments.services.impl.validator;
 
+import java.util.Map;
+
 import com.hulkhiretech.payments.pojo.PaymentRequest;
 
 public interface Validator {
 
 	void validate(PaymentRequest paymentRequest);
 
+	/**
+	 * Called once every rule has passed, so a rule that claims something for the request (a
+	 * reference, a slot) takes it here and a payment rejected by another rule leaves nothing
+	 * behind. May still reject the payment with ValidationException.
+	 */
+	default void onAccepted(PaymentRequest paymentRequest) {
+	}
+
+	/**
+	 * Validator to run with the rule's rows from validation_rules_params. Called once per rule
+	 * refresh, so the values are parsed into typed fields here and not on every request. Throws
+	 * IllegalArgumentException for missing or malformed values.
+	 */
+	default Validator withParams(Map<String, String> params) {
+		return this;
+	}
+
+	/**
+	 * False for a rule that checks the customer against stored data, or keeps state per customer
+	 * or reference: it would reject every synthetic warm-up request, or fill its production state
+	 * with them, so the warm-up leaves it out.
+	 */
+	default boolean runsInWarmup() {
+		return true;
+	}
 }
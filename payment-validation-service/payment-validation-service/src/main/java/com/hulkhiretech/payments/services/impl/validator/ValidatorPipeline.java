@@ -0,0 +1,150 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.MDC;
+
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable list of validators with their parameters already applied, grouped into tiers of
+ * equal priority. Tiers run one after the other, lowest priority first. The validators of a tier
+ * run side by side, so a tier takes as long as its slowest rule; the first one to fail decides
+ * the error and the others are interrupted. Once every tier has passed, each validator's
+ * onAccepted runs on the request thread, in priority order. A new pipeline is built on every rule
+ * change; requests keep the one they started with.
+ */
+@Slf4j
+public final class ValidatorPipeline {
+
+	public record Step(String name, int priority, Validator validator) {
+	}
+
+	private record Tier(int priority, List<Step> steps) {
+	}
+
+	private final List<Step> steps;
+	private final List<Tier> tiers;
+	private final ExecutorService executor;
+	private final ValidationMetrics validationMetrics;
+
+	public ValidatorPipeline(List<Step> steps, ExecutorService executor, ValidationMetrics validationMetrics) {
+		this.steps = steps.stream().sorted(Comparator.comparingInt(Step::priority)).toList();
+		this.tiers = tiers(this.steps);
+		this.executor = executor;
+		this.validationMetrics = validationMetrics;
+	}
+
+	private static List<Tier> tiers(List<Step> sortedSteps) {
+		List<Tier> tiers = new ArrayList<>();
+		List<Step> tier = new ArrayList<>();
+		for (Step step : sortedSteps) {
+			if (!tier.isEmpty() && tier.get(0).priority() != step.priority()) {
+				tiers.add(new Tier(tier.get(0).priority(), List.copyOf(tier)));
+				tier.clear();
+			}
+			tier.add(step);
+		}
+		if (!tier.isEmpty()) {
+			tiers.add(new Tier(tier.get(0).priority(), List.copyOf(tier)));
+		}
+		return List.copyOf(tiers);
+	}
+
+	public List<Step> getSteps() {
+		return steps;
+	}
+
+	public void validate(PaymentRequest paymentRequest) {
+		for (Tier tier : tiers) {
+			Timer.Sample sample = validationMetrics.startTimer();
+			String outcome = MetricsConstants.OUTCOME_FAILURE;
+			try {
+				if (tier.steps().size() == 1) {
+					// nothing to overlap with, stay on the request thread
+					apply(tier.steps().get(0), paymentRequest);
+				} else {
+					applyConcurrently(tier.steps(), paymentRequest);
+				}
+				outcome = MetricsConstants.OUTCOME_SUCCESS;
+			} catch (ValidationException e) {
+				outcome = MetricsConstants.OUTCOME_REJECTED;
+				throw e;
+			} finally {
+				validationMetrics.recordTier(sample, tier.priority(), outcome);
+			}
+		}
+		for (Step step : steps) {
+			step.validator().onAccepted(paymentRequest);
+		}
+	}
+
+	private void applyConcurrently(List<Step> tierSteps, PaymentRequest paymentRequest) {
+		Map<String, String> mdc = MDC.getCopyOfContextMap();
+		CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+		List<Future<Void>> futures = new ArrayList<>(tierSteps.size());
+		try {
+			for (Step step : tierSteps) {
+				futures.add(completion.submit(() -> {
+					if (mdc != null) {
+						MDC.setContextMap(mdc);
+					}
+					try {
+						apply(step, paymentRequest);
+					} finally {
+						MDC.clear();
+					}
+					return null;
+				}));
+			}
+			// in completion order, so the first failure is seen without waiting for slower rules
+			for (int i = 0; i < tierSteps.size(); i++) {
+				completion.take().get();
+			}
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while validating", e);
+		} finally {
+			// no-op for the rules that finished
+			for (Future<Void> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static void apply(Step step, PaymentRequest paymentRequest) {
+		log.debug("Applying validation rule: {}", step.name());
+		step.validator().validate(paymentRequest);
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		if (cause instanceof RuntimeException runtimeException) {
+			return runtimeException;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new IllegalStateException(cause);
+	}
+
+	@Override
+	public String toString() {
+		return steps.stream().map(step -> step.name() + "(" + step.priority() + ")").toList().toString();
+	}
+}
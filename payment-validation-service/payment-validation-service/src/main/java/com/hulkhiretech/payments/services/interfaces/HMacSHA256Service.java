@@ -1,13 +1,20 @@
 package com.hulkhiretech.payments.services.interfaces;
 
-import com.hulkhiretech.payments.pojo.PaymentRequest;
+import java.nio.ByteBuffer;
 
 public interface HMacSHA256Service {
 	
-	public String generateHmacSHA256Signature(String jsonData);
+	public String generateHmacSHA256Signature(String clientId, String jsonData);
 	
-	public void verifyHmacSignature(String incomingHmacSignature, 
-			PaymentRequest paymentDetails);
+	/**
+	 * Checks the signature against the request body exactly as it was received, with the
+	 * merchant's active key or, during a rotation, its next key.
+	 */
+	public void verifyHmacSignature(String clientId, String incomingHmacSignature, 
+			ByteBuffer body);
 	
-	public String getClientId();
+	/**
+	 * The merchant of requests without a client-id header.
+	 */
+	public String getDefaultClientId();
 }
@@ -0,0 +1,128 @@
+package com.hulkhiretech.payments.util;
+
+/**
+ * Bloom filter over strings, split into shards with their own lock so concurrent adds of
+ * different keys rarely contend. A key maps to one shard and to numHashes bits inside it (double
+ * hashing of a 64-bit FNV-1a hash). Keys cannot be removed; size it for every key it will see.
+ */
+public class ShardedBloomFilter {
+
+	private final Shard[] shards;
+	private final int numHashes;
+	private final long bitsPerShard;
+
+	private static final class Shard {
+		private final long[] words;
+		private long bitsSet;
+		private long insertions;
+
+		private Shard(long bits) {
+			words = new long[(int) ((bits + 63) / 64)];
+		}
+	}
+
+	/**
+	 * @param expectedInsertions keys the filter is sized for, above that the false positive rate rises
+	 * @param falsePositiveRate  wanted false positive rate at expectedInsertions
+	 */
+	public ShardedBloomFilter(long expectedInsertions, double falsePositiveRate, int shardCount) {
+		if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1 || shardCount <= 0) {
+			throw new IllegalArgumentException("Invalid bloom filter size: " + expectedInsertions + " keys, fpp "
+					+ falsePositiveRate + ", " + shardCount + " shards");
+		}
+		long totalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitsPerShard = Math.max(64, (totalBits + shardCount - 1) / shardCount);
+		this.numHashes = Math.max(1, (int) Math.round((double) totalBits / expectedInsertions * Math.log(2)));
+		this.shards = new Shard[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new Shard(bitsPerShard);
+		}
+	}
+
+	/**
+	 * @return true if the key was definitely not in the filter before, false if it might have been
+	 */
+	public boolean put(String key) {
+		long hash = hash(key);
+		Shard shard = shards[Math.floorMod(hash >>> 32 ^ hash, shards.length)];
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		boolean changed = false;
+		synchronized (shard) {
+			for (int i = 1; i <= numHashes; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, bitsPerShard);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				if ((shard.words[word] & mask) == 0) {
+					shard.words[word] |= mask;
+					shard.bitsSet++;
+					changed = true;
+				}
+			}
+			shard.insertions++;
+		}
+		return changed;
+	}
+
+	public boolean mightContain(String key) {
+		long hash = hash(key);
+		Shard shard = shards[Math.floorMod(hash >>> 32 ^ hash, shards.length)];
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		synchronized (shard) {
+			for (int i = 1; i <= numHashes; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, bitsPerShard);
+				if ((shard.words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Calls to {@link #put}, a key put twice counts twice.
+	 */
+	public long getInsertions() {
+		long insertions = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				insertions += shard.insertions;
+			}
+		}
+		return insertions;
+	}
+
+	/**
+	 * Share of bits set, from 0 to 1. Past 0.5 the filter holds more keys than it was sized for.
+	 */
+	public double getFillRatio() {
+		long bitsSet = 0;
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				bitsSet += shard.bitsSet;
+			}
+		}
+		return (double) bitsSet / (bitsPerShard * shards.length);
+	}
+
+	/**
+	 * False positive rate at the current fill, assuming keys spread evenly over the shards.
+	 */
+	public double getExpectedFalsePositiveRate() {
+		return Math.pow(getFillRatio(), numHashes);
+	}
+
+	private static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+		}
+		// murmur3 finalizer, FNV alone leaves the low bits of short keys poorly mixed
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		return hash ^ hash >>> 33;
+	}
+}
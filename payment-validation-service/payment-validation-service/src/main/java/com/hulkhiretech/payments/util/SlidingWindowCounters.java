@@ -0,0 +1,116 @@
+package com.hulkhiretech.payments.util;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key event counts over a sliding window, approximated by 8 buckets of window/8 each. A key's
+ * whole window is packed into one long: six bits of count per bucket and the index of the newest
+ * bucket in the top 16 bits. Counting is one CAS on that long, so requests for the same key never
+ * block each other. Keys live in a concurrent map bounded by maxKeys; {@link #evictIdle} drops
+ * keys with nothing left in the window.
+ * <p>
+ * A bucket stops counting at 63, so sums are exact for limits below that.
+ */
+public class SlidingWindowCounters {
+
+	public static final int BUCKETS = 8;
+	public static final int MAX_BUCKET_COUNT = 63;
+
+	private static final int BITS_PER_BUCKET = 6;
+	private static final long COUNTS_MASK = (1L << BUCKETS * BITS_PER_BUCKET) - 1;
+	private static final int EPOCH_SHIFT = 48;
+
+	private final long bucketNanos;
+	private final long originNanos;
+	private final int maxKeys;
+	private final LongSupplier nanoClock;
+	private final ConcurrentHashMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+
+	public SlidingWindowCounters(Duration window, int maxKeys) {
+		this(window, maxKeys, System::nanoTime);
+	}
+
+	SlidingWindowCounters(Duration window, int maxKeys, LongSupplier nanoClock) {
+		this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+		this.nanoClock = nanoClock;
+		this.originNanos = nanoClock.getAsLong();
+		this.maxKeys = maxKeys;
+	}
+
+	/**
+	 * Counts one event for the key.
+	 *
+	 * @return the events in the window including this one, or -1 when the key was not counted
+	 *         because the map is full
+	 */
+	public int increment(String key) {
+		AtomicLong window = windows.get(key);
+		if (window == null) {
+			if (windows.size() >= maxKeys) {
+				return -1;
+			}
+			window = windows.computeIfAbsent(key, k -> new AtomicLong(currentEpoch() << EPOCH_SHIFT));
+		}
+
+		int now = (int) (currentEpoch() & 0xFFFF);
+		while (true) {
+			long state = window.get();
+			int newest = (int) (state >>> EPOCH_SHIFT);
+			// signed, another thread may already have moved the window past this one's clock reading
+			int age = (short) (now - newest);
+			long counts = age > 0 ? expire(state & COUNTS_MASK, newest, age) : state & COUNTS_MASK;
+
+			int shift = (now % BUCKETS) * BITS_PER_BUCKET;
+			if ((counts >>> shift & MAX_BUCKET_COUNT) < MAX_BUCKET_COUNT) {
+				counts += 1L << shift;
+			}
+			long next = (long) (age > 0 ? now : newest) << EPOCH_SHIFT | counts;
+			if (window.compareAndSet(state, next)) {
+				return sum(counts);
+			}
+		}
+	}
+
+	/**
+	 * Drops the keys whose newest event is older than the window.
+	 *
+	 * @return the number of keys removed
+	 */
+	public int evictIdle() {
+		int now = (int) (currentEpoch() & 0xFFFF);
+		int before = windows.size();
+		windows.values().removeIf(window -> (short) (now - (int) (window.get() >>> EPOCH_SHIFT)) >= BUCKETS);
+		return before - windows.size();
+	}
+
+	public int size() {
+		return windows.size();
+	}
+
+	private long currentEpoch() {
+		return (nanoClock.getAsLong() - originNanos) / bucketNanos;
+	}
+
+	// clears the buckets that slid out of the window between newest and newest + age
+	private static long expire(long counts, int newest, int age) {
+		if (age >= BUCKETS) {
+			return 0;
+		}
+		for (int i = 1; i <= age; i++) {
+			int shift = ((newest + i) % BUCKETS) * BITS_PER_BUCKET;
+			counts &= ~((long) MAX_BUCKET_COUNT << shift);
+		}
+		return counts;
+	}
+
+	private static int sum(long counts) {
+		int sum = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			sum += (int) (counts >>> i * BITS_PER_BUCKET & MAX_BUCKET_COUNT);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,104 @@
+package com.hulkhiretech.payments.warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+import com.hulkhiretech.payments.pojo.PaymentResponse;
+import com.hulkhiretech.payments.services.impl.validator.ValidationRuleRegistry;
+import com.hulkhiretech.payments.services.impl.validator.ValidatorPipeline;
+import com.hulkhiretech.payments.services.interfaces.HMacSHA256Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the request path on synthetic data (Gson parse, HMAC signature, the active validators,
+ * Jackson response) until the JIT has compiled it, before the readiness probe reports
+ * ACCEPTING_TRAFFIC. Failures are logged; warm-up never keeps the service from becoming ready.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+	private final ApplicationContext applicationContext;
+	private final HMacSHA256Service hMacSHA256Service;
+	private final ValidationRuleRegistry validationRuleRegistry;
+	private final Gson gson;
+	private final ObjectMapper objectMapper;
+
+	private final boolean enabled;
+	private final int iterations;
+
+	public WarmupRunner(ApplicationContext applicationContext, HMacSHA256Service hMacSHA256Service,
+			ValidationRuleRegistry validationRuleRegistry, Gson gson, ObjectMapper objectMapper,
+			@Value("${payments.warmup.enabled:true}") boolean enabled,
+			@Value("${payments.warmup.iterations:2000}") int iterations) {
+		this.applicationContext = applicationContext;
+		this.hMacSHA256Service = hMacSHA256Service;
+		this.validationRuleRegistry = validationRuleRegistry;
+		this.gson = gson;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.iterations = iterations;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!enabled) {
+			return;
+		}
+		// Boot moves readiness to ACCEPTING_TRAFFIC once all runners have returned
+		AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+		long start = System.nanoTime();
+		try {
+			warmRequestPath();
+			log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (Exception e) {
+			log.warn("Warm-up failed, skipping it: {}", e.toString());
+		}
+	}
+
+	private void warmRequestPath() throws Exception {
+		PaymentRequest sample = new PaymentRequest();
+		sample.setAmount(15025);
+		sample.setCurrency("EUR");
+		sample.setPaymentMethod("APM");
+		sample.setPaymentType("SALE");
+		sample.setProvider("TRUSTLY");
+		sample.setCustomerID("warmup");
+		sample.setMobileNo("0700000000");
+		sample.setMerchantTransactionReference("warmup");
+		String json = gson.toJson(sample);
+
+		for (int i = 0; i < iterations; i++) {
+			PaymentRequest request = gson.fromJson(json, PaymentRequest.class);
+			hMacSHA256Service.generateHmacSHA256Signature(hMacSHA256Service.getDefaultClientId(),
+					gson.toJson(request));
+			// step by step, so the rules after one that rejects the sample are warmed too
+			for (ValidatorPipeline.Step step : validationRuleRegistry.getPipeline().getSteps()) {
+				if (!step.validator().runsInWarmup()) {
+					continue;
+				}
+				try {
+					step.validator().validate(request);
+				} catch (ValidationException e) {
+					// a validator that rejects the sample is still warm
+				}
+			}
+			PaymentResponse response = new PaymentResponse();
+			response.setId("warmup");
+			response.setRedirectUrl("https://example.com/redirect?paymentId=warmup");
+			objectMapper.writeValueAsBytes(response);
+		}
+	}
+}
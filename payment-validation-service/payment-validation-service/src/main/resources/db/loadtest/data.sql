@@ -0,0 +1,8 @@
+INSERT INTO validations.validation_rules (validatorName, isActive, priority) VALUES ('CHECK1_VALIDATOR_RULE', true, 0);
+INSERT INTO validations.validation_rules (validatorName, isActive, priority) VALUES ('DUPLICATION_TXN_RULE', true, 10);
+INSERT INTO validations.validation_rules (validatorName, isActive, priority) VALUES ('CHECK2_VALIDATOR_RULE', true, 20);
+INSERT INTO validations.validation_rules (validatorName, isActive, priority) VALUES ('PAYMENT_ATTEMPT_THRESHOLD_RULE', true, 30);
+INSERT INTO validations.validation_rules_params (validatorName, paramName, paramValue) VALUES ('PAYMENT_ATTEMPT_THRESHOLD_RULE', 'durationInMins', '2');
+INSERT INTO validations.validation_rules_params (validatorName, paramName, paramValue) VALUES ('PAYMENT_ATTEMPT_THRESHOLD_RULE', 'maxPaymentThreshold', '5');
+-- off: the load test sends random customer IDs that are not in validations.users
+INSERT INTO validations.validation_rules (validatorName, isActive, priority) VALUES ('REGISTERED_USER_RULE', false, 10);
@@ -0,0 +1,45 @@
+-- H2 (MySQL mode) version of database-scripts/sprint4, for the loadtest profile only
+CREATE SCHEMA IF NOT EXISTS validations;
+
+CREATE TABLE validations.merchant_payment_request (
+ id int NOT NULL AUTO_INCREMENT,
+ endUserID varchar(100),
+ merchantTransactionReference varchar(50) NOT NULL,
+ transactionRequest text DEFAULT NULL,
+ transactionRequestGzip blob DEFAULT NULL,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id),
+ UNIQUE KEY (merchantTransactionReference)
+);
+
+CREATE TABLE validations.validation_rules (
+ id int NOT NULL AUTO_INCREMENT,
+ validatorName varchar(50) NOT NULL,
+ isActive BOOLEAN NOT NULL,
+ priority SMALLINT NOT NULL,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id),
+ UNIQUE KEY (validatorName)
+);
+
+CREATE TABLE validations.validation_rules_params (
+ id int NOT NULL AUTO_INCREMENT,
+ validatorName varchar(50) NOT NULL,
+ paramName varchar(200) NOT NULL,
+ paramValue varchar(200) NOT NULL,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id),
+ FOREIGN KEY (validatorName) REFERENCES validations.validation_rules (validatorName)
+);
+
+CREATE TABLE validations.users (
+ id int NOT NULL AUTO_INCREMENT,
+ endUserID varchar(100) NOT NULL,
+ email varchar(100) NOT NULL,
+ phoneNumber varchar(100) DEFAULT NULL,
+ firstName varchar(100) NOT NULL,
+ lastName varchar(100) NOT NULL,
+ creationDate timestamp(2) NOT NULL DEFAULT CURRENT_TIMESTAMP(2),
+ PRIMARY KEY (id),
+ UNIQUE KEY (endUserID)
+);
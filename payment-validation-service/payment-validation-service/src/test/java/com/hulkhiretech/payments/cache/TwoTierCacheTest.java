@@ -0,0 +1,412 @@
+package com.hulkhiretech.payments.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.hulkhiretech.payments.constants.MetricsConstants;
+import com.hulkhiretech.payments.entity.User;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TwoTierCacheTest {
+
+	private static final long L1_TTL_MS = 60_000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ValidationMetrics validationMetrics = new ValidationMetrics(meterRegistry);
+	private final Gson gson = new Gson();
+	private final AtomicLong ticker = new AtomicLong();
+
+	// stands in for validations.users
+	private final Map<String, User> users = new ConcurrentHashMap<>();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private EmbeddedRespServer server;
+	private RespSharedCache sharedCache;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		users.put("alice", user("alice", "alice@example.com"));
+		server = new EmbeddedRespServer(null);
+		sharedCache = new RespSharedCache(shared(server, null), validationMetrics);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sharedCache.close();
+		server.close();
+	}
+
+	@Test
+	void l1HitNeedsNeitherTheSharedCacheNorTheDatabase() {
+		TwoTierCache<User> cache = newCache(sharedCache, tiers(100));
+
+		assertThat(cache.get("alice").getEmail()).isEqualTo("alice@example.com");
+		assertThat(cache.get("alice").getEmail()).isEqualTo("alice@example.com");
+
+		assertThat(loads).hasValue(1);
+		assertThat(server.count("GET")).isEqualTo(1);
+		assertThat(server.count("SET")).isEqualTo(1);
+		assertThat(hitRatio(MetricsConstants.TIER_L1)).isEqualTo(0.5);
+		assertThat(hitRatio(MetricsConstants.TIER_L2)).isZero();
+	}
+
+	@Test
+	void secondInstanceIsServedFromTheSharedCache() {
+		TwoTierCache<User> first = newCache(sharedCache, tiers(100));
+		TwoTierCache<User> second = newCache(sharedCache, tiers(100));
+
+		first.get("alice");
+		assertThat(second.get("alice")).isEqualTo(users.get("alice"));
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void unknownKeyIsCachedAsMissingInBothTiers() {
+		TwoTierCache<User> first = newCache(sharedCache, tiers(100));
+		TwoTierCache<User> second = newCache(sharedCache, tiers(100));
+
+		assertThat(first.get("mallory")).isNull();
+		assertThat(first.get("mallory")).isNull();
+		assertThat(second.get("mallory")).isNull();
+
+		assertThat(loads).hasValue(1);
+		assertThat(server.value("test:users:mallory")).isEqualTo("null");
+	}
+
+	@Test
+	void expiredL1EntryIsReadAgainFromTheSharedCache() {
+		TwoTierCache<User> cache = newCache(sharedCache, tiers(100));
+
+		cache.get("alice");
+		ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(L1_TTL_MS));
+		cache.get("alice");
+
+		assertThat(loads).hasValue(1);
+		assertThat(server.count("GET")).isEqualTo(2);
+	}
+
+	@Test
+	void invalidateDropsTheKeyFromBothTiersButNotFromOtherInstancesL1() {
+		TwoTierCache<User> first = newCache(sharedCache, tiers(100));
+		TwoTierCache<User> second = newCache(sharedCache, tiers(100));
+		first.get("alice");
+		second.get("alice");
+
+		users.put("alice", user("alice", "alice@example.org"));
+		first.invalidate("alice");
+
+		assertThat(first.get("alice").getEmail()).isEqualTo("alice@example.org");
+		assertThat(newCache(sharedCache, tiers(100)).get("alice").getEmail()).isEqualTo("alice@example.org");
+		assertThat(second.get("alice").getEmail()).isEqualTo("alice@example.com");
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void l1EvictsTheLeastRecentlyUsedKeyWhenFull() {
+		users.put("bob", user("bob", "bob@example.com"));
+		users.put("carol", user("carol", "carol@example.com"));
+		TwoTierCache<User> cache = newCache(SharedCache.NONE, tiers(2));
+
+		cache.get("alice");
+		cache.get("bob");
+		cache.get("alice");
+		cache.get("carol");
+		assertThat(loads).hasValue(3);
+
+		cache.get("alice");
+		assertThat(loads).hasValue(3);
+		cache.get("bob");
+		assertThat(loads).hasValue(4);
+	}
+
+	@Test
+	void valuesAreBinarySafeOverTheProtocol() {
+		User user = user("zoë", "zoë@example.com");
+		user.setFirstName("Zoë\r\n$-1\r\n*");
+		users.put("zoë", user);
+
+		newCache(sharedCache, tiers(100)).get("zoë");
+
+		assertThat(newCache(sharedCache, tiers(100)).get("zoë")).isEqualTo(user);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void connectionDroppedByTheServerIsReplaced() {
+		TwoTierCache<User> first = newCache(sharedCache, tiers(100));
+		first.get("alice");
+
+		server.dropConnections();
+
+		assertThat(newCache(sharedCache, tiers(100)).get("alice")).isEqualTo(users.get("alice"));
+		assertThat(loads).hasValue(1);
+		assertThat(sharedCacheErrors()).isZero();
+	}
+
+	@Test
+	void unreachableSharedCacheFallsBackToTheDatabaseAndIsSkippedForAWhile() {
+		TwoTierCache<User> cache = newCache(sharedCache, tiers(100));
+		server.close();
+
+		assertThat(cache.get("alice")).isEqualTo(users.get("alice"));
+		assertThat(cache.get("mallory")).isNull();
+
+		assertThat(loads).hasValue(2);
+		// the GET failed, the SET and the next lookup did not try the server again
+		assertThat(sharedCacheErrors()).isEqualTo(1);
+	}
+
+	@Test
+	void passwordIsSentOnConnect() throws IOException {
+		try (EmbeddedRespServer secured = new EmbeddedRespServer("secret");
+				RespSharedCache right = new RespSharedCache(shared(secured, "secret"), validationMetrics);
+				RespSharedCache wrong = new RespSharedCache(shared(secured, "guess"), validationMetrics)) {
+			newCache(right, tiers(100)).get("alice");
+			assertThat(newCache(right, tiers(100)).get("alice")).isEqualTo(users.get("alice"));
+			assertThat(loads).hasValue(1);
+			assertThat(sharedCacheErrors()).isZero();
+
+			assertThat(newCache(wrong, tiers(100)).get("alice")).isEqualTo(users.get("alice"));
+			assertThat(loads).hasValue(2);
+			assertThat(sharedCacheErrors()).isEqualTo(1);
+		}
+	}
+
+	private TwoTierCache<User> newCache(SharedCache shared, CacheProperties.Tiers tiers) {
+		return new TwoTierCache<>("users", User.class, key -> {
+			loads.incrementAndGet();
+			return users.get(key);
+		}, tiers, shared, "test:", gson, validationMetrics, ticker::get);
+	}
+
+	private double hitRatio(String tier) {
+		return meterRegistry.get(MetricsConstants.PAYMENTS_CACHE_HIT_RATIO).tag(MetricsConstants.TAG_TIER, tier)
+				.gauge().value();
+	}
+
+	private double sharedCacheErrors() {
+		return meterRegistry.counter(MetricsConstants.PAYMENTS_CACHE_L2_ERRORS).count();
+	}
+
+	private static CacheProperties.Tiers tiers(int l1MaxSize) {
+		CacheProperties.Tiers tiers = new CacheProperties.Tiers();
+		tiers.setL1MaxSize(l1MaxSize);
+		tiers.setL1TtlMs(L1_TTL_MS);
+		return tiers;
+	}
+
+	private static CacheProperties.Shared shared(EmbeddedRespServer server, String password) {
+		CacheProperties.Shared shared = new CacheProperties.Shared();
+		shared.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+		shared.setPort(server.getPort());
+		shared.setPassword(password);
+		shared.setTimeoutMs(2000);
+		shared.setConnectTimeoutMs(2000);
+		shared.setRetryIntervalMs(60_000);
+		return shared;
+	}
+
+	private static User user(String endUserID, String email) {
+		User user = new User();
+		user.setEndUserID(endUserID);
+		user.setEmail(email);
+		user.setFirstName("First");
+		user.setLastName("Last");
+		return user;
+	}
+
+	/**
+	 * In-process stand-in for a Redis server: PING, AUTH, GET, SET with PX, DEL over RESP2, one
+	 * virtual thread per connection. Counts the commands it was sent.
+	 */
+	static final class EmbeddedRespServer implements AutoCloseable {
+
+		private record Value(String value, long expiresAtMillis) {
+		}
+
+		private final ServerSocket serverSocket;
+		private final String password;
+		private final Map<String, Value> data = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> commands = new ConcurrentHashMap<>();
+		private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+		// closing a ServerSocket that a virtual thread is accepting on may not take effect at once
+		private volatile boolean closed;
+
+		EmbeddedRespServer(String password) throws IOException {
+			this.password = password;
+			this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			Thread.ofVirtual().name("resp-accept").start(this::accept);
+		}
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		int count(String command) {
+			AtomicInteger count = commands.get(command);
+			return count == null ? 0 : count.get();
+		}
+
+		String value(String key) {
+			Value value = data.get(key);
+			return value == null ? null : value.value();
+		}
+
+		/**
+		 * Closes the client connections, as a server restart or idle timeout would.
+		 */
+		void dropConnections() {
+			for (Socket socket : connections) {
+				closeQuietly(socket);
+			}
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+			closeQuietly(serverSocket);
+			dropConnections();
+		}
+
+		private void accept() {
+			while (!closed) {
+				try {
+					Socket socket = serverSocket.accept();
+					if (closed) {
+						closeQuietly(socket);
+						return;
+					}
+					connections.add(socket);
+					Thread.ofVirtual().name("resp-connection").start(() -> serve(socket));
+				} catch (IOException e) {
+					return;
+				}
+			}
+		}
+
+		private void serve(Socket socket) {
+			try (socket) {
+				InputStream in = new BufferedInputStream(socket.getInputStream());
+				OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+				boolean authenticated = password == null;
+				String[] command;
+				while ((command = readCommand(in)) != null) {
+					String name = command[0].toUpperCase();
+					commands.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+					if (name.equals("AUTH")) {
+						authenticated = command.length == 2 && command[1].equals(password);
+						write(out, authenticated ? "+OK\r\n" : "-WRONGPASS invalid password\r\n");
+					} else if (!authenticated) {
+						write(out, "-NOAUTH Authentication required.\r\n");
+					} else {
+						write(out, execute(name, command));
+					}
+				}
+			} catch (IOException e) {
+				// client went away
+			} finally {
+				connections.remove(socket);
+			}
+		}
+
+		private String execute(String name, String[] command) {
+			switch (name) {
+			case "PING":
+				return "+PONG\r\n";
+			case "GET": {
+				Value value = data.get(command[1]);
+				if (value == null || value.expiresAtMillis() < System.currentTimeMillis()) {
+					return "$-1\r\n";
+				}
+				return bulk(value.value());
+			}
+			case "SET": {
+				long expiresAt = Long.MAX_VALUE;
+				if (command.length == 5 && command[3].equalsIgnoreCase("PX")) {
+					expiresAt = System.currentTimeMillis() + Long.parseLong(command[4]);
+				}
+				data.put(command[1], new Value(command[2], expiresAt));
+				return "+OK\r\n";
+			}
+			case "DEL":
+				return ":" + (data.remove(command[1]) == null ? 0 : 1) + "\r\n";
+			default:
+				return "-ERR unknown command '" + name + "'\r\n";
+			}
+		}
+
+		private static String[] readCommand(InputStream in) throws IOException {
+			int type = in.read();
+			if (type == -1) {
+				return null;
+			}
+			if (type != '*') {
+				throw new IOException("Expected an array, got " + (char) type);
+			}
+			String[] command = new String[Integer.parseInt(readLine(in))];
+			for (int i = 0; i < command.length; i++) {
+				if (in.read() != '$') {
+					throw new IOException("Expected a bulk string");
+				}
+				byte[] bytes = in.readNBytes(Integer.parseInt(readLine(in)));
+				in.readNBytes(2);
+				command[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+			return command;
+		}
+
+		private static String readLine(InputStream in) throws IOException {
+			StringBuilder line = new StringBuilder();
+			int b;
+			while ((b = in.read()) != '\r') {
+				if (b == -1) {
+					throw new IOException("Connection closed");
+				}
+				line.append((char) b);
+			}
+			in.read();
+			return line.toString();
+		}
+
+		private static String bulk(String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			return "$" + bytes.length + "\r\n" + value + "\r\n";
+		}
+
+		private static void write(OutputStream out, String reply) throws IOException {
+			out.write(reply.getBytes(StandardCharsets.UTF_8));
+			out.flush();
+		}
+
+		private static void closeQuietly(AutoCloseable closeable) {
+			try {
+				closeable.close();
+			} catch (Exception e) {
+				// already closed
+			}
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.hulkhiretech.payments.services.impl.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.hulkhiretech.payments.constants.ErrorEnum;
+import com.hulkhiretech.payments.dao.interfaces.MerchantPaymentRequestDAO;
+import com.hulkhiretech.payments.entity.MerchantPaymentRequest;
+import com.hulkhiretech.payments.exceptions.ValidationException;
+import com.hulkhiretech.payments.metrics.ValidationMetrics;
+import com.hulkhiretech.payments.pojo.PaymentRequest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DuplicationTxnValidatorTest {
+
+	private static final String REJECTED = "99999";
+
+	private final InMemoryMerchantPaymentRequestDAO dao = new InMemoryMerchantPaymentRequestDAO();
+	private final ValidationMetrics validationMetrics = new ValidationMetrics(new SimpleMeterRegistry());
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private boolean rejectAll = true;
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void paymentRejectedByALaterRuleCanBeSentAgain() {
+		ValidatorPipeline pipeline = pipeline(1, 2);
+
+		assertRejected(() -> pipeline.validate(payment("ref-1")), REJECTED);
+		rejectAll = false;
+		pipeline.validate(payment("ref-1"));
+		assertRejected(() -> pipeline.validate(payment("ref-1")),
+				ErrorEnum.DUPLICATE_MERCHANT_TXN_REFERENCE.getErrorCode());
+	}
+
+	@Test
+	void paymentRejectedByARuleInTheSameTierCanBeSentAgain() {
+		ValidatorPipeline pipeline = pipeline(1, 1);
+
+		assertRejected(() -> pipeline.validate(payment("ref-1")), REJECTED);
+		rejectAll = false;
+		pipeline.validate(payment("ref-1"));
+	}
+
+	@Test
+	void onlyOneOfTwoConcurrentPaymentsClaimsTheReference() {
+		DuplicationTxnValidator validator = newValidator();
+
+		validator.validate(payment("ref-1"));
+		validator.validate(payment("ref-1"));
+		validator.onAccepted(payment("ref-1"));
+		assertRejected(() -> validator.onAccepted(payment("ref-1")),
+				ErrorEnum.DUPLICATE_MERCHANT_TXN_REFERENCE.getErrorCode());
+	}
+
+	@Test
+	void syncPicksUpRowsThatCommittedOutOfIdOrder() {
+		dao.rows.put(1L, "ref-1");
+		dao.rows.put(3L, "ref-3");
+		DuplicationTxnValidator validator = newValidator();
+		validator.syncFilter();
+
+		// id 2 was taken before id 3 but committed after the sync had read up to 3
+		dao.rows.put(2L, "ref-2");
+		validator.syncFilter();
+
+		assertRejected(() -> validator.validate(payment("ref-2")),
+				ErrorEnum.DUPLICATE_MERCHANT_TXN_REFERENCE.getErrorCode());
+		assertThat(dao.lookups).isEqualTo(1);
+		validator.validate(payment("ref-4"));
+	}
+
+	private ValidatorPipeline pipeline(int duplicatePriority, int otherPriority) {
+		Validator other = paymentRequest -> {
+			if (rejectAll) {
+				throw new ValidationException(REJECTED, "rejected");
+			}
+		};
+		DuplicationTxnValidator validator = newValidator();
+		validator.syncFilter();
+		return new ValidatorPipeline(List.of(
+				new ValidatorPipeline.Step("DUPLICATION_TXN_RULE", duplicatePriority, validator),
+				new ValidatorPipeline.Step("OTHER_RULE", otherPriority, other)), executor, validationMetrics);
+	}
+
+	private DuplicationTxnValidator newValidator() {
+		return new DuplicationTxnValidator(dao, validationMetrics, 1000, 0.01, 4, 100, 10);
+	}
+
+	private static void assertRejected(Runnable validation, String errorCode) {
+		assertThatThrownBy(validation::run).isInstanceOfSatisfying(ValidationException.class,
+				e -> assertThat(e.getErrorCode()).isEqualTo(errorCode));
+	}
+
+	private static PaymentRequest payment(String reference) {
+		PaymentRequest paymentRequest = new PaymentRequest();
+		paymentRequest.setCustomerID("customer-1");
+		paymentRequest.setMerchantTransactionReference(reference);
+		return paymentRequest;
+	}
+
+	private static class InMemoryMerchantPaymentRequestDAO implements MerchantPaymentRequestDAO {
+
+		private final TreeMap<Long, String> rows = new TreeMap<>();
+		private int lookups;
+
+		@Override
+		public long forEachReferenceAfter(long afterId, Consumer<String> consumer) {
+			long maxId = afterId;
+			for (Map.Entry<Long, String> row : rows.tailMap(afterId, false).entrySet()) {
+				maxId = row.getKey();
+				consumer.accept(row.getValue());
+			}
+			return maxId;
+		}
+
+		@Override
+		public boolean existsByReference(String merchantTransactionReference) {
+			lookups++;
+			return rows.containsValue(merchantTransactionReference);
+		}
+
+		@Override
+		public int insertIgnoringDuplicates(List<MerchantPaymentRequest> rows, boolean gzipped) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
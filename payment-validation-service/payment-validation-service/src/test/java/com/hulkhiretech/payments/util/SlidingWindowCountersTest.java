@@ -0,0 +1,119 @@
+package com.hulkhiretech.payments.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowCountersTest {
+
+	// an 8 s window, so one bucket per second
+	private static final Duration WINDOW = Duration.ofSeconds(8);
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private long now;
+
+	@Test
+	void keysAreCountedSeparately() {
+		SlidingWindowCounters counters = newCounters(10);
+
+		assertThat(counters.increment("a")).isEqualTo(1);
+		assertThat(counters.increment("a")).isEqualTo(2);
+		assertThat(counters.increment("b")).isEqualTo(1);
+		assertThat(counters.increment("a")).isEqualTo(3);
+		assertThat(counters.size()).isEqualTo(2);
+	}
+
+	@Test
+	void bucketsExpireOneAtATime() {
+		SlidingWindowCounters counters = newCounters(10);
+
+		counters.increment("a");
+		assertThat(counters.increment("a")).isEqualTo(2);
+		now += 3 * SECOND;
+		assertThat(counters.increment("a")).isEqualTo(3);
+		now += 4 * SECOND;
+		// second 7 still sees second 0
+		assertThat(counters.increment("a")).isEqualTo(4);
+		now += SECOND;
+		// the two events of second 0 slid out
+		assertThat(counters.increment("a")).isEqualTo(3);
+		now += 3 * SECOND;
+		// so did second 3
+		assertThat(counters.increment("a")).isEqualTo(3);
+		now += 100 * SECOND;
+		assertThat(counters.increment("a")).isEqualTo(1);
+	}
+
+	@Test
+	void bucketStopsCountingAtItsMaximum() {
+		SlidingWindowCounters counters = newCounters(10);
+
+		for (int i = 1; i <= SlidingWindowCounters.MAX_BUCKET_COUNT; i++) {
+			assertThat(counters.increment("a")).isEqualTo(i);
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(counters.increment("a")).isEqualTo(SlidingWindowCounters.MAX_BUCKET_COUNT);
+		}
+		now += SECOND;
+		assertThat(counters.increment("a")).isEqualTo(SlidingWindowCounters.MAX_BUCKET_COUNT + 1);
+		// a saturated bucket does not carry into its neighbour
+		now += 7 * SECOND;
+		assertThat(counters.increment("a")).isEqualTo(2);
+	}
+
+	@Test
+	void windowKeepsSlidingWhenTheEpochWraps() {
+		// the newest bucket index is kept in 16 bits
+		now = 65_534 * SECOND;
+		SlidingWindowCounters counters = newCounters(10);
+		now = 2 * 65_534 * SECOND;
+
+		assertThat(counters.increment("a")).isEqualTo(1);
+		now += SECOND;
+		assertThat(counters.increment("a")).isEqualTo(2);
+		now += SECOND;
+		// index 0 again
+		assertThat(counters.increment("a")).isEqualTo(3);
+		now += SECOND;
+		assertThat(counters.increment("a")).isEqualTo(4);
+		now += 6 * SECOND;
+		// the first two buckets, from before the wrap, slid out
+		assertThat(counters.increment("a")).isEqualTo(3);
+	}
+
+	@Test
+	void idleKeysAreEvictedAcrossTheEpochWrap() {
+		now = 65_535 * SECOND;
+		SlidingWindowCounters counters = newCounters(10);
+		now = 2 * 65_535 * SECOND;
+		counters.increment("a");
+
+		now += 7 * SECOND;
+		assertThat(counters.evictIdle()).isZero();
+		now += SECOND;
+		assertThat(counters.evictIdle()).isEqualTo(1);
+		assertThat(counters.size()).isZero();
+	}
+
+	@Test
+	void keysBeyondMaxKeysAreNotCountedUntilOthersAreEvicted() {
+		SlidingWindowCounters counters = newCounters(2);
+
+		assertThat(counters.increment("a")).isEqualTo(1);
+		assertThat(counters.increment("b")).isEqualTo(1);
+		assertThat(counters.increment("c")).isEqualTo(-1);
+		// keys already tracked are still counted
+		assertThat(counters.increment("a")).isEqualTo(2);
+
+		now += 8 * SECOND;
+		assertThat(counters.evictIdle()).isEqualTo(2);
+		assertThat(counters.increment("c")).isEqualTo(1);
+	}
+
+	private SlidingWindowCounters newCounters(int maxKeys) {
+		return new SlidingWindowCounters(WINDOW, maxKeys, () -> now);
+	}
+}
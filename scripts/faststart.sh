@@ -0,0 +1,89 @@
+#!/usr/bin/env bash
+#
+# Builds a service with Spring AOT, creates a class-data archive from a training run and
+# compares time-to-first-request and RSS against the plain fat jar.
+#
+#   scripts/faststart.sh processing|validation|mock [runs]
+#
+# AOT fixes @Profile beans at build time. FASTSTART_PROFILES (default: the environment profile)
+# is used for the AOT step and for every run, e.g. FASTSTART_PROFILES=dev,reactive.
+#
+# JDK 24+ uses the JEP 483 AOT cache (-XX:AOTCache), older JDKs a dynamic AppCDS archive.
+# Linux only (RSS is read from /proc). Needs curl.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+SERVICE="${1:?usage: $0 processing|validation|mock [runs]}"
+RUNS="${2:-3}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+case "$SERVICE" in
+  processing) DIR=payment-processing-service/payments-processing-service; JAR=payment-processing-service; ENV=dev;   PORT=8082 ;;
+  validation) DIR=payment-validation-service/payment-validation-service; JAR=payment-validation-service; ENV=local; PORT=8081 ;;
+  mock)       DIR=trustly-mock-service/trustly-mock-service;             JAR=trustly-mock-service;       ENV=dev;   PORT=8084 ;;
+  *) echo "unknown service: $SERVICE" >&2; exit 1 ;;
+esac
+PROFILES="${FASTSTART_PROFILES:-$ENV}"
+
+cd "$ROOT/$DIR"
+OUT=target/faststart
+URL="http://localhost:$PORT/actuator/health"
+
+echo ">> building $JAR with -P$ENV,faststart, Spring profiles $PROFILES"
+mvn -q -B -P"$ENV",faststart -Dfaststart.profiles="$PROFILES" clean package -DskipTests
+
+# The CDS/AOT archive only covers classes loaded from plain jars on a fixed class path,
+# so the fat jar is extracted first (lib/ next to the application jar).
+rm -rf "$OUT"
+"$JAVA" -Djarmode=tools -jar "target/$JAR.jar" extract --destination "$OUT" > /dev/null
+
+JAVA_MAJOR=$("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+AOT_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active="$PROFILES")
+TRAIN_OPTS=(-Dspring.context.exit=onRefresh)
+
+echo ">> training run (JDK $JAVA_MAJOR)"
+if [ "$JAVA_MAJOR" -ge 24 ]; then
+  "$JAVA" -XX:AOTMode=record -XX:AOTConfiguration="$OUT/app.aotconf" \
+    "${AOT_OPTS[@]}" "${TRAIN_OPTS[@]}" -jar "$OUT/$JAR.jar" > "$OUT/training.log" 2>&1
+  "$JAVA" -XX:AOTMode=create -XX:AOTConfiguration="$OUT/app.aotconf" -XX:AOTCache="$OUT/app.aot" \
+    "${AOT_OPTS[@]}" -jar "$OUT/$JAR.jar" >> "$OUT/training.log" 2>&1
+  ARCHIVE_OPTS=(-XX:AOTCache="$OUT/app.aot")
+else
+  "$JAVA" -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+    "${AOT_OPTS[@]}" "${TRAIN_OPTS[@]}" -jar "$OUT/$JAR.jar" > "$OUT/training.log" 2>&1
+  ARCHIVE_OPTS=(-XX:SharedArchiveFile="$OUT/app.jsa")
+fi
+
+# Starts the JVM, polls until the first HTTP response (any status: validation answers 401)
+# and prints "<ms to first response> <RSS in MB>".
+measure() {
+  local start now code pid rss
+  start=$(date +%s%N)
+  "$@" > "$OUT/measure.log" 2>&1 &
+  pid=$!
+  while true; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)
+    [ "$code" != "000" ] && break
+    if ! kill -0 "$pid" 2>/dev/null; then echo "service exited, see $OUT/measure.log" >&2; exit 1; fi
+    sleep 0.02
+  done
+  now=$(date +%s%N)
+  rss=$(awk '/VmRSS/ {print int($2/1024)}' "/proc/$pid/status")
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$(( (now - start) / 1000000 )) $rss"
+}
+
+report() {
+  local label="$1"; shift
+  local total_ms=0 total_rss=0 ms rss
+  for i in $(seq "$RUNS"); do
+    read -r ms rss < <(measure "$@")
+    printf '   %-10s run %d: first request after %5d ms, RSS %4d MB\n' "$label" "$i" "$ms" "$rss"
+    total_ms=$((total_ms + ms)); total_rss=$((total_rss + rss))
+  done
+  printf '   %-10s mean:  first request after %5d ms, RSS %4d MB\n' "$label" $((total_ms / RUNS)) $((total_rss / RUNS))
+}
+
+echo ">> $JAR, $RUNS runs each"
+report baseline  "$JAVA" -Dspring.profiles.active="$PROFILES" -jar "target/$JAR.jar"
+report faststart "$JAVA" "${ARCHIVE_OPTS[@]}" "${AOT_OPTS[@]}" -jar "$OUT/$JAR.jar"
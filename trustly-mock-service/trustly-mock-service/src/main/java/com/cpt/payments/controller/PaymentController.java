@@ -31,21 +31,21 @@ public class PaymentController {
 	@PostMapping(ControllerEndpoints.PROCESS_PAYMENT)
 	ResponseEntity<TrustlyCoreResponse> initiatePayment(@RequestBody CoreTrustlyProvider trustlyProviderRequest) {
 		LogMessage.setLogMessagePrefix("/TRUSLTY_CORE_PROCESS_PAYMENT:");
-		LogMessage.log(log, " processing trustly payment with request ::: " + trustlyProviderRequest);
+		LogMessage.debug(log, " processing trustly payment with request ::: {}", trustlyProviderRequest);
 		
 		return new ResponseEntity<>(paymentService.initiatePayment(trustlyProviderRequest), HttpStatus.OK);
 	}
 
 	@PostMapping(ControllerEndpoints.SUCCESS_PAYMENT)
 	ResponseEntity<Void> sucessPayment(@PathVariable("paymentId") String paymentId) {
-		LogMessage.log(log, " success payment for -> " + paymentId);
+		LogMessage.log(log, " success payment for -> {}", paymentId);
 		paymentService.processPayment(paymentId, SUCCESS);
 		return new ResponseEntity<>(HttpStatus.OK);
 	}
 
 	@PostMapping(ControllerEndpoints.FAIL_PAYMENT)
 	ResponseEntity<Void> failPayment(@PathVariable("paymentId") String paymentId) {
-		LogMessage.log(log, " success payment for -> " + paymentId);
+		LogMessage.log(log, " fail payment for -> {}", paymentId);
 		paymentService.processPayment(paymentId, FAIL);
 		return new ResponseEntity<>(HttpStatus.OK);
 	}
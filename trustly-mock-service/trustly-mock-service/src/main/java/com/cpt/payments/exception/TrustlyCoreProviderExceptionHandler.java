@@ -26,7 +26,7 @@ public class TrustlyCoreProviderExceptionHandler {
 	
 	@ExceptionHandler(TrustlyMockException.class)
 	public ResponseEntity<TrustlyErrorResponse> handleValidationException(TrustlyMockException ex) {
-		LogMessage.log(log, " handleValidationException is -> " + ex.getErrorMessage());
+		LogMessage.log(log, " handleValidationException is -> {}", ex.getErrorMessage());
 		
 		ErrorData errorData = ErrorData.builder()
 				.code(ex.getErrorCode())
@@ -39,8 +39,8 @@ public class TrustlyCoreProviderExceptionHandler {
 		try {
 			String plainText = ex.getMethod() + ex.getUuid() + serializedData;
  			signature = creator.generateSignature(plainText);
- 			LogMessage.log(log, " Signature Generated||serializedData" + serializedData +
- 					"|plainText:" + plainText + "|signature:" + signature);
+ 			LogMessage.debug(log, " Signature Generated||serializedData{}|plainText:{}|signature:{}", serializedData,
+ 					plainText, signature);
 		} catch (Exception e) {
 			LogMessage.log(log, "Exception processing");
 			LogMessage.logException(log, ex);
@@ -63,14 +63,14 @@ public class TrustlyCoreProviderExceptionHandler {
 				.error(errorWrapper)
 				.build(); 
 		
-		LogMessage.log(log, " handleValidationException errorResponse is -> " + errorRes);
+		LogMessage.log(log, " handleValidationException errorResponse is -> {}", errorRes);
 		return new ResponseEntity<>(errorRes, ex.getHttpStatus());
 	}
 	
 	
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<TrustlyErrorResponse> handleGenericException(Exception ex) {
-		LogMessage.log(log, " generic exception message is -> " + ex.getMessage());
+		LogMessage.log(log, " generic exception message is -> {}", ex.getMessage());
 		LogMessage.logException(log, ex);
 		
 		ErrorData errorData = ErrorData.builder()
@@ -94,7 +94,7 @@ public class TrustlyCoreProviderExceptionHandler {
 				.error(errorWrapper)
 				.build(); 
 		
-		LogMessage.log(log, " paymentResponse is -> " + errorRes);
+		LogMessage.log(log, " paymentResponse is -> {}", errorRes);
 		return new ResponseEntity<>(errorRes, HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 }
@@ -3,6 +3,7 @@ package com.cpt.payments.http;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -25,28 +26,34 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class HttpRestTemplateEngine {
 
+	private final RestTemplate restTemplate;
+
+	// Built once from the auto-configured builder so outbound calls are observed and carry trace headers
+	public HttpRestTemplateEngine(RestTemplateBuilder restTemplateBuilder) {
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setOutputStreaming(false);
+
+		this.restTemplate = restTemplateBuilder
+				.requestFactory(() -> new BufferingClientHttpRequestFactory(requestFactory))
+				.build();
+		this.restTemplate.getMessageConverters().add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+	}
+
 	public ResponseEntity<String> execute(HttpRequest httpRequest) {
 		try {
-			RestTemplate restTemplate = new RestTemplate();
-			restTemplate.getMessageConverters().add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
-
 			HttpHeaders headers = new HttpHeaders();
 			headers.setContentType(MediaType.APPLICATION_JSON);
 			headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
 			headers.addAll(httpRequest.getHeaders());
 			HttpEntity<?> request = new HttpEntity<>(httpRequest.getRequest(), headers);
 
-			SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-			requestFactory.setOutputStreaming(false);
-			restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(requestFactory));
-
 			HttpMethod method = prepareHttpMethod(httpRequest.getHttpMethod());
 
 			ResponseEntity<String> response = restTemplate.exchange(httpRequest.getUrl(), method, request, String.class);
 
 			HttpStatusCode statusCode = response.getStatusCode();
 
-			LogMessage.debug(log, "Got API response with statusCode:" + statusCode);
+			LogMessage.debug(log, "Got API response with statusCode:{}", statusCode);
 
 			if (statusCode.is2xxSuccessful()) { // Successful response (HTTP 2xx)
 				return response;
@@ -56,7 +63,7 @@ public class HttpRestTemplateEngine {
 			}
 		} catch (HttpClientErrorException | HttpServerErrorException e) {
             // Handle 4xx & 5xx errors
-			LogMessage.log(log, "Got Exception:" + e);
+			LogMessage.log(log, "Got Exception:{}", e.toString());
             return createCustomErrorResponse(e.getStatusCode(), e.getResponseBodyAsString(), e.getResponseHeaders());
 		} catch (Exception e) {
 			LogMessage.logException(log, e);
@@ -76,7 +83,7 @@ public class HttpRestTemplateEngine {
 		
 		ResponseEntity<String> response = new ResponseEntity<>(errorResponse, httpHeaders, statusCode);
 
-		LogMessage.debug(log, "createCustomErrorResponse||response:" + response);
+		LogMessage.debug(log, "createCustomErrorResponse||response:{}", response);
 		return response;
 	}
 
@@ -24,8 +24,9 @@ public class Attributes {
 	@JsonProperty("Currency")
 	private String currency;
 
+	// decimal text as Trustly defines it, "18.10"; JSON numbers are accepted too
 	@JsonProperty("Amount")
-	private double amount;
+	private String amount;
 	
 	@JsonProperty("IP")
     private String ip;
@@ -14,5 +14,5 @@ public class TrustlyProviderRequest {
 	private String creditorNumber;
 	private String debitorNumber;
 	private String currency;
-	private double amount;
+	private String amount;
 }
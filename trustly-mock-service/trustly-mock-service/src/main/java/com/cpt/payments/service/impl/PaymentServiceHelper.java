@@ -33,8 +33,8 @@ public class PaymentServiceHelper {
 			String serializedData = sigCreator.serializeData(JsonUtils.toJsonNode(responseData));
 			String plainText = Constants.METHOD_DEPOSIT + requestUUID + serializedData;
 			signature = sigCreator.generateSignature(plainText);
-			LogMessage.log(log, "Generating Signature while returning Trusly response::"
-					+ "serializedData:" + serializedData + "|plainText:" + plainText + "|signature:" + signature);
+			LogMessage.debug(log, "Generating Signature while returning Trusly response::serializedData:{}|plainText:{}|signature:{}",
+					serializedData, plainText, signature);
 		} catch (Exception e) {
 			LogMessage.log(log, "Exception processing");
 			LogMessage.logException(log, e);
@@ -52,7 +52,7 @@ public class PaymentServiceHelper {
 		String inputSignature = trustlyProviderRequest.getParams().getSignature();
 
 		if (null == inputSignature) {
-			LogMessage.log(log, " Input signature NULL for requestUUID:" + requestUUID);
+			LogMessage.log(log, " Input signature NULL for requestUUID:{}", requestUUID);
 			return false;
 		}
 
@@ -63,11 +63,11 @@ public class PaymentServiceHelper {
 					+ sigCreator.serializeData(jsonNode);
 
 			if (sigVerify.verifySignature(inputSignature, plainText)) {
-				LogMessage.log(log, " Signature Valid|inputSignature:" + inputSignature + "|requestUUID:" + requestUUID);
+				LogMessage.debug(log, " Signature Valid|inputSignature:{}|requestUUID:{}", inputSignature, requestUUID);
 				return true;
 			}
 		} catch (Exception e) {
-			LogMessage.log(log, " Exception while validating signature::requestUUID:" + requestUUID);
+			LogMessage.log(log, " Exception while validating signature::requestUUID:{}", requestUUID);
 			LogMessage.logException(log, e);
 		}
 		
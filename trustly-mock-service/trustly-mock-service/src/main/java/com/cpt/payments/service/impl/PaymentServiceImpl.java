@@ -60,10 +60,10 @@ public class PaymentServiceImpl implements PaymentService {
 
 		boolean isSigValid = true;// TODO this is only for initial testing
 		//boolean isSigValid = serviceHelper.isSignatureValid(trustlyProviderRequest, requestUUID);
-		log.info(" isSigValid:" + isSigValid + " for requestUUID:" + requestUUID);
+		log.info(" isSigValid:{} for requestUUID:{}", isSigValid, requestUUID);
 
 		if(!isSigValid) { 
-			LogMessage.log(log, " INVALID signature for requestUUID:" + requestUUID);
+			LogMessage.log(log, " INVALID signature for requestUUID:{}", requestUUID);
 			throw new TrustlyMockException(HttpStatus.UNAUTHORIZED, 
 					ErrorCodeEnum.ERROR_UNABLE_TO_VERIFY_RSA_SIGNATURE.getErrorCode(),
 					ErrorCodeEnum.ERROR_UNABLE_TO_VERIFY_RSA_SIGNATURE.getErrorMessage(),
@@ -73,7 +73,7 @@ public class PaymentServiceImpl implements PaymentService {
 		
 		if (trustlyProviderRequest.getParams().getData().getUsername() == null
 				|| trustlyProviderRequest.getParams().getData().getUsername().isEmpty()) {
-			LogMessage.log(log, " MISSING username in requestUUID:" + requestUUID);
+			LogMessage.log(log, " MISSING username in requestUUID:{}", requestUUID);
 			throw new TrustlyMockException(
 					HttpStatus.BAD_REQUEST, 
 					ErrorCodeEnum.ERROR_USERNAME_MISSING.getErrorCode(),
@@ -102,7 +102,7 @@ public class PaymentServiceImpl implements PaymentService {
 				.build();
 
 		TrustlyCoreResponse trustlyCoreResponse = TrustlyCoreResponse.builder().result(result).version("1.1").build();
-		LogMessage.log(log, " TrustlyCoreResponse is -> " + trustlyCoreResponse);
+		LogMessage.debug(log, " TrustlyCoreResponse is -> {}", trustlyCoreResponse);
 		return trustlyCoreResponse;
 	}
 
@@ -118,7 +118,7 @@ public class PaymentServiceImpl implements PaymentService {
 			trustlyNotificationRequest.setCode("FL001");
 			trustlyNotificationRequest.setMessage("Transaction Failed");
 		}
-		LogMessage.log(log, " trustlyNotificationRequest is -> " + trustlyNotificationRequest);
+		LogMessage.log(log, " trustlyNotificationRequest is -> {}", trustlyNotificationRequest);
 
 		Gson gson = new Gson();
 		try {
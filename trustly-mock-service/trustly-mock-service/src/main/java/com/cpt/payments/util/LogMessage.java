@@ -1,37 +1,43 @@
 package com.cpt.payments.util;
 
 import org.slf4j.Logger;
+import org.slf4j.MDC;
 
+/**
+ * The prefix is kept in the MDC, so it shows up as its own field in the JSON
+ * output instead of being concatenated into every message. Messages take SLF4J
+ * placeholders and are only rendered when the level is enabled.
+ */
 public final class LogMessage {
 
-	private static final ThreadLocal<String> LOG_MESSAGE = new ThreadLocal<>();
+	public static final String MDC_LOG_PREFIX = "logPrefix";
 
 	private LogMessage() {
 
 	}
 
 	public static void setLogMessagePrefix(final String logMessagePrefix) {
-		LOG_MESSAGE.set(logMessagePrefix + " : ");
+		MDC.put(MDC_LOG_PREFIX, logMessagePrefix);
 	}
 
 	public static void close() {
-		LOG_MESSAGE.remove();
+		MDC.remove(MDC_LOG_PREFIX);
 	}
 
-	public static void log(final Logger logger, final Object object) {
-		logger.info(LOG_MESSAGE.get() + object);
+	public static void log(final Logger logger, final String format, final Object... args) {
+		logger.info(format, args);
 	}
 
-	public static void warn(final Logger logger, final Object object) {
-		logger.warn(LOG_MESSAGE.get() + object);
+	public static void warn(final Logger logger, final String format, final Object... args) {
+		logger.warn(format, args);
 	}
 
-	public static void debug(final Logger logger, final Object object) {
-		logger.debug(LOG_MESSAGE.get() + object);
+	public static void debug(final Logger logger, final String format, final Object... args) {
+		logger.debug(format, args);
 	}
 
 	public static void logException(final Logger logger, final Exception e) {
-		logger.error(LOG_MESSAGE.get(), e);
+		logger.error("Exception processing request", e);
 	}
 
 }
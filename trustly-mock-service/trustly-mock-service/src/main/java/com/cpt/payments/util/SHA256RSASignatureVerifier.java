@@ -12,14 +12,28 @@ import java.util.Base64;
 
 import org.bouncycastle.util.io.pem.PemObject;
 import org.bouncycastle.util.io.pem.PemReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 @Component
 public class SHA256RSASignatureVerifier {
 
 	private static final String PUBLIC_KEY_CLASSPATH = "merchant-public.pem";
 
+	private static final String VERIFY_OBSERVATION = "trustly.signature.verify";
+
+	@Autowired(required = false)
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
 	public boolean verifySignature(String xSignature, String requestBody) throws Exception {
+		return Observation.createNotStarted(VERIFY_OBSERVATION, observationRegistry)
+				.observeChecked(() -> verify(xSignature, requestBody));
+	}
+
+	private boolean verify(String xSignature, String requestBody) throws Exception {
 		PublicKey localPublicKey = getPublicKey();
 		Signature publicSignature = Signature.getInstance("SHA256withRSA");
 		publicSignature.initVerify(localPublicKey);
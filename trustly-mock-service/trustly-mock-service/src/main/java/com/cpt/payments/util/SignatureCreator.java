@@ -16,6 +16,7 @@ import java.util.stream.StreamSupport;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.io.pem.PemObject;
 import org.bouncycastle.util.io.pem.PemReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.cpt.payments.pojo.request.Attributes;
@@ -23,6 +24,8 @@ import com.cpt.payments.pojo.request.Data;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -31,6 +34,11 @@ public class SignatureCreator {
 
 	private static final String PRIVATE_KEY_CLASSPATH = "private.pem";
 
+	private static final String SIGN_OBSERVATION = "trustly.signature.sign";
+
+	@Autowired(required = false)
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
 	public String serializeData(JsonNode jsonNode) {
         StringBuilder serialized = new StringBuilder();
         if (jsonNode.isObject()) {
@@ -75,6 +83,11 @@ public class SignatureCreator {
 	}
 
 	public String generateSignature(String requestBody) throws Exception {
+		return Observation.createNotStarted(SIGN_OBSERVATION, observationRegistry)
+				.observeChecked(() -> sign(requestBody));
+	}
+
+	private String sign(String requestBody) throws Exception {
 		PrivateKey privateKey = getPrivate();
 		Signature signature = Signature.getInstance("SHA256withRSA");
 		signature.initSign(privateKey);
@@ -86,7 +99,7 @@ public class SignatureCreator {
 	public static void main(String[] args) throws Exception {
 		SignatureCreator sg = new SignatureCreator();
 
-		Attributes attributes = Attributes.builder().country("LT").locale("en").currency("EUR").amount(18.10)
+		Attributes attributes = Attributes.builder().country("LT").locale("en").currency("EUR").amount("18.10")
 				.firstname("john").lastname("peter").email("johnpeter@gmail.com")
 				.failURL("https://somedomain.com/failure/trustly/ref1")
 				.successURL("https://somedomain.com/success/trustly/ref1").build();
@@ -7,8 +7,9 @@ import org.springframework.web.client.RestClient;
 @Configuration
 public class AppConfig {
 
+	// Built from the auto-configured builder so outbound calls are observed and carry trace headers
 	@Bean
-	RestClient restClient() {
-		return RestClient.create();
+	RestClient restClient(RestClient.Builder restClientBuilder) {
+		return restClientBuilder.build();
 	}
 }